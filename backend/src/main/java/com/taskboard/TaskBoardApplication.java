@@ -4,6 +4,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.resilience.annotation.EnableResilientMethods;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Main entry point for the TaskBoard application.
@@ -12,6 +14,8 @@ import org.springframework.cache.annotation.EnableCaching;
 @Slf4j
 @SpringBootApplication
 @EnableCaching
+@EnableScheduling
+@EnableResilientMethods
 public class TaskBoardApplication {
 
     public static void main(String[] args) {
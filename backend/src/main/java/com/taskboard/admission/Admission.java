@@ -0,0 +1,19 @@
+package com.taskboard.admission;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Admits a controller method in another class than its HTTP method implies.
+ * Usage: @Admission(EndpointClass.MOVES)
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Admission {
+
+    EndpointClass value();
+}
@@ -0,0 +1,171 @@
+package com.taskboard.admission;
+
+import com.taskboard.exception.OverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Caps the API requests in flight per {@link EndpointClass}, so that a spike is answered with
+ * 503 and {@code Retry-After} at once instead of piling up on the connection pool and failing
+ * after its connection timeout.
+ * <p>
+ * Each class has {@code max-concurrent} slots. A request that finds none free waits for one,
+ * first come first served, up to {@code max-wait-ms}; if {@code max-queue} requests are already
+ * waiting it is rejected without waiting. Keep the slots of all classes near
+ * {@code spring.datasource.hikari.maximum-pool-size}.
+ */
+@Slf4j
+@Component
+public class AdmissionControl {
+
+    private static final String PREFIX = "taskboard.admission.";
+
+    private final boolean enabled;
+    private final long retryAfterSeconds;
+    private final Map<EndpointClass, Lane> lanes = new EnumMap<>(EndpointClass.class);
+
+    public AdmissionControl(Environment environment,
+                            MeterRegistry meterRegistry,
+                            @Value("${taskboard.admission.enabled:true}") boolean enabled,
+                            @Value("${taskboard.admission.retry-after-seconds:1}") long retryAfterSeconds) {
+        this.enabled = enabled;
+        this.retryAfterSeconds = retryAfterSeconds;
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            String prefix = PREFIX + endpointClass.key();
+            lanes.put(endpointClass, new Lane(endpointClass,
+                    environment.getProperty(prefix + ".max-concurrent", Integer.class, 10),
+                    environment.getProperty(prefix + ".max-queue", Integer.class, 50),
+                    environment.getProperty(prefix + ".max-wait-ms", Long.class, 1000L),
+                    meterRegistry));
+        }
+    }
+
+    /**
+     * Take a slot for a request of the given class, waiting for one if need be. The permit must
+     * be released once the request completes.
+     *
+     * @throws OverloadedException if no slot is free in time
+     */
+    public Permit admit(EndpointClass endpointClass) {
+        if (!enabled) {
+            return Permit.NONE;
+        }
+        Lane lane = lanes.get(endpointClass);
+        // tryAcquire() would overtake the requests already waiting
+        if (!lane.slots.hasQueuedThreads() && lane.slots.tryAcquire()) {
+            return new Permit(lane.slots);
+        }
+        if (lane.waiting.incrementAndGet() > lane.maxQueue) {
+            lane.waiting.decrementAndGet();
+            throw reject(lane, lane.queueFull);
+        }
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = lane.slots.tryAcquire(lane.maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        } finally {
+            lane.waiting.decrementAndGet();
+            lane.queueWait.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        if (!acquired) {
+            throw reject(lane, lane.timedOut);
+        }
+        return new Permit(lane.slots);
+    }
+
+    /**
+     * Requests of a class waiting for a slot.
+     */
+    public int queueDepth(EndpointClass endpointClass) {
+        return lanes.get(endpointClass).waiting.get();
+    }
+
+    private OverloadedException reject(Lane lane, Counter rejections) {
+        rejections.increment();
+        log.debug("Shed a request of class {} ({} waiting)", lane.endpointClass.key(), lane.waiting.get());
+        return new OverloadedException("The server is busy. Please try again.", retryAfterSeconds);
+    }
+
+    /**
+     * A slot held by a request. Releasing it more than once is harmless.
+     */
+    public static final class Permit {
+
+        static final Permit NONE = new Permit(null);
+
+        private final Semaphore slots;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(Semaphore slots) {
+            this.slots = slots;
+        }
+
+        /**
+         * Give the slot back.
+         */
+        public void release() {
+            if (slots != null && released.compareAndSet(false, true)) {
+                slots.release();
+            }
+        }
+    }
+
+    private static final class Lane {
+
+        private final EndpointClass endpointClass;
+        private final Semaphore slots;
+        private final int maxQueue;
+        private final long maxWaitMillis;
+        private final AtomicInteger waiting = new AtomicInteger();
+        private final Timer queueWait;
+        private final Counter queueFull;
+        private final Counter timedOut;
+
+        private Lane(EndpointClass endpointClass, int maxConcurrent, int maxQueue, long maxWaitMillis,
+                     MeterRegistry meterRegistry) {
+            this.endpointClass = endpointClass;
+            this.slots = new Semaphore(maxConcurrent, true);
+            this.maxQueue = maxQueue;
+            this.maxWaitMillis = maxWaitMillis;
+            String tag = endpointClass.key();
+            Gauge.builder("taskboard.admission.queue_depth", waiting, AtomicInteger::get)
+                    .description("Requests waiting for an admission slot")
+                    .tag("endpoint_class", tag)
+                    .register(meterRegistry);
+            Gauge.builder("taskboard.admission.in_flight", slots, s -> maxConcurrent - s.availablePermits())
+                    .description("Requests holding an admission slot")
+                    .tag("endpoint_class", tag)
+                    .register(meterRegistry);
+            this.queueWait = Timer.builder("taskboard.admission.queue_wait")
+                    .description("Time requests waited for an admission slot")
+                    .tag("endpoint_class", tag)
+                    .register(meterRegistry);
+            this.queueFull = rejections(meterRegistry, tag, "queue-full");
+            this.timedOut = rejections(meterRegistry, tag, "timeout");
+        }
+
+        private static Counter rejections(MeterRegistry meterRegistry, String tag, String reason) {
+            return Counter.builder("taskboard.admission.rejections")
+                    .description("Requests shed with 503 by admission control")
+                    .tag("endpoint_class", tag)
+                    .tag("reason", reason)
+                    .register(meterRegistry);
+        }
+    }
+}
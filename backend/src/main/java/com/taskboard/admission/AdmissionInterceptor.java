@@ -0,0 +1,72 @@
+package com.taskboard.admission;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Admits each API request through {@link AdmissionControl} before its controller runs and
+ * releases its slot once the response is complete. Streamed responses keep their slot until
+ * the stream ends.
+ */
+@Component
+@RequiredArgsConstructor
+public class AdmissionInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String PERMIT = AdmissionInterceptor.class.getName() + ".permit";
+
+    private final AdmissionControl admissionControl;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Async dispatches of a streamed response still hold the slot of their request
+        if (request.getDispatcherType() != DispatcherType.REQUEST || !(handler instanceof HandlerMethod method)) {
+            return true;
+        }
+        Admission admission = method.getMethodAnnotation(Admission.class);
+        EndpointClass endpointClass = admission != null ? admission.value() : EndpointClass.of(request.getMethod());
+        request.setAttribute(PERMIT, admissionControl.admit(endpointClass));
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        AdmissionControl.Permit permit = (AdmissionControl.Permit) request.getAttribute(PERMIT);
+        if (permit != null && request.isAsyncStarted()) {
+            request.getAsyncContext().addListener(new AsyncListener() {
+                @Override
+                public void onComplete(AsyncEvent event) {
+                    permit.release();
+                }
+
+                @Override
+                public void onTimeout(AsyncEvent event) {
+                }
+
+                @Override
+                public void onError(AsyncEvent event) {
+                }
+
+                @Override
+                public void onStartAsync(AsyncEvent event) {
+                }
+            });
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        AdmissionControl.Permit permit = (AdmissionControl.Permit) request.getAttribute(PERMIT);
+        if (permit != null) {
+            permit.release();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.taskboard.admission;
+
+import org.springframework.http.HttpMethod;
+
+/**
+ * Classes of API endpoints that are admitted separately, so that a spike in one cannot take
+ * every database connection from the others.
+ */
+public enum EndpointClass {
+
+    /** GET requests. */
+    READS,
+
+    /** Requests that write, other than card moves. */
+    WRITES,
+
+    /** Card moves, which lock list rows. */
+    MOVES;
+
+    /**
+     * The class of a request without an {@link Admission} annotation.
+     */
+    public static EndpointClass of(String method) {
+        return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) ? READS : WRITES;
+    }
+
+    /**
+     * Name used in properties and metric tags.
+     */
+    public String key() {
+        return name().toLowerCase();
+    }
+}
@@ -0,0 +1,64 @@
+package com.taskboard.config;
+
+import com.taskboard.service.BoardPayload;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Stores {@link BoardPayload}s in Redis as raw bytes rather than JSON, so neither body is
+ * re-encoded on the way in or out.
+ * <p>
+ * Layout: a format byte, then the length and bytes of the JSON body, then the length and bytes
+ * of the gzip body (length -1 when absent). Entries in any other format (e.g. written by an
+ * older version) read as a cache miss.
+ */
+public class BoardPayloadRedisSerializer implements RedisSerializer<BoardPayload> {
+
+    private static final byte FORMAT = 1;
+
+    @Override
+    public byte[] serialize(BoardPayload payload) throws SerializationException {
+        if (payload == null) {
+            return new byte[0];
+        }
+        byte[] json = payload.json();
+        byte[] gzip = payload.gzip();
+        ByteBuffer buffer = ByteBuffer.allocate(1 + 4 + json.length + 4 + (gzip != null ? gzip.length : 0));
+        buffer.put(FORMAT);
+        buffer.putInt(json.length).put(json);
+        if (gzip != null) {
+            buffer.putInt(gzip.length).put(gzip);
+        } else {
+            buffer.putInt(-1);
+        }
+        return buffer.array();
+    }
+
+    @Override
+    public BoardPayload deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0 || bytes[0] != FORMAT) {
+            return null;
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes, 1, bytes.length - 1);
+            byte[] json = new byte[buffer.getInt()];
+            buffer.get(json);
+            int gzipLength = buffer.getInt();
+            byte[] gzip = null;
+            if (gzipLength >= 0) {
+                gzip = new byte[gzipLength];
+                buffer.get(gzip);
+            }
+            return new BoardPayload(json, gzip);
+        } catch (RuntimeException e) {
+            throw new SerializationException("Corrupt board payload in cache", e);
+        }
+    }
+
+    @Override
+    public Class<?> getTargetType() {
+        return BoardPayload.class;
+    }
+}
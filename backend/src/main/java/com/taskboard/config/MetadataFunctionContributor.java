@@ -0,0 +1,41 @@
+package com.taskboard.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers the HQL function {@code metadata_matches(metadata, key, value)}: true if the JSON
+ * metadata of an activity entry holds the string {@code value} under the top-level
+ * {@code key}.
+ * <p>
+ * On PostgreSQL it is a containment test ({@code metadata @> {"key": "value"}}), which the
+ * GIN index on {@code activity_logs.metadata} serves (V11 migration); a {@code ->>} lookup
+ * would not use it. Elsewhere (H2 in tests) the pair is searched for in the JSON text, which
+ * is normalized, and only serves the flat string values the activity log writes.
+ */
+public class MetadataFunctionContributor implements FunctionContributor {
+
+    public static final String METADATA_MATCHES = "metadata_matches";
+
+    private static final String POSTGRESQL_PATTERN =
+            "(?1 @> jsonb_build_object(cast(?2 as text), cast(?3 as text)))";
+
+    // json_object renders {"key":"value"}: the pair without the braces must occur in the metadata
+    private static final String GENERIC_PATTERN =
+            "(locate(trim(both '{}' from cast(json_object(?2 value ?3) as varchar)), cast(?1 as varchar)) > 0)";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        String pattern = functionContributions.getDialect() instanceof PostgreSQLDialect
+                ? POSTGRESQL_PATTERN
+                : GENERIC_PATTERN;
+        functionContributions.getFunctionRegistry()
+                .patternDescriptorBuilder(METADATA_MATCHES, pattern)
+                .setExactArgumentCount(3)
+                .setInvariantType(functionContributions.getTypeConfiguration().getBasicTypeRegistry()
+                        .resolve(StandardBasicTypes.BOOLEAN))
+                .register();
+    }
+}
@@ -1,5 +1,8 @@
 package com.taskboard.config;
 
+import com.taskboard.messaging.codec.EventEncoding;
+import com.taskboard.messaging.codec.EventMessageConverter;
+import com.taskboard.model.event.EventType;
 import org.springframework.amqp.core.*;
 import org.springframework.amqp.support.converter.JacksonJsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
@@ -7,37 +10,43 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * RabbitMQ configuration for event-driven messaging.
- * Defines exchanges, queues, and bindings for card and board events.
+ * All events go through a single topic exchange, routed by event type and board shard
+ * ({@code <routing-key>.<shard>}, see {@link #shardOf}). Every consumer group gets one queue
+ * per shard ({@code <group>.shard-<n>}, dead-lettered to {@code <group>.shard-<n>.dlq}) that
+ * takes the events of all types for its boards. The queues have a single active consumer, so
+ * all events of a board reach one consumer of the group at a time, across instances, in the
+ * order they were sent; the other consumers take over if it goes away.
  */
 @Configuration
 public class RabbitMQConfig {
 
-    @Value("${taskboard.rabbitmq.exchange.card-events:taskboard.card.events}")
-    private String cardEventsExchange;
-
-    @Value("${taskboard.rabbitmq.exchange.board-events:taskboard.board.events}")
-    private String boardEventsExchange;
+    @Value("${taskboard.rabbitmq.exchange.events:taskboard.events}")
+    private String eventsExchange;
 
     @Value("${taskboard.rabbitmq.queue.notifications:taskboard.notifications}")
-    private String notificationsQueue;
+    private String notificationsQueuePrefix;
 
     @Value("${taskboard.rabbitmq.queue.analytics:taskboard.analytics}")
-    private String analyticsQueue;
+    private String analyticsQueuePrefix;
+
+    @Value("${taskboard.rabbitmq.encoding:json}")
+    private EventEncoding encoding;
+
+    @Value("${taskboard.rabbitmq.shards:8}")
+    private int shards;
 
     public static final String DEAD_LETTER_EXCHANGE = "taskboard.dlx";
-    public static final String DEAD_LETTER_QUEUE = "taskboard.dlq";
+    public static final String DEAD_LETTER_SUFFIX = ".dlq";
 
     // Exchanges
     @Bean
-    public DirectExchange cardEventsExchange() {
-        return new DirectExchange(cardEventsExchange, true, false);
-    }
-
-    @Bean
-    public DirectExchange boardEventsExchange() {
-        return new DirectExchange(boardEventsExchange, true, false);
+    public TopicExchange eventsExchange() {
+        return new TopicExchange(eventsExchange, true, false);
     }
 
     @Bean
@@ -45,89 +54,78 @@ public class RabbitMQConfig {
         return new DirectExchange(DEAD_LETTER_EXCHANGE, true, false);
     }
 
-    // Queues
-    @Bean
-    public Queue notificationsQueue() {
-        return QueueBuilder.durable(notificationsQueue)
-                .withArgument("x-dead-letter-exchange", DEAD_LETTER_EXCHANGE)
-                .withArgument("x-dead-letter-routing-key", "dlq")
-                .build();
-    }
-
-    @Bean
-    public Queue analyticsQueue() {
-        return QueueBuilder.durable(analyticsQueue)
-                .withArgument("x-dead-letter-exchange", DEAD_LETTER_EXCHANGE)
-                .withArgument("x-dead-letter-routing-key", "dlq")
-                .build();
-    }
-
-    @Bean
-    public Queue deadLetterQueue() {
-        return QueueBuilder.durable(DEAD_LETTER_QUEUE).build();
-    }
-
-    // Bindings for card events
-    @Bean
-    public Binding notificationsCardMovedBinding(Queue notificationsQueue, DirectExchange cardEventsExchange) {
-        return BindingBuilder.bind(notificationsQueue)
-                .to(cardEventsExchange)
-                .with("card.moved");
-    }
-
-    @Bean
-    public Binding notificationsCardCreatedBinding(Queue notificationsQueue, DirectExchange cardEventsExchange) {
-        return BindingBuilder.bind(notificationsQueue)
-                .to(cardEventsExchange)
-                .with("card.created");
-    }
-
+    /**
+     * Per-shard queues, dead-letter queues and bindings for every consumer group.
+     */
     @Bean
-    public Binding analyticsCardMovedBinding(Queue analyticsQueue, DirectExchange cardEventsExchange) {
-        return BindingBuilder.bind(analyticsQueue)
-                .to(cardEventsExchange)
-                .with("card.moved");
+    public Declarables eventQueues(TopicExchange eventsExchange, DirectExchange deadLetterExchange) {
+        List<Declarable> declarables = new ArrayList<>();
+        for (String group : List.of(notificationsQueuePrefix, analyticsQueuePrefix)) {
+            for (int shard = 0; shard < shards; shard++) {
+                String queueName = shardQueueName(group, shard);
+                String deadLetterQueueName = queueName + DEAD_LETTER_SUFFIX;
+
+                Queue queue = QueueBuilder.durable(queueName)
+                        .singleActiveConsumer()
+                        .withArgument("x-dead-letter-exchange", DEAD_LETTER_EXCHANGE)
+                        .withArgument("x-dead-letter-routing-key", deadLetterQueueName)
+                        .build();
+                Queue deadLetterQueue = QueueBuilder.durable(deadLetterQueueName).build();
+
+                declarables.add(queue);
+                declarables.add(deadLetterQueue);
+                for (EventType type : EventType.values()) {
+                    declarables.add(BindingBuilder.bind(queue).to(eventsExchange).with(routingKey(type, shard)));
+                }
+                declarables.add(BindingBuilder.bind(deadLetterQueue).to(deadLetterExchange).with(deadLetterQueueName));
+            }
+        }
+        return new Declarables(declarables);
     }
 
-    @Bean
-    public Binding analyticsCardCreatedBinding(Queue analyticsQueue, DirectExchange cardEventsExchange) {
-        return BindingBuilder.bind(analyticsQueue)
-                .to(cardEventsExchange)
-                .with("card.created");
+    /**
+     * Shard of a board's events (events without a board go to shard 0).
+     */
+    public static int shardOf(Long boardId, int shards) {
+        return boardId != null ? (int) Math.floorMod(boardId, (long) shards) : 0;
     }
 
-    // Bindings for board events
-    @Bean
-    public Binding notificationsBoardCreatedBinding(Queue notificationsQueue, DirectExchange boardEventsExchange) {
-        return BindingBuilder.bind(notificationsQueue)
-                .to(boardEventsExchange)
-                .with("board.created");
+    /**
+     * Routing key of the events of a type on one shard.
+     */
+    public static String routingKey(EventType type, int shard) {
+        return type.getRoutingKey() + "." + shard;
     }
 
-    @Bean
-    public Binding analyticsBoardCreatedBinding(Queue analyticsQueue, DirectExchange boardEventsExchange) {
-        return BindingBuilder.bind(analyticsQueue)
-                .to(boardEventsExchange)
-                .with("board.created");
+    /**
+     * Name of the queue a consumer group uses for one shard.
+     */
+    public static String shardQueueName(String group, int shard) {
+        return group + ".shard-" + shard;
     }
 
-    // Dead letter binding
-    @Bean
-    public Binding deadLetterBinding(Queue deadLetterQueue, DirectExchange deadLetterExchange) {
-        return BindingBuilder.bind(deadLetterQueue)
-                .to(deadLetterExchange)
-                .with("dlq");
+    /**
+     * Names of all shard queues of a consumer group (for the listeners).
+     */
+    public static String[] shardQueueNames(String group, int shards) {
+        String[] names = new String[shards];
+        for (int shard = 0; shard < shards; shard++) {
+            names[shard] = shardQueueName(group, shard);
+        }
+        return names;
     }
 
     /**
-     * Configure JSON message converter with Jackson 3.
-     * Uses JacksonJsonMessageConverter (Spring AMQP 4.0+).
-     * Configures trusted packages to allow deserialization of event classes.
+     * Configure the event message converter.
+     * Outgoing events use the configured encoding (JSON by default, so existing consumers keep working);
+     * incoming events are decoded by content type. The JSON side uses JacksonJsonMessageConverter
+     * (Spring AMQP 4.0+) with trusted packages for the event classes.
      */
     @Bean
-    public MessageConverter messageConverter() {
+    public EventMessageConverter messageConverter() {
         // Trust our event packages for deserialization
-        return new JacksonJsonMessageConverter("com.taskboard.model.event", "com.taskboard.*", "java.util", "java.time");
+        MessageConverter jsonConverter = new JacksonJsonMessageConverter(
+                "com.taskboard.model.event", "com.taskboard.*", "java.util", "java.time");
+        return new EventMessageConverter(jsonConverter, encoding);
     }
 }
-
@@ -0,0 +1,160 @@
+package com.taskboard.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions ({@code @Transactional(readOnly = true)}) to read replicas, when
+ * {@code taskboard.datasource.read-replicas.enabled} is set. Everything else, and every read
+ * while no replica is current, goes to the primary configured under {@code spring.datasource}.
+ * <p>
+ * The application's DataSource hands out connections lazily: the pool is only picked at the
+ * first statement, once the transaction manager has marked the connection read-only. Each
+ * replica has its own Hikari pool; {@link ReadReplicaRouter} chooses among them.
+ */
+@Configuration
+@ConditionalOnProperty(name = "taskboard.datasource.read-replicas.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Value("${taskboard.datasource.read-replicas.urls:}")
+    private String replicaUrls;
+
+    @Value("${taskboard.datasource.read-replicas.username:${spring.datasource.username:}}")
+    private String replicaUsername;
+
+    @Value("${taskboard.datasource.read-replicas.password:${spring.datasource.password:}}")
+    private String replicaPassword;
+
+    @Value("${taskboard.datasource.read-replicas.maximum-pool-size:10}")
+    private int replicaPoolSize;
+
+    @Value("${taskboard.datasource.read-replicas.connection-timeout-ms:2000}")
+    private long replicaConnectionTimeoutMillis;
+
+    @Value("${taskboard.datasource.read-replicas.lag-query}")
+    private String lagQuery;
+
+    @Value("${taskboard.datasource.read-replicas.max-lag-ms:1000}")
+    private long maxLagMillis;
+
+    @Value("${taskboard.datasource.read-replicas.sticky-ms:5000}")
+    private long stickyMillis;
+
+    @Bean(destroyMethod = "close")
+    public ReadReplicaRouter readReplicaRouter(DataSourceProperties properties,
+                                               Environment environment,
+                                               MeterRegistry meterRegistry) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+
+        Map<String, HikariDataSource> replicas = new LinkedHashMap<>();
+        parseReplicas(replicaUrls).forEach((name, url) -> {
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("TaskBoardReplica-" + name);
+            pool.setJdbcUrl(url);
+            pool.setDriverClassName(properties.determineDriverClassName());
+            pool.setUsername(replicaUsername);
+            pool.setPassword(replicaPassword);
+            pool.setMaximumPoolSize(replicaPoolSize);
+            pool.setConnectionTimeout(replicaConnectionTimeoutMillis);
+            pool.setReadOnly(true);
+            // A replica that is down at startup is skipped until it answers
+            pool.setInitializationFailTimeout(-1);
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.put(name, pool);
+        });
+        return new ReadReplicaRouter(primary, replicas, lagQuery, maxLagMillis, stickyMillis, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadReplicaRouter router) {
+        ReplicaRoutingDataSource replicas = new ReplicaRoutingDataSource(router);
+        replicas.afterPropertiesSet();
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(
+                new WriteTrackingDataSource(router));
+        dataSource.setReadOnlyDataSource(replicas);
+        return dataSource;
+    }
+
+    /**
+     * Parse {@code name=jdbc-url,name=jdbc-url}.
+     */
+    private static Map<String, String> parseReplicas(String urls) {
+        Map<String, String> parsed = new LinkedHashMap<>();
+        for (String entry : urls.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int separator = entry.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException(
+                        "Expected name=jdbc-url in taskboard.datasource.read-replicas.urls, got '" + entry + "'");
+            }
+            parsed.put(entry.substring(0, separator).trim(), entry.substring(separator + 1).trim());
+        }
+        return parsed;
+    }
+
+    /**
+     * The pool {@link ReadReplicaRouter#route()} names for each read-only connection.
+     */
+    private static final class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+        private final ReadReplicaRouter router;
+
+        private ReplicaRoutingDataSource(ReadReplicaRouter router) {
+            this.router = router;
+            setTargetDataSources(router.targets());
+            setLenientFallback(false);
+        }
+
+        @Override
+        protected Object determineCurrentLookupKey() {
+            return router.route();
+        }
+    }
+
+    /**
+     * The primary, noting the users whose read-write transactions take a connection from it.
+     */
+    private static final class WriteTrackingDataSource extends DelegatingDataSource {
+
+        private final ReadReplicaRouter router;
+
+        private WriteTrackingDataSource(ReadReplicaRouter router) {
+            super(router.primary());
+            this.router = router;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (TransactionSynchronizationManager.isActualTransactionActive()
+                    && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+                router.writeStarted();
+            }
+            return super.getConnection();
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.taskboard.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.taskboard.security.UserPrincipal;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Picks the database a read-only transaction reads from: one of the replicas, in turn, as long
+ * as its replication lag is within {@code max-lag-ms}, otherwise the primary.
+ * <p>
+ * The lag of each replica is measured every {@code check-ms} with {@code lag-query}; a replica
+ * that cannot be reached is skipped until it answers again. Users who committed a write in the
+ * last {@code sticky-ms} read from the primary, so they see their own writes whatever the lag.
+ * That window is kept per instance. Loads that fill caches shared across requests (see
+ * {@link #fromPrimary}) read from the primary too, whichever thread runs them.
+ * <p>
+ * Owns the connection pools of the primary and of every replica.
+ */
+@Slf4j
+public class ReadReplicaRouter implements AutoCloseable {
+
+    public static final String PRIMARY = "primary";
+
+    private static final int CHECK_TIMEOUT_SECONDS = 2;
+
+    // Set while a load that fills a shared cache runs on the thread
+    private static final ThreadLocal<Boolean> CACHE_FILL = new ThreadLocal<>();
+
+    private final HikariDataSource primary;
+    private final List<Replica> replicas;
+    private final String lagQuery;
+    private final long maxLagMillis;
+    private final Cache<Long, Boolean> recentWriters;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Map<String, Counter> reads = new LinkedHashMap<>();
+    private final Counter stickyReads;
+    private final Counter lagFallbacks;
+    private final Counter cacheFills;
+
+    public ReadReplicaRouter(HikariDataSource primary,
+                             Map<String, HikariDataSource> replicaPools,
+                             String lagQuery,
+                             long maxLagMillis,
+                             long stickyMillis,
+                             MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.lagQuery = lagQuery;
+        this.maxLagMillis = maxLagMillis;
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(stickyMillis))
+                .build();
+        this.replicas = new ArrayList<>();
+        replicaPools.forEach((name, pool) -> {
+            Replica replica = new Replica(name, pool);
+            replicas.add(replica);
+            Gauge.builder("taskboard.datasource.replica.lag", replica, r -> r.lagMillis)
+                    .description("Replication lag of the replica in milliseconds, -1 while it cannot be reached")
+                    .tag("replica", name)
+                    .register(meterRegistry);
+        });
+        reads.put(PRIMARY, readCounter(meterRegistry, PRIMARY));
+        replicaPools.keySet().forEach(name -> reads.put(name, readCounter(meterRegistry, name)));
+        this.stickyReads = fallbackCounter(meterRegistry, "sticky");
+        this.lagFallbacks = fallbackCounter(meterRegistry, "no-replica");
+        this.cacheFills = fallbackCounter(meterRegistry, "cache-fill");
+        checkReplicas();
+    }
+
+    /**
+     * The primary's pool.
+     */
+    public DataSource primary() {
+        return primary;
+    }
+
+    /**
+     * Every pool a read may go to, by name.
+     */
+    public Map<Object, Object> targets() {
+        Map<Object, Object> targets = new LinkedHashMap<>();
+        targets.put(PRIMARY, primary);
+        replicas.forEach(replica -> targets.put(replica.name, replica.pool));
+        return targets;
+    }
+
+    /**
+     * Run a load whose result goes into a cache shared by other requests against the primary.
+     * A replica within {@code max-lag-ms} may still miss the write that just cleared the cache,
+     * and the old value would then be served from the cache long after the replica caught up.
+     * Applies to the transactions that take their connection inside {@code load}.
+     */
+    public static <T> T fromPrimary(Supplier<T> load) {
+        boolean outermost = CACHE_FILL.get() == null;
+        CACHE_FILL.set(Boolean.TRUE);
+        try {
+            return load.get();
+        } finally {
+            if (outermost) {
+                CACHE_FILL.remove();
+            }
+        }
+    }
+
+    /**
+     * Name of the pool the current read goes to.
+     */
+    public String route() {
+        if (CACHE_FILL.get() != null) {
+            if (!replicas.isEmpty()) {
+                cacheFills.increment();
+            }
+            return countRead(PRIMARY);
+        }
+        Long userId = currentUserId();
+        if (userId != null && recentWriters.getIfPresent(userId) != null) {
+            stickyReads.increment();
+            return countRead(PRIMARY);
+        }
+        int start = next.getAndIncrement();
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get(Math.floorMod(start + i, replicas.size()));
+            if (replica.isCurrent(maxLagMillis)) {
+                return countRead(replica.name);
+            }
+        }
+        if (!replicas.isEmpty()) {
+            lagFallbacks.increment();
+        }
+        return countRead(PRIMARY);
+    }
+
+    /**
+     * Send the current user's reads to the primary for a while once the current read-write
+     * transaction commits.
+     */
+    public void writeStarted() {
+        Long userId = currentUserId();
+        if (userId == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recentWriters.put(userId, Boolean.TRUE);
+            }
+        });
+    }
+
+    /**
+     * Measure the lag of every replica.
+     */
+    @Scheduled(fixedDelayString = "${taskboard.datasource.read-replicas.check-ms:1000}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            long lag = measureLag(replica);
+            if ((lag < 0) != (replica.lagMillis < 0)) {
+                log.info("Read replica {} is {}", replica.name, lag < 0 ? "unreachable" : "reachable again");
+            } else if (lag > maxLagMillis && replica.lagMillis <= maxLagMillis) {
+                log.warn("Read replica {} lags {} ms behind the primary, reading from the others", replica.name, lag);
+            }
+            replica.lagMillis = lag;
+        }
+    }
+
+    /**
+     * Close every pool.
+     */
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.pool.close());
+        primary.close();
+    }
+
+    private long measureLag(Replica replica) {
+        try (Connection connection = replica.pool.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(CHECK_TIMEOUT_SECONDS);
+            try (ResultSet result = statement.executeQuery(lagQuery)) {
+                // No value: a server that replicates nothing (a stand-in), so never behind
+                return result.next() ? Math.max(0, Math.round(result.getDouble(1))) : 0;
+            }
+        } catch (SQLException e) {
+            log.debug("Could not measure the lag of read replica {}: {}", replica.name, e.getMessage());
+            return -1;
+        }
+    }
+
+    private String countRead(String target) {
+        reads.get(target).increment();
+        return target;
+    }
+
+    private static Long currentUserId() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof UserPrincipal user) {
+            return user.getId();
+        }
+        return null;
+    }
+
+    private static Counter readCounter(MeterRegistry meterRegistry, String target) {
+        return Counter.builder("taskboard.datasource.reads")
+                .description("Read-only transactions by the database they read from")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+
+    private static Counter fallbackCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("taskboard.datasource.primary_fallbacks")
+                .description("Read-only transactions sent to the primary although replicas are configured")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    private static final class Replica {
+
+        private final String name;
+        private final HikariDataSource pool;
+        // -1 until it answers
+        private volatile long lagMillis = -1;
+
+        private Replica(String name, HikariDataSource pool) {
+            this.name = name;
+            this.pool = pool;
+        }
+
+        private boolean isCurrent(long maxLagMillis) {
+            long lag = lagMillis;
+            return lag >= 0 && lag <= maxLagMillis;
+        }
+    }
+}
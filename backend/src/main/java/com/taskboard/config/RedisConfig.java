@@ -1,8 +1,10 @@
 package com.taskboard.config;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.support.NoOpCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
@@ -50,7 +52,12 @@ public class RedisConfig {
         return template;
     }
 
+    /**
+     * Redis-backed cache manager. Replaced by {@link #noOpCacheManager()} when caching is
+     * switched off with {@code spring.cache.type: none} (the test profile).
+     */
     @Bean
+    @ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis", matchIfMissing = true)
     public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
         // Default cache configuration
         RedisCacheConfiguration defaultConfig = RedisCacheConfiguration.defaultCacheConfig()
@@ -64,16 +71,30 @@ public class RedisConfig {
         // Cache-specific configurations
         Map<String, RedisCacheConfiguration> cacheConfigurations = new HashMap<>();
 
-        // Boards cache - covers full board DTOs (board + lists + cards)
+        // Boards cache - serialized (and gzipped) board responses, stored as raw bytes
         cacheConfigurations.put("boards", defaultConfig
-                .entryTtl(Duration.ofMinutes(boardsTtlMinutes)));
+                .entryTtl(Duration.ofMinutes(boardsTtlMinutes))
+                .serializeValuesWith(RedisSerializationContext.SerializationPair
+                        .fromSerializer(new BoardPayloadRedisSerializer())));
 
 
         return RedisCacheManager.builder(connectionFactory)
                 .cacheDefaults(defaultConfig)
                 .withInitialCacheConfigurations(cacheConfigurations)
+                // Hit/miss counters, exported as cache.gets{cache="boards"} by the actuator cache metrics
+                .enableStatistics()
                 .transactionAware()
                 .build();
     }
+
+    /**
+     * Pass-through cache manager for {@code spring.cache.type: none}, so cached services
+     * can run without a Redis server.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "spring.cache.type", havingValue = "none")
+    public CacheManager noOpCacheManager() {
+        return new NoOpCacheManager();
+    }
 }
 
@@ -2,9 +2,13 @@ package com.taskboard.config;
 
 import com.taskboard.security.CustomUserDetailsService;
 import com.taskboard.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.web.server.context.WebServerInitializedEvent;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -35,9 +39,15 @@ import java.util.List;
 @RequiredArgsConstructor
 public class SecurityConfig {
 
+    private static final String MANAGEMENT_NAMESPACE = "management";
+
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
     private final CustomUserDetailsService userDetailsService;
 
+    // Port of the management server (management.server.port) once started; 0 while actuator
+    // shares the API port
+    private volatile int managementPort;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
@@ -46,10 +56,16 @@ public class SecurityConfig {
             .sessionManagement(session ->
                 session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
+                // Streamed responses finish in an async dispatch; the request was authorized already
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 // Public endpoints
                 .requestMatchers("/api/v1/auth/**").permitAll()
                 .requestMatchers("/ws/**").permitAll()
                 .requestMatchers("/actuator/health").permitAll()
+                // Scraped by Prometheus without a user token, on the management port only
+                .requestMatchers(this::isPrometheusScrape).permitAll()
+                // Instance-to-instance calls, checked against the cluster token
+                .requestMatchers("/internal/board-actors/**").permitAll()
                 // Protected endpoints
                 .requestMatchers("/api/v1/boards/**").authenticated()
                 .requestMatchers("/api/v1/cards/**").authenticated()
@@ -64,6 +80,19 @@ public class SecurityConfig {
         return http.build();
     }
 
+    @EventListener
+    public void onWebServerInitialized(WebServerInitializedEvent event) {
+        if (MANAGEMENT_NAMESPACE.equals(event.getApplicationContext().getServerNamespace())) {
+            managementPort = event.getWebServer().getPort();
+        }
+    }
+
+    private boolean isPrometheusScrape(HttpServletRequest request) {
+        return managementPort > 0
+                && request.getLocalPort() == managementPort
+                && "/actuator/prometheus".equals(request.getRequestURI());
+    }
+
     @Bean
     public AuthenticationProvider authenticationProvider() {
         // Spring Security 6.4+ constructor takes only UserDetailsService
@@ -0,0 +1,26 @@
+package com.taskboard.config;
+
+import com.taskboard.admission.AdmissionInterceptor;
+import com.taskboard.service.OwnWritesInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Spring MVC configuration: interceptors in front of the API controllers.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final AdmissionInterceptor admissionInterceptor;
+    private final OwnWritesInterceptor ownWritesInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Not the /internal endpoints: forwarded card moves were admitted where they came in
+        registry.addInterceptor(admissionInterceptor).addPathPatterns("/api/**");
+        registry.addInterceptor(ownWritesInterceptor).addPathPatterns("/api/**");
+    }
+}
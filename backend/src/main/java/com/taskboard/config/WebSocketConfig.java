@@ -16,7 +16,6 @@ import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
 import org.springframework.messaging.support.ChannelInterceptor;
 import org.springframework.messaging.support.MessageHeaderAccessor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.util.StringUtils;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
@@ -72,8 +71,8 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                                 Long userId = jwtTokenProvider.getUserIdFromToken(token);
                                 UsernamePasswordAuthenticationToken authentication =
                                     new UsernamePasswordAuthenticationToken(userId, null, null);
+                                // Kept with the session; handlers read it from the message headers
                                 accessor.setUser(authentication);
-                                SecurityContextHolder.getContext().setAuthentication(authentication);
                                 log.debug("WebSocket connection authenticated for user: {}", userId);
                             }
                         }
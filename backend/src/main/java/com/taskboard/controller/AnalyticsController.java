@@ -1,15 +1,22 @@
 package com.taskboard.controller;
 
 import com.taskboard.messaging.consumer.AnalyticsConsumer;
+import com.taskboard.metrics.LockContentionMonitor;
+import com.taskboard.metrics.LockTarget;
+import com.taskboard.model.dto.LockContentionDTO;
+import com.taskboard.repository.BoardRepository;
 import com.taskboard.repository.ListRepository;
+import com.taskboard.service.BoardCounterService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
@@ -26,6 +33,9 @@ public class AnalyticsController {
 
     private final AnalyticsConsumer analyticsConsumer;
     private final ListRepository listRepository;
+    private final BoardRepository boardRepository;
+    private final LockContentionMonitor lockContentionMonitor;
+    private final BoardCounterService boardCounters;
 
     /**
      * Get all analytics metrics.
@@ -61,8 +71,8 @@ public class AnalyticsController {
         overview.put("totalCardsMoved", analyticsConsumer.getMetric("cards_moved_total"));
         overview.put("totalBoardsCreated", analyticsConsumer.getMetric("boards_created_total"));
 
-        // Total lists from database (since we don't track list events)
-        overview.put("totalListsCreated", listRepository.count());
+        // Total lists from the per-board counters (list events are not tracked)
+        overview.put("totalListsCreated", boardCounters.getTotalListCount());
 
         // Calculated metrics
         long totalCards = analyticsConsumer.getMetric("cards_created_total");
@@ -114,6 +124,28 @@ public class AnalyticsController {
         return ResponseEntity.ok(boardMetrics);
     }
 
+    /**
+     * Get the lists and boards with the most row lock wait time, hottest first.
+     */
+    @GetMapping("/locks")
+    public ResponseEntity<Map<String, Object>> getLockContention(
+            @RequestParam(defaultValue = "10") int limit) {
+        log.debug("Fetching lock contention for top {} rows", limit);
+
+        int boundedLimit = Math.min(Math.max(limit, 1), 100);
+        List<LockContentionDTO> lists = lockContentionMonitor.getHottest(LockTarget.LIST, boundedLimit);
+        lists.forEach(dto -> dto.setName(listRepository.findNameById(dto.getId()).orElse(null)));
+        List<LockContentionDTO> boards = lockContentionMonitor.getHottest(LockTarget.BOARD, boundedLimit);
+        boards.forEach(dto -> dto.setName(boardRepository.findNameById(dto.getId()).orElse(null)));
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("lists", lists);
+        response.put("boards", boards);
+        response.put("timestamp", System.currentTimeMillis());
+
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Reset all metrics (for testing purposes).
      */
@@ -122,6 +154,7 @@ public class AnalyticsController {
         log.warn("Resetting all analytics metrics");
 
         analyticsConsumer.getAllMetrics().clear();
+        lockContentionMonitor.reset();
 
         Map<String, String> response = new HashMap<>();
         response.put("message", "All metrics have been reset");
@@ -0,0 +1,66 @@
+package com.taskboard.controller;
+
+import com.taskboard.service.actor.BoardActorClient;
+import com.taskboard.service.actor.BoardActorMoveRequest;
+import com.taskboard.service.actor.BoardActorMoveResponse;
+import com.taskboard.service.actor.BoardActorRouter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Internal endpoints through which instances forward board actor calls to the board's owner.
+ * Not for clients: callers authenticate with the shared cluster token instead of a JWT.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/internal/board-actors")
+@RequiredArgsConstructor
+public class BoardActorController {
+
+    private final BoardActorRouter boardActorRouter;
+
+    /**
+     * Apply a forwarded card move.
+     */
+    @PostMapping("/boards/{boardId}/moves")
+    public ResponseEntity<BoardActorMoveResponse> moveCard(
+            @PathVariable Long boardId,
+            @RequestBody BoardActorMoveRequest request,
+            @RequestHeader(value = BoardActorClient.CLUSTER_TOKEN_HEADER, required = false) String token) {
+        boardActorRouter.checkClusterToken(token);
+        log.debug("Forwarded move of card {} on board {}", request.cardId(), boardId);
+        return ResponseEntity.ok(boardActorRouter.moveLocal(boardId, request));
+    }
+
+    /**
+     * Fence a board for a write made by another instance.
+     */
+    @PostMapping("/boards/{boardId}/fence")
+    public ResponseEntity<Void> fence(
+            @PathVariable Long boardId,
+            @RequestHeader(value = BoardActorClient.CLUSTER_TOKEN_HEADER, required = false) String token) {
+        boardActorRouter.checkClusterToken(token);
+        boardActorRouter.fenceLocal(boardId);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Lift the fence of a board.
+     */
+    @DeleteMapping("/boards/{boardId}/fence")
+    public ResponseEntity<Void> unfence(
+            @PathVariable Long boardId,
+            @RequestHeader(value = BoardActorClient.CLUSTER_TOKEN_HEADER, required = false) String token) {
+        boardActorRouter.checkClusterToken(token);
+        boardActorRouter.unfenceLocal(boardId);
+        return ResponseEntity.noContent().build();
+    }
+}
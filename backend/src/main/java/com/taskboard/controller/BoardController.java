@@ -1,25 +1,42 @@
 package com.taskboard.controller;
 
+import com.taskboard.model.dto.ActivityFeedPage;
 import com.taskboard.model.dto.ActivityLogDTO;
+import com.taskboard.model.dto.BoardCountersDTO;
 import com.taskboard.model.dto.BoardDTO;
+import com.taskboard.model.dto.BoardMemberDTO;
+import com.taskboard.model.dto.BoardMemberRequest;
 import com.taskboard.model.dto.CreateBoardRequest;
+import com.taskboard.model.dto.NormalizedBoardDTO;
+import com.taskboard.model.entity.ActivityMetadataKey;
+import com.taskboard.model.entity.ActivityType;
+import com.taskboard.security.AuthorizationService;
 import com.taskboard.security.CurrentUser;
 import com.taskboard.security.UserPrincipal;
 import com.taskboard.service.ActivityLogService;
+import com.taskboard.service.BoardCounterService;
+import com.taskboard.service.BoardMemberService;
+import com.taskboard.service.BoardPayload;
+import com.taskboard.service.BoardPayloadService;
 import com.taskboard.service.BoardService;
+import com.taskboard.service.BoardStreamService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
 /**
  * REST controller for board operations.
- * All endpoints require authentication. Modification requires board ownership or admin role.
+ * All endpoints require authentication. Boards are visible to their members; changing a board
+ * itself or its members requires board ownership or admin role.
  */
 @Slf4j
 @RestController
@@ -29,29 +46,82 @@ import java.util.List;
 public class BoardController {
 
     private final BoardService boardService;
+    private final BoardPayloadService boardPayloadService;
+    private final BoardStreamService boardStreamService;
     private final ActivityLogService activityLogService;
+    private final BoardMemberService boardMemberService;
+    private final AuthorizationService authorizationService;
+    private final BoardCounterService boardCounterService;
 
     /**
-     * Get all boards.
-     * All authenticated users can view boards.
+     * Get the boards of the current user: the boards they own or are a member of, or all
+     * boards for admins. Served gzipped from the cache when the client accepts it.
      */
     @GetMapping
-    public ResponseEntity<List<BoardDTO>> getAllBoards(@CurrentUser UserPrincipal currentUser) {
+    public ResponseEntity<byte[]> getAllBoards(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @CurrentUser UserPrincipal currentUser) {
         log.info("GET /api/v1/boards - User: {} - Getting all boards", currentUser.getUsername());
-        List<BoardDTO> boards = boardService.getAllBoards();
-        return ResponseEntity.ok(boards);
+        BoardPayload payload = authorizationService.isAdmin()
+                ? boardPayloadService.getAllBoardsPayload()
+                : boardPayloadService.getBoardsPayloadForUser(currentUser.getId());
+        return payloadResponse(payload, MediaType.APPLICATION_JSON, acceptEncoding);
     }
 
     /**
      * Get a board by ID with all lists and cards.
-     * Requires access to the board.
+     * Requires access to the board. Served gzipped from the cache when the client accepts it.
      */
     @GetMapping("/{id}")
     @PreAuthorize("@authorizationService.canAccessBoard(#id)")
-    public ResponseEntity<BoardDTO> getBoard(@PathVariable Long id, @CurrentUser UserPrincipal currentUser) {
+    public ResponseEntity<byte[]> getBoard(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @CurrentUser UserPrincipal currentUser) {
         log.info("GET /api/v1/boards/{} - User: {} - Getting board", id, currentUser.getUsername());
-        BoardDTO board = boardService.getBoardById(id);
-        return ResponseEntity.ok(board);
+        return payloadResponse(boardPayloadService.getBoardPayload(id), MediaType.APPLICATION_JSON, acceptEncoding);
+    }
+
+    /**
+     * Get a board by ID in normalized form (cards and users once, referenced by id),
+     * negotiated with {@code Accept: application/vnd.taskboard.board.normalized+json}.
+     * Requires access to the board.
+     */
+    @GetMapping(value = "/{id}", produces = NormalizedBoardDTO.MEDIA_TYPE)
+    @PreAuthorize("@authorizationService.canAccessBoard(#id)")
+    public ResponseEntity<byte[]> getNormalizedBoard(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @CurrentUser UserPrincipal currentUser) {
+        log.info("GET /api/v1/boards/{} - User: {} - Getting normalized board", id, currentUser.getUsername());
+        return payloadResponse(boardPayloadService.getNormalizedBoardPayload(id),
+                MediaType.parseMediaType(NormalizedBoardDTO.MEDIA_TYPE), acceptEncoding);
+    }
+
+    /**
+     * Same as {@link #getNormalizedBoard}, for clients that cannot set the Accept header.
+     */
+    @GetMapping(value = "/{id}", params = "format=normalized")
+    @PreAuthorize("@authorizationService.canAccessBoard(#id)")
+    public ResponseEntity<byte[]> getNormalizedBoardByParam(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @CurrentUser UserPrincipal currentUser) {
+        return getNormalizedBoard(id, acceptEncoding, currentUser);
+    }
+
+    /**
+     * Get a board by ID with all lists and cards, written to the response as it is read.
+     * Same JSON as {@link #getBoard}, for boards too large to build in memory.
+     * Requires access to the board.
+     */
+    @GetMapping(value = "/{id}", params = "stream=true")
+    @PreAuthorize("@authorizationService.canAccessBoard(#id)")
+    public ResponseEntity<StreamingResponseBody> streamBoard(@PathVariable Long id, @CurrentUser UserPrincipal currentUser) {
+        log.info("GET /api/v1/boards/{}?stream=true - User: {} - Streaming board", id, currentUser.getUsername());
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(boardStreamService.streamBoard(id));
     }
 
     /**
@@ -72,7 +142,7 @@ public class BoardController {
      * Requires board ownership or admin role.
      */
     @PutMapping("/{id}")
-    @PreAuthorize("@authorizationService.canModifyBoard(#id)")
+    @PreAuthorize("@authorizationService.canManageBoard(#id)")
     public ResponseEntity<BoardDTO> updateBoard(
             @PathVariable Long id,
             @Valid @RequestBody CreateBoardRequest request,
@@ -95,7 +165,7 @@ public class BoardController {
     }
 
     /**
-     * Get recent activity for a board.
+     * Get recent activity for a board (at most the server's maximum page size).
      * Requires access to the board.
      */
     @GetMapping("/{id}/activity")
@@ -108,5 +178,112 @@ public class BoardController {
         List<ActivityLogDTO> activity = activityLogService.getRecentActivity(id, limit);
         return ResponseEntity.ok(activity);
     }
-}
 
+    /**
+     * Get a board's activity feed page by page, newest first. Pass the {@code nextCursor} of
+     * a page to get the next one; the page size is capped by the server.
+     * Requires access to the board.
+     */
+    @GetMapping("/{id}/activity/feed")
+    @PreAuthorize("@authorizationService.canAccessBoard(#id)")
+    public ResponseEntity<ActivityFeedPage> getBoardActivityFeed(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @CurrentUser UserPrincipal currentUser) {
+        log.info("GET /api/v1/boards/{}/activity/feed - User: {} - Getting activity feed", id, currentUser.getUsername());
+        return ResponseEntity.ok(activityLogService.getActivityFeed(id, cursor, size));
+    }
+
+    /**
+     * Search a board's activity by who moved a card or by card title (exactly one of
+     * {@code movedBy} and {@code cardTitle}), optionally of one activity type, newest first.
+     * Paged like the feed. Requires access to the board.
+     */
+    @GetMapping("/{id}/activity/search")
+    @PreAuthorize("@authorizationService.canAccessBoard(#id)")
+    public ResponseEntity<ActivityFeedPage> searchBoardActivity(
+            @PathVariable Long id,
+            @RequestParam(required = false) String movedBy,
+            @RequestParam(required = false) String cardTitle,
+            @RequestParam(required = false) ActivityType type,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @CurrentUser UserPrincipal currentUser) {
+        log.info("GET /api/v1/boards/{}/activity/search - User: {} - Searching activity", id, currentUser.getUsername());
+        if ((movedBy == null) == (cardTitle == null)) {
+            throw new IllegalArgumentException("Exactly one of movedBy and cardTitle is required");
+        }
+        ActivityMetadataKey key = movedBy != null ? ActivityMetadataKey.MOVED_BY : ActivityMetadataKey.CARD_TITLE;
+        String value = movedBy != null ? movedBy : cardTitle;
+        return ResponseEntity.ok(activityLogService.searchActivityByMetadata(id, key, value, type, cursor, size));
+    }
+
+    /**
+     * Get the counts of a board's lists and cards (per priority, per assignee, overdue),
+     * without loading the board. Requires access to the board.
+     */
+    @GetMapping("/{id}/counters")
+    @PreAuthorize("@authorizationService.canAccessBoard(#id)")
+    public ResponseEntity<BoardCountersDTO> getBoardCounters(@PathVariable Long id,
+                                                             @CurrentUser UserPrincipal currentUser) {
+        log.info("GET /api/v1/boards/{}/counters - User: {} - Getting counters", id, currentUser.getUsername());
+        return ResponseEntity.ok(boardCounterService.getCounters(id));
+    }
+
+    /**
+     * Get the members of a board.
+     * Requires access to the board.
+     */
+    @GetMapping("/{id}/members")
+    @PreAuthorize("@authorizationService.canAccessBoard(#id)")
+    public ResponseEntity<List<BoardMemberDTO>> getMembers(@PathVariable Long id, @CurrentUser UserPrincipal currentUser) {
+        log.info("GET /api/v1/boards/{}/members - User: {} - Getting members", id, currentUser.getUsername());
+        return ResponseEntity.ok(boardMemberService.getMembers(id));
+    }
+
+    /**
+     * Add a member to a board or change their role.
+     * Requires board ownership or admin role.
+     */
+    @PutMapping("/{id}/members/{userId}")
+    @PreAuthorize("@authorizationService.canManageBoard(#id)")
+    public ResponseEntity<BoardMemberDTO> setMember(
+            @PathVariable Long id,
+            @PathVariable Long userId,
+            @Valid @RequestBody BoardMemberRequest request,
+            @CurrentUser UserPrincipal currentUser) {
+        log.info("PUT /api/v1/boards/{}/members/{} - User: {} - Setting role {}",
+                id, userId, currentUser.getUsername(), request.getRole());
+        return ResponseEntity.ok(boardMemberService.setMember(id, userId, request.getRole()));
+    }
+
+    /**
+     * Remove a member from a board.
+     * Requires board ownership or admin role.
+     */
+    @DeleteMapping("/{id}/members/{userId}")
+    @PreAuthorize("@authorizationService.canManageBoard(#id)")
+    public ResponseEntity<Void> removeMember(
+            @PathVariable Long id,
+            @PathVariable Long userId,
+            @CurrentUser UserPrincipal currentUser) {
+        log.info("DELETE /api/v1/boards/{}/members/{} - User: {} - Removing member", id, userId, currentUser.getUsername());
+        boardMemberService.removeMember(id, userId);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Write a cached payload in the best encoding the client accepts. Responses that already
+     * carry a Content-Encoding are left alone by the container's compression.
+     */
+    private ResponseEntity<byte[]> payloadResponse(BoardPayload payload, MediaType contentType, String acceptEncoding) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(contentType)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (payload.gzip() != null && BoardPayload.acceptsGzip(acceptEncoding)) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(payload.gzip());
+        }
+        return response.body(payload.json());
+    }
+}
@@ -1,8 +1,12 @@
 package com.taskboard.controller;
 
+import com.taskboard.admission.Admission;
+import com.taskboard.admission.EndpointClass;
 import com.taskboard.model.dto.CardDTO;
 import com.taskboard.model.dto.CardMoveDTO;
 import com.taskboard.model.dto.CreateCardRequest;
+import com.taskboard.ratelimit.RateLimitedEndpoint;
+import com.taskboard.ratelimit.RateLimiter;
 import com.taskboard.security.CurrentUser;
 import com.taskboard.security.UserPrincipal;
 import com.taskboard.service.CardService;
@@ -28,6 +32,7 @@ import java.util.List;
 public class CardController {
 
     private final CardService cardService;
+    private final RateLimiter rateLimiter;
 
     /**
      * Get all cards in a list.
@@ -87,9 +92,10 @@ public class CardController {
 
     /**
      * Move a card to a different list or position.
-     * Requires modification access to the card's board.
+     * Requires modification access to the card's board; rate limited per user and per board.
      */
     @PostMapping("/{id}/move")
+    @Admission(EndpointClass.MOVES)
     @PreAuthorize("@authorizationService.canModifyCard(#id)")
     public ResponseEntity<CardDTO> moveCard(
             @PathVariable Long id,
@@ -97,6 +103,7 @@ public class CardController {
             @CurrentUser UserPrincipal currentUser) {
         log.info("POST /api/v1/cards/{}/move - User: {} - Moving card to list: {} position: {}",
                 id, currentUser.getUsername(), moveDTO.getNewListId(), moveDTO.getNewPosition());
+        rateLimiter.checkCard(RateLimitedEndpoint.CARD_MOVE, currentUser.getId(), id);
         CardDTO card = cardService.moveCard(id, moveDTO, currentUser.getId());
         return ResponseEntity.ok(card);
     }
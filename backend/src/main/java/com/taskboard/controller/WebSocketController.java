@@ -1,25 +1,37 @@
 package com.taskboard.controller;
 
-import com.taskboard.model.dto.CardMoveDTO;
+import com.taskboard.exception.RateLimitedException;
+import com.taskboard.model.dto.CardDragRequest;
+import com.taskboard.model.dto.PresenceUpdateRequest;
+import com.taskboard.model.dto.UserSummary;
+import com.taskboard.ratelimit.RateLimitedEndpoint;
+import com.taskboard.ratelimit.RateLimiter;
 import com.taskboard.security.AuthorizationService;
-import com.taskboard.security.UserPrincipal;
+import com.taskboard.service.UserLookupService;
+import com.taskboard.service.presence.PresenceService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.MessageExceptionHandler;
 import org.springframework.messaging.handler.annotation.MessageMapping;
-import org.springframework.messaging.handler.annotation.SendTo;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.messaging.simp.annotation.SendToUser;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 
+import java.security.Principal;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 
 /**
  * WebSocket controller for real-time board updates.
- * Handles STOMP messages for card movements and other real-time events.
- * All message handlers require authentication and board access.
+ * Handles STOMP messages for board presence, card drags and other real-time events.
+ * All message handlers require authentication and board access. Handlers run without a
+ * security context: the user is the one {@link com.taskboard.config.WebSocketConfig} set on
+ * the session at CONNECT, whose principal is the user ID.
  */
 @Slf4j
 @Controller
@@ -28,63 +40,100 @@ public class WebSocketController {
 
     private final SimpMessagingTemplate messagingTemplate;
     private final AuthorizationService authorizationService;
+    private final RateLimiter rateLimiter;
+    private final PresenceService presenceService;
+    private final UserLookupService users;
 
     /**
-     * Handle card move messages from clients.
-     * Broadcasts the move to all subscribers of the board topic.
-     * Requires access to the board.
+     * Handle card drag messages from clients.
+     * The drag shows in the board's next presence delta, with the latest position of each
+     * dragged card, instead of being broadcast as it arrives.
+     * Requires access to the board; rate limited per user and per board.
      */
     @MessageMapping("/board/{boardId}/card-move")
-    @SendTo("/topic/board/{boardId}")
-    public Map<String, Object> handleCardMove(
+    public void handleCardMove(
             @DestinationVariable Long boardId,
-            CardMoveDTO moveDTO,
-            @AuthenticationPrincipal UserPrincipal user) {
+            CardDragRequest drag,
+            SimpMessageHeaderAccessor headers) {
 
         // Verify user can access this board
-        authorizationService.requireBoardAccess(boardId);
+        UserSummary user = userOf(headers);
+        authorizationService.requireBoardAccess(user.id(), boardId);
+        rateLimiter.check(RateLimitedEndpoint.WS_CARD_MOVE, user.id(), boardId);
+
+        log.debug("WebSocket: Card {} dragged on board {} by user {} - newListId: {}, newPosition: {}",
+                drag.getCardId(), boardId, user.username(), drag.getNewListId(), drag.getNewPosition());
 
-        log.info("WebSocket: Card move received for board {} from user {} - newListId: {}, newPosition: {}",
-                boardId, user.getUsername(), moveDTO.getNewListId(), moveDTO.getNewPosition());
+        presenceService.dragging(boardId, user, headers.getSessionId(), drag.getCardId(),
+                drag.getNewListId(), drag.getNewPosition());
+    }
 
+    /**
+     * Tell a client that went over its rate limit, instead of handling its message.
+     */
+    @MessageExceptionHandler(RateLimitedException.class)
+    @SendToUser(destinations = "/queue/errors", broadcast = false)
+    public Map<String, Object> handleRateLimited(RateLimitedException ex) {
         Map<String, Object> response = new HashMap<>();
-        response.put("type", "CARD_MOVE_BROADCAST");
-        response.put("boardId", boardId);
-        response.put("newListId", moveDTO.getNewListId());
-        response.put("newPosition", moveDTO.getNewPosition());
-        response.put("userId", user.getId());
-        response.put("username", user.getUsername());
+        response.put("type", "RATE_LIMITED");
+        response.put("message", ex.getMessage());
+        response.put("retryAfterSeconds", ex.getRetryAfterSeconds());
         response.put("timestamp", LocalDateTime.now());
-
         return response;
     }
 
     /**
-     * Handle board subscription notifications.
+     * Handle board subscriptions: the user joins the board's presence and gets everyone on it.
+     * The others learn of the user from the board's next presence delta.
      * Requires access to the board.
      */
     @MessageMapping("/board/{boardId}/subscribe")
-    @SendTo("/topic/board/{boardId}")
+    @SendToUser(destinations = "/queue/presence", broadcast = false)
     public Map<String, Object> handleBoardSubscription(
             @DestinationVariable Long boardId,
-            @AuthenticationPrincipal UserPrincipal user) {
+            SimpMessageHeaderAccessor headers) {
 
         // Verify user can access this board
-        authorizationService.requireBoardAccess(boardId);
+        UserSummary user = userOf(headers);
+        authorizationService.requireBoardAccess(user.id(), boardId);
 
-        log.info("WebSocket: User {} subscribed to board {}", user.getUsername(), boardId);
+        log.info("WebSocket: User {} subscribed to board {}", user.username(), boardId);
 
         Map<String, Object> response = new HashMap<>();
-        response.put("type", "SUBSCRIPTION_ACK");
-        response.put("boardId", boardId);
-        response.put("message", "Successfully subscribed to board updates");
-        response.put("userId", user.getId());
-        response.put("username", user.getUsername());
+        response.put("type", PresenceService.SNAPSHOT);
+        response.put("data", presenceService.join(boardId, user, headers.getSessionId()));
         response.put("timestamp", LocalDateTime.now());
 
         return response;
     }
 
+    /**
+     * Handle presence heartbeats, with what the user is doing on the board.
+     * Requires access to the board.
+     */
+    @MessageMapping("/board/{boardId}/presence")
+    public void handlePresence(
+            @DestinationVariable Long boardId,
+            PresenceUpdateRequest update,
+            SimpMessageHeaderAccessor headers) {
+
+        UserSummary user = userOf(headers);
+        authorizationService.requireBoardAccess(user.id(), boardId);
+
+        presenceService.heartbeat(boardId, user, headers.getSessionId(), update.getActivity(), update.getCardId());
+    }
+
+    /**
+     * The user of the session that sent a message.
+     */
+    private UserSummary userOf(SimpMessageHeaderAccessor headers) {
+        Principal principal = headers.getUser();
+        if (principal instanceof Authentication auth && auth.getPrincipal() instanceof Long userId) {
+            return users.require(userId);
+        }
+        throw new AccessDeniedException("WebSocket session is not authenticated");
+    }
+
     /**
      * Send a message to all subscribers of a specific board.
      */
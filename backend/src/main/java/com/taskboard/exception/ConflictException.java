@@ -0,0 +1,20 @@
+package com.taskboard.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a request was based on a stale version of a resource.
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class ConflictException extends RuntimeException {
+
+    public ConflictException(String message) {
+        super(message);
+    }
+
+    public ConflictException(String resourceName, Object id, Long expectedVersion, Long actualVersion) {
+        super(String.format("%s %s was modified concurrently (expected version %d, current version %d)",
+                resourceName, id, expectedVersion, actualVersion));
+    }
+}
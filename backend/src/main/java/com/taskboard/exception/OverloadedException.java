@@ -0,0 +1,20 @@
+package com.taskboard.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a request is shed because the server is at capacity.
+ */
+@Getter
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class OverloadedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public OverloadedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,20 @@
+package com.taskboard.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a user or board sends requests faster than its rate limit allows.
+ */
+@Getter
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class RateLimitedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public RateLimitedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,176 @@
+package com.taskboard.mapper;
+
+import com.taskboard.model.dto.ActivityLogDTO;
+import com.taskboard.model.dto.BoardDTO;
+import com.taskboard.model.dto.BoardUserDTO;
+import com.taskboard.model.dto.CardDTO;
+import com.taskboard.model.dto.ListDTO;
+import com.taskboard.model.dto.NormalizedBoardDTO;
+import com.taskboard.model.dto.NormalizedCardDTO;
+import com.taskboard.model.dto.NormalizedListDTO;
+import com.taskboard.model.dto.UserSummary;
+import com.taskboard.model.entity.ActivityLog;
+import com.taskboard.model.entity.Board;
+import com.taskboard.model.entity.BoardList;
+import com.taskboard.model.entity.Card;
+import com.taskboard.model.entity.User;
+import org.mapstruct.Builder;
+import org.mapstruct.IterableMapping;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+import org.mapstruct.Named;
+import org.mapstruct.ReportingPolicy;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Entity to DTO mapping for boards (nested or normalized), lists, cards and activity logs.
+ * <p>
+ * The implementation is generated by MapStruct at compile time: plain getter/setter calls on
+ * DTOs created with their no-args constructor (the Lombok builders are bypassed), and
+ * collections are created with the size of their source. Unmapped DTO fields fail the build,
+ * so a field added to a DTO cannot be silently left empty.
+ */
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING,
+        builder = @Builder(disableBuilder = true),
+        unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface TaskBoardMapper {
+
+    @Mapping(target = "listId", source = "list.id")
+    @Mapping(target = "listName", source = "list.name")
+    @Mapping(target = "assignedToId", source = "assignedTo.id")
+    @Mapping(target = "assignedToUsername", source = "assignedTo.username")
+    @Mapping(target = "assignedToFullName", source = "assignedTo.fullName")
+    CardDTO toCardDTO(Card card);
+
+    List<CardDTO> toCardDTOs(List<Card> cards);
+
+    /**
+     * Card with its assignee taken from a {@link UserSummary}, for cards whose assignee is only
+     * attached as a reference.
+     */
+    @Mapping(target = "id", source = "card.id")
+    @Mapping(target = "listId", source = "card.list.id")
+    @Mapping(target = "listName", source = "card.list.name")
+    @Mapping(target = "assignedToId", source = "assignee.id")
+    @Mapping(target = "assignedToUsername", source = "assignee.username")
+    @Mapping(target = "assignedToFullName", source = "assignee.fullName")
+    CardDTO toCardDTO(Card card, UserSummary assignee);
+
+    /**
+     * List without its cards.
+     */
+    @Named("listSummary")
+    @Mapping(target = "boardId", source = "board.id")
+    @Mapping(target = "cards", ignore = true)
+    ListDTO toListDTO(BoardList list);
+
+    @IterableMapping(qualifiedByName = "listSummary")
+    List<ListDTO> toListDTOs(List<BoardList> lists);
+
+    /**
+     * List with its cards.
+     */
+    @Named("listWithCards")
+    @Mapping(target = "boardId", source = "board.id")
+    ListDTO toListDTOWithCards(BoardList list);
+
+    /**
+     * Board without its lists.
+     */
+    @Named("boardSummary")
+    @Mapping(target = "ownerId", source = "owner.id")
+    @Mapping(target = "ownerUsername", source = "owner.username")
+    @Mapping(target = "lists", ignore = true)
+    BoardDTO toBoardDTO(Board board);
+
+    /**
+     * Board with its lists and their cards.
+     */
+    @Named("boardWithDetails")
+    @Mapping(target = "ownerId", source = "owner.id")
+    @Mapping(target = "ownerUsername", source = "owner.username")
+    @Mapping(target = "lists", qualifiedByName = "listWithCards")
+    BoardDTO toBoardDTOWithDetails(Board board);
+
+    /**
+     * Whole boards (lists and cards included) in one pass.
+     */
+    @IterableMapping(qualifiedByName = "boardWithDetails")
+    List<BoardDTO> toBoardDTOsWithDetails(List<Board> boards);
+
+    /**
+     * Board with its lists and cards in normalized form: every card and user once, lists
+     * holding card ids in order.
+     */
+    default NormalizedBoardDTO toNormalizedBoardDTO(Board board) {
+        if (board == null) {
+            return null;
+        }
+        NormalizedBoardDTO dto = toNormalizedBoardHeader(board);
+
+        int cardCount = 0;
+        for (BoardList list : board.getLists()) {
+            cardCount += list.getCards().size();
+        }
+        List<NormalizedListDTO> lists = new ArrayList<>(board.getLists().size());
+        Map<Long, NormalizedCardDTO> cards = LinkedHashMap.newLinkedHashMap(cardCount);
+        Map<Long, BoardUserDTO> users = new LinkedHashMap<>();
+        if (board.getOwner() != null) {
+            users.put(board.getOwner().getId(), toBoardUserDTO(board.getOwner()));
+        }
+
+        for (BoardList list : board.getLists()) {
+            NormalizedListDTO listDTO = toNormalizedListDTO(list);
+            List<Long> cardIds = new ArrayList<>(list.getCards().size());
+            for (Card card : list.getCards()) {
+                cardIds.add(card.getId());
+                cards.put(card.getId(), toNormalizedCardDTO(card));
+                User assignee = card.getAssignedTo();
+                if (assignee != null && !users.containsKey(assignee.getId())) {
+                    users.put(assignee.getId(), toBoardUserDTO(assignee));
+                }
+            }
+            listDTO.setCardIds(cardIds);
+            lists.add(listDTO);
+        }
+
+        dto.setLists(lists);
+        dto.setCards(cards);
+        dto.setUsers(users);
+        return dto;
+    }
+
+    @Mapping(target = "ownerId", source = "owner.id")
+    @Mapping(target = "lists", ignore = true)
+    @Mapping(target = "cards", ignore = true)
+    @Mapping(target = "users", ignore = true)
+    NormalizedBoardDTO toNormalizedBoardHeader(Board board);
+
+    @Mapping(target = "cardIds", ignore = true)
+    NormalizedListDTO toNormalizedListDTO(BoardList list);
+
+    @Mapping(target = "assignedToId", source = "assignedTo.id")
+    NormalizedCardDTO toNormalizedCardDTO(Card card);
+
+    BoardUserDTO toBoardUserDTO(User user);
+
+    @Mapping(target = "boardId", source = "board.id")
+    @Mapping(target = "boardName", source = "board.name")
+    @Mapping(target = "userId", source = "user.id")
+    @Mapping(target = "username", source = "user.username")
+    ActivityLogDTO toActivityLogDTO(ActivityLog activityLog);
+
+    List<ActivityLogDTO> toActivityLogDTOs(List<ActivityLog> activityLogs);
+
+    /**
+     * Activity metadata is handed over as is rather than copied.
+     */
+    default Map<String, Object> metadata(Map<String, Object> metadata) {
+        return metadata;
+    }
+}
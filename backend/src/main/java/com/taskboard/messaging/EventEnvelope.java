@@ -0,0 +1,57 @@
+package com.taskboard.messaging;
+
+import com.taskboard.model.event.EventType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.amqp.core.MessageProperties;
+
+/**
+ * Envelope metadata carried with every event as AMQP message properties.
+ * Keeping type, version, board and sequence in headers lets consumers route and
+ * order messages without deserializing the payload.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventEnvelope {
+
+    public static final String VERSION_HEADER = "x-event-version";
+    public static final String BOARD_ID_HEADER = "x-board-id";
+    public static final String SEQUENCE_HEADER = "x-event-sequence";
+
+    private EventType type;
+    private int version;
+    private Long boardId;
+    private long sequence;
+
+    /**
+     * Write the envelope into outgoing message properties.
+     */
+    public void writeTo(MessageProperties properties) {
+        properties.setType(type.getRoutingKey());
+        properties.setHeader(VERSION_HEADER, version);
+        properties.setHeader(SEQUENCE_HEADER, sequence);
+        if (boardId != null) {
+            properties.setHeader(BOARD_ID_HEADER, boardId);
+        }
+    }
+
+    /**
+     * Read the envelope from incoming message properties.
+     */
+    public static EventEnvelope readFrom(MessageProperties properties) {
+        Number version = properties.getHeader(VERSION_HEADER);
+        Number boardId = properties.getHeader(BOARD_ID_HEADER);
+        Number sequence = properties.getHeader(SEQUENCE_HEADER);
+
+        return EventEnvelope.builder()
+                .type(EventType.fromRoutingKey(properties.getType()))
+                .version(version != null ? version.intValue() : 1)
+                .boardId(boardId != null ? boardId.longValue() : null)
+                .sequence(sequence != null ? sequence.longValue() : 0L)
+                .build();
+    }
+}
@@ -0,0 +1,232 @@
+package com.taskboard.messaging.codec;
+
+import com.taskboard.model.entity.Priority;
+import com.taskboard.model.event.BoardCreatedEvent;
+import com.taskboard.model.event.CardCreatedEvent;
+import com.taskboard.model.event.CardDueSoonEvent;
+import com.taskboard.model.event.CardMovedEvent;
+import com.taskboard.model.event.CardOverdueEvent;
+import com.taskboard.model.event.EventType;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Binary encoding for event payloads (schema version 2).
+ * Fields are written in a fixed order per event type. Names that can be looked up by ID
+ * (board, list and user names) are left out; consumers resolve them from a local cache.
+ * New fields must only ever be appended, and decoders must tolerate their absence.
+ */
+public final class CompactEventCodec {
+
+    public static final String CONTENT_TYPE = "application/vnd.taskboard.event+binary";
+
+    private CompactEventCodec() {
+    }
+
+    /**
+     * Encode an event payload.
+     */
+    public static byte[] encode(EventType type, Object event) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            switch (type) {
+                case CARD_MOVED -> writeCardMoved(out, (CardMovedEvent) event);
+                case CARD_CREATED -> writeCardCreated(out, (CardCreatedEvent) event);
+                case BOARD_CREATED -> writeBoardCreated(out, (BoardCreatedEvent) event);
+                case CARD_DUE_SOON -> writeCardDueSoon(out, (CardDueSoonEvent) event);
+                case CARD_OVERDUE -> writeCardOverdue(out, (CardOverdueEvent) event);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode " + type + " event", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decode an event payload.
+     */
+    public static Object decode(EventType type, byte[] body) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(body))) {
+            return switch (type) {
+                case CARD_MOVED -> readCardMoved(in);
+                case CARD_CREATED -> readCardCreated(in);
+                case BOARD_CREATED -> readBoardCreated(in);
+                case CARD_DUE_SOON -> readCardDueSoon(in);
+                case CARD_OVERDUE -> readCardOverdue(in);
+            };
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode " + type + " event", e);
+        }
+    }
+
+    private static void writeCardMoved(DataOutputStream out, CardMovedEvent event) throws IOException {
+        writeLong(out, event.getCardId());
+        writeString(out, event.getCardTitle());
+        writeLong(out, event.getBoardId());
+        writeLong(out, event.getFromListId());
+        writeInt(out, event.getFromPosition());
+        writeLong(out, event.getToListId());
+        writeInt(out, event.getToPosition());
+        writeLong(out, event.getMovedByUserId());
+        writeTimestamp(out, event.getTimestamp());
+    }
+
+    private static CardMovedEvent readCardMoved(DataInputStream in) throws IOException {
+        return CardMovedEvent.builder()
+                .cardId(readLong(in))
+                .cardTitle(readString(in))
+                .boardId(readLong(in))
+                .fromListId(readLong(in))
+                .fromPosition(readInt(in))
+                .toListId(readLong(in))
+                .toPosition(readInt(in))
+                .movedByUserId(readLong(in))
+                .timestamp(readTimestamp(in))
+                .build();
+    }
+
+    private static void writeCardCreated(DataOutputStream out, CardCreatedEvent event) throws IOException {
+        writeLong(out, event.getCardId());
+        writeString(out, event.getCardTitle());
+        writeLong(out, event.getBoardId());
+        writeLong(out, event.getListId());
+        writeString(out, event.getPriority() != null ? event.getPriority().name() : null);
+        writeLong(out, event.getCreatedByUserId());
+        writeTimestamp(out, event.getTimestamp());
+    }
+
+    private static CardCreatedEvent readCardCreated(DataInputStream in) throws IOException {
+        CardCreatedEvent.CardCreatedEventBuilder builder = CardCreatedEvent.builder()
+                .cardId(readLong(in))
+                .cardTitle(readString(in))
+                .boardId(readLong(in))
+                .listId(readLong(in));
+        String priority = readString(in);
+        return builder
+                .priority(priority != null ? Priority.valueOf(priority) : null)
+                .createdByUserId(readLong(in))
+                .timestamp(readTimestamp(in))
+                .build();
+    }
+
+    private static void writeBoardCreated(DataOutputStream out, BoardCreatedEvent event) throws IOException {
+        // The board name stays in the payload: consumers have never seen this board before
+        writeLong(out, event.getBoardId());
+        writeString(out, event.getBoardName());
+        writeString(out, event.getDescription());
+        writeString(out, event.getColor());
+        writeLong(out, event.getCreatedByUserId());
+        writeTimestamp(out, event.getTimestamp());
+    }
+
+    private static BoardCreatedEvent readBoardCreated(DataInputStream in) throws IOException {
+        return BoardCreatedEvent.builder()
+                .boardId(readLong(in))
+                .boardName(readString(in))
+                .description(readString(in))
+                .color(readString(in))
+                .createdByUserId(readLong(in))
+                .timestamp(readTimestamp(in))
+                .build();
+    }
+
+    private static void writeCardDueSoon(DataOutputStream out, CardDueSoonEvent event) throws IOException {
+        writeLong(out, event.getCardId());
+        writeString(out, event.getCardTitle());
+        writeLong(out, event.getBoardId());
+        writeLong(out, event.getListId());
+        writeLong(out, event.getAssignedToUserId());
+        writeTimestamp(out, event.getDueDate());
+        writeTimestamp(out, event.getTimestamp());
+    }
+
+    private static CardDueSoonEvent readCardDueSoon(DataInputStream in) throws IOException {
+        return CardDueSoonEvent.builder()
+                .cardId(readLong(in))
+                .cardTitle(readString(in))
+                .boardId(readLong(in))
+                .listId(readLong(in))
+                .assignedToUserId(readLong(in))
+                .dueDate(readTimestamp(in))
+                .timestamp(readTimestamp(in))
+                .build();
+    }
+
+    private static void writeCardOverdue(DataOutputStream out, CardOverdueEvent event) throws IOException {
+        writeLong(out, event.getCardId());
+        writeString(out, event.getCardTitle());
+        writeLong(out, event.getBoardId());
+        writeLong(out, event.getListId());
+        writeLong(out, event.getAssignedToUserId());
+        writeTimestamp(out, event.getDueDate());
+        writeTimestamp(out, event.getTimestamp());
+    }
+
+    private static CardOverdueEvent readCardOverdue(DataInputStream in) throws IOException {
+        return CardOverdueEvent.builder()
+                .cardId(readLong(in))
+                .cardTitle(readString(in))
+                .boardId(readLong(in))
+                .listId(readLong(in))
+                .assignedToUserId(readLong(in))
+                .dueDate(readTimestamp(in))
+                .timestamp(readTimestamp(in))
+                .build();
+    }
+
+    // Nullable values are prefixed with a presence flag
+
+    private static void writeLong(DataOutputStream out, Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value);
+        }
+    }
+
+    private static Long readLong(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readLong() : null;
+    }
+
+    private static void writeInt(DataOutputStream out, Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeInt(value);
+        }
+    }
+
+    private static Integer readInt(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readInt() : null;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeTimestamp(DataOutputStream out, LocalDateTime value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(value.getNano());
+        }
+    }
+
+    private static LocalDateTime readTimestamp(DataInputStream in) throws IOException {
+        return in.readBoolean()
+                ? LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC)
+                : null;
+    }
+}
@@ -0,0 +1,30 @@
+package com.taskboard.messaging.codec;
+
+/**
+ * Wire encodings for event payloads.
+ * The schema version travels in the envelope so consumers can decode mixed traffic during a rollout.
+ */
+public enum EventEncoding {
+
+    /** Full JSON payload including denormalized names. Readable by every consumer version. */
+    JSON(1, "application/json"),
+
+    /** Binary payload carrying IDs only; names are resolved by the consumer. */
+    COMPACT(2, CompactEventCodec.CONTENT_TYPE);
+
+    private final int schemaVersion;
+    private final String contentType;
+
+    EventEncoding(int schemaVersion, String contentType) {
+        this.schemaVersion = schemaVersion;
+        this.contentType = contentType;
+    }
+
+    public int getSchemaVersion() {
+        return schemaVersion;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+}
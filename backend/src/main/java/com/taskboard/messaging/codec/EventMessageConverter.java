@@ -0,0 +1,61 @@
+package com.taskboard.messaging.codec;
+
+import com.taskboard.model.event.EventType;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+
+/**
+ * Message converter that writes events in the configured encoding and reads either encoding.
+ * Incoming messages are decoded by content type, so JSON and compact messages can share a
+ * queue while publishers and consumers are upgraded independently.
+ */
+public class EventMessageConverter implements MessageConverter {
+
+    private final MessageConverter jsonConverter;
+    private final EventEncoding encoding;
+
+    public EventMessageConverter(MessageConverter jsonConverter, EventEncoding encoding) {
+        this.jsonConverter = jsonConverter;
+        this.encoding = encoding;
+    }
+
+    /**
+     * Encoding used for outgoing messages.
+     */
+    public EventEncoding getEncoding() {
+        return encoding;
+    }
+
+    @Override
+    public Message toMessage(Object object, MessageProperties messageProperties) throws MessageConversionException {
+        if (encoding != EventEncoding.COMPACT) {
+            return jsonConverter.toMessage(object, messageProperties);
+        }
+
+        EventType type = EventType.fromPayloadType(object.getClass());
+        messageProperties.setContentType(CompactEventCodec.CONTENT_TYPE);
+        messageProperties.setType(type.getRoutingKey());
+        byte[] body = CompactEventCodec.encode(type, object);
+        messageProperties.setContentLength(body.length);
+        return new Message(body, messageProperties);
+    }
+
+    @Override
+    public Object fromMessage(Message message) throws MessageConversionException {
+        MessageProperties properties = message.getMessageProperties();
+        if (!CompactEventCodec.CONTENT_TYPE.equals(properties.getContentType())) {
+            return jsonConverter.fromMessage(message);
+        }
+
+        if (properties.getType() == null) {
+            throw new MessageConversionException("Compact event without a type header");
+        }
+        try {
+            return CompactEventCodec.decode(EventType.fromRoutingKey(properties.getType()), message.getBody());
+        } catch (RuntimeException e) {
+            throw new MessageConversionException("Failed to decode compact event", e);
+        }
+    }
+}
@@ -1,10 +1,18 @@
 package com.taskboard.messaging.consumer;
 
+import com.taskboard.messaging.ordering.OrderedEventDispatcher;
+import com.taskboard.messaging.ordering.SequencedEvent;
 import com.taskboard.model.event.BoardCreatedEvent;
 import com.taskboard.model.event.CardCreatedEvent;
+import com.taskboard.model.event.CardDueSoonEvent;
 import com.taskboard.model.event.CardMovedEvent;
+import com.taskboard.model.event.CardOverdueEvent;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Component;
 
 import java.util.concurrent.ConcurrentHashMap;
@@ -13,19 +21,53 @@ import java.util.concurrent.atomic.AtomicLong;
 /**
  * Consumer for analytics events from RabbitMQ.
  * Collects metrics and statistics about card and board activities.
+ * Events of all types come from the group's shard queues, each board's from one queue, and
+ * {@link OrderedEventDispatcher} hands them over in per-board sequence order.
  * In production, this would store metrics in a time-series database or analytics service.
  */
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class AnalyticsConsumer {
 
+    private static final String CONSUMER_GROUP = "analytics";
+
+    private final OrderedEventDispatcher orderedEvents;
+
     // Simple in-memory metrics (would be a real analytics service in production)
     private final ConcurrentHashMap<String, AtomicLong> metrics = new ConcurrentHashMap<>();
 
+    @PostConstruct
+    void register() {
+        orderedEvents.register(CONSUMER_GROUP, this::dispatch);
+    }
+
+    /**
+     * Receive the events of the group's shard queues; they are handled in per-board order.
+     */
+    @RabbitListener(queues = "#{T(com.taskboard.config.RabbitMQConfig).shardQueueNames("
+            + "'${taskboard.rabbitmq.queue.analytics:taskboard.analytics}', ${taskboard.rabbitmq.shards:8})}",
+            concurrency = "${taskboard.rabbitmq.consumers.analytics.concurrency:1}")
+    public void onEvent(@Payload Object event, Message message) {
+        orderedEvents.accept(CONSUMER_GROUP, this::dispatch, message, event);
+    }
+
+    /**
+     * Route an ordered event to its handler.
+     */
+    private void dispatch(SequencedEvent event) {
+        switch (event.envelope().getType()) {
+            case CARD_MOVED -> handleCardMovedForAnalytics((CardMovedEvent) event.payload());
+            case CARD_CREATED -> handleCardCreatedForAnalytics((CardCreatedEvent) event.payload());
+            case BOARD_CREATED -> handleBoardCreatedForAnalytics((BoardCreatedEvent) event.payload());
+            case CARD_DUE_SOON -> handleCardDueSoonForAnalytics((CardDueSoonEvent) event.payload());
+            case CARD_OVERDUE -> handleCardOverdueForAnalytics((CardOverdueEvent) event.payload());
+        }
+    }
+
     /**
      * Handle card moved events for analytics.
      */
-    @RabbitListener(queues = "${taskboard.rabbitmq.queue.analytics:taskboard.analytics}")
     public void handleCardMovedForAnalytics(CardMovedEvent event) {
         log.debug("=== ANALYTICS: Processing Card Moved Event ===");
 
@@ -39,16 +81,15 @@ public class AnalyticsConsumer {
             incrementMetric("cards_moved_by_user_" + event.getMovedByUserId());
         }
 
-        log.info("Analytics recorded: Card move - {} -> {} (Total moves: {})",
-                event.getFromListName(),
-                event.getToListName(),
+        log.info("Analytics recorded: Card move - list {} -> {} (Total moves: {})",
+                event.getFromListId(),
+                event.getToListId(),
                 getMetric("cards_moved_total"));
     }
 
     /**
      * Handle card created events for analytics.
      */
-    @RabbitListener(queues = "${taskboard.rabbitmq.queue.analytics:taskboard.analytics}")
     public void handleCardCreatedForAnalytics(CardCreatedEvent event) {
         log.debug("=== ANALYTICS: Processing Card Created Event ===");
 
@@ -62,16 +103,15 @@ public class AnalyticsConsumer {
             incrementMetric("cards_created_by_user_" + event.getCreatedByUserId());
         }
 
-        log.info("Analytics recorded: Card created - {} in {} (Total cards created: {})",
+        log.info("Analytics recorded: Card created - {} in list {} (Total cards created: {})",
                 event.getCardTitle(),
-                event.getListName(),
+                event.getListId(),
                 getMetric("cards_created_total"));
     }
 
     /**
      * Handle board created events for analytics.
      */
-    @RabbitListener(queues = "${taskboard.rabbitmq.queue.analytics:taskboard.analytics}")
     public void handleBoardCreatedForAnalytics(BoardCreatedEvent event) {
         log.debug("=== ANALYTICS: Processing Board Created Event ===");
 
@@ -87,6 +127,36 @@ public class AnalyticsConsumer {
                 getMetric("boards_created_total"));
     }
 
+    /**
+     * Handle card due soon events for analytics.
+     */
+    public void handleCardDueSoonForAnalytics(CardDueSoonEvent event) {
+        incrementMetric("cards_due_soon_total");
+        incrementMetric("cards_due_soon_board_" + event.getBoardId());
+
+        log.info("Analytics recorded: Card due soon - {} on board {} (Total due soon: {})",
+                event.getCardTitle(),
+                event.getBoardId(),
+                getMetric("cards_due_soon_total"));
+    }
+
+    /**
+     * Handle card overdue events for analytics.
+     */
+    public void handleCardOverdueForAnalytics(CardOverdueEvent event) {
+        incrementMetric("cards_overdue_total");
+        incrementMetric("cards_overdue_board_" + event.getBoardId());
+
+        if (event.getAssignedToUserId() != null) {
+            incrementMetric("cards_overdue_assigned_to_user_" + event.getAssignedToUserId());
+        }
+
+        log.info("Analytics recorded: Card overdue - {} on board {} (Total overdue: {})",
+                event.getCardTitle(),
+                event.getBoardId(),
+                getMetric("cards_overdue_total"));
+    }
+
     /**
      * Increment a metric counter.
      */
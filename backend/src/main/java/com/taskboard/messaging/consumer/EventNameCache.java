@@ -0,0 +1,85 @@
+package com.taskboard.messaging.consumer;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.taskboard.repository.BoardRepository;
+import com.taskboard.repository.ListRepository;
+import com.taskboard.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Consumer-side cache of board, list and user names.
+ * Compact (v2) events carry IDs only; consumers resolve display names here instead of
+ * receiving them on every message. Names present in the payload (v1 JSON events) are used
+ * as-is and refresh the cache. Entries expire so renames show up eventually.
+ */
+@Component
+public class EventNameCache {
+
+    private final BoardRepository boardRepository;
+    private final ListRepository listRepository;
+    private final UserRepository userRepository;
+
+    private final Cache<Long, String> boardNames;
+    private final Cache<Long, String> listNames;
+    private final Cache<Long, String> usernames;
+
+    public EventNameCache(BoardRepository boardRepository,
+                          ListRepository listRepository,
+                          UserRepository userRepository,
+                          @Value("${taskboard.rabbitmq.name-cache.max-size:10000}") long maxSize,
+                          @Value("${taskboard.rabbitmq.name-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.boardRepository = boardRepository;
+        this.listRepository = listRepository;
+        this.userRepository = userRepository;
+        this.boardNames = newCache(maxSize, ttlSeconds);
+        this.listNames = newCache(maxSize, ttlSeconds);
+        this.usernames = newCache(maxSize, ttlSeconds);
+    }
+
+    /**
+     * Resolve a board name, preferring the one carried by the event.
+     */
+    public String boardName(Long boardId, String fromPayload) {
+        return resolve(boardNames, boardId, fromPayload, boardRepository::findNameById);
+    }
+
+    /**
+     * Resolve a list name, preferring the one carried by the event.
+     */
+    public String listName(Long listId, String fromPayload) {
+        return resolve(listNames, listId, fromPayload, listRepository::findNameById);
+    }
+
+    /**
+     * Resolve a username, preferring the one carried by the event.
+     */
+    public String username(Long userId, String fromPayload) {
+        return resolve(usernames, userId, fromPayload, userRepository::findUsernameById);
+    }
+
+    private static String resolve(Cache<Long, String> cache, Long id, String fromPayload,
+                                  Function<Long, Optional<String>> loader) {
+        if (id == null) {
+            return fromPayload;
+        }
+        if (fromPayload != null) {
+            cache.put(id, fromPayload);
+            return fromPayload;
+        }
+        // Deleted entities are not cached, so a missing name is retried on the next event
+        return cache.get(id, key -> loader.apply(key).orElse(null));
+    }
+
+    private static Cache<Long, String> newCache(long maxSize, long ttlSeconds) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+}
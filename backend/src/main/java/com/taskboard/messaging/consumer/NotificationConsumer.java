@@ -1,85 +1,202 @@
 package com.taskboard.messaging.consumer;
 
+import com.taskboard.messaging.notification.NotificationDigestService;
+import com.taskboard.messaging.notification.NotificationRecipientResolver;
+import com.taskboard.messaging.ordering.OrderedEventDispatcher;
+import com.taskboard.messaging.ordering.SequencedEvent;
+import com.taskboard.model.dto.NotificationItemDTO;
 import com.taskboard.model.event.BoardCreatedEvent;
 import com.taskboard.model.event.CardCreatedEvent;
+import com.taskboard.model.event.CardDueSoonEvent;
 import com.taskboard.model.event.CardMovedEvent;
+import com.taskboard.model.event.CardOverdueEvent;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
+import java.util.Set;
+
 /**
  * Consumer for notification events from RabbitMQ.
- * Handles card and board events to send notifications.
- * In a production environment, this would integrate with email, SMS, or push notification services.
+ * Resolves the interested users for each event and hands the notification to the
+ * digest service, which batches deliveries per user.
+ * Events of all types come from the group's shard queues, each board's from one queue, and
+ * {@link OrderedEventDispatcher} hands them over in per-board sequence order.
+ * Display names are resolved through {@link EventNameCache}, since compact events carry IDs only.
  */
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class NotificationConsumer {
 
+    private static final String CONSUMER_GROUP = "notifications";
+
+    private final NotificationRecipientResolver recipientResolver;
+    private final NotificationDigestService digestService;
+    private final EventNameCache names;
+    private final OrderedEventDispatcher orderedEvents;
+
+    @PostConstruct
+    void register() {
+        orderedEvents.register(CONSUMER_GROUP, this::dispatch);
+    }
+
+    /**
+     * Receive the events of the group's shard queues; they are handled in per-board order.
+     */
+    @RabbitListener(queues = "#{T(com.taskboard.config.RabbitMQConfig).shardQueueNames("
+            + "'${taskboard.rabbitmq.queue.notifications:taskboard.notifications}', ${taskboard.rabbitmq.shards:8})}",
+            concurrency = "${taskboard.rabbitmq.consumers.notifications.concurrency:1}")
+    public void onEvent(@Payload Object event, Message message) {
+        orderedEvents.accept(CONSUMER_GROUP, this::dispatch, message, event);
+    }
+
+    /**
+     * Route an ordered event to its handler.
+     */
+    private void dispatch(SequencedEvent event) {
+        switch (event.envelope().getType()) {
+            case CARD_MOVED -> handleCardMovedEvent((CardMovedEvent) event.payload());
+            case CARD_CREATED -> handleCardCreatedEvent((CardCreatedEvent) event.payload());
+            case BOARD_CREATED -> handleBoardCreatedEvent((BoardCreatedEvent) event.payload());
+            case CARD_DUE_SOON -> handleCardDueSoonEvent((CardDueSoonEvent) event.payload());
+            case CARD_OVERDUE -> handleCardOverdueEvent((CardOverdueEvent) event.payload());
+        }
+    }
+
     /**
      * Handle card moved events for notifications.
      */
-    @RabbitListener(queues = "${taskboard.rabbitmq.queue.notifications:taskboard.notifications}")
     public void handleCardMovedEvent(CardMovedEvent event) {
-        log.info("=== NOTIFICATION: Card Moved ===");
-        log.info("Card '{}' was moved from '{}' to '{}' in board '{}'",
-                event.getCardTitle(),
-                event.getFromListName(),
-                event.getToListName(),
-                event.getBoardName());
-        log.info("Moved by: {}", event.getMovedByUsername());
-        log.info("Timestamp: {}", event.getTimestamp());
-
-        // In production, this would:
-        // - Send email notifications to board members
-        // - Send push notifications to mobile apps
-        // - Update notification center in the UI
-        simulateNotificationDelivery("card_moved", event.getCardTitle());
+        log.debug("Notification: card {} moved from list {} to {} on board {}",
+                event.getCardId(), event.getFromListId(), event.getToListId(), event.getBoardId());
+
+        Set<Long> recipients = recipientResolver.resolveForCard(
+                event.getBoardId(), event.getCardId(), event.getMovedByUserId());
+        if (recipients.isEmpty()) {
+            return;
+        }
+
+        String movedBy = names.username(event.getMovedByUserId(), event.getMovedByUsername());
+        digestService.submit(recipients, NotificationItemDTO.builder()
+                .eventType("CARD_MOVED")
+                .boardId(event.getBoardId())
+                .boardName(names.boardName(event.getBoardId(), event.getBoardName()))
+                .cardId(event.getCardId())
+                .subject(event.getCardTitle())
+                .message(String.format("Card '%s' was moved from '%s' to '%s' by %s",
+                        event.getCardTitle(),
+                        names.listName(event.getFromListId(), event.getFromListName()),
+                        names.listName(event.getToListId(), event.getToListName()),
+                        movedBy))
+                .actorUserId(event.getMovedByUserId())
+                .actorUsername(movedBy)
+                .lastOccurredAt(event.getTimestamp())
+                .build());
     }
 
     /**
      * Handle card created events for notifications.
      */
-    @RabbitListener(queues = "${taskboard.rabbitmq.queue.notifications:taskboard.notifications}")
     public void handleCardCreatedEvent(CardCreatedEvent event) {
-        log.info("=== NOTIFICATION: Card Created ===");
-        log.info("New card '{}' created in list '{}' on board '{}'",
-                event.getCardTitle(),
-                event.getListName(),
-                event.getBoardName());
-        log.info("Priority: {}", event.getPriority());
-        log.info("Created by: {}", event.getCreatedByUsername());
-        log.info("Timestamp: {}", event.getTimestamp());
-
-        simulateNotificationDelivery("card_created", event.getCardTitle());
+        log.debug("Notification: card {} created in list {} on board {}",
+                event.getCardId(), event.getListId(), event.getBoardId());
+
+        Set<Long> recipients = recipientResolver.resolveForCard(
+                event.getBoardId(), event.getCardId(), event.getCreatedByUserId());
+        if (recipients.isEmpty()) {
+            return;
+        }
+
+        digestService.submit(recipients, NotificationItemDTO.builder()
+                .eventType("CARD_CREATED")
+                .boardId(event.getBoardId())
+                .boardName(names.boardName(event.getBoardId(), event.getBoardName()))
+                .cardId(event.getCardId())
+                .subject(event.getCardTitle())
+                .message(String.format("Card '%s' was created in '%s' with %s priority",
+                        event.getCardTitle(), names.listName(event.getListId(), event.getListName()),
+                        event.getPriority()))
+                .actorUserId(event.getCreatedByUserId())
+                .actorUsername(names.username(event.getCreatedByUserId(), event.getCreatedByUsername()))
+                .lastOccurredAt(event.getTimestamp())
+                .build());
     }
 
     /**
      * Handle board created events for notifications.
      */
-    @RabbitListener(queues = "${taskboard.rabbitmq.queue.notifications:taskboard.notifications}")
     public void handleBoardCreatedEvent(BoardCreatedEvent event) {
-        log.info("=== NOTIFICATION: Board Created ===");
-        log.info("New board '{}' created", event.getBoardName());
-        log.info("Description: {}", event.getDescription());
-        log.info("Created by: {}", event.getCreatedByUsername());
-        log.info("Timestamp: {}", event.getTimestamp());
+        log.debug("Notification: board {} '{}' created", event.getBoardId(), event.getBoardName());
+
+        Set<Long> recipients = recipientResolver.resolveForBoard(event.getBoardId(), event.getCreatedByUserId());
+        if (recipients.isEmpty()) {
+            return;
+        }
 
-        simulateNotificationDelivery("board_created", event.getBoardName());
+        String createdBy = names.username(event.getCreatedByUserId(), event.getCreatedByUsername());
+        digestService.submit(recipients, NotificationItemDTO.builder()
+                .eventType("BOARD_CREATED")
+                .boardId(event.getBoardId())
+                .boardName(event.getBoardName())
+                .subject(event.getBoardName())
+                .message(String.format("Board '%s' was created by %s",
+                        event.getBoardName(), createdBy))
+                .actorUserId(event.getCreatedByUserId())
+                .actorUsername(createdBy)
+                .lastOccurredAt(event.getTimestamp())
+                .build());
     }
 
     /**
-     * Simulate notification delivery (would be real implementation in production).
+     * Handle card due soon events for notifications.
      */
-    private void simulateNotificationDelivery(String type, String subject) {
-        log.debug("Simulating {} notification delivery for: {}", type, subject);
-        // Simulate async processing
-        try {
-            Thread.sleep(100);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+    public void handleCardDueSoonEvent(CardDueSoonEvent event) {
+        log.debug("Notification: card {} on board {} is due at {}",
+                event.getCardId(), event.getBoardId(), event.getDueDate());
+
+        notifyDue("CARD_DUE_SOON", event.getBoardId(), event.getBoardName(), event.getCardId(),
+                event.getCardTitle(), String.format("Card '%s' in '%s' is due %s", event.getCardTitle(),
+                        names.listName(event.getListId(), event.getListName()), event.getDueDate()),
+                event.getTimestamp());
+    }
+
+    /**
+     * Handle card overdue events for notifications.
+     */
+    public void handleCardOverdueEvent(CardOverdueEvent event) {
+        log.debug("Notification: card {} on board {} was due at {}",
+                event.getCardId(), event.getBoardId(), event.getDueDate());
+
+        notifyDue("CARD_OVERDUE", event.getBoardId(), event.getBoardName(), event.getCardId(),
+                event.getCardTitle(), String.format("Card '%s' in '%s' is overdue since %s", event.getCardTitle(),
+                        names.listName(event.getListId(), event.getListName()), event.getDueDate()),
+                event.getTimestamp());
+    }
+
+    /**
+     * Notify the board owner and the assignee about a due date; nobody acted, so nobody is left out.
+     */
+    private void notifyDue(String eventType, Long boardId, String boardName, Long cardId, String cardTitle,
+                           String message, LocalDateTime occurredAt) {
+        Set<Long> recipients = recipientResolver.resolveForCard(boardId, cardId, null);
+        if (recipients.isEmpty()) {
+            return;
         }
-        log.debug("Notification delivered successfully for: {}", subject);
+
+        digestService.submit(recipients, NotificationItemDTO.builder()
+                .eventType(eventType)
+                .boardId(boardId)
+                .boardName(names.boardName(boardId, boardName))
+                .cardId(cardId)
+                .subject(cardTitle)
+                .message(message)
+                .lastOccurredAt(occurredAt)
+                .build());
     }
 }
-
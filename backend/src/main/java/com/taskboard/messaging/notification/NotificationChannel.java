@@ -0,0 +1,15 @@
+package com.taskboard.messaging.notification;
+
+import com.taskboard.model.dto.NotificationDigestDTO;
+
+/**
+ * Outbound channel used by the notification pipeline to deliver digests.
+ * The default implementation pushes over WebSocket; tests plug in an in-process channel.
+ */
+public interface NotificationChannel {
+
+    /**
+     * Deliver a digest to a single user.
+     */
+    void deliver(Long recipientUserId, NotificationDigestDTO digest);
+}
@@ -0,0 +1,112 @@
+package com.taskboard.messaging.notification;
+
+import com.taskboard.model.dto.NotificationDigestDTO;
+import com.taskboard.model.dto.NotificationItemDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Buffers notifications per recipient and delivers them as digests.
+ * Events for the same card (or board) are collapsed into a single item while the
+ * digest window is open, so a burst of N events touching U users results in at most
+ * U deliveries per window instead of N x U.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotificationDigestService {
+
+    private final NotificationChannel notificationChannel;
+
+    // Pending digests keyed by recipient user ID
+    private final ConcurrentHashMap<Long, PendingDigest> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Queue a notification item for each recipient.
+     */
+    public void submit(Collection<Long> recipientUserIds, NotificationItemDTO item) {
+        for (Long recipientUserId : recipientUserIds) {
+            // compute() runs under the bin lock, so adding never races with flush()'s remove()
+            pending.compute(recipientUserId, (id, digest) -> {
+                PendingDigest target = digest != null ? digest : new PendingDigest();
+                target.add(item);
+                return target;
+            });
+        }
+    }
+
+    /**
+     * Deliver all pending digests. Runs once per digest window.
+     */
+    @Scheduled(fixedDelayString = "${taskboard.notifications.digest-window-ms:2000}")
+    public void flush() {
+        for (Long recipientUserId : pending.keySet()) {
+            PendingDigest digest = pending.remove(recipientUserId);
+            if (digest == null) {
+                continue;
+            }
+            try {
+                notificationChannel.deliver(recipientUserId, digest.toDTO(recipientUserId));
+            } catch (Exception e) {
+                log.error("Failed to deliver notification digest to user {}: {}", recipientUserId, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Number of recipients with undelivered notifications (for monitoring/tests).
+     */
+    public int getPendingRecipientCount() {
+        return pending.size();
+    }
+
+    /**
+     * Items buffered for one recipient, de-duplicated by card/board.
+     */
+    private static final class PendingDigest {
+
+        private final LocalDateTime windowStartedAt = LocalDateTime.now();
+        private final Map<String, NotificationItemDTO> items = new LinkedHashMap<>();
+        private int eventCount;
+
+        void add(NotificationItemDTO item) {
+            eventCount++;
+            String key = item.getCardId() != null ? "card:" + item.getCardId() : "board:" + item.getBoardId();
+            NotificationItemDTO previous = items.get(key);
+            int occurrences = previous != null ? previous.getOccurrences() + 1 : 1;
+
+            // Keep the latest state of the card, remembering how many events it absorbed
+            items.put(key, NotificationItemDTO.builder()
+                    .eventType(item.getEventType())
+                    .boardId(item.getBoardId())
+                    .boardName(item.getBoardName())
+                    .cardId(item.getCardId())
+                    .subject(item.getSubject())
+                    .message(item.getMessage())
+                    .actorUserId(item.getActorUserId())
+                    .actorUsername(item.getActorUsername())
+                    .occurrences(occurrences)
+                    .lastOccurredAt(item.getLastOccurredAt())
+                    .build());
+        }
+
+        NotificationDigestDTO toDTO(Long recipientUserId) {
+            return NotificationDigestDTO.builder()
+                    .recipientUserId(recipientUserId)
+                    .eventCount(eventCount)
+                    .items(new ArrayList<>(items.values()))
+                    .windowStartedAt(windowStartedAt)
+                    .deliveredAt(LocalDateTime.now())
+                    .build();
+        }
+    }
+}
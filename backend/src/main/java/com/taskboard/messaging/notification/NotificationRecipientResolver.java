@@ -0,0 +1,50 @@
+package com.taskboard.messaging.notification;
+
+import com.taskboard.repository.BoardRepository;
+import com.taskboard.repository.CardRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Resolves who should be notified about an event.
+ * Recipients are the board owner and the card assignee; the user who triggered
+ * the event is never notified about their own action.
+ */
+@Component
+@RequiredArgsConstructor
+public class NotificationRecipientResolver {
+
+    private final BoardRepository boardRepository;
+    private final CardRepository cardRepository;
+
+    /**
+     * Resolve recipients for a card-level event.
+     */
+    @Transactional(readOnly = true)
+    public Set<Long> resolveForCard(Long boardId, Long cardId, Long actorUserId) {
+        Set<Long> recipients = new LinkedHashSet<>(2);
+        boardRepository.findOwnerIdById(boardId).ifPresent(recipients::add);
+        cardRepository.findAssigneeIdById(cardId).ifPresent(recipients::add);
+        if (actorUserId != null) {
+            recipients.remove(actorUserId);
+        }
+        return recipients;
+    }
+
+    /**
+     * Resolve recipients for a board-level event.
+     */
+    @Transactional(readOnly = true)
+    public Set<Long> resolveForBoard(Long boardId, Long actorUserId) {
+        Set<Long> recipients = new LinkedHashSet<>(1);
+        boardRepository.findOwnerIdById(boardId).ifPresent(recipients::add);
+        if (actorUserId != null) {
+            recipients.remove(actorUserId);
+        }
+        return recipients;
+    }
+}
@@ -0,0 +1,24 @@
+package com.taskboard.messaging.notification;
+
+import com.taskboard.controller.WebSocketController;
+import com.taskboard.model.dto.NotificationDigestDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Delivers notification digests to the user's STOMP queue.
+ */
+@Component
+@RequiredArgsConstructor
+public class WebSocketNotificationChannel implements NotificationChannel {
+
+    public static final String DIGEST_EVENT_TYPE = "NOTIFICATION_DIGEST";
+
+    private final WebSocketController webSocketController;
+
+    @Override
+    public void deliver(Long recipientUserId, NotificationDigestDTO digest) {
+        // WebSocketConfig authenticates STOMP sessions with the user ID as the principal name
+        webSocketController.sendUserNotification(String.valueOf(recipientUserId), DIGEST_EVENT_TYPE, digest);
+    }
+}
@@ -0,0 +1,89 @@
+package com.taskboard.messaging.ordering;
+
+import com.taskboard.model.entity.EventConsumerOffset;
+import com.taskboard.repository.EventConsumerOffsetRepository;
+import com.taskboard.repository.EventLogRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Persisted per-board offsets of the consumer groups: the last sequence of each board that a
+ * group has handled. {@link OrderedEventBuffer} starts a board from here, so what a group
+ * handles does not depend on which event it happens to receive first after a restart.
+ * Offsets are read from the primary (no read-only transactions), never from a lagging replica.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConsumerOffsets {
+
+    private final EventConsumerOffsetRepository offsetRepository;
+    private final EventLogRepository eventLogRepository;
+
+    /**
+     * Last sequence of a board the group has handled (0: none).
+     */
+    @Transactional
+    public long lastHandled(String group, Long boardId) {
+        return offsetRepository.findLastSequence(group, boardId).orElse(0L);
+    }
+
+    /**
+     * Record that the group has handled a board's events up to {@code sequence}.
+     */
+    @Transactional
+    public void handled(String group, Long boardId, long sequence) {
+        if (offsetRepository.advance(group, boardId, sequence) == 0
+                && offsetRepository.findLastSequence(group, boardId).isEmpty()) {
+            offsetRepository.saveAndFlush(offset(group, boardId, sequence));
+        }
+    }
+
+    /**
+     * Move the group's offset for a board from {@code expected} to {@code sequence}, unless
+     * someone else moved it first.
+     *
+     * @return whether the offset was moved
+     */
+    @Transactional
+    public boolean claim(String group, Long boardId, long expected, long sequence) {
+        if (offsetRepository.compareAndSet(group, boardId, expected, sequence) == 1) {
+            return true;
+        }
+        if (expected == 0 && offsetRepository.findLastSequence(group, boardId).isEmpty()) {
+            // A concurrent claim fails on the unique key
+            offsetRepository.saveAndFlush(offset(group, boardId, sequence));
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Boards with events logged within {@code window} and none within {@code quiet} that the
+     * group has not handled all of, with their last sequence.
+     */
+    @Transactional
+    public Map<Long, Long> boardsBehind(String group, Duration window, Duration quiet, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, Long> behind = new LinkedHashMap<>();
+        for (Object[] row : eventLogRepository.findBoardsBehind(group, now.minus(window), now.minus(quiet),
+                PageRequest.of(0, limit))) {
+            behind.put(((Number) row[0]).longValue(), ((Number) row[1]).longValue());
+        }
+        return behind;
+    }
+
+    private static EventConsumerOffset offset(String group, Long boardId, long sequence) {
+        return EventConsumerOffset.builder()
+                .consumerGroup(group)
+                .boardId(boardId)
+                .lastSequence(sequence)
+                .build();
+    }
+}
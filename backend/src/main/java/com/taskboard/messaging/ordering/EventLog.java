@@ -0,0 +1,164 @@
+package com.taskboard.messaging.ordering;
+
+import com.taskboard.messaging.EventEnvelope;
+import com.taskboard.messaging.codec.EventEncoding;
+import com.taskboard.model.entity.BoardEventSequence;
+import com.taskboard.model.entity.EventLogEntry;
+import com.taskboard.model.event.EventType;
+import com.taskboard.repository.BoardEventSequenceRepository;
+import com.taskboard.repository.BoardRepository;
+import com.taskboard.repository.EventLogRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Persistent, per-board sequenced log of published events (the outbox of the event relay).
+ * Publishing transactions only insert their events here, without a sequence. After they
+ * commit, the relay numbers a board's new events in a short transaction of its own, which
+ * is the only place that locks the board's counter row. So sequences follow the order in
+ * which changes to a board committed, are never handed out for rolled-back work, and writers
+ * do not wait on each other for them. Consumers replay from here when they detect a gap.
+ * Reads are not read-only transactions, so they go to the primary: a lagging read replica
+ * would hide events from replays and show sent events as unsent to the relay.
+ */
+@Slf4j
+@Component
+public class EventLog {
+
+    private final BoardEventSequenceRepository sequenceRepository;
+    private final EventLogRepository eventLogRepository;
+    private final BoardRepository boardRepository;
+    private final JsonMapper jsonMapper;
+    private final int retentionDays;
+
+    public EventLog(BoardEventSequenceRepository sequenceRepository,
+                    EventLogRepository eventLogRepository,
+                    BoardRepository boardRepository,
+                    JsonMapper jsonMapper,
+                    @Value("${taskboard.events.log-retention-days:7}") int retentionDays) {
+        this.sequenceRepository = sequenceRepository;
+        this.eventLogRepository = eventLogRepository;
+        this.boardRepository = boardRepository;
+        this.jsonMapper = jsonMapper;
+        this.retentionDays = retentionDays;
+    }
+
+    /**
+     * Record an event of a board, to be numbered and sent once the current transaction commits.
+     */
+    @Transactional
+    public void append(EventType type, Long boardId, Object event) {
+        eventLogRepository.save(EventLogEntry.builder()
+                .boardId(boardId)
+                .eventType(type.getRoutingKey())
+                .payload(jsonMapper.writeValueAsString(event))
+                .build());
+    }
+
+    /**
+     * Give up to {@code limit} committed events of a board that have no sequence yet the next
+     * sequence numbers, in the order they were logged. Concurrent callers for the same board
+     * wait for each other on the board's counter row.
+     * Events of a board that no longer exists are dropped.
+     */
+    @Transactional
+    public List<Entry> sequence(Long boardId, int limit) {
+        BoardEventSequence counter = sequenceRepository.findForUpdate(boardId).orElse(null);
+        if (counter == null) {
+            if (!boardRepository.existsById(boardId)) {
+                int dropped = eventLogRepository.deleteUnsequenced(boardId);
+                log.warn("Dropped {} unsent events of deleted board {}", dropped, boardId);
+                return List.of();
+            }
+            counter = sequenceRepository.saveAndFlush(BoardEventSequence.builder()
+                    .boardId(boardId)
+                    .lastSequence(0L)
+                    .build());
+        }
+
+        List<EventLogEntry> entries = eventLogRepository.findUnsequenced(boardId, PageRequest.of(0, limit));
+        long sequence = counter.getLastSequence();
+        for (EventLogEntry entry : entries) {
+            entry.setSequence(++sequence);
+        }
+        counter.setLastSequence(sequence);
+        return entries.stream().map(this::toEntry).toList();
+    }
+
+    /**
+     * Boards with committed events that have no sequence yet.
+     */
+    @Transactional
+    public List<Long> boardsWithUnsequencedEvents(int limit) {
+        return eventLogRepository.findBoardsWithUnsequenced(PageRequest.of(0, limit));
+    }
+
+    /**
+     * Numbered events logged before {@code before} that were never sent, in sequence order per board.
+     */
+    @Transactional
+    public List<Entry> findUnpublished(LocalDateTime before, int limit) {
+        return eventLogRepository.findUnpublished(before, PageRequest.of(0, limit)).stream()
+                .map(this::toEntry)
+                .toList();
+    }
+
+    /**
+     * Record that events were sent to the broker.
+     */
+    @Transactional
+    public void markPublished(List<Long> ids) {
+        if (!ids.isEmpty()) {
+            eventLogRepository.markPublished(ids, LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Load the logged events of a board within a sequence range (inclusive), in order.
+     */
+    @Transactional
+    public List<SequencedEvent> replay(Long boardId, long fromSequence, long toSequence) {
+        return eventLogRepository.findRange(boardId, fromSequence, toSequence).stream()
+                .map(this::toSequencedEvent)
+                .toList();
+    }
+
+    /**
+     * Drop log entries past the retention period.
+     */
+    @Scheduled(cron = "${taskboard.events.log-cleanup-cron:0 30 3 * * *}")
+    @Transactional
+    public void purgeExpired() {
+        int deleted = eventLogRepository.deleteOlderThan(LocalDateTime.now().minusDays(retentionDays));
+        log.info("Purged {} event log entries older than {} days", deleted, retentionDays);
+    }
+
+    private Entry toEntry(EventLogEntry entry) {
+        return new Entry(entry.getId(), toSequencedEvent(entry));
+    }
+
+    private SequencedEvent toSequencedEvent(EventLogEntry entry) {
+        EventType type = EventType.fromRoutingKey(entry.getEventType());
+        EventEnvelope envelope = EventEnvelope.builder()
+                .type(type)
+                .version(EventEncoding.JSON.getSchemaVersion())
+                .boardId(entry.getBoardId())
+                .sequence(entry.getSequence())
+                .build();
+        return new SequencedEvent(envelope, jsonMapper.readValue(entry.getPayload(), type.getPayloadType()));
+    }
+
+    /**
+     * A numbered event with the ID of its log row.
+     */
+    public record Entry(Long id, SequencedEvent event) {
+    }
+}
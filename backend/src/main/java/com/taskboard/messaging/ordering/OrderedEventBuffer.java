@@ -0,0 +1,326 @@
+package com.taskboard.messaging.ordering;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Restores per-board sequence order for one consumer group.
+ * Events that arrive ahead of the expected sequence are held back until the gap is filled,
+ * either by the missing message arriving or, after the gap timeout (or when too many events
+ * are held), by replaying the missing range from the {@link EventLog}. Redelivered events
+ * with an already handled sequence are dropped.
+ * <p>
+ * Events of one board are handed to the handler one at a time; different boards proceed in
+ * parallel, so listener concurrency above 1 is safe. Where a board starts is read from the
+ * group's persisted offset ({@link ConsumerOffsets}), which is moved forward as events are
+ * handled, and read again whenever a gap opens, in case another consumer of the group took
+ * the board over in between. Held-back events are acknowledged to the broker already; if
+ * this instance stops before handling them, they are replayed from the log by the next gap
+ * or by {@link #catchUp}.
+ */
+@Slf4j
+public class OrderedEventBuffer {
+
+    private final String group;
+    private final OrderedEventHandler handler;
+    private final EventLog eventLog;
+    private final ConsumerOffsets offsets;
+    private final int maxBuffered;
+    private final long gapTimeoutMillis;
+    private final long idleEvictionMillis;
+    private final Clock clock;
+
+    private final ConcurrentHashMap<Long, BoardState> boards = new ConcurrentHashMap<>();
+
+    private final AtomicLong duplicatesDropped = new AtomicLong();
+    private final AtomicLong eventsReplayed = new AtomicLong();
+    private final AtomicLong sequencesSkipped = new AtomicLong();
+
+    public OrderedEventBuffer(String group, OrderedEventHandler handler, EventLog eventLog, ConsumerOffsets offsets,
+                              int maxBuffered, Duration gapTimeout, Duration idleEviction, Clock clock) {
+        this.group = group;
+        this.handler = handler;
+        this.eventLog = eventLog;
+        this.offsets = offsets;
+        this.maxBuffered = maxBuffered;
+        this.gapTimeoutMillis = gapTimeout.toMillis();
+        this.idleEvictionMillis = idleEviction.toMillis();
+        this.clock = clock;
+    }
+
+    /**
+     * Accept an event from the broker.
+     * If handling this event itself fails, the exception is rethrown and the sequence is not
+     * advanced, so the broker's retry and dead-letter handling still apply to it.
+     */
+    public void accept(SequencedEvent event) {
+        if (event.boardId() == null || event.sequence() <= 0) {
+            // Unsequenced event (e.g. from an older publisher): nothing to order against
+            handler.handle(event);
+            return;
+        }
+
+        while (true) {
+            BoardState state = boards.computeIfAbsent(event.boardId(), id -> new BoardState());
+            synchronized (state) {
+                if (state.evicted) {
+                    continue;
+                }
+                accept(state, event);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Handle the events of a board up to {@code lastSequence} that the group has not handled,
+     * for boards that no further event will bring up (e.g. held-back events of an instance
+     * that stopped). The range is claimed on the persisted offset before it is replayed, so
+     * only one instance replays it.
+     */
+    public void catchUp(Long boardId, long lastSequence) {
+        while (true) {
+            BoardState state = boards.computeIfAbsent(boardId, id -> new BoardState());
+            synchronized (state) {
+                if (state.evicted) {
+                    continue;
+                }
+                catchUp(boardId, state, lastSequence);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Fill gaps that have been open longer than the timeout and forget idle boards.
+     */
+    public void sweep() {
+        long now = clock.millis();
+        for (Map.Entry<Long, BoardState> entry : boards.entrySet()) {
+            BoardState state = entry.getValue();
+            synchronized (state) {
+                if (!state.pending.isEmpty() && now - state.gapOpenedAt >= gapTimeoutMillis) {
+                    fillGap(entry.getKey(), state);
+                } else if (state.pending.isEmpty() && now - state.lastSeenAt >= idleEvictionMillis) {
+                    state.evicted = true;
+                    boards.remove(entry.getKey(), state);
+                }
+            }
+        }
+    }
+
+    public String getGroup() {
+        return group;
+    }
+
+    /**
+     * Number of events currently held back waiting for a gap to close.
+     */
+    public int getBufferedCount() {
+        int count = 0;
+        for (BoardState state : boards.values()) {
+            synchronized (state) {
+                count += state.pending.size();
+            }
+        }
+        return count;
+    }
+
+    public long getDuplicatesDropped() {
+        return duplicatesDropped.get();
+    }
+
+    public long getEventsReplayed() {
+        return eventsReplayed.get();
+    }
+
+    public long getSequencesSkipped() {
+        return sequencesSkipped.get();
+    }
+
+    private void accept(BoardState state, SequencedEvent event) {
+        long sequence = event.sequence();
+        state.lastSeenAt = clock.millis();
+        if (state.nextExpected < 0) {
+            state.nextExpected = offsets.lastHandled(group, event.boardId()) + 1;
+        } else if (sequence > state.nextExpected && state.pending.isEmpty()) {
+            resync(event.boardId(), state);
+        }
+        if (sequence < state.nextExpected || state.pending.containsKey(sequence)) {
+            duplicatesDropped.incrementAndGet();
+            log.debug("[{}] Dropping duplicate event {} for board {}", group, sequence, event.boardId());
+            return;
+        }
+
+        long handledBefore = state.nextExpected;
+        state.pending.put(sequence, event);
+        try {
+            drain(state, event);
+        } finally {
+            if (!state.pending.isEmpty() && state.gapOpenedAt == 0) {
+                state.gapOpenedAt = clock.millis();
+            }
+            saveOffset(event.boardId(), state, handledBefore);
+        }
+        if (state.pending.size() > maxBuffered) {
+            log.warn("[{}] {} events held back for board {}, replaying gap early",
+                    group, state.pending.size(), event.boardId());
+            fillGap(event.boardId(), state);
+        }
+    }
+
+    /**
+     * Hand over consecutive events starting at the expected sequence.
+     */
+    private void drain(BoardState state, SequencedEvent current) {
+        while (!state.pending.isEmpty() && state.pending.firstKey() == state.nextExpected) {
+            SequencedEvent next = state.pending.pollFirstEntry().getValue();
+            try {
+                handler.handle(next);
+            } catch (RuntimeException e) {
+                if (next == current) {
+                    // Let the broker redeliver it; the sequence stays open until then
+                    throw e;
+                }
+                log.error("[{}] Failed to handle event {} for board {}, skipping: {}",
+                        group, next.sequence(), next.boardId(), e.getMessage());
+            }
+            state.nextExpected++;
+        }
+        if (state.pending.isEmpty()) {
+            state.gapOpenedAt = 0;
+        }
+    }
+
+    /**
+     * Replay the missing range in front of the held-back events from the event log.
+     * Sequences that are not in the log either are skipped so the board can make progress.
+     */
+    private void fillGap(Long boardId, BoardState state) {
+        long handledBefore = state.nextExpected;
+        try {
+            replayGap(boardId, state);
+        } finally {
+            saveOffset(boardId, state, handledBefore);
+        }
+    }
+
+    private void replayGap(Long boardId, BoardState state) {
+        resync(boardId, state);
+        drain(state, null);
+        if (state.pending.isEmpty()) {
+            return;
+        }
+        long from = state.nextExpected;
+        long to = state.pending.firstKey() - 1;
+
+        List<SequencedEvent> replayed = List.of();
+        try {
+            replayed = eventLog.replay(boardId, from, to);
+        } catch (RuntimeException e) {
+            log.error("[{}] Replay of events {}..{} for board {} failed: {}", group, from, to, boardId, e.getMessage());
+        }
+        log.info("[{}] Replaying {} of {} missing events for board {}", group, replayed.size(), to - from + 1, boardId);
+
+        for (SequencedEvent event : replayed) {
+            state.pending.putIfAbsent(event.sequence(), event);
+        }
+        eventsReplayed.addAndGet(replayed.size());
+
+        while (!state.pending.isEmpty()) {
+            drain(state, null);
+            if (state.pending.isEmpty()) {
+                break;
+            }
+            long skipTo = state.pending.firstKey();
+            log.warn("[{}] Events {}..{} for board {} are not in the event log, skipping them",
+                    group, state.nextExpected, skipTo - 1, boardId);
+            sequencesSkipped.addAndGet(skipTo - state.nextExpected);
+            state.nextExpected = skipTo;
+        }
+        state.gapOpenedAt = 0;
+    }
+
+    private void catchUp(Long boardId, BoardState state, long lastSequence) {
+        if (!state.pending.isEmpty()) {
+            // The gap timeout takes care of it
+            return;
+        }
+        long handled = offsets.lastHandled(group, boardId);
+        long from = Math.max(state.nextExpected, handled + 1);
+        state.nextExpected = from;
+        if (from > lastSequence || !offsets.claim(group, boardId, handled, lastSequence)) {
+            return;
+        }
+
+        List<SequencedEvent> replayed = eventLog.replay(boardId, from, lastSequence);
+        log.info("[{}] Catching up on events {}..{} of board {} ({} in the event log)",
+                group, from, lastSequence, boardId, replayed.size());
+        for (SequencedEvent event : replayed) {
+            try {
+                handler.handle(event);
+            } catch (RuntimeException e) {
+                log.error("[{}] Failed to handle event {} for board {}, skipping: {}",
+                        group, event.sequence(), boardId, e.getMessage());
+            }
+        }
+        eventsReplayed.addAndGet(replayed.size());
+        sequencesSkipped.addAndGet(lastSequence - from + 1 - replayed.size());
+        state.nextExpected = lastSequence + 1;
+        state.lastSeenAt = clock.millis();
+    }
+
+    /**
+     * Move the expected sequence up to the persisted offset, if another consumer of the group
+     * got further, and drop the held-back events it handled.
+     */
+    private void resync(Long boardId, BoardState state) {
+        long persisted;
+        try {
+            persisted = offsets.lastHandled(group, boardId) + 1;
+        } catch (RuntimeException e) {
+            log.warn("[{}] Could not read the offset of board {}: {}", group, boardId, e.getMessage());
+            return;
+        }
+        if (persisted > state.nextExpected) {
+            log.info("[{}] Board {} was handled up to {} elsewhere, moving on from there",
+                    group, boardId, persisted - 1);
+            state.pending.headMap(persisted).clear();
+            state.nextExpected = persisted;
+        }
+    }
+
+    /**
+     * Persist the offset of a board if events were handled since {@code handledBefore}.
+     * If it cannot be written, those events may be handled again after a restart.
+     */
+    private void saveOffset(Long boardId, BoardState state, long handledBefore) {
+        if (state.nextExpected <= handledBefore) {
+            return;
+        }
+        try {
+            offsets.handled(group, boardId, state.nextExpected - 1);
+        } catch (RuntimeException e) {
+            log.warn("[{}] Could not save the offset of board {}: {}", group, boardId, e.getMessage());
+        }
+    }
+
+    /**
+     * Ordering state of one board.
+     */
+    private static final class BoardState {
+
+        private final TreeMap<Long, SequencedEvent> pending = new TreeMap<>();
+        private long nextExpected = -1;
+        private long gapOpenedAt;
+        private long lastSeenAt;
+        private boolean evicted;
+    }
+}
@@ -0,0 +1,127 @@
+package com.taskboard.messaging.ordering;
+
+import com.taskboard.messaging.EventEnvelope;
+import com.taskboard.model.event.EventType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Entry point for consumers that need per-board ordering.
+ * Keeps one {@link OrderedEventBuffer} per consumer group. A group's listeners for all event
+ * types share the buffer, since sequences are per board across event types.
+ * <p>
+ * Every so often, each registered group catches up on boards that have gone quiet with
+ * events it never handled (see {@link OrderedEventBuffer#catchUp}).
+ */
+@Slf4j
+@Component
+public class OrderedEventDispatcher {
+
+    private final EventLog eventLog;
+    private final ConsumerOffsets offsets;
+    private final int maxBuffered;
+    private final Duration gapTimeout;
+    private final Duration idleEviction;
+    private final boolean catchUpEnabled;
+    private final Duration catchUpQuiet;
+    private final Duration catchUpWindow;
+    private final int catchUpBatchSize;
+
+    private final ConcurrentHashMap<String, OrderedEventBuffer> buffers = new ConcurrentHashMap<>();
+
+    public OrderedEventDispatcher(EventLog eventLog,
+                                  ConsumerOffsets offsets,
+                                  @Value("${taskboard.events.ordering.max-buffered:256}") int maxBuffered,
+                                  @Value("${taskboard.events.ordering.gap-timeout-ms:2000}") long gapTimeoutMs,
+                                  @Value("${taskboard.events.ordering.idle-eviction-ms:600000}") long idleEvictionMs,
+                                  @Value("${taskboard.events.ordering.catch-up.enabled:true}") boolean catchUpEnabled,
+                                  @Value("${taskboard.events.ordering.catch-up.quiet-ms:60000}") long catchUpQuietMs,
+                                  @Value("${taskboard.events.ordering.catch-up.window-ms:3600000}") long catchUpWindowMs,
+                                  @Value("${taskboard.events.ordering.catch-up.batch-size:100}") int catchUpBatchSize) {
+        this.eventLog = eventLog;
+        this.offsets = offsets;
+        this.maxBuffered = maxBuffered;
+        this.gapTimeout = Duration.ofMillis(gapTimeoutMs);
+        this.idleEviction = Duration.ofMillis(idleEvictionMs);
+        this.catchUpEnabled = catchUpEnabled;
+        this.catchUpQuiet = Duration.ofMillis(catchUpQuietMs);
+        this.catchUpWindow = Duration.ofMillis(catchUpWindowMs);
+        this.catchUpBatchSize = catchUpBatchSize;
+    }
+
+    /**
+     * Register a consumer group's handler, so the group catches up even before it receives a message.
+     */
+    public void register(String group, OrderedEventHandler handler) {
+        buffer(group, handler);
+    }
+
+    /**
+     * Pass a received message on to the group's handler in per-board sequence order.
+     */
+    public void accept(String group, OrderedEventHandler handler, Message message, Object payload) {
+        MessageProperties properties = message.getMessageProperties();
+        EventEnvelope envelope = properties.getType() != null
+                ? EventEnvelope.readFrom(properties)
+                : EventEnvelope.builder().type(EventType.fromPayloadType(payload.getClass())).build();
+
+        buffer(group, handler).accept(new SequencedEvent(envelope, payload));
+    }
+
+    /**
+     * Close timed-out gaps in every group.
+     */
+    @Scheduled(fixedDelayString = "${taskboard.events.ordering.sweep-interval-ms:500}")
+    public void sweep() {
+        buffers.values().forEach(OrderedEventBuffer::sweep);
+    }
+
+    /**
+     * Replay, for every group, the events of quiet boards that the group has not handled.
+     */
+    @Scheduled(fixedDelayString = "${taskboard.events.ordering.catch-up.check-ms:60000}")
+    public void catchUp() {
+        if (!catchUpEnabled) {
+            return;
+        }
+        for (OrderedEventBuffer buffer : buffers.values()) {
+            Map<Long, Long> behind;
+            try {
+                behind = offsets.boardsBehind(buffer.getGroup(), catchUpWindow, catchUpQuiet, catchUpBatchSize);
+            } catch (RuntimeException e) {
+                log.error("[{}] Could not look for missed events: {}", buffer.getGroup(), e.getMessage(), e);
+                continue;
+            }
+            behind.forEach((boardId, lastSequence) -> {
+                try {
+                    buffer.catchUp(boardId, lastSequence);
+                } catch (RuntimeException e) {
+                    // Typically another instance claimed the board first
+                    log.warn("[{}] Could not catch up on board {}: {}", buffer.getGroup(), boardId, e.getMessage());
+                }
+            });
+        }
+    }
+
+    /**
+     * Buffers per consumer group (for monitoring).
+     */
+    public Collection<OrderedEventBuffer> getBuffers() {
+        return buffers.values();
+    }
+
+    private OrderedEventBuffer buffer(String group, OrderedEventHandler handler) {
+        return buffers.computeIfAbsent(group, key -> new OrderedEventBuffer(
+                key, handler, eventLog, offsets, maxBuffered, gapTimeout, idleEviction, Clock.systemUTC()));
+    }
+}
@@ -0,0 +1,10 @@
+package com.taskboard.messaging.ordering;
+
+/**
+ * Receives a consumer group's events in per-board sequence order.
+ */
+@FunctionalInterface
+public interface OrderedEventHandler {
+
+    void handle(SequencedEvent event);
+}
@@ -0,0 +1,17 @@
+package com.taskboard.messaging.ordering;
+
+import com.taskboard.messaging.EventEnvelope;
+
+/**
+ * An event payload together with its envelope.
+ */
+public record SequencedEvent(EventEnvelope envelope, Object payload) {
+
+    public Long boardId() {
+        return envelope.getBoardId();
+    }
+
+    public long sequence() {
+        return envelope.getSequence();
+    }
+}
@@ -1,86 +1,113 @@
 package com.taskboard.messaging.producer;
 
+import com.taskboard.messaging.EventEnvelope;
+import com.taskboard.messaging.codec.EventMessageConverter;
+import com.taskboard.messaging.ordering.EventLog;
 import com.taskboard.model.event.BoardCreatedEvent;
 import com.taskboard.model.event.CardCreatedEvent;
+import com.taskboard.model.event.CardDueSoonEvent;
 import com.taskboard.model.event.CardMovedEvent;
+import com.taskboard.model.event.CardOverdueEvent;
+import com.taskboard.model.event.EventType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 /**
  * Event publisher for sending messages to RabbitMQ.
- * Publishes card and board events to appropriate exchanges.
+ * Publishes every event to the events topic exchange under its type's routing key,
+ * with the event envelope (type, version, board, sequence) stamped into the message headers.
+ * The envelope version is the schema version of the configured encoding.
+ * <p>
+ * Board events are written to the {@link EventLog} in the caller's transaction and handed to
+ * the {@link EventRelay} once it commits, which numbers them per board and sends them. So
+ * consumers never see events for rolled-back changes and can detect and replay gaps, and the
+ * caller's transaction takes no lock for the sequence.
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class EventPublisher {
 
-    private final RabbitTemplate rabbitTemplate;
-
-    @Value("${taskboard.rabbitmq.exchange.card-events:taskboard.card.events}")
-    private String cardEventsExchange;
-
-    @Value("${taskboard.rabbitmq.exchange.board-events:taskboard.board.events}")
-    private String boardEventsExchange;
-
-    @Value("${taskboard.rabbitmq.routing-key.card-moved:card.moved}")
-    private String cardMovedRoutingKey;
-
-    @Value("${taskboard.rabbitmq.routing-key.card-created:card.created}")
-    private String cardCreatedRoutingKey;
-
-    @Value("${taskboard.rabbitmq.routing-key.board-created:board.created}")
-    private String boardCreatedRoutingKey;
+    private final EventMessageConverter messageConverter;
+    private final EventLog eventLog;
+    private final EventRelay eventRelay;
 
     /**
      * Publish a card moved event.
      */
     public void publishCardMoved(CardMovedEvent event) {
-        try {
-            log.debug("Publishing CardMovedEvent: cardId={}, from={} to={}",
-                    event.getCardId(), event.getFromListName(), event.getToListName());
-
-            rabbitTemplate.convertAndSend(cardEventsExchange, cardMovedRoutingKey, event);
+        log.debug("Publishing CardMovedEvent: cardId={}, from={} to={}",
+                event.getCardId(), event.getFromListName(), event.getToListName());
 
-            log.info("Successfully published CardMovedEvent for card: {}", event.getCardTitle());
-        } catch (Exception e) {
-            log.error("Failed to publish CardMovedEvent: {}", e.getMessage(), e);
-        }
+        publish(EventType.CARD_MOVED, event.getBoardId(), event);
     }
 
     /**
      * Publish a card created event.
      */
     public void publishCardCreated(CardCreatedEvent event) {
-        try {
-            log.debug("Publishing CardCreatedEvent: cardId={}, title={}",
-                    event.getCardId(), event.getCardTitle());
+        log.debug("Publishing CardCreatedEvent: cardId={}, title={}",
+                event.getCardId(), event.getCardTitle());
 
-            rabbitTemplate.convertAndSend(cardEventsExchange, cardCreatedRoutingKey, event);
-
-            log.info("Successfully published CardCreatedEvent for card: {}", event.getCardTitle());
-        } catch (Exception e) {
-            log.error("Failed to publish CardCreatedEvent: {}", e.getMessage(), e);
-        }
+        publish(EventType.CARD_CREATED, event.getBoardId(), event);
     }
 
     /**
      * Publish a board created event.
      */
     public void publishBoardCreated(BoardCreatedEvent event) {
-        try {
-            log.debug("Publishing BoardCreatedEvent: boardId={}, name={}",
-                    event.getBoardId(), event.getBoardName());
+        log.debug("Publishing BoardCreatedEvent: boardId={}, name={}",
+                event.getBoardId(), event.getBoardName());
+
+        publish(EventType.BOARD_CREATED, event.getBoardId(), event);
+    }
 
-            rabbitTemplate.convertAndSend(boardEventsExchange, boardCreatedRoutingKey, event);
+    /**
+     * Publish a card due soon event.
+     */
+    public void publishCardDueSoon(CardDueSoonEvent event) {
+        log.debug("Publishing CardDueSoonEvent: cardId={}, due={}", event.getCardId(), event.getDueDate());
 
-            log.info("Successfully published BoardCreatedEvent for board: {}", event.getBoardName());
-        } catch (Exception e) {
-            log.error("Failed to publish BoardCreatedEvent: {}", e.getMessage(), e);
+        publish(EventType.CARD_DUE_SOON, event.getBoardId(), event);
+    }
+
+    /**
+     * Publish a card overdue event.
+     */
+    public void publishCardOverdue(CardOverdueEvent event) {
+        log.debug("Publishing CardOverdueEvent: cardId={}, due={}", event.getCardId(), event.getDueDate());
+
+        publish(EventType.CARD_OVERDUE, event.getBoardId(), event);
+    }
+
+    /**
+     * Log an event, then have the relay number and send it once the current transaction commits.
+     */
+    private void publish(EventType type, Long boardId, Object event) {
+        Runnable afterCommit;
+        if (boardId != null) {
+            eventLog.append(type, boardId, event);
+            afterCommit = () -> eventRelay.boardChanged(boardId);
+        } else {
+            EventEnvelope envelope = EventEnvelope.builder()
+                    .type(type)
+                    .version(messageConverter.getEncoding().getSchemaVersion())
+                    .build();
+            afterCommit = () -> eventRelay.send(envelope, event);
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    afterCommit.run();
+                }
+            });
+        } else {
+            afterCommit.run();
         }
     }
 }
-
@@ -0,0 +1,190 @@
+package com.taskboard.messaging.producer;
+
+import com.taskboard.config.RabbitMQConfig;
+import com.taskboard.messaging.EventEnvelope;
+import com.taskboard.messaging.codec.EventMessageConverter;
+import com.taskboard.messaging.ordering.EventLog;
+import com.taskboard.messaging.ordering.SequencedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Numbers the events in the {@link EventLog} and sends them to the topic exchange
+ * (transactional outbox relay).
+ * <p>
+ * {@link EventPublisher} tells the relay which board got new events once their transaction
+ * has committed; the relay then numbers them (see {@link EventLog#sequence}) and sends them
+ * in sequence order, on a single thread per instance. Sent events are marked published. A
+ * periodic pass picks up what was missed: events of transactions whose instance stopped
+ * before relaying them, and numbered events whose send failed or was cut off, which are sent
+ * again after {@code resend-after-ms}. Consumers drop the resulting duplicates by sequence.
+ */
+@Slf4j
+@Component
+public class EventRelay {
+
+    private final EventLog eventLog;
+    private final RabbitTemplate rabbitTemplate;
+    private final EventMessageConverter messageConverter;
+    private final String eventsExchange;
+    private final int shards;
+    private final int batchSize;
+    private final Duration resendAfter;
+    private final ExecutorService executor;
+
+    // Boards with committed events not numbered yet
+    private final Set<Long> changedBoards = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean relayQueued = new AtomicBoolean();
+    private final AtomicBoolean sweepQueued = new AtomicBoolean();
+
+    public EventRelay(EventLog eventLog,
+                      RabbitTemplate rabbitTemplate,
+                      EventMessageConverter messageConverter,
+                      @Value("${taskboard.rabbitmq.exchange.events:taskboard.events}") String eventsExchange,
+                      @Value("${taskboard.rabbitmq.shards:8}") int shards,
+                      @Value("${taskboard.events.relay.batch-size:100}") int batchSize,
+                      @Value("${taskboard.events.relay.resend-after-ms:30000}") long resendAfterMillis) {
+        this.eventLog = eventLog;
+        this.rabbitTemplate = rabbitTemplate;
+        this.messageConverter = messageConverter;
+        this.eventsExchange = eventsExchange;
+        this.shards = shards;
+        this.batchSize = batchSize;
+        this.resendAfter = Duration.ofMillis(resendAfterMillis);
+        this.executor = Executors.newSingleThreadExecutor(
+                Thread.ofPlatform().name("event-relay").daemon().factory());
+    }
+
+    /**
+     * Number and send the new events of a board. Call after the transaction that logged them committed.
+     */
+    public void boardChanged(Long boardId) {
+        changedBoards.add(boardId);
+        if (relayQueued.compareAndSet(false, true)) {
+            executor.execute(this::relayChangedBoards);
+        }
+    }
+
+    /**
+     * Number and send the events no instance relayed, and send again those whose send did not go through.
+     */
+    @Scheduled(fixedDelayString = "${taskboard.events.relay.sweep-ms:1000}")
+    public void sweep() {
+        if (sweepQueued.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                sweepQueued.set(false);
+                relayMissed();
+            });
+        }
+    }
+
+    /**
+     * Send an event right away, routed to the shard of its board.
+     * Events without a board, which have no sequence, are sent this way directly.
+     *
+     * @return whether the broker took it
+     */
+    public boolean send(EventEnvelope envelope, Object event) {
+        try {
+            String routingKey = RabbitMQConfig.routingKey(envelope.getType(),
+                    RabbitMQConfig.shardOf(envelope.getBoardId(), shards));
+            rabbitTemplate.convertAndSend(eventsExchange, routingKey, event, message -> {
+                envelope.writeTo(message.getMessageProperties());
+                return message;
+            });
+
+            log.info("Successfully published {} event #{} for board {}",
+                    envelope.getType(), envelope.getSequence(), envelope.getBoardId());
+            return true;
+        } catch (Exception e) {
+            log.error("Failed to publish {} event #{} for board {}: {}",
+                    envelope.getType(), envelope.getSequence(), envelope.getBoardId(), e.getMessage(), e);
+            return false;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void relayChangedBoards() {
+        relayQueued.set(false);
+        for (Iterator<Long> it = changedBoards.iterator(); it.hasNext(); ) {
+            Long boardId = it.next();
+            it.remove();
+            relayBoard(boardId);
+        }
+    }
+
+    private void relayMissed() {
+        try {
+            for (Long boardId : eventLog.boardsWithUnsequencedEvents(batchSize)) {
+                relayBoard(boardId);
+            }
+            List<EventLog.Entry> unsent = eventLog.findUnpublished(LocalDateTime.now().minus(resendAfter), batchSize);
+            if (!unsent.isEmpty()) {
+                log.warn("Sending {} events again that were numbered but not sent", unsent.size());
+                send(unsent);
+            }
+        } catch (RuntimeException e) {
+            log.error("Event relay sweep failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private void relayBoard(Long boardId) {
+        try {
+            List<EventLog.Entry> numbered;
+            do {
+                numbered = eventLog.sequence(boardId, batchSize);
+                send(numbered);
+            } while (numbered.size() == batchSize);
+        } catch (RuntimeException e) {
+            // Typically another instance created the board's counter at the same time; the sweep retries
+            log.warn("Could not relay the events of board {}: {}", boardId, e.getMessage());
+        }
+    }
+
+    /**
+     * Send numbered events in order and mark the sent ones published. A board's events after
+     * a failed send are held back, so they are not sent ahead of it.
+     */
+    private void send(List<EventLog.Entry> entries) {
+        List<Long> sent = new ArrayList<>(entries.size());
+        Set<Long> failedBoards = new HashSet<>();
+        for (EventLog.Entry entry : entries) {
+            SequencedEvent event = entry.event();
+            if (failedBoards.contains(event.boardId())) {
+                continue;
+            }
+            EventEnvelope envelope = EventEnvelope.builder()
+                    .type(event.envelope().getType())
+                    .version(messageConverter.getEncoding().getSchemaVersion())
+                    .boardId(event.boardId())
+                    .sequence(event.sequence())
+                    .build();
+            if (send(envelope, event.payload())) {
+                sent.add(entry.id());
+            } else {
+                failedBoards.add(event.boardId());
+            }
+        }
+        eventLog.markPublished(sent);
+    }
+}
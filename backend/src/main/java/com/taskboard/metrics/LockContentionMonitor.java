@@ -0,0 +1,126 @@
+package com.taskboard.metrics;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.taskboard.model.dto.LockContentionDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tracks how long requests wait for pessimistic row locks.
+ * Wait time per row (list or board) is kept in memory for the hot-lists view; Micrometer
+ * gets aggregate timers and timeout counters per lock target only, to keep tag cardinality low.
+ * Per-row statistics are bounded by {@code max-tracked-rows}; when full, Caffeine evicts the rows
+ * recorded least often, so a burst of one-off rows does not push out the contended ones.
+ */
+@Component
+public class LockContentionMonitor {
+
+    private final Map<LockTarget, Timer> waitTimers = new EnumMap<>(LockTarget.class);
+    private final Map<LockTarget, Counter> timeoutCounters = new EnumMap<>(LockTarget.class);
+    private final Cache<RowKey, RowStats> rows;
+
+    public LockContentionMonitor(MeterRegistry meterRegistry,
+                                 @Value("${taskboard.locks.max-tracked-rows:10000}") int maxTrackedRows) {
+        this.rows = Caffeine.newBuilder().maximumSize(maxTrackedRows).build();
+        for (LockTarget target : LockTarget.values()) {
+            String tag = target.name().toLowerCase();
+            waitTimers.put(target, Timer.builder("taskboard.lock.wait")
+                    .description("Time spent waiting for a pessimistic row lock")
+                    .tag("target", tag)
+                    .publishPercentileHistogram()
+                    .maximumExpectedValue(Duration.ofSeconds(30))
+                    .register(meterRegistry));
+            timeoutCounters.put(target, Counter.builder("taskboard.lock.timeouts")
+                    .description("Row lock acquisitions that timed out or failed")
+                    .tag("target", tag)
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Record a lock acquisition attempt.
+     */
+    public void record(LockTarget target, Long id, long waitNanos, boolean acquired) {
+        waitTimers.get(target).record(waitNanos, TimeUnit.NANOSECONDS);
+        if (!acquired) {
+            timeoutCounters.get(target).increment();
+        }
+
+        rows.get(new RowKey(target, id), key -> new RowStats()).record(waitNanos, acquired);
+    }
+
+    /**
+     * Rows with the most total lock wait, hottest first.
+     */
+    public List<LockContentionDTO> getHottest(LockTarget target, int limit) {
+        return rows.asMap().entrySet().stream()
+                .filter(entry -> entry.getKey().target() == target)
+                .sorted(Comparator.comparingLong((Map.Entry<RowKey, RowStats> entry) ->
+                        entry.getValue().totalWaitNanos.sum()).reversed())
+                .limit(limit)
+                .map(entry -> entry.getValue().toDTO(entry.getKey()))
+                .toList();
+    }
+
+    /**
+     * Forget all per-row statistics.
+     */
+    public void reset() {
+        rows.invalidateAll();
+    }
+
+    private record RowKey(LockTarget target, Long id) {
+    }
+
+    /**
+     * Lock wait statistics of one row, updated without locking.
+     */
+    private static final class RowStats {
+
+        private final LongAdder acquisitions = new LongAdder();
+        private final LongAdder timeouts = new LongAdder();
+        private final LongAdder totalWaitNanos = new LongAdder();
+        private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0);
+        private final AtomicLong lastWaitAt = new AtomicLong();
+
+        void record(long waitNanos, boolean acquired) {
+            if (acquired) {
+                acquisitions.increment();
+            } else {
+                timeouts.increment();
+            }
+            totalWaitNanos.add(waitNanos);
+            maxWaitNanos.accumulate(waitNanos);
+            lastWaitAt.set(System.currentTimeMillis());
+        }
+
+        LockContentionDTO toDTO(RowKey key) {
+            long count = acquisitions.sum() + timeouts.sum();
+            long totalWait = totalWaitNanos.sum();
+            return LockContentionDTO.builder()
+                    .target(key.target().name())
+                    .id(key.id())
+                    .acquisitions(acquisitions.sum())
+                    .timeouts(timeouts.sum())
+                    .totalWaitMs(TimeUnit.NANOSECONDS.toMillis(totalWait))
+                    .avgWaitMs(count > 0 ? totalWait / 1_000_000.0 / count : 0)
+                    .maxWaitMs(TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get()))
+                    .lastWaitAt(lastWaitAt.get())
+                    .build();
+        }
+    }
+}
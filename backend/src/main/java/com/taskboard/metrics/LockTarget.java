@@ -0,0 +1,19 @@
+package com.taskboard.metrics;
+
+/**
+ * Kinds of rows the services lock with {@code SELECT ... FOR UPDATE}.
+ */
+public enum LockTarget {
+
+    /** A list row, locked while card positions in it change. */
+    LIST,
+
+    /** A board row, locked while list positions in it change. */
+    BOARD,
+
+    /** The card rows of a list, locked while the list is deleted. */
+    LIST_CARDS,
+
+    /** The counters row of a board, locked while a card or list write adjusts it. */
+    BOARD_COUNTERS
+}
@@ -0,0 +1,70 @@
+package com.taskboard.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timers for the phases of service hot paths.
+ * All timers are registered up front, so recording is an array lookup plus {@link System#nanoTime()}
+ * with no meter lookup or tag allocation per call. Usage is lap-style:
+ * <pre>
+ * long start = phaseTimers.start();
+ * long lap = start;
+ * ... lock ...
+ * lap = phaseTimers.lap(ServicePhase.CARD_MOVE_LOCK, lap);
+ * ... update ...
+ * lap = phaseTimers.lap(ServicePhase.CARD_MOVE_POSITIONS, lap);
+ * phaseTimers.lap(ServicePhase.CARD_MOVE_TOTAL, start);
+ * </pre>
+ */
+@Component
+public class PhaseTimers {
+
+    public static final String METRIC_NAME = "taskboard.service.phase";
+
+    private final Map<ServicePhase, Timer> timers = new EnumMap<>(ServicePhase.class);
+
+    public PhaseTimers(MeterRegistry meterRegistry) {
+        for (ServicePhase phase : ServicePhase.values()) {
+            timers.put(phase, Timer.builder(METRIC_NAME)
+                    .description("Time spent in one phase of a service operation")
+                    .tag("operation", phase.getOperation())
+                    .tag("phase", phase.getPhase())
+                    .publishPercentileHistogram()
+                    // Bound the histogram to the range these phases actually take
+                    .minimumExpectedValue(Duration.ofMillis(1))
+                    .maximumExpectedValue(Duration.ofSeconds(10))
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Start timing; returns the start time to pass to {@link #lap}.
+     */
+    public long start() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Record the time since {@code sinceNanos} against a phase and return the current time,
+     * which is the start of the next phase.
+     */
+    public long lap(ServicePhase phase, long sinceNanos) {
+        long now = System.nanoTime();
+        timers.get(phase).record(now - sinceNanos, TimeUnit.NANOSECONDS);
+        return now;
+    }
+
+    /**
+     * The timer of a phase (for tests and dashboards).
+     */
+    public Timer timer(ServicePhase phase) {
+        return timers.get(phase);
+    }
+}
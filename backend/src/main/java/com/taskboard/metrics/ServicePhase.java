@@ -0,0 +1,52 @@
+package com.taskboard.metrics;
+
+/**
+ * Timed phases of the service hot paths.
+ * Each phase is recorded as {@code taskboard.service.phase{operation, phase}}; the TOTAL
+ * phase of an operation covers the whole service method (excluding transaction commit).
+ */
+public enum ServicePhase {
+
+    CARD_MOVE_LOAD("card.move", "load"),
+    CARD_MOVE_LOCK("card.move", "lock"),
+    CARD_MOVE_POSITIONS("card.move", "positions"),
+    CARD_MOVE_PUBLISH("card.move", "publish"),
+    CARD_MOVE_WEBSOCKET("card.move", "websocket"),
+    CARD_MOVE_ACTIVITY_LOG("card.move", "activity_log"),
+    CARD_MOVE_TOTAL("card.move", "total"),
+
+    CARD_CREATE_LOAD("card.create", "load"),
+    CARD_CREATE_LOCK("card.create", "lock"),
+    CARD_CREATE_POSITIONS("card.create", "positions"),
+    CARD_CREATE_PUBLISH("card.create", "publish"),
+    CARD_CREATE_WEBSOCKET("card.create", "websocket"),
+    CARD_CREATE_ACTIVITY_LOG("card.create", "activity_log"),
+    CARD_CREATE_TOTAL("card.create", "total"),
+
+    CARD_DELETE_LOAD("card.delete", "load"),
+    CARD_DELETE_LOCK("card.delete", "lock"),
+    CARD_DELETE_POSITIONS("card.delete", "positions"),
+    CARD_DELETE_WEBSOCKET("card.delete", "websocket"),
+    CARD_DELETE_ACTIVITY_LOG("card.delete", "activity_log"),
+    CARD_DELETE_TOTAL("card.delete", "total"),
+
+    BOARD_LOAD_QUERY("board.load", "query"),
+    BOARD_LOAD_MAPPING("board.load", "mapping"),
+    BOARD_LOAD_TOTAL("board.load", "total");
+
+    private final String operation;
+    private final String phase;
+
+    ServicePhase(String operation, String phase) {
+        this.operation = operation;
+        this.phase = phase;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public String getPhase() {
+        return phase;
+    }
+}
@@ -0,0 +1,23 @@
+package com.taskboard.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * One page of a board's activity feed, newest first.
+ * {@code nextCursor} is passed back to get the following page; it is null on the last page.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivityFeedPage implements Serializable {
+
+    private List<ActivityLogDTO> items;
+    private String nextCursor;
+}
@@ -0,0 +1,31 @@
+package com.taskboard.model.dto;
+
+import com.taskboard.model.entity.Priority;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Counts of a board's lists and cards. {@code overdueCards} counts the cards due at or
+ * before {@code overdueAsOf}, at most one sweep interval ago.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BoardCountersDTO implements Serializable {
+
+    private Long boardId;
+    private long lists;
+    private long cards;
+    private Map<Priority, Long> cardsByPriority;
+    // Keyed by user ID
+    private Map<Long, Long> cardsByAssignee;
+    private long overdueCards;
+    private LocalDateTime overdueAsOf;
+}
@@ -0,0 +1,26 @@
+package com.taskboard.model.dto;
+
+import com.taskboard.model.entity.BoardRole;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object for a member of a board.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BoardMemberDTO implements Serializable {
+
+    private Long userId;
+    private String username;
+    private String fullName;
+    private BoardRole role;
+    private LocalDateTime createdAt;
+}
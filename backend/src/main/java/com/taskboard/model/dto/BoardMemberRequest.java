@@ -0,0 +1,21 @@
+package com.taskboard.model.dto;
+
+import com.taskboard.model.entity.BoardRole;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request object for adding a member to a board or changing their role.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BoardMemberRequest {
+
+    @NotNull(message = "Role is required")
+    private BoardRole role;
+}
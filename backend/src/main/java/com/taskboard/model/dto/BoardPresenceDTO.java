@@ -0,0 +1,24 @@
+package com.taskboard.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Presence on a board: everyone on it (a snapshot), or the users who joined or changed
+ * activity and the IDs of those who left since the last delta.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BoardPresenceDTO implements Serializable {
+
+    private Long boardId;
+    private List<ViewerPresenceDTO> viewers;
+    private List<Long> left;
+}
@@ -0,0 +1,22 @@
+package com.taskboard.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * A user referenced from a {@link NormalizedBoardDTO} (owner or card assignee).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BoardUserDTO implements Serializable {
+
+    private Long id;
+    private String username;
+    private String fullName;
+}
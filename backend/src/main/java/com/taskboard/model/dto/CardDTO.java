@@ -31,5 +31,6 @@ public class CardDTO implements Serializable {
     private LocalDateTime dueDate;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
 }
 
@@ -0,0 +1,21 @@
+package com.taskboard.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Where a user is dragging a card, sent over STOMP to /app/board/{boardId}/card-move while the
+ * drag is in progress. The move itself is made with POST /api/v1/cards/{id}/move.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CardDragRequest {
+
+    private Long cardId;
+    private Long newListId;
+    private Integer newPosition;
+}
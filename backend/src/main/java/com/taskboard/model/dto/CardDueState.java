@@ -0,0 +1,13 @@
+package com.taskboard.model.dto;
+
+import com.taskboard.model.entity.DueNotice;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * A card's due date and the last due-date notification sent for it, all the due-date engine
+ * keeps of a card.
+ */
+public record CardDueState(Long cardId, LocalDateTime dueDate, DueNotice dueNotice) implements Serializable {
+}
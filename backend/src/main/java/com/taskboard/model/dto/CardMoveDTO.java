@@ -20,5 +20,11 @@ public class CardMoveDTO {
 
     @NotNull(message = "New position is required")
     private Integer newPosition;
+
+    /**
+     * Version of the card the client based the move on (optional).
+     * When given and the card has changed since, the move is rejected with 409 Conflict.
+     */
+    private Long expectedVersion;
 }
 
@@ -0,0 +1,26 @@
+package com.taskboard.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Lock wait statistics of one locked row (list or board).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LockContentionDTO {
+
+    private String target;
+    private Long id;
+    private String name;
+    private long acquisitions;
+    private long timeouts;
+    private long totalWaitMs;
+    private double avgWaitMs;
+    private long maxWaitMs;
+    private long lastWaitAt;
+}
@@ -0,0 +1,48 @@
+package com.taskboard.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Normalized form of a board with its lists and cards, served for
+ * {@value #MEDIA_TYPE} or {@code ?format=normalized}.
+ * Cards and users are stored once in dictionaries keyed by id; lists hold the ids of their cards
+ * in order, and cards refer to their assignee by id. Unlike {@link BoardDTO}, list and user
+ * names are not repeated on every card.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NormalizedBoardDTO implements Serializable {
+
+    public static final String MEDIA_TYPE = "application/vnd.taskboard.board.normalized+json";
+
+    private Long id;
+    private String name;
+    private String description;
+    private String color;
+    private Long ownerId;
+    private Boolean archived;
+
+    @Builder.Default
+    private List<NormalizedListDTO> lists = new ArrayList<>();
+
+    @Builder.Default
+    private Map<Long, NormalizedCardDTO> cards = new LinkedHashMap<>();
+
+    @Builder.Default
+    private Map<Long, BoardUserDTO> users = new LinkedHashMap<>();
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,31 @@
+package com.taskboard.model.dto;
+
+import com.taskboard.model.entity.Priority;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * A card in a {@link NormalizedBoardDTO}. Its list and position follow from the list's
+ * {@code cardIds}; its assignee is looked up in the board's {@code users}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NormalizedCardDTO implements Serializable {
+
+    private Long id;
+    private String title;
+    private String description;
+    private Long assignedToId;
+    private Priority priority;
+    private LocalDateTime dueDate;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private Long version;
+}
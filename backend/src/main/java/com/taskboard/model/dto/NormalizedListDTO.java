@@ -0,0 +1,31 @@
+package com.taskboard.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A list in a {@link NormalizedBoardDTO}: the ids of its cards in position order.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NormalizedListDTO implements Serializable {
+
+    private Long id;
+    private String name;
+    private Integer position;
+
+    @Builder.Default
+    private List<Long> cardIds = new ArrayList<>();
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
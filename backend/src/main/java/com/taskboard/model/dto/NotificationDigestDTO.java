@@ -0,0 +1,30 @@
+package com.taskboard.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Digest of notifications delivered to one user in a single message.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationDigestDTO implements Serializable {
+
+    private Long recipientUserId;
+    private int eventCount;
+
+    @Builder.Default
+    private List<NotificationItemDTO> items = new ArrayList<>();
+
+    private LocalDateTime windowStartedAt;
+    private LocalDateTime deliveredAt;
+}
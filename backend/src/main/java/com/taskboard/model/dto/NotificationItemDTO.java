@@ -0,0 +1,32 @@
+package com.taskboard.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * A single entry of a notification digest.
+ * Repeated events for the same card (or board) within a digest window are collapsed
+ * into one item; {@code occurrences} tells how many events were folded into it.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationItemDTO implements Serializable {
+
+    private String eventType;
+    private Long boardId;
+    private String boardName;
+    private Long cardId;
+    private String subject;
+    private String message;
+    private Long actorUserId;
+    private String actorUsername;
+    private int occurrences;
+    private LocalDateTime lastOccurredAt;
+}
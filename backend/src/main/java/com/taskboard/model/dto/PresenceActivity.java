@@ -0,0 +1,16 @@
+package com.taskboard.model.dto;
+
+/**
+ * What a user is doing on a board they have open.
+ */
+public enum PresenceActivity {
+
+    /** Looking at the board. */
+    VIEWING,
+
+    /** Dragging a card. */
+    DRAGGING,
+
+    /** Editing a card. */
+    EDITING
+}
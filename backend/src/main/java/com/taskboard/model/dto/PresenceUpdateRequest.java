@@ -0,0 +1,22 @@
+package com.taskboard.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Presence heartbeat sent over STOMP to /app/board/{boardId}/presence, with what the user is
+ * doing. Without an activity the user is viewing the board.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PresenceUpdateRequest {
+
+    private PresenceActivity activity;
+
+    // The card dragged or edited
+    private Long cardId;
+}
@@ -0,0 +1,10 @@
+package com.taskboard.model.dto;
+
+import java.io.Serializable;
+
+/**
+ * The few user fields write paths need to name a user (activity logs, events), read without
+ * the user's roles.
+ */
+public record UserSummary(Long id, String username, String fullName) implements Serializable {
+}
@@ -0,0 +1,26 @@
+package com.taskboard.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * A user on a board and what they are doing. {@code listId} and {@code position} are where a
+ * dragged card is hovering.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ViewerPresenceDTO implements Serializable {
+
+    private Long userId;
+    private String username;
+    private PresenceActivity activity;
+    private Long cardId;
+    private Long listId;
+    private Integer position;
+}
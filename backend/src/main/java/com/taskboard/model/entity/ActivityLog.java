@@ -16,7 +16,7 @@ import java.util.Map;
  */
 @Entity
 @Table(name = "activity_logs", indexes = {
-        @Index(name = "idx_activity_logs_board_created", columnList = "board_id, created_at DESC"),
+        @Index(name = "idx_activity_logs_board_created", columnList = "board_id, created_at DESC, id DESC"),
         @Index(name = "idx_activity_logs_user", columnList = "user_id")
 })
 @Getter
@@ -45,12 +45,13 @@ public class ActivityLog implements Serializable {
     @Column(nullable = false, columnDefinition = "TEXT")
     private String description;
 
+    // JSONB on PostgreSQL, searchable through metadata_matches (see MetadataFunctionContributor)
     @JdbcTypeCode(SqlTypes.JSON)
-    @Column(columnDefinition = "varchar(4000)")
     private Map<String, Object> metadata;
 
+    // Partition key of activity_logs
     @CreationTimestamp
-    @Column(name = "created_at", updatable = false)
+    @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 }
 
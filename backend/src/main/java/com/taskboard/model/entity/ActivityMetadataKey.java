@@ -0,0 +1,23 @@
+package com.taskboard.model.entity;
+
+/**
+ * Metadata keys activity can be searched by. Lookups on these are served by the GIN index
+ * on {@code activity_logs.metadata}.
+ */
+public enum ActivityMetadataKey {
+    CARD_TITLE("card_title"),
+    MOVED_BY("moved_by");
+
+    private final String key;
+
+    ActivityMetadataKey(String key) {
+        this.key = key;
+    }
+
+    /**
+     * The key as stored in the metadata.
+     */
+    public String getKey() {
+        return key;
+    }
+}
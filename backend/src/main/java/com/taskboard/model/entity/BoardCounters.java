@@ -0,0 +1,64 @@
+package com.taskboard.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Counts of a board's lists and cards, kept up to date by the writes that change them
+ * (see BoardCounterService), so they are read without counting the cards.
+ * <p>
+ * Overdue cards depend on the time as well: {@code overdueCount} counts the cards due at or
+ * before {@code overdueAsOf}, which a periodic sweep moves forward.
+ */
+@Entity
+@Table(name = "board_counters")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BoardCounters {
+
+    @Id
+    @Column(name = "board_id")
+    private Long boardId;
+
+    @Column(name = "list_count", nullable = false)
+    private long listCount;
+
+    @Column(name = "card_count", nullable = false)
+    private long cardCount;
+
+    @ElementCollection
+    @CollectionTable(name = "board_priority_counts", joinColumns = @JoinColumn(name = "board_id"))
+    @MapKeyEnumerated(EnumType.STRING)
+    @MapKeyColumn(name = "priority", length = 20)
+    @Column(name = "card_count", nullable = false)
+    @Builder.Default
+    private Map<Priority, Long> cardsByPriority = new HashMap<>();
+
+    // Keyed by user ID; users without cards on the board have no entry
+    @ElementCollection
+    @CollectionTable(name = "board_assignee_counts", joinColumns = @JoinColumn(name = "board_id"))
+    @MapKeyColumn(name = "user_id")
+    @Column(name = "card_count", nullable = false)
+    @Builder.Default
+    private Map<Long, Long> cardsByAssignee = new HashMap<>();
+
+    @Column(name = "overdue_count", nullable = false)
+    private long overdueCount;
+
+    @Column(name = "overdue_as_of", nullable = false)
+    private LocalDateTime overdueAsOf;
+
+    /**
+     * Set when a card already past due but after {@code overdueAsOf} is written, so the next
+     * sweep counts it.
+     */
+    @Column(name = "overdue_stale", nullable = false)
+    private boolean overdueStale;
+}
@@ -0,0 +1,24 @@
+package com.taskboard.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Last event sequence number handed out for a board.
+ */
+@Entity
+@Table(name = "board_event_sequences")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BoardEventSequence {
+
+    @Id
+    @Column(name = "board_id")
+    private Long boardId;
+
+    @Column(name = "last_sequence", nullable = false)
+    private Long lastSequence;
+}
@@ -40,6 +40,14 @@ public class BoardList implements Serializable {
     @Builder.Default
     private Integer position = 0;
 
+    /**
+     * Optimistic lock version. In optimistic move mode it is bumped by every card move into or
+     * out of the list, so concurrent position changes in the same list conflict at commit.
+     */
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @OneToMany(mappedBy = "list", cascade = CascadeType.ALL, orphanRemoval = true)
     @OrderBy("position ASC")
     @Builder.Default
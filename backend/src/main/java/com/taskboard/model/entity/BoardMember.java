@@ -0,0 +1,42 @@
+package com.taskboard.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Membership of a user on a board.
+ */
+@Entity
+@Table(name = "board_members", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_board_members_board_user", columnNames = {"board_id", "user_id"})
+}, indexes = {
+        @Index(name = "idx_board_members_user", columnList = "user_id, board_id, role")
+})
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BoardMember {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "board_id", nullable = false)
+    private Long boardId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private BoardRole role;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+}
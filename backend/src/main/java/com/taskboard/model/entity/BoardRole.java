@@ -0,0 +1,20 @@
+package com.taskboard.model.entity;
+
+/**
+ * Role of a member on a board.
+ */
+public enum BoardRole {
+    /** Reads the board. */
+    VIEWER,
+    /** Reads the board and changes its lists and cards. */
+    EDITOR,
+    /** Also changes the board itself and its members. */
+    OWNER;
+
+    /**
+     * Whether this role grants everything the given role does.
+     */
+    public boolean includes(BoardRole role) {
+        return compareTo(role) >= 0;
+    }
+}
@@ -54,6 +54,23 @@ public class Card implements Serializable {
     @Column(name = "due_date")
     private LocalDateTime dueDate;
 
+    /**
+     * Last due-date notification sent for the current due date. Written only by the conditional
+     * updates of {@link com.taskboard.repository.CardRepository}, never by saving the card, so a
+     * concurrent card update cannot undo a notice that was sent.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "due_notice", length = 20, insertable = false, updatable = false)
+    private DueNotice dueNotice;
+
+    /**
+     * Optimistic lock version. Bulk position shifts do not touch it, so it only changes
+     * when the card itself is saved.
+     */
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
@@ -0,0 +1,9 @@
+package com.taskboard.model.entity;
+
+/**
+ * Enum representing the last due-date notification sent for a card.
+ */
+public enum DueNotice {
+    DUE_SOON,
+    OVERDUE
+}
@@ -0,0 +1,32 @@
+package com.taskboard.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Last event sequence of a board that a consumer group has handled.
+ */
+@Entity
+@Table(name = "event_consumer_offsets", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_event_consumer_offsets_group_board", columnNames = {"consumer_group", "board_id"})
+})
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventConsumerOffset {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "consumer_group", nullable = false, length = 50)
+    private String consumerGroup;
+
+    @Column(name = "board_id", nullable = false)
+    private Long boardId;
+
+    @Column(name = "last_sequence", nullable = false)
+    private Long lastSequence;
+}
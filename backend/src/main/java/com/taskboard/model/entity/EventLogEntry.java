@@ -0,0 +1,50 @@
+package com.taskboard.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * A published event, kept so consumers can replay a missing sequence range for a board.
+ * Written without a sequence by the publishing transaction; the event relay numbers and
+ * sends it after commit (see {@link com.taskboard.messaging.producer.EventRelay}).
+ */
+@Entity
+@Table(name = "event_log", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_event_log_board_sequence", columnNames = {"board_id", "sequence"})
+}, indexes = {
+        @Index(name = "idx_event_log_created", columnList = "created_at")
+})
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventLogEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "board_id", nullable = false)
+    private Long boardId;
+
+    // Null until the relay numbers it
+    private Long sequence;
+
+    @Column(name = "event_type", nullable = false, length = 50)
+    private String eventType;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    // Null until the relay has sent it to the broker
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+}
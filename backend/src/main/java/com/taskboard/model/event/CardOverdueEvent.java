@@ -0,0 +1,29 @@
+package com.taskboard.model.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Event published when a card's due date has passed.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CardOverdueEvent implements Serializable {
+
+    private Long cardId;
+    private String cardTitle;
+    private Long boardId;
+    private String boardName;
+    private Long listId;
+    private String listName;
+    private Long assignedToUserId;
+    private LocalDateTime dueDate;
+    private LocalDateTime timestamp;
+}
@@ -0,0 +1,52 @@
+package com.taskboard.model.event;
+
+import java.util.Arrays;
+
+/**
+ * Types of domain events published to RabbitMQ.
+ * Each type has its own routing key on the events topic exchange and its own queue per consumer group.
+ */
+public enum EventType {
+
+    CARD_MOVED("card.moved", CardMovedEvent.class),
+    CARD_CREATED("card.created", CardCreatedEvent.class),
+    BOARD_CREATED("board.created", BoardCreatedEvent.class),
+    CARD_DUE_SOON("card.due-soon", CardDueSoonEvent.class),
+    CARD_OVERDUE("card.overdue", CardOverdueEvent.class);
+
+    private final String routingKey;
+    private final Class<?> payloadType;
+
+    EventType(String routingKey, Class<?> payloadType) {
+        this.routingKey = routingKey;
+        this.payloadType = payloadType;
+    }
+
+    public String getRoutingKey() {
+        return routingKey;
+    }
+
+    public Class<?> getPayloadType() {
+        return payloadType;
+    }
+
+    /**
+     * Look up an event type by its routing key.
+     */
+    public static EventType fromRoutingKey(String routingKey) {
+        return Arrays.stream(values())
+                .filter(type -> type.routingKey.equals(routingKey))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown event type: " + routingKey));
+    }
+
+    /**
+     * Look up an event type by its payload class.
+     */
+    public static EventType fromPayloadType(Class<?> payloadType) {
+        return Arrays.stream(values())
+                .filter(type -> type.payloadType.equals(payloadType))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Not an event payload: " + payloadType.getName()));
+    }
+}
@@ -0,0 +1,8 @@
+package com.taskboard.model.event;
+
+/**
+ * Application event published when a user row is updated or deleted, so caches of users can
+ * forget it. Published within the writing transaction; not sent to RabbitMQ.
+ */
+public record UserChangedEvent(Long userId) {
+}
@@ -0,0 +1,27 @@
+package com.taskboard.ratelimit;
+
+/**
+ * Endpoints limited by {@link RateLimiter}, each with its own limits under
+ * {@code taskboard.rate-limits.<key>}.
+ */
+public enum RateLimitedEndpoint {
+
+    /** POST /api/v1/cards/{id}/move. */
+    CARD_MOVE("card-move"),
+
+    /** STOMP /app/board/{boardId}/card-move. */
+    WS_CARD_MOVE("ws-card-move");
+
+    private final String key;
+
+    RateLimitedEndpoint(String key) {
+        this.key = key;
+    }
+
+    /**
+     * Name used in properties, Redis keys and metric tags.
+     */
+    public String key() {
+        return key;
+    }
+}
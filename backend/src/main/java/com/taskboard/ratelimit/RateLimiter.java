@@ -0,0 +1,237 @@
+package com.taskboard.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.taskboard.exception.RateLimitedException;
+import com.taskboard.security.ResourceHierarchyCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token-bucket rate limits per user and per board for the endpoints that take list locks, so
+ * that one client script cannot hold up everyone else on a board.
+ * <p>
+ * Each {@link RateLimitedEndpoint} has a bucket per user and one per board, configured under
+ * {@code taskboard.rate-limits.<endpoint>.per-user} and {@code .per-board}
+ * ({@code rate-per-second}, {@code burst}; a rate of 0 switches the bucket off). The user's
+ * bucket is checked first, so a user over their own limit does not drain the board's; a
+ * request the board's bucket refuses gives the user's token back.
+ * <p>
+ * Buckets are kept on this instance ({@link TokenBucket}) unless {@code taskboard.rate-limits.shared}
+ * is set, in which case they live in Redis and hold across instances. If Redis cannot be
+ * reached, this instance's buckets take over until it can.
+ */
+@Slf4j
+@Component
+public class RateLimiter {
+
+    private static final String PREFIX = "taskboard.rate-limits.";
+    private static final String KEY_PREFIX = "taskboard:rate:";
+
+    // TokenBucket's arithmetic in microseconds, on the Redis server's clock
+    private static final RedisScript<Long> TAKE_TOKEN = new DefaultRedisScript<>("""
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000000 + tonumber(time[2])
+            local interval = tonumber(ARGV[1])
+            local capacity = tonumber(ARGV[2])
+            local arrival = tonumber(redis.call('GET', KEYS[1]) or now)
+            local next = math.max(arrival, now) + interval
+            local wait = next - now - capacity
+            if wait > 0 then
+              return wait
+            end
+            redis.call('SET', KEYS[1], string.format('%d', next), 'PX', math.ceil((next - now) / 1000) + 1)
+            return 0
+            """, Long.class);
+
+    // Moves the arrival time back by one interval, unless the bucket has expired (is full)
+    private static final RedisScript<Long> RELEASE_TOKEN = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 1 then
+              redis.call('DECRBY', KEYS[1], ARGV[1])
+            end
+            return 0
+            """, Long.class);
+
+    private final ResourceHierarchyCache hierarchy;
+    private final StringRedisTemplate redis;
+    private final boolean shared;
+    private final Map<RateLimitedEndpoint, Limits> limits = new EnumMap<>(RateLimitedEndpoint.class);
+    private final Cache<BucketKey, TokenBucket> buckets;
+
+    public RateLimiter(ResourceHierarchyCache hierarchy,
+                       StringRedisTemplate redis,
+                       Environment environment,
+                       MeterRegistry meterRegistry,
+                       @Value("${taskboard.rate-limits.shared:false}") boolean shared,
+                       @Value("${taskboard.rate-limits.max-buckets:100000}") long maxBuckets,
+                       @Value("${taskboard.rate-limits.idle-expiry-seconds:300}") long idleExpirySeconds) {
+        this.hierarchy = hierarchy;
+        this.redis = redis;
+        this.shared = shared;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxBuckets)
+                .expireAfterAccess(Duration.ofSeconds(idleExpirySeconds))
+                .build();
+        for (RateLimitedEndpoint endpoint : RateLimitedEndpoint.values()) {
+            String prefix = PREFIX + endpoint.key();
+            limits.put(endpoint, new Limits(
+                    environment.getProperty(prefix + ".per-user.rate-per-second", Double.class, 0.0),
+                    environment.getProperty(prefix + ".per-user.burst", Integer.class, 1),
+                    environment.getProperty(prefix + ".per-board.rate-per-second", Double.class, 0.0),
+                    environment.getProperty(prefix + ".per-board.burst", Integer.class, 1),
+                    meterRegistry, endpoint.key()));
+        }
+    }
+
+    /**
+     * Take a token for a request of a user on a board.
+     *
+     * @throws RateLimitedException if the user or the board is over its limit
+     */
+    public void check(RateLimitedEndpoint endpoint, Long userId, Long boardId) {
+        Limits endpointLimits = limits.get(endpoint);
+        long userWait = take(endpoint, Scope.USER, userId, endpointLimits.perUser);
+        if (userWait > 0) {
+            endpointLimits.userLimited.increment();
+            throw rejected("You are sending requests too fast. Please slow down.", userWait);
+        }
+        long boardWait = take(endpoint, Scope.BOARD, boardId, endpointLimits.perBoard);
+        if (boardWait > 0) {
+            release(endpoint, Scope.USER, userId, endpointLimits.perUser);
+            endpointLimits.boardLimited.increment();
+            throw rejected("This board is receiving too many requests. Please try again shortly.", boardWait);
+        }
+        endpointLimits.allowed.increment();
+    }
+
+    /**
+     * Take a token for a request of a user on the board of a card.
+     *
+     * @throws RateLimitedException if the user or the board is over its limit
+     */
+    public void checkCard(RateLimitedEndpoint endpoint, Long userId, Long cardId) {
+        check(endpoint, userId, hierarchy.boardIdOfCard(cardId));
+    }
+
+    /**
+     * @return 0 if a token was taken, otherwise the nanoseconds until one is available
+     */
+    private long take(RateLimitedEndpoint endpoint, Scope scope, Long id, Limit limit) {
+        if (limit == null || id == null) {
+            return 0;
+        }
+        BucketKey key = new BucketKey(endpoint, scope, id);
+        if (shared) {
+            try {
+                Long wait = redis.execute(TAKE_TOKEN, List.of(redisKey(key)),
+                        String.valueOf(limit.intervalMicros()), String.valueOf(limit.capacityMicros()));
+                if (wait != null) {
+                    return TimeUnit.MICROSECONDS.toNanos(wait);
+                }
+            } catch (RuntimeException e) {
+                log.debug("Could not reach the shared rate limit of {}, limiting on this instance: {}",
+                        key, e.getMessage());
+            }
+        }
+        return buckets.get(key, k -> new TokenBucket(limit.ratePerSecond(), limit.burst()))
+                .tryAcquire(System.nanoTime());
+    }
+
+    /**
+     * Give back a token taken by {@link #take}.
+     */
+    private void release(RateLimitedEndpoint endpoint, Scope scope, Long id, Limit limit) {
+        if (limit == null || id == null) {
+            return;
+        }
+        BucketKey key = new BucketKey(endpoint, scope, id);
+        if (shared) {
+            try {
+                redis.execute(RELEASE_TOKEN, List.of(redisKey(key)), String.valueOf(limit.intervalMicros()));
+                return;
+            } catch (RuntimeException e) {
+                log.debug("Could not reach the shared rate limit of {}, releasing on this instance: {}",
+                        key, e.getMessage());
+            }
+        }
+        TokenBucket bucket = buckets.getIfPresent(key);
+        if (bucket != null) {
+            bucket.release();
+        }
+    }
+
+    private static String redisKey(BucketKey key) {
+        return KEY_PREFIX + key.endpoint().key() + ":" + key.scope().key + ":" + key.id();
+    }
+
+    private static RateLimitedException rejected(String message, long waitNanos) {
+        return new RateLimitedException(message, TimeUnit.NANOSECONDS.toSeconds(waitNanos - 1) + 1);
+    }
+
+    private enum Scope {
+        USER("user"),
+        BOARD("board");
+
+        private final String key;
+
+        Scope(String key) {
+            this.key = key;
+        }
+    }
+
+    private record BucketKey(RateLimitedEndpoint endpoint, Scope scope, Long id) {
+    }
+
+    private record Limit(double ratePerSecond, int burst) {
+
+        private long intervalMicros() {
+            return Math.max(1, Math.round(1_000_000 / ratePerSecond));
+        }
+
+        private long capacityMicros() {
+            return intervalMicros() * burst;
+        }
+    }
+
+    /**
+     * Limits of one endpoint (null: no limit) and its counters.
+     */
+    private static final class Limits {
+
+        private final Limit perUser;
+        private final Limit perBoard;
+        private final Counter allowed;
+        private final Counter userLimited;
+        private final Counter boardLimited;
+
+        private Limits(double userRate, int userBurst, double boardRate, int boardBurst,
+                       MeterRegistry meterRegistry, String endpoint) {
+            this.perUser = userRate > 0 ? new Limit(userRate, userBurst) : null;
+            this.perBoard = boardRate > 0 ? new Limit(boardRate, boardBurst) : null;
+            this.allowed = requests(meterRegistry, endpoint, "allowed");
+            this.userLimited = requests(meterRegistry, endpoint, "user-limited");
+            this.boardLimited = requests(meterRegistry, endpoint, "board-limited");
+        }
+
+        private static Counter requests(MeterRegistry meterRegistry, String endpoint, String outcome) {
+            return Counter.builder("taskboard.rate_limit.requests")
+                    .description("Rate-limited requests by outcome")
+                    .tag("endpoint", endpoint)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.taskboard.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket of {@code burst} tokens refilled at {@code ratePerSecond}.
+ * <p>
+ * Kept as a single theoretical arrival time (the generic cell rate algorithm): the time at
+ * which the bucket would be full again. Taking a token moves it one refill interval later, and
+ * is refused while that would put it more than {@code burst} intervals ahead of now. This
+ * behaves like a bucket holding tokens and a refill timestamp, but needs one compare-and-set of
+ * one long, and the same arithmetic runs in Redis for the shared mode.
+ */
+public final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long capacityNanos;
+    private final AtomicLong arrival = new AtomicLong(Long.MIN_VALUE);
+
+    public TokenBucket(double ratePerSecond, int burst) {
+        if (ratePerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("A token bucket needs a positive rate and a burst of at least 1");
+        }
+        this.intervalNanos = Math.max(1, Math.round(1_000_000_000 / ratePerSecond));
+        this.capacityNanos = intervalNanos * burst;
+    }
+
+    /**
+     * Take a token.
+     *
+     * @return 0 if taken, otherwise the nanoseconds until one is available
+     */
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = arrival.get();
+            long next = Math.max(current, nowNanos) + intervalNanos;
+            long wait = next - nowNanos - capacityNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (arrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Give back a token taken with {@link #tryAcquire}, for a request refused after all.
+     */
+    public void release() {
+        arrival.updateAndGet(current -> current == Long.MIN_VALUE ? current : current - intervalNanos);
+    }
+}
@@ -34,16 +34,67 @@ public interface ActivityLogRepository extends JpaRepository<ActivityLog, Long>
     List<ActivityLog> findByActivityTypeOrderByCreatedAtDesc(ActivityType activityType);
 
     /**
-     * Find recent activity logs for a board.
+     * Find recent activity logs for a board, created at or after {@code since}.
+     * The bound lets PostgreSQL skip the monthly partitions before it.
      */
     @Query("SELECT a FROM ActivityLog a " +
            "LEFT JOIN FETCH a.user " +
-           "WHERE a.board.id = :boardId " +
+           "WHERE a.board.id = :boardId AND a.createdAt >= :since " +
            "ORDER BY a.createdAt DESC")
-    List<ActivityLog> findRecentByBoardId(@Param("boardId") Long boardId, Pageable pageable);
+    List<ActivityLog> findRecentByBoardId(@Param("boardId") Long boardId,
+                                          @Param("since") LocalDateTime since,
+                                          Pageable pageable);
 
     /**
-     * Find activity logs within a time range.
+     * Find the latest activity logs for a board created before {@code before}.
+     */
+    @Query("SELECT a FROM ActivityLog a " +
+           "LEFT JOIN FETCH a.user " +
+           "WHERE a.board.id = :boardId AND a.createdAt < :before " +
+           "ORDER BY a.createdAt DESC")
+    List<ActivityLog> findRecentByBoardIdBefore(@Param("boardId") Long boardId,
+                                                @Param("before") LocalDateTime before,
+                                                Pageable pageable);
+
+    /**
+     * Page of a board's activity feed after the entry ({@code createdAt}, {@code id}), newest
+     * first. A keyset seek: the bound starts a range scan of idx_activity_logs_board_created
+     * (and prunes later partitions), which returns the entries in order, so the cost does not
+     * grow with the depth of the page. The board id is fixed; naming it in the order only lets
+     * databases that match the sort on leading index columns (H2) read it from the index too.
+     */
+    @Query("SELECT a FROM ActivityLog a " +
+           "LEFT JOIN FETCH a.user " +
+           "WHERE a.board.id = :boardId AND a.createdAt <= :createdAt " +
+           "AND (a.createdAt < :createdAt OR a.id < :id) " +
+           "ORDER BY a.board.id, a.createdAt DESC, a.id DESC")
+    List<ActivityLog> findFeedPageAfter(@Param("boardId") Long boardId,
+                                        @Param("createdAt") LocalDateTime createdAt,
+                                        @Param("id") Long id,
+                                        Pageable pageable);
+
+    /**
+     * Page of a board's activity whose metadata holds {@code value} under {@code key}, after
+     * the entry ({@code createdAt}, {@code id}) and optionally of one type, newest first. On
+     * PostgreSQL the metadata test is a containment served by idx_activity_logs_metadata,
+     * combined with the board index, so the board's other activity is not scanned.
+     */
+    @Query("SELECT a FROM ActivityLog a " +
+           "LEFT JOIN FETCH a.user " +
+           "WHERE a.board.id = :boardId AND metadata_matches(a.metadata, :key, :value) " +
+           "AND (:type IS NULL OR a.activityType = :type) " +
+           "AND a.createdAt <= :createdAt AND (a.createdAt < :createdAt OR a.id < :id) " +
+           "ORDER BY a.board.id, a.createdAt DESC, a.id DESC")
+    List<ActivityLog> findByMetadataAfter(@Param("boardId") Long boardId,
+                                          @Param("key") String key,
+                                          @Param("value") String value,
+                                          @Param("type") ActivityType type,
+                                          @Param("createdAt") LocalDateTime createdAt,
+                                          @Param("id") Long id,
+                                          Pageable pageable);
+
+    /**
+     * Find activity logs within a time range (only the partitions of the range are read).
      */
     @Query("SELECT a FROM ActivityLog a WHERE a.board.id = :boardId " +
            "AND a.createdAt BETWEEN :start AND :end ORDER BY a.createdAt DESC")
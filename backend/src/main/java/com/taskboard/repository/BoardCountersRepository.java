@@ -0,0 +1,68 @@
+package com.taskboard.repository;
+
+import com.taskboard.model.entity.BoardCounters;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository for BoardCounters, and the card counts they are built from.
+ */
+@Repository
+public interface BoardCountersRepository extends JpaRepository<BoardCounters, Long>, BoardCountersRepositoryCustom {
+
+    /**
+     * Total lists over all boards.
+     */
+    @Query("SELECT COALESCE(SUM(c.listCount), 0) FROM BoardCounters c")
+    long sumListCounts();
+
+    /**
+     * Boards with past-due cards written since their last overdue sweep.
+     */
+    @Query("SELECT c.boardId FROM BoardCounters c WHERE c.overdueStale = true")
+    List<Long> findOverdueStaleBoardIds();
+
+    /**
+     * The oldest point up to which overdue cards are counted, or null without counters.
+     */
+    @Query("SELECT MIN(c.overdueAsOf) FROM BoardCounters c")
+    LocalDateTime findOldestOverdueAsOf();
+
+    /**
+     * Boards with cards falling due in ({@code after}, {@code until}]: a range of idx_cards_due_date.
+     */
+    @Query("SELECT DISTINCT c.list.board.id FROM Card c WHERE c.dueDate > :after AND c.dueDate <= :until")
+    List<Long> findBoardIdsWithCardsDueBetween(@Param("after") LocalDateTime after,
+                                               @Param("until") LocalDateTime until);
+
+    /**
+     * Cards of a board (or of one of its lists) per priority, as (priority, count) rows.
+     */
+    @Query("SELECT c.priority, COUNT(c) FROM Card c WHERE c.list.board.id = :boardId " +
+           "AND (:listId IS NULL OR c.list.id = :listId) GROUP BY c.priority")
+    List<Object[]> countCardsByPriority(@Param("boardId") Long boardId, @Param("listId") Long listId);
+
+    /**
+     * Assigned cards of a board (or of one of its lists) per assignee, as (user ID, count) rows.
+     */
+    @Query("SELECT c.assignedTo.id, COUNT(c) FROM Card c WHERE c.list.board.id = :boardId " +
+           "AND (:listId IS NULL OR c.list.id = :listId) AND c.assignedTo IS NOT NULL GROUP BY c.assignedTo.id")
+    List<Object[]> countCardsByAssignee(@Param("boardId") Long boardId, @Param("listId") Long listId);
+
+    /**
+     * Cards of a board (or of one of its lists) due in ({@code after}, {@code until}], or at
+     * or before {@code until} without {@code after}.
+     */
+    @Query("SELECT COUNT(c) FROM Card c WHERE c.list.board.id = :boardId " +
+           "AND (:listId IS NULL OR c.list.id = :listId) " +
+           "AND (:after IS NULL OR c.dueDate > :after) AND c.dueDate <= :until")
+    long countCardsDue(@Param("boardId") Long boardId,
+                       @Param("listId") Long listId,
+                       @Param("after") LocalDateTime after,
+                       @Param("until") LocalDateTime until);
+}
@@ -0,0 +1,17 @@
+package com.taskboard.repository;
+
+import com.taskboard.model.entity.BoardCounters;
+
+import java.util.Optional;
+
+/**
+ * Custom BoardCounters repository operations.
+ */
+public interface BoardCountersRepositoryCustom {
+
+    /**
+     * Lock the counters row of a board for update, so concurrent writes to the board adjust
+     * the counts one after the other. Waits at most the configured lock timeout.
+     */
+    Optional<BoardCounters> findByIdForUpdate(Long boardId);
+}
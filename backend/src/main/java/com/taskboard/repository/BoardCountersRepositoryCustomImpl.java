@@ -0,0 +1,21 @@
+package com.taskboard.repository;
+
+import com.taskboard.metrics.LockTarget;
+import com.taskboard.model.entity.BoardCounters;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Optional;
+
+/**
+ * Implementation of custom BoardCounters repository operations.
+ */
+@RequiredArgsConstructor
+public class BoardCountersRepositoryCustomImpl implements BoardCountersRepositoryCustom {
+
+    private final PessimisticRowLocker rowLocker;
+
+    @Override
+    public Optional<BoardCounters> findByIdForUpdate(Long boardId) {
+        return rowLocker.lock(BoardCounters.class, LockTarget.BOARD_COUNTERS, boardId);
+    }
+}
@@ -0,0 +1,25 @@
+package com.taskboard.repository;
+
+import com.taskboard.model.entity.BoardEventSequence;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository for per-board event sequence counters.
+ */
+@Repository
+public interface BoardEventSequenceRepository extends JpaRepository<BoardEventSequence, Long> {
+
+    /**
+     * Get a board's counter, locked until the transaction ends.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM BoardEventSequence s WHERE s.boardId = :boardId")
+    Optional<BoardEventSequence> findForUpdate(@Param("boardId") Long boardId);
+}
@@ -0,0 +1,36 @@
+package com.taskboard.repository;
+
+import com.taskboard.model.dto.BoardMemberDTO;
+import com.taskboard.model.entity.BoardMember;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for board memberships.
+ */
+@Repository
+public interface BoardMemberRepository extends JpaRepository<BoardMember, Long> {
+
+    /**
+     * All memberships of a user, ordered by board.
+     */
+    List<BoardMember> findByUserIdOrderByBoardIdAsc(Long userId);
+
+    /**
+     * Membership of a user on a board.
+     */
+    Optional<BoardMember> findByBoardIdAndUserId(Long boardId, Long userId);
+
+    /**
+     * Members of a board with their names, oldest first.
+     */
+    @Query("SELECT new com.taskboard.model.dto.BoardMemberDTO(u.id, u.username, u.fullName, m.role, m.createdAt) " +
+           "FROM BoardMember m JOIN User u ON u.id = m.userId " +
+           "WHERE m.boardId = :boardId ORDER BY m.createdAt ASC, m.id ASC")
+    List<BoardMemberDTO> findMembersByBoardId(@Param("boardId") Long boardId);
+}
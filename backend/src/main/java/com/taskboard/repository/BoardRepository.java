@@ -2,10 +2,9 @@ package com.taskboard.repository;
 
 import com.taskboard.model.entity.Board;
 import com.taskboard.model.entity.BoardList;
-import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -15,7 +14,7 @@ import java.util.Optional;
  * Repository for Board entity operations.
  */
 @Repository
-public interface BoardRepository extends JpaRepository<Board, Long> {
+public interface BoardRepository extends JpaRepository<Board, Long>, BoardRepositoryCustom {
 
     /**
      * Find all non-archived boards.
@@ -31,6 +30,16 @@ public interface BoardRepository extends JpaRepository<Board, Long> {
            "ORDER BY b.id DESC")
     List<Board> findAllByArchivedFalseWithLists();
 
+    /**
+     * Find the non-archived boards a user owns or is a member of, with lists eagerly loaded.
+     */
+    @Query("SELECT DISTINCT b FROM Board b " +
+           "LEFT JOIN FETCH b.lists " +
+           "WHERE b.archived = false AND (b.owner.id = :userId OR EXISTS (" +
+           "SELECT 1 FROM BoardMember m WHERE m.boardId = b.id AND m.userId = :userId)) " +
+           "ORDER BY b.id DESC")
+    List<Board> findAccessibleByUserIdWithLists(@Param("userId") Long userId);
+
     /**
      * Find a specific non-archived board by ID.
      */
@@ -66,12 +75,14 @@ public interface BoardRepository extends JpaRepository<Board, Long> {
     List<BoardList> findListsWithCardsByBoardId(Long boardId);
 
     /**
-     * Lock a board row for update to serialize concurrent list position changes.
-     * Use this before any operation that reads and then modifies list positions
-     * within this board, to prevent lost-update race conditions under READ COMMITTED.
+     * Get the owner ID of a board without loading the board or user entities.
      */
-    @Lock(LockModeType.PESSIMISTIC_WRITE)
-    @Query("SELECT b FROM Board b WHERE b.id = :id")
-    Optional<Board> findByIdForUpdate(Long id);
-}
+    @Query("SELECT o.id FROM Board b JOIN b.owner o WHERE b.id = :boardId")
+    Optional<Long> findOwnerIdById(@Param("boardId") Long boardId);
 
+    /**
+     * Get just the name of a board.
+     */
+    @Query("SELECT b.name FROM Board b WHERE b.id = :boardId")
+    Optional<String> findNameById(@Param("boardId") Long boardId);
+}
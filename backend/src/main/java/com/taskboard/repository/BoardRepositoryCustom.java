@@ -0,0 +1,19 @@
+package com.taskboard.repository;
+
+import com.taskboard.model.entity.Board;
+
+import java.util.Optional;
+
+/**
+ * Custom Board repository operations.
+ */
+public interface BoardRepositoryCustom {
+
+    /**
+     * Lock a board row for update to serialize concurrent list position changes.
+     * Use this before any operation that reads and then modifies list positions
+     * within this board, to prevent lost-update race conditions under READ COMMITTED.
+     * Waits at most the configured lock timeout.
+     */
+    Optional<Board> findByIdForUpdate(Long id);
+}
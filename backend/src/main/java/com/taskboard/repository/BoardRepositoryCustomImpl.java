@@ -0,0 +1,21 @@
+package com.taskboard.repository;
+
+import com.taskboard.metrics.LockTarget;
+import com.taskboard.model.entity.Board;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Optional;
+
+/**
+ * Implementation of custom Board repository operations.
+ */
+@RequiredArgsConstructor
+public class BoardRepositoryCustomImpl implements BoardRepositoryCustom {
+
+    private final PessimisticRowLocker rowLocker;
+
+    @Override
+    public Optional<Board> findByIdForUpdate(Long id) {
+        return rowLocker.lock(Board.class, LockTarget.BOARD, id);
+    }
+}
@@ -1,7 +1,9 @@
 package com.taskboard.repository;
 
+import com.taskboard.model.dto.CardDueState;
 import com.taskboard.model.entity.Card;
 import com.taskboard.model.entity.Priority;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -16,7 +18,7 @@ import java.util.Optional;
  * Repository for Card entity operations.
  */
 @Repository
-public interface CardRepository extends JpaRepository<Card, Long> {
+public interface CardRepository extends JpaRepository<Card, Long>, CardRepositoryCustom {
 
     /**
      * Find all cards in a list.
@@ -38,6 +40,18 @@ public interface CardRepository extends JpaRepository<Card, Long> {
            "WHERE c.id = :id")
     Optional<Card> findByIdWithDetails(@Param("id") Long id);
 
+    /**
+     * Find the board a card belongs to.
+     */
+    @Query("SELECT c.list.board.id FROM Card c WHERE c.id = :id")
+    Optional<Long> findBoardIdById(@Param("id") Long id);
+
+    /**
+     * Find the list a card belongs to.
+     */
+    @Query("SELECT c.list.id FROM Card c WHERE c.id = :id")
+    Optional<Long> findListIdById(@Param("id") Long id);
+
     /**
      * Get the maximum position in a list.
      */
@@ -71,19 +85,62 @@ public interface CardRepository extends JpaRepository<Card, Long> {
     List<Card> findByPriority(Priority priority);
 
     /**
-     * Find cards with due date before a certain date.
+     * Page of cards due in ({@code after}, {@code until}] after the card ({@code afterDue},
+     * {@code afterId}), by due date, without those already announced overdue. A keyset seek:
+     * the bounds start a range scan of the partial idx_cards_due_date, so cards without a due
+     * date, or due outside the window, are never read.
      */
-    List<Card> findByDueDateBefore(LocalDateTime date);
+    @Query("SELECT new com.taskboard.model.dto.CardDueState(c.id, c.dueDate, c.dueNotice) FROM Card c " +
+           "WHERE c.dueDate >= :afterDue AND (c.dueDate > :afterDue OR c.id > :afterId) " +
+           "AND c.dueDate <= :until " +
+           "AND (c.dueNotice IS NULL OR c.dueNotice <> com.taskboard.model.entity.DueNotice.OVERDUE) " +
+           "ORDER BY c.dueDate, c.id")
+    List<CardDueState> findDuePageAfter(@Param("afterDue") LocalDateTime afterDue,
+                                        @Param("afterId") Long afterId,
+                                        @Param("until") LocalDateTime until,
+                                        Pageable pageable);
 
     /**
-     * Find overdue cards.
+     * Get the due date and due notice of a card.
      */
-    @Query("SELECT c FROM Card c WHERE c.dueDate < :now AND c.dueDate IS NOT NULL")
-    List<Card> findOverdueCards(@Param("now") LocalDateTime now);
+    @Query("SELECT new com.taskboard.model.dto.CardDueState(c.id, c.dueDate, c.dueNotice) FROM Card c " +
+           "WHERE c.id = :id")
+    Optional<CardDueState> findDueStateById(@Param("id") Long id);
+
+    /**
+     * Record that a card is overdue, unless that was already recorded or its due date is still
+     * ahead. Returns 1 for the one caller that records it.
+     */
+    @Modifying
+    @Query("UPDATE Card c SET c.dueNotice = com.taskboard.model.entity.DueNotice.OVERDUE " +
+           "WHERE c.id = :id AND c.dueDate <= :now " +
+           "AND (c.dueNotice IS NULL OR c.dueNotice = com.taskboard.model.entity.DueNotice.DUE_SOON)")
+    int markOverdue(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    /**
+     * Record that a card is due soon, unless a notice was already recorded or its due date is
+     * not in ({@code now}, {@code soonBy}]. Returns 1 for the one caller that records it.
+     */
+    @Modifying
+    @Query("UPDATE Card c SET c.dueNotice = com.taskboard.model.entity.DueNotice.DUE_SOON " +
+           "WHERE c.id = :id AND c.dueDate > :now AND c.dueDate <= :soonBy AND c.dueNotice IS NULL")
+    int markDueSoon(@Param("id") Long id, @Param("now") LocalDateTime now, @Param("soonBy") LocalDateTime soonBy);
+
+    /**
+     * Forget the due notices of a card, whose due date changed.
+     */
+    @Modifying
+    @Query("UPDATE Card c SET c.dueNotice = NULL WHERE c.id = :id")
+    void clearDueNotice(@Param("id") Long id);
 
     /**
      * Count cards in a list.
      */
     long countByListId(Long listId);
-}
 
+    /**
+     * Get the assignee ID of a card without loading the card or user entities.
+     */
+    @Query("SELECT a.id FROM Card c JOIN c.assignedTo a WHERE c.id = :cardId")
+    Optional<Long> findAssigneeIdById(@Param("cardId") Long cardId);
+}
@@ -0,0 +1,23 @@
+package com.taskboard.repository;
+
+import com.taskboard.model.entity.Card;
+
+import java.util.List;
+
+/**
+ * Custom Card repository operations.
+ */
+public interface CardRepositoryCustom {
+
+    /**
+     * Reload the state of a managed card from the database, discarding what was read earlier
+     * in the transaction (e.g. a position shifted by another transaction while waiting for a lock).
+     */
+    void refresh(Card card);
+
+    /**
+     * Lock the rows of all cards in a list, so none of them changes until the transaction ends.
+     * Waits at most the configured lock timeout.
+     */
+    List<Card> findByListIdForUpdate(Long listId);
+}
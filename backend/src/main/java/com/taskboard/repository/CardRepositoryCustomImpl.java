@@ -0,0 +1,31 @@
+package com.taskboard.repository;
+
+import com.taskboard.metrics.LockTarget;
+import com.taskboard.model.entity.Card;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Implementation of custom Card repository operations.
+ */
+@RequiredArgsConstructor
+public class CardRepositoryCustomImpl implements CardRepositoryCustom {
+
+    private final PessimisticRowLocker rowLocker;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void refresh(Card card) {
+        entityManager.refresh(card);
+    }
+
+    @Override
+    public List<Card> findByListIdForUpdate(Long listId) {
+        return rowLocker.lockAll(Card.class, "list", LockTarget.LIST_CARDS, listId);
+    }
+}
@@ -0,0 +1,42 @@
+package com.taskboard.repository;
+
+import com.taskboard.model.entity.EventConsumerOffset;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository for the per-board offsets of event consumer groups.
+ */
+@Repository
+public interface EventConsumerOffsetRepository extends JpaRepository<EventConsumerOffset, Long> {
+
+    /**
+     * Get the last sequence of a board the group has handled.
+     */
+    @Query("SELECT o.lastSequence FROM EventConsumerOffset o WHERE o.consumerGroup = :group AND o.boardId = :boardId")
+    Optional<Long> findLastSequence(@Param("group") String group, @Param("boardId") Long boardId);
+
+    /**
+     * Move a group's offset for a board forward to {@code sequence}; never moves it back.
+     * Returns the number of rows updated (0 if the group has no offset for the board yet, or a later one).
+     */
+    @Modifying
+    @Query("UPDATE EventConsumerOffset o SET o.lastSequence = :sequence " +
+           "WHERE o.consumerGroup = :group AND o.boardId = :boardId AND o.lastSequence < :sequence")
+    int advance(@Param("group") String group, @Param("boardId") Long boardId, @Param("sequence") long sequence);
+
+    /**
+     * Move a group's offset for a board to {@code sequence} only if it is still {@code expected}.
+     * Returns the number of rows updated.
+     */
+    @Modifying
+    @Query("UPDATE EventConsumerOffset o SET o.lastSequence = :sequence " +
+           "WHERE o.consumerGroup = :group AND o.boardId = :boardId AND o.lastSequence = :expected")
+    int compareAndSet(@Param("group") String group, @Param("boardId") Long boardId,
+                      @Param("expected") long expected, @Param("sequence") long sequence);
+}
@@ -0,0 +1,83 @@
+package com.taskboard.repository;
+
+import com.taskboard.model.entity.EventLogEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for the replayable event log.
+ */
+@Repository
+public interface EventLogRepository extends JpaRepository<EventLogEntry, Long> {
+
+    /**
+     * Get the logged events of a board within a sequence range, in sequence order.
+     */
+    @Query("SELECT e FROM EventLogEntry e WHERE e.boardId = :boardId " +
+           "AND e.sequence BETWEEN :fromSequence AND :toSequence ORDER BY e.sequence")
+    List<EventLogEntry> findRange(@Param("boardId") Long boardId,
+                                  @Param("fromSequence") long fromSequence,
+                                  @Param("toSequence") long toSequence);
+
+    /**
+     * Get the boards with events that have not been numbered yet.
+     */
+    @Query("SELECT DISTINCT e.boardId FROM EventLogEntry e WHERE e.sequence IS NULL")
+    List<Long> findBoardsWithUnsequenced(Pageable pageable);
+
+    /**
+     * Get the events of a board that have not been numbered yet, in the order they were logged.
+     */
+    @Query("SELECT e FROM EventLogEntry e WHERE e.boardId = :boardId AND e.sequence IS NULL ORDER BY e.id")
+    List<EventLogEntry> findUnsequenced(@Param("boardId") Long boardId, Pageable pageable);
+
+    /**
+     * Get numbered events logged before the given time that have not been sent, in sequence order per board.
+     */
+    @Query("SELECT e FROM EventLogEntry e WHERE e.sequence IS NOT NULL AND e.publishedAt IS NULL " +
+           "AND e.createdAt < :before ORDER BY e.boardId, e.sequence")
+    List<EventLogEntry> findUnpublished(@Param("before") LocalDateTime before, Pageable pageable);
+
+    /**
+     * Mark events as sent.
+     */
+    @Modifying
+    @Query("UPDATE EventLogEntry e SET e.publishedAt = :publishedAt WHERE e.id IN :ids")
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("publishedAt") LocalDateTime publishedAt);
+
+    /**
+     * Delete the events of a board that have not been numbered yet.
+     */
+    @Modifying
+    @Query("DELETE FROM EventLogEntry e WHERE e.boardId = :boardId AND e.sequence IS NULL")
+    int deleteUnsequenced(@Param("boardId") Long boardId);
+
+    /**
+     * Get the boards with events logged since {@code since}, the latest of them before
+     * {@code quietBefore}, that a consumer group has not handled all of, with their last sequence.
+     * Each row is {boardId, lastSequence}.
+     */
+    @Query("SELECT e.boardId, MAX(e.sequence) FROM EventLogEntry e " +
+           "WHERE e.sequence IS NOT NULL AND e.createdAt >= :since GROUP BY e.boardId " +
+           "HAVING MAX(e.createdAt) < :quietBefore AND MAX(e.sequence) > COALESCE((SELECT o.lastSequence " +
+           "FROM EventConsumerOffset o WHERE o.consumerGroup = :group AND o.boardId = e.boardId), 0)")
+    List<Object[]> findBoardsBehind(@Param("group") String group,
+                                    @Param("since") LocalDateTime since,
+                                    @Param("quietBefore") LocalDateTime quietBefore,
+                                    Pageable pageable);
+
+    /**
+     * Delete log entries older than the given time.
+     */
+    @Modifying
+    @Query("DELETE FROM EventLogEntry e WHERE e.createdAt < :before")
+    int deleteOlderThan(@Param("before") LocalDateTime before);
+}
@@ -1,9 +1,7 @@
 package com.taskboard.repository;
 
 import com.taskboard.model.entity.BoardList;
-import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -16,7 +14,7 @@ import java.util.Optional;
  * Repository for BoardList entity operations.
  */
 @Repository
-public interface ListRepository extends JpaRepository<BoardList, Long> {
+public interface ListRepository extends JpaRepository<BoardList, Long>, ListRepositoryCustom {
 
     /**
      * Find all lists for a board ordered by position.
@@ -29,15 +27,6 @@ public interface ListRepository extends JpaRepository<BoardList, Long> {
     @Query("SELECT l FROM BoardList l LEFT JOIN FETCH l.cards WHERE l.id = :id")
     Optional<BoardList> findByIdWithCards(@Param("id") Long id);
 
-    /**
-     * Lock a list row for update to serialize concurrent position changes.
-     * Use this before any operation that reads and then modifies card positions
-     * within this list, to prevent lost-update race conditions under READ COMMITTED.
-     */
-    @Lock(LockModeType.PESSIMISTIC_WRITE)
-    @Query("SELECT l FROM BoardList l WHERE l.id = :id")
-    Optional<BoardList> findByIdForUpdate(@Param("id") Long id);
-
     /**
      * Get the maximum position in a board.
      */
@@ -64,5 +53,16 @@ public interface ListRepository extends JpaRepository<BoardList, Long> {
      * Count lists in a board.
      */
     long countByBoardId(Long boardId);
-}
 
+    /**
+     * Get just the name of a list.
+     */
+    @Query("SELECT l.name FROM BoardList l WHERE l.id = :id")
+    Optional<String> findNameById(@Param("id") Long id);
+
+    /**
+     * Find the board a list belongs to.
+     */
+    @Query("SELECT l.board.id FROM BoardList l WHERE l.id = :id")
+    Optional<Long> findBoardIdById(@Param("id") Long id);
+}
@@ -0,0 +1,25 @@
+package com.taskboard.repository;
+
+import com.taskboard.model.entity.BoardList;
+
+import java.util.Optional;
+
+/**
+ * Custom BoardList repository operations.
+ */
+public interface ListRepositoryCustom {
+
+    /**
+     * Lock a list row for update to serialize concurrent position changes.
+     * Use this before any operation that reads and then modifies card positions
+     * within this list, to prevent lost-update race conditions under READ COMMITTED.
+     * Waits at most the configured lock timeout.
+     */
+    Optional<BoardList> findByIdForUpdate(Long id);
+
+    /**
+     * Bump the version of a managed list when the transaction commits, without locking the row.
+     * Commit fails with an optimistic locking failure if another transaction bumped it first.
+     */
+    void incrementVersion(BoardList list);
+}
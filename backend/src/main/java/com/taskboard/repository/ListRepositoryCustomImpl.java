@@ -0,0 +1,32 @@
+package com.taskboard.repository;
+
+import com.taskboard.metrics.LockTarget;
+import com.taskboard.model.entity.BoardList;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Optional;
+
+/**
+ * Implementation of custom BoardList repository operations.
+ */
+@RequiredArgsConstructor
+public class ListRepositoryCustomImpl implements ListRepositoryCustom {
+
+    private final PessimisticRowLocker rowLocker;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<BoardList> findByIdForUpdate(Long id) {
+        return rowLocker.lock(BoardList.class, LockTarget.LIST, id);
+    }
+
+    @Override
+    public void incrementVersion(BoardList list) {
+        entityManager.lock(list, LockModeType.OPTIMISTIC_FORCE_INCREMENT);
+    }
+}
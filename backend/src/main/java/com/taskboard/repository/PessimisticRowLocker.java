@@ -0,0 +1,78 @@
+package com.taskboard.repository;
+
+import com.taskboard.metrics.LockContentionMonitor;
+import com.taskboard.metrics.LockTarget;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Takes {@code PESSIMISTIC_WRITE} row locks with a bounded wait and records how long each wait took.
+ * The timeout is passed as the {@code jakarta.persistence.lock.timeout} hint; on PostgreSQL
+ * Hibernate applies it with {@code SET LOCAL lock_timeout}. A timed-out lock surfaces as a
+ * {@link org.springframework.dao.PessimisticLockingFailureException} from the repository.
+ */
+@Component
+public class PessimisticRowLocker {
+
+    static final String LOCK_TIMEOUT_HINT = "jakarta.persistence.lock.timeout";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final LockContentionMonitor contentionMonitor;
+    private final int lockTimeoutMs;
+
+    public PessimisticRowLocker(LockContentionMonitor contentionMonitor,
+                                @Value("${taskboard.locks.timeout-ms:3000}") int lockTimeoutMs) {
+        this.contentionMonitor = contentionMonitor;
+        this.lockTimeoutMs = lockTimeoutMs;
+    }
+
+    /**
+     * Lock the row of an entity by ID.
+     */
+    public <T> Optional<T> lock(Class<T> entityType, LockTarget target, Long id) {
+        long start = System.nanoTime();
+        boolean acquired = false;
+        try {
+            Optional<T> entity = entityManager
+                    .createQuery("SELECT e FROM " + entityType.getSimpleName() + " e WHERE e.id = :id", entityType)
+                    .setParameter("id", id)
+                    .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                    .setHint(LOCK_TIMEOUT_HINT, lockTimeoutMs)
+                    .getResultStream()
+                    .findFirst();
+            acquired = true;
+            return entity;
+        } finally {
+            contentionMonitor.record(target, id, System.nanoTime() - start, acquired);
+        }
+    }
+
+    /**
+     * Lock the rows of all entities that reference a parent, e.g. the cards of a list.
+     */
+    public <T> List<T> lockAll(Class<T> entityType, String parentAttribute, LockTarget target, Long parentId) {
+        long start = System.nanoTime();
+        boolean acquired = false;
+        try {
+            List<T> entities = entityManager
+                    .createQuery("SELECT e FROM " + entityType.getSimpleName() + " e WHERE e." + parentAttribute
+                            + ".id = :id", entityType)
+                    .setParameter("id", parentId)
+                    .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                    .setHint(LOCK_TIMEOUT_HINT, lockTimeoutMs)
+                    .getResultList();
+            acquired = true;
+            return entities;
+        } finally {
+            contentionMonitor.record(target, parentId, System.nanoTime() - start, acquired);
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package com.taskboard.repository;
 
+import com.taskboard.model.dto.UserSummary;
 import com.taskboard.model.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -36,5 +39,16 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * Find active user by username.
      */
     Optional<User> findByUsernameAndActiveTrue(String username);
-}
 
+    /**
+     * Get just the username of a user.
+     */
+    @Query("SELECT u.username FROM User u WHERE u.id = :id")
+    Optional<String> findUsernameById(@Param("id") Long id);
+
+    /**
+     * Get the ID, username and full name of a user, without loading the entity and its roles.
+     */
+    @Query("SELECT new com.taskboard.model.dto.UserSummary(u.id, u.username, u.fullName) FROM User u WHERE u.id = :id")
+    Optional<UserSummary> findSummaryById(@Param("id") Long id);
+}
@@ -1,12 +1,6 @@
 package com.taskboard.security;
 
-import com.taskboard.exception.ResourceNotFoundException;
-import com.taskboard.model.entity.Board;
-import com.taskboard.model.entity.BoardList;
-import com.taskboard.model.entity.Card;
-import com.taskboard.repository.BoardRepository;
-import com.taskboard.repository.CardRepository;
-import com.taskboard.repository.ListRepository;
+import com.taskboard.model.entity.BoardRole;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.access.AccessDeniedException;
@@ -14,20 +8,20 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Service for authorization checks.
- * Provides methods to verify user permissions on resources.
+ * Provides methods to verify user permissions on resources. Decisions are made from the
+ * cached resource hierarchy ({@link ResourceHierarchyCache}) and board memberships
+ * ({@link BoardAccessCache}), without loading entities.
  */
 @Slf4j
 @Service("authorizationService")
 @RequiredArgsConstructor
 public class AuthorizationService {
 
-    private final BoardRepository boardRepository;
-    private final ListRepository listRepository;
-    private final CardRepository cardRepository;
+    private final ResourceHierarchyCache hierarchy;
+    private final BoardAccessCache boardAccess;
 
     /**
      * Check if current user is admin.
@@ -41,103 +35,93 @@ public class AuthorizationService {
     }
 
     /**
-     * Check if user owns the board or is admin.
+     * Check if user is a member of the board (any role), owns it, or is admin.
      */
-    @Transactional(readOnly = true)
     public boolean canAccessBoard(Long boardId) {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        if (auth == null || !auth.isAuthenticated()) {
-            return false;
-        }
-
-        // Admins can access everything
-        if (isAdmin()) {
-            return true;
-        }
+        return hasBoardRole(boardId, BoardRole.VIEWER);
+    }
 
-        UserPrincipal user = (UserPrincipal) auth.getPrincipal();
-        Board board = boardRepository.findById(boardId)
-                .orElseThrow(() -> new ResourceNotFoundException("Board", "id", boardId));
+    /**
+     * Check if user can change the lists and cards of the board (editor, owner or admin).
+     */
+    public boolean canModifyBoard(Long boardId) {
+        return hasBoardRole(boardId, BoardRole.EDITOR);
+    }
 
-        // Board owner can access
-        if (board.getOwner() != null && board.getOwner().getId().equals(user.getId())) {
-            return true;
-        }
+    /**
+     * Check if user can change the board itself and its members (owner or admin).
+     */
+    public boolean canManageBoard(Long boardId) {
+        return hasBoardRole(boardId, BoardRole.OWNER);
+    }
 
-        // For now, allow all authenticated users to access boards
-        // In the future, you might want to implement board members/collaborators
-        return true;
+    /**
+     * Check if user can delete the board (owner or admin).
+     */
+    public boolean canDeleteBoard(Long boardId) {
+        return canManageBoard(boardId);
     }
 
     /**
-     * Check if user can modify the board (owner or admin).
+     * Check if the current user has at least the given role on a board. The board owner and
+     * admins have every role. Fails with not found if the board does not exist.
      */
-    @Transactional(readOnly = true)
-    public boolean canModifyBoard(Long boardId) {
+    private boolean hasBoardRole(Long boardId, BoardRole required) {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         if (auth == null || !auth.isAuthenticated()) {
             return false;
         }
 
-        // Admins can modify everything
+        // Admins can do everything
         if (isAdmin()) {
             return true;
         }
 
         UserPrincipal user = (UserPrincipal) auth.getPrincipal();
-        Board board = boardRepository.findById(boardId)
-                .orElseThrow(() -> new ResourceNotFoundException("Board", "id", boardId));
-
-        // Only board owner can modify
-        return board.getOwner() != null && board.getOwner().getId().equals(user.getId());
+        return hasBoardRole(user.getId(), boardId, required);
     }
 
     /**
-     * Check if user can delete the board (owner or admin).
+     * Check if a user has at least the given role on a board, as its owner or a member.
      */
-    @Transactional(readOnly = true)
-    public boolean canDeleteBoard(Long boardId) {
-        return canModifyBoard(boardId);
+    private boolean hasBoardRole(Long userId, Long boardId, BoardRole required) {
+        Long ownerId = hierarchy.ownerIdOfBoard(boardId);
+
+        // Board owner can do everything
+        if (ownerId != null && ownerId.equals(userId)) {
+            return true;
+        }
+
+        BoardRole role = boardAccess.roleOf(userId, boardId);
+        return role != null && role.includes(required);
     }
 
     /**
      * Check if user can access a list.
      */
-    @Transactional(readOnly = true)
     public boolean canAccessList(Long listId) {
-        BoardList list = listRepository.findById(listId)
-                .orElseThrow(() -> new ResourceNotFoundException("List", "id", listId));
-        return canAccessBoard(list.getBoard().getId());
+        return canAccessBoard(hierarchy.boardIdOfList(listId));
     }
 
     /**
      * Check if user can modify a list.
      */
-    @Transactional(readOnly = true)
     public boolean canModifyList(Long listId) {
-        BoardList list = listRepository.findById(listId)
-                .orElseThrow(() -> new ResourceNotFoundException("List", "id", listId));
-        return canModifyBoard(list.getBoard().getId());
+        return canModifyBoard(hierarchy.boardIdOfList(listId));
     }
 
     /**
      * Check if user can access a card.
      */
-    @Transactional(readOnly = true)
     public boolean canAccessCard(Long cardId) {
-        Card card = cardRepository.findById(cardId)
-                .orElseThrow(() -> new ResourceNotFoundException("Card", "id", cardId));
-        return canAccessBoard(card.getList().getBoard().getId());
+        return canAccessBoard(hierarchy.boardIdOfCard(cardId));
     }
 
     /**
      * Check if user can modify a card.
      */
-    @Transactional(readOnly = true)
     public boolean canModifyCard(Long cardId) {
-        Card card = cardRepository.findById(cardId)
-                .orElseThrow(() -> new ResourceNotFoundException("Card", "id", cardId));
-        return canModifyBoard(card.getList().getBoard().getId());
+        return canModifyBoard(hierarchy.boardIdOfCard(cardId));
     }
 
     /**
@@ -181,6 +165,17 @@ public class AuthorizationService {
         }
     }
 
+    /**
+     * Verify and throw exception if the given user cannot access board. For STOMP handlers,
+     * which know the user of the session but run without a security context; admin rights
+     * are not taken into account.
+     */
+    public void requireBoardAccess(Long userId, Long boardId) {
+        if (!hasBoardRole(userId, boardId, BoardRole.VIEWER)) {
+            throw new AccessDeniedException("You do not have permission to access this board");
+        }
+    }
+
     /**
      * Verify and throw exception if user cannot modify board.
      */
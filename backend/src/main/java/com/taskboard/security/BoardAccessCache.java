@@ -0,0 +1,80 @@
+package com.taskboard.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.taskboard.config.ReadReplicaRouter;
+import com.taskboard.model.entity.BoardMember;
+import com.taskboard.model.entity.BoardRole;
+import com.taskboard.repository.BoardMemberRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Per-user set of the boards a user is a member of, with their role on each.
+ * <p>
+ * The set is loaded with one indexed query on the first check of a user and kept as two
+ * parallel arrays sorted by board ID (a few bytes per board), so later checks are a binary
+ * search. Membership changes evict the users they touch once their transaction commits;
+ * entries also expire after {@code taskboard.authz-cache.ttl-seconds}, like
+ * {@link ResourceHierarchyCache}. Sets are loaded from the primary, so an eviction is not
+ * followed by a load from a replica that has not seen the membership change yet.
+ */
+@Component
+public class BoardAccessCache {
+
+    private static final BoardRole[] ROLES = BoardRole.values();
+
+    private final BoardMemberRepository boardMemberRepository;
+    private final Cache<Long, BoardAccess> access;
+
+    public BoardAccessCache(BoardMemberRepository boardMemberRepository,
+                            @Value("${taskboard.authz-cache.max-size:100000}") long maxSize,
+                            @Value("${taskboard.authz-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.boardMemberRepository = boardMemberRepository;
+        this.access = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    /**
+     * Role of a user on a board, or null if the user is not a member.
+     */
+    public BoardRole roleOf(Long userId, Long boardId) {
+        return access.get(userId, this::load).roleOf(boardId);
+    }
+
+    /**
+     * Forget the boards of a user (membership added, changed or removed).
+     */
+    public void evictUser(Long userId) {
+        ResourceHierarchyCache.afterCommit(() -> access.invalidate(userId));
+    }
+
+    private BoardAccess load(Long userId) {
+        List<BoardMember> memberships = ReadReplicaRouter.fromPrimary(
+                () -> boardMemberRepository.findByUserIdOrderByBoardIdAsc(userId));
+        long[] boardIds = new long[memberships.size()];
+        byte[] roles = new byte[memberships.size()];
+        for (int i = 0; i < boardIds.length; i++) {
+            boardIds[i] = memberships.get(i).getBoardId();
+            roles[i] = (byte) memberships.get(i).getRole().ordinal();
+        }
+        return new BoardAccess(boardIds, roles);
+    }
+
+    /**
+     * Boards of one user, sorted by ID, and the user's role on each.
+     */
+    private record BoardAccess(long[] boardIds, byte[] roles) {
+
+        BoardRole roleOf(long boardId) {
+            int index = Arrays.binarySearch(boardIds, boardId);
+            return index >= 0 ? ROLES[roles[index]] : null;
+        }
+    }
+}
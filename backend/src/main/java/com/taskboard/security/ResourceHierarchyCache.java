@@ -0,0 +1,144 @@
+package com.taskboard.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.taskboard.config.ReadReplicaRouter;
+import com.taskboard.exception.ResourceNotFoundException;
+import com.taskboard.repository.BoardRepository;
+import com.taskboard.repository.CardRepository;
+import com.taskboard.repository.ListRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * Cache of the resource hierarchy used by authorization checks: card to list, list to board,
+ * board to owner. Entries are loaded with ID-only queries, so a check never hydrates entities,
+ * and a warm check runs no query at all.
+ * <p>
+ * Services evict the entries they change (card move and delete, list delete, board owner
+ * change and archive) once their transaction commits. Eviction is local to this instance;
+ * entries also expire after {@code taskboard.authz-cache.ttl-seconds}, which bounds how long
+ * another instance may act on an old owner. Entries are loaded from the primary, never from
+ * a read replica that may not have the change yet.
+ */
+@Component
+public class ResourceHierarchyCache {
+
+    private final CardRepository cardRepository;
+    private final ListRepository listRepository;
+    private final BoardRepository boardRepository;
+
+    private final Cache<Long, Long> cardLists;
+    private final Cache<Long, Long> listBoards;
+    private final Cache<Long, BoardOwner> boardOwners;
+
+    public ResourceHierarchyCache(CardRepository cardRepository,
+                                  ListRepository listRepository,
+                                  BoardRepository boardRepository,
+                                  @Value("${taskboard.authz-cache.max-size:100000}") long maxSize,
+                                  @Value("${taskboard.authz-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.cardRepository = cardRepository;
+        this.listRepository = listRepository;
+        this.boardRepository = boardRepository;
+        this.cardLists = newCache(maxSize, ttlSeconds);
+        this.listBoards = newCache(maxSize, ttlSeconds);
+        this.boardOwners = newCache(maxSize, ttlSeconds);
+    }
+
+    /**
+     * The board a card belongs to.
+     */
+    public Long boardIdOfCard(Long cardId) {
+        Long listId = cardLists.get(cardId, id -> ReadReplicaRouter.fromPrimary(
+                () -> cardRepository.findListIdById(id).orElse(null)));
+        if (listId == null) {
+            throw new ResourceNotFoundException("Card", "id", cardId);
+        }
+        return boardIdOfList(listId);
+    }
+
+    /**
+     * The board a list belongs to.
+     */
+    public Long boardIdOfList(Long listId) {
+        Long boardId = listBoards.get(listId, id -> ReadReplicaRouter.fromPrimary(
+                () -> listRepository.findBoardIdById(id).orElse(null)));
+        if (boardId == null) {
+            throw new ResourceNotFoundException("List", "id", listId);
+        }
+        return boardId;
+    }
+
+    /**
+     * The owner of a board, or null if it has none.
+     */
+    public Long ownerIdOfBoard(Long boardId) {
+        BoardOwner owner = boardOwners.get(boardId, this::loadOwner);
+        if (owner == null) {
+            throw new ResourceNotFoundException("Board", "id", boardId);
+        }
+        return owner.userId();
+    }
+
+    /**
+     * Forget a card (moved or deleted).
+     */
+    public void evictCard(Long cardId) {
+        afterCommit(() -> cardLists.invalidate(cardId));
+    }
+
+    /**
+     * Forget a list (deleted). Entries of its cards fail on the list lookup and load again.
+     */
+    public void evictList(Long listId) {
+        afterCommit(() -> listBoards.invalidate(listId));
+    }
+
+    /**
+     * Forget the owner of a board (owner changed, or board archived).
+     */
+    public void evictBoard(Long boardId) {
+        afterCommit(() -> boardOwners.invalidate(boardId));
+    }
+
+    private BoardOwner loadOwner(Long boardId) {
+        // Missing boards are not cached, like the other levels
+        return ReadReplicaRouter.fromPrimary(() -> boardRepository.findOwnerIdById(boardId)
+                .map(BoardOwner::new)
+                .orElseGet(() -> boardRepository.existsById(boardId) ? new BoardOwner(null) : null));
+    }
+
+    /**
+     * Evict once the current transaction commits, so a concurrent check cannot load the old
+     * value again before the change is visible; right away outside a transaction.
+     */
+    static void afterCommit(Runnable eviction) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        } else {
+            eviction.run();
+        }
+    }
+
+    private static <V> Cache<Long, V> newCache(long maxSize, long ttlSeconds) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    /**
+     * Owner of a board; a null user ID stands for a board without owner.
+     */
+    private record BoardOwner(Long userId) {
+    }
+}
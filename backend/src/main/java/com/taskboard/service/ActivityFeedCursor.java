@@ -0,0 +1,54 @@
+package com.taskboard.service;
+
+import com.taskboard.model.entity.ActivityLog;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.DateTimeException;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+
+/**
+ * Position in an activity feed: the (createdAt, id) of the last entry of a page. Handed to
+ * clients as an opaque URL-safe token of 16 bytes, the timestamp in microseconds (the
+ * precision of the column) and the id.
+ */
+record ActivityFeedCursor(LocalDateTime createdAt, long id) {
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    /**
+     * Before the newest entry: the first page is the page after this one.
+     */
+    static final ActivityFeedCursor START = new ActivityFeedCursor(LocalDateTime.of(9999, 12, 31, 0, 0), Long.MAX_VALUE);
+
+    static ActivityFeedCursor after(ActivityLog last) {
+        return new ActivityFeedCursor(last.getCreatedAt(), last.getId());
+    }
+
+    String encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(2 * Long.BYTES)
+                .putLong(ChronoUnit.MICROS.between(EPOCH, createdAt))
+                .putLong(id);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    /**
+     * Read a token produced by {@link #encode()}.
+     *
+     * @throws IllegalArgumentException if the token is not one
+     */
+    static ActivityFeedCursor decode(String token) {
+        try {
+            byte[] bytes = Base64.getUrlDecoder().decode(token);
+            if (bytes.length == 2 * Long.BYTES) {
+                ByteBuffer buffer = ByteBuffer.wrap(bytes);
+                LocalDateTime createdAt = EPOCH.plus(buffer.getLong(), ChronoUnit.MICROS);
+                return new ActivityFeedCursor(createdAt, buffer.getLong());
+            }
+        } catch (IllegalArgumentException | DateTimeException | ArithmeticException e) {
+            // Reported below
+        }
+        throw new IllegalArgumentException("Invalid activity cursor");
+    }
+}
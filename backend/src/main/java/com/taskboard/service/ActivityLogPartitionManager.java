@@ -0,0 +1,174 @@
+package com.taskboard.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the monthly partitions of {@code activity_logs} (see V9 migration) in shape: creates
+ * the partitions of the coming {@code taskboard.activity-log.partitions-ahead} months, and
+ * detaches and drops the partitions whose rows are all older than
+ * {@code taskboard.activity-log.retention-months}. Dropping a partition frees its space at
+ * once, where a bulk DELETE would scan the table and leave dead rows to vacuum.
+ * <p>
+ * Runs at startup and daily. Every step is idempotent, so several instances may run it; one
+ * that loses a race logs it and the next run picks up where it stopped. Does nothing on
+ * databases other than PostgreSQL or when the table is not partitioned (H2 in tests).
+ */
+@Slf4j
+@Component
+public class ActivityLogPartitionManager {
+
+    static final String PARENT = "activity_logs";
+
+    private static final Pattern PARTITION_NAME = Pattern.compile(PARENT + "_p(\\d{6})");
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private static final String PARTITIONS_SQL = "SELECT c.relname, i.inhdetachpending FROM pg_inherits i "
+            + "JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = to_regclass('" + PARENT + "')";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int partitionsAhead;
+    private final int retentionMonths;
+    private Boolean partitioned;
+
+    public ActivityLogPartitionManager(DataSource dataSource,
+                                       @Value("${taskboard.activity-log.partitions-ahead:3}") int partitionsAhead,
+                                       @Value("${taskboard.activity-log.retention-months:12}") int retentionMonths) {
+        // DETACH ... CONCURRENTLY cannot run inside a transaction: statements are auto-committed
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.partitionsAhead = partitionsAhead;
+        this.retentionMonths = retentionMonths;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintain();
+    }
+
+    /**
+     * Create the upcoming partitions and drop the expired ones.
+     */
+    @Scheduled(cron = "${taskboard.activity-log.maintenance-cron:0 15 3 * * *}")
+    public synchronized void maintain() {
+        if (!isPartitioned()) {
+            log.debug("{} is not partitioned here, skipping partition maintenance", PARENT);
+            return;
+        }
+
+        Set<YearMonth> existing = new TreeSet<>();
+        List<String> pendingDetach = new ArrayList<>();
+        jdbcTemplate.query(PARTITIONS_SQL, rs -> {
+            String name = rs.getString(1);
+            YearMonth month = monthOf(name);
+            if (month == null) {
+                log.warn("Ignoring partition {} of {}: not a monthly partition", name, PARENT);
+            } else if (rs.getBoolean(2)) {
+                pendingDetach.add(name);
+            } else {
+                existing.add(month);
+            }
+        });
+
+        // Left half-detached by an interrupted run
+        for (String name : pendingDetach) {
+            run("finalize detach of " + name, "ALTER TABLE " + PARENT + " DETACH PARTITION " + name + " FINALIZE");
+            run("drop " + name, "DROP TABLE IF EXISTS " + name);
+        }
+
+        PartitionPlan plan = plan(existing, LocalDate.now(ZoneOffset.UTC), partitionsAhead, retentionMonths);
+        for (YearMonth month : plan.create()) {
+            String name = partitionName(month);
+            run("create " + name, "CREATE TABLE IF NOT EXISTS " + name + " PARTITION OF " + PARENT
+                    + " FOR VALUES FROM ('" + bound(month) + "') TO ('" + bound(month.plusMonths(1)) + "')");
+        }
+        for (YearMonth month : plan.drop()) {
+            String name = partitionName(month);
+            if (run("detach " + name, "ALTER TABLE " + PARENT + " DETACH PARTITION " + name + " CONCURRENTLY")) {
+                run("drop " + name, "DROP TABLE IF EXISTS " + name);
+            }
+        }
+        log.info("Activity log partitions: {} created, {} dropped", plan.create().size(),
+                plan.drop().size() + pendingDetach.size());
+    }
+
+    /**
+     * The months to create a partition for (this one and the next {@code ahead}) and the
+     * partitions to drop (those ending before {@code today} minus the retention period).
+     */
+    static PartitionPlan plan(Collection<YearMonth> existing, LocalDate today, int ahead, int retentionMonths) {
+        YearMonth current = YearMonth.from(today);
+        List<YearMonth> create = new ArrayList<>();
+        for (int i = 0; i <= ahead; i++) {
+            YearMonth month = current.plusMonths(i);
+            if (!existing.contains(month)) {
+                create.add(month);
+            }
+        }
+
+        // A partition ends on the first of the next month: it is expired once that is before the cutoff
+        YearMonth oldestKept = YearMonth.from(today.minusMonths(retentionMonths));
+        List<YearMonth> drop = existing.stream()
+                .filter(month -> month.isBefore(oldestKept))
+                .sorted()
+                .toList();
+        return new PartitionPlan(create, drop);
+    }
+
+    static String partitionName(YearMonth month) {
+        return PARENT + "_p" + month.format(SUFFIX);
+    }
+
+    static YearMonth monthOf(String partitionName) {
+        Matcher matcher = PARTITION_NAME.matcher(partitionName);
+        return matcher.matches() ? YearMonth.parse(matcher.group(1), SUFFIX) : null;
+    }
+
+    private static String bound(YearMonth month) {
+        // Same UTC month starts as the migration
+        return month.atDay(1) + " 00:00:00+00";
+    }
+
+    private boolean isPartitioned() {
+        if (partitioned == null) {
+            String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            partitioned = "PostgreSQL".equals(database) && Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass('" + PARENT + "'))",
+                    Boolean.class));
+        }
+        return partitioned;
+    }
+
+    private boolean run(String step, String sql) {
+        try {
+            jdbcTemplate.execute(sql);
+            log.debug("Activity log partitions: {}", step);
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Activity log partitions: could not {}: {}", step, e.getMessage());
+            return false;
+        }
+    }
+
+    record PartitionPlan(List<YearMonth> create, List<YearMonth> drop) {
+    }
+}
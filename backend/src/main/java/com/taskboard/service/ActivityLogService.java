@@ -1,25 +1,32 @@
 package com.taskboard.service;
 
+import com.taskboard.mapper.TaskBoardMapper;
+import com.taskboard.model.dto.ActivityFeedPage;
 import com.taskboard.model.dto.ActivityLogDTO;
 import com.taskboard.model.entity.ActivityLog;
+import com.taskboard.model.entity.ActivityMetadataKey;
 import com.taskboard.model.entity.ActivityType;
 import com.taskboard.model.entity.Board;
 import com.taskboard.model.entity.User;
 import com.taskboard.repository.ActivityLogRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.function.BiFunction;
 
 /**
  * Service for activity logging operations.
- * Tracks all significant actions performed on boards and cards.
+ * Tracks all significant actions performed on boards and cards. The log is partitioned by
+ * month and pruned by {@link ActivityLogPartitionManager}, so reads are bounded by time.
  */
 @Slf4j
 @Service
@@ -27,6 +34,13 @@ import java.util.stream.Collectors;
 public class ActivityLogService {
 
     private final ActivityLogRepository activityLogRepository;
+    private final TaskBoardMapper mapper;
+
+    @Value("${taskboard.activity-log.recent-window-days:30}")
+    private int recentWindowDays;
+
+    @Value("${taskboard.activity-log.max-page-size:100}")
+    private int maxPageSize;
 
     /**
      * Log an activity.
@@ -53,25 +67,66 @@ public class ActivityLogService {
     @Transactional(readOnly = true)
     public List<ActivityLogDTO> getRecentActivity(Long boardId, int limit) {
         log.debug("Fetching recent activity for board: {} (limit: {})", boardId, limit);
+        limit = pageSize(limit);
+
+        // Most boards fill the page from the latest partitions; older ones are only read if not
+        LocalDateTime windowStart = LocalDateTime.now().minusDays(recentWindowDays);
+        List<ActivityLog> recent = activityLogRepository.findRecentByBoardId(boardId, windowStart,
+                PageRequest.of(0, limit));
+        if (recent.size() < limit) {
+            List<ActivityLog> older = activityLogRepository.findRecentByBoardIdBefore(boardId, windowStart,
+                    PageRequest.of(0, limit - recent.size()));
+            if (!older.isEmpty()) {
+                recent = new ArrayList<>(recent);
+                recent.addAll(older);
+            }
+        }
+        return mapper.toActivityLogDTOs(recent);
+    }
+
+    /**
+     * Get a page of a board's activity feed, newest first: the first page without a cursor,
+     * then the page after the {@code nextCursor} of the previous one. Each page is a keyset
+     * seek, as fast at any depth. The size is capped at {@code taskboard.activity-log.max-page-size}.
+     *
+     * @throws IllegalArgumentException if the cursor is not one handed out by the feed
+     */
+    @Transactional(readOnly = true)
+    public ActivityFeedPage getActivityFeed(Long boardId, String cursor, int size) {
+        log.debug("Fetching activity feed for board: {} (size: {})", boardId, size);
+        return feedPage(cursor, size, (after, pageable) ->
+                activityLogRepository.findFeedPageAfter(boardId, after.createdAt(), after.id(), pageable));
+    }
 
-        Pageable pageable = PageRequest.of(0, limit);
-        return activityLogRepository.findRecentByBoardId(boardId, pageable).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    /**
+     * Search a board's activity by a metadata field, e.g. all moves by a user
+     * ({@link ActivityMetadataKey#MOVED_BY}, optionally narrowed to {@link ActivityType#CARD_MOVED}).
+     * Paged like {@link #getActivityFeed}, with cursors of its own.
+     *
+     * @throws IllegalArgumentException if the value is blank or the cursor is not one handed out here
+     */
+    @Transactional(readOnly = true)
+    public ActivityFeedPage searchActivityByMetadata(Long boardId, ActivityMetadataKey key, String value,
+                                                     ActivityType type, String cursor, int size) {
+        log.debug("Searching activity for board: {} ({} = {}, type: {})", boardId, key, value, type);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("A value to search " + key.getKey() + " for is required");
+        }
+        return feedPage(cursor, size, (after, pageable) -> activityLogRepository.findByMetadataAfter(boardId,
+                key.getKey(), value, type, after.createdAt(), after.id(), pageable));
     }
 
     /**
      * Get paginated activity for a board.
+     * Offset pages get slower with depth; {@link #getActivityFeed} does not.
      */
     @Transactional(readOnly = true)
     public List<ActivityLogDTO> getActivityByBoardId(Long boardId, int page, int size) {
         log.debug("Fetching activity for board: {} (page: {}, size: {})", boardId, page, size);
 
         Pageable pageable = PageRequest.of(page, size);
-        return activityLogRepository.findByBoardIdOrderByCreatedAtDesc(boardId, pageable)
-                .getContent().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return mapper.toActivityLogDTOs(activityLogRepository.findByBoardIdOrderByCreatedAtDesc(boardId, pageable)
+                .getContent());
     }
 
     /**
@@ -83,20 +138,26 @@ public class ActivityLogService {
     }
 
     /**
-     * Convert ActivityLog entity to DTO.
+     * Read the page after {@code cursor} (the first page without one) and the cursor of the next.
      */
-    private ActivityLogDTO convertToDTO(ActivityLog log) {
-        return ActivityLogDTO.builder()
-                .id(log.getId())
-                .boardId(log.getBoard().getId())
-                .boardName(log.getBoard().getName())
-                .userId(log.getUser() != null ? log.getUser().getId() : null)
-                .username(log.getUser() != null ? log.getUser().getUsername() : null)
-                .activityType(log.getActivityType())
-                .description(log.getDescription())
-                .metadata(log.getMetadata())
-                .createdAt(log.getCreatedAt())
+    private ActivityFeedPage feedPage(String cursor, int size,
+                                      BiFunction<ActivityFeedCursor, Pageable, List<ActivityLog>> query) {
+        size = pageSize(size);
+        ActivityFeedCursor after = cursor == null || cursor.isEmpty()
+                ? ActivityFeedCursor.START
+                : ActivityFeedCursor.decode(cursor);
+        // One extra entry tells whether there is a next page
+        List<ActivityLog> entries = query.apply(after, PageRequest.of(0, size + 1));
+
+        boolean more = entries.size() > size;
+        List<ActivityLog> page = more ? entries.subList(0, size) : entries;
+        return ActivityFeedPage.builder()
+                .items(mapper.toActivityLogDTOs(page))
+                .nextCursor(more ? ActivityFeedCursor.after(page.get(size - 1)).encode() : null)
                 .build();
     }
-}
 
+    private int pageSize(int requested) {
+        return Math.clamp(requested, 1, maxPageSize);
+    }
+}
@@ -0,0 +1,345 @@
+package com.taskboard.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.taskboard.exception.ResourceNotFoundException;
+import com.taskboard.model.dto.BoardCountersDTO;
+import com.taskboard.model.entity.BoardCounters;
+import com.taskboard.model.entity.Card;
+import com.taskboard.model.entity.Priority;
+import com.taskboard.repository.BoardCountersRepository;
+import com.taskboard.repository.BoardRepository;
+import com.taskboard.repository.CardRepository;
+import com.taskboard.repository.ListRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+/**
+ * Per-board counters of lists, cards, cards per priority and per assignee, and overdue cards,
+ * kept in {@code board_counters}. Card and list writes adjust them in their own transaction,
+ * under a lock of the board's counters row, so the counts are exact whenever a write commits
+ * and reading them never counts cards.
+ * <p>
+ * The adjustment is the last write of the transaction: it is applied just before commit, after
+ * the transaction's other writes are flushed. Every write therefore locks its list and card rows
+ * before the counters row, never after, and holds the counters lock only until it commits, so
+ * writes to different lists of a board hardly wait for each other.
+ * <p>
+ * Cards also become overdue as time passes. A board counts the cards due at or before its
+ * {@code overdueAsOf}; every {@code taskboard.board-counters.overdue-sweep-ms} a sweep
+ * adds the cards of each board that fell due since, found through idx_cards_due_date. A card
+ * written with a due date between {@code overdueAsOf} and now marks its board for the next sweep.
+ * <p>
+ * Counters are cached for {@code taskboard.board-counters.cache.ttl-seconds} and evicted on
+ * this instance when a write to the board commits. A board without counters (created
+ * before them) is counted once on its first read.
+ */
+@Slf4j
+@Service
+public class BoardCounterService {
+
+    private final BoardCountersRepository countersRepository;
+    private final BoardRepository boardRepository;
+    private final ListRepository listRepository;
+    private final CardRepository cardRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache<Long, BoardCountersDTO> cache;
+
+    // End of the last complete sweep; cards due after it have not been looked at yet
+    private LocalDateTime sweptUntil;
+
+    public BoardCounterService(BoardCountersRepository countersRepository,
+                               BoardRepository boardRepository,
+                               ListRepository listRepository,
+                               CardRepository cardRepository,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${taskboard.board-counters.cache.max-size:10000}") long maxSize,
+                               @Value("${taskboard.board-counters.cache.ttl-seconds:10}") long ttlSeconds) {
+        this.countersRepository = countersRepository;
+        this.boardRepository = boardRepository;
+        this.listRepository = listRepository;
+        this.cardRepository = cardRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    /**
+     * Get the counters of a board.
+     */
+    public BoardCountersDTO getCounters(Long boardId) {
+        return cache.get(boardId, this::load);
+    }
+
+    /**
+     * Total lists over all boards, from the counters.
+     */
+    @Transactional(readOnly = true)
+    public long getTotalListCount() {
+        return countersRepository.sumListCounts();
+    }
+
+    /**
+     * Start the counters of a new board.
+     */
+    @Transactional
+    public void boardCreated(Long boardId) {
+        countersRepository.save(BoardCounters.builder()
+                .boardId(boardId)
+                .overdueAsOf(LocalDateTime.now())
+                .build());
+    }
+
+    /**
+     * Count a new list.
+     */
+    @Transactional
+    public void listAdded(Long boardId) {
+        updateAtCommit(boardId, counters -> counters.setListCount(counters.getListCount() + 1));
+    }
+
+    /**
+     * Uncount a list and its cards. Call with the list locked, before it is deleted; the cards
+     * of the list are locked here, so none of them changes before they are deleted with it.
+     */
+    @Transactional
+    public void listRemoved(Long boardId, Long listId) {
+        List<CardFacts> cards = cardRepository.findByListIdForUpdate(listId).stream()
+                .map(CardFacts::of)
+                .toList();
+        updateAtCommit(boardId, counters -> {
+            counters.setListCount(counters.getListCount() - 1);
+            cards.forEach(card -> apply(counters, card, -1));
+        });
+    }
+
+    /**
+     * Count a new card.
+     */
+    @Transactional
+    public void cardAdded(Long boardId, CardFacts card) {
+        updateAtCommit(boardId, counters -> apply(counters, card, 1));
+    }
+
+    /**
+     * Recount a changed card.
+     */
+    @Transactional
+    public void cardChanged(Long boardId, CardFacts before, CardFacts after) {
+        if (!before.equals(after)) {
+            updateAtCommit(boardId, counters -> {
+                apply(counters, before, -1);
+                apply(counters, after, 1);
+            });
+        }
+    }
+
+    /**
+     * Uncount a card.
+     */
+    @Transactional
+    public void cardRemoved(Long boardId, CardFacts card) {
+        updateAtCommit(boardId, counters -> apply(counters, card, -1));
+    }
+
+    /**
+     * Count the cards that fell due since the last sweep. Each board is advanced in its own
+     * short transaction; a board that fails is picked up again by the next sweep.
+     */
+    @Scheduled(fixedDelayString = "${taskboard.board-counters.overdue-sweep-ms:60000}")
+    public synchronized void sweepOverdue() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = sweptUntil != null ? sweptUntil : countersRepository.findOldestOverdueAsOf();
+
+        Set<Long> boardIds = new TreeSet<>(countersRepository.findOverdueStaleBoardIds());
+        if (since != null) {
+            boardIds.addAll(countersRepository.findBoardIdsWithCardsDueBetween(since, now));
+        }
+
+        boolean complete = true;
+        for (Long boardId : boardIds) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> advanceOverdue(boardId, now));
+            } catch (RuntimeException e) {
+                log.warn("Could not sweep overdue cards of board {}: {}", boardId, e.getMessage());
+                complete = false;
+            }
+        }
+        if (complete) {
+            sweptUntil = now;
+        }
+        log.debug("Swept overdue cards of {} boards", boardIds.size());
+    }
+
+    private void advanceOverdue(Long boardId, LocalDateTime now) {
+        countersRepository.findByIdForUpdate(boardId).ifPresent(counters -> {
+            if (counters.getOverdueAsOf().isBefore(now)) {
+                // Counted after the lock, so cards written by writes that held it are seen
+                counters.setOverdueCount(counters.getOverdueCount()
+                        + countersRepository.countCardsDue(boardId, null, counters.getOverdueAsOf(), now));
+                counters.setOverdueAsOf(now);
+            }
+            counters.setOverdueStale(false);
+            evictAfterCommit(boardId);
+        });
+    }
+
+    /**
+     * Adjust the counters as the last write of the current transaction, after its other writes
+     * are flushed, so the counters row is locked after the rows they touch and only until commit.
+     */
+    private void updateAtCommit(Long boardId, Consumer<BoardCounters> change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update(boardId, change);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                countersRepository.flush();
+                update(boardId, change);
+            }
+        });
+    }
+
+    private void update(Long boardId, Consumer<BoardCounters> change) {
+        countersRepository.findByIdForUpdate(boardId).ifPresentOrElse(counters -> {
+            change.accept(counters);
+            evictAfterCommit(boardId);
+        }, () -> log.debug("Board {} has no counters yet, they are counted on first read", boardId));
+    }
+
+    private static void apply(BoardCounters counters, CardFacts card, int sign) {
+        counters.setCardCount(counters.getCardCount() + sign);
+        if (card.priority() != null) {
+            adjust(counters.getCardsByPriority(), card.priority(), sign);
+        }
+        if (card.assigneeId() != null) {
+            adjust(counters.getCardsByAssignee(), card.assigneeId(), sign);
+        }
+        if (card.dueDate() != null) {
+            if (!card.dueDate().isAfter(counters.getOverdueAsOf())) {
+                counters.setOverdueCount(counters.getOverdueCount() + sign);
+            } else if (sign > 0 && !card.dueDate().isAfter(LocalDateTime.now())) {
+                counters.setOverdueStale(true);
+            }
+        }
+    }
+
+    /**
+     * Add (or with a negative sign, subtract) the cards of a board, or of one of its lists.
+     */
+    private void count(BoardCounters counters, Long listId, int sign) {
+        Long boardId = counters.getBoardId();
+        for (Object[] row : countersRepository.countCardsByPriority(boardId, listId)) {
+            long cards = sign * (Long) row[1];
+            counters.setCardCount(counters.getCardCount() + cards);
+            if (row[0] != null) {
+                adjust(counters.getCardsByPriority(), (Priority) row[0], cards);
+            }
+        }
+        for (Object[] row : countersRepository.countCardsByAssignee(boardId, listId)) {
+            adjust(counters.getCardsByAssignee(), (Long) row[0], sign * (Long) row[1]);
+        }
+        counters.setOverdueCount(counters.getOverdueCount()
+                + sign * countersRepository.countCardsDue(boardId, listId, null, counters.getOverdueAsOf()));
+    }
+
+    private static <K> void adjust(Map<K, Long> counts, K key, long delta) {
+        long count = counts.getOrDefault(key, 0L) + delta;
+        if (count > 0) {
+            counts.put(key, count);
+        } else {
+            counts.remove(key);
+        }
+    }
+
+    private BoardCountersDTO load(Long boardId) {
+        try {
+            return transactionTemplate.execute(status -> toDTO(countersRepository.findById(boardId)
+                    .orElseGet(() -> create(boardId))));
+        } catch (DataIntegrityViolationException e) {
+            // Counted by a concurrent first read
+            return transactionTemplate.execute(status -> countersRepository.findById(boardId)
+                    .map(BoardCounterService::toDTO)
+                    .orElseThrow(() -> new ResourceNotFoundException("Board", "id", boardId)));
+        }
+    }
+
+    private BoardCounters create(Long boardId) {
+        if (!boardRepository.existsById(boardId)) {
+            throw new ResourceNotFoundException("Board", "id", boardId);
+        }
+        log.info("Counting board {} for its counters", boardId);
+        BoardCounters counters = BoardCounters.builder()
+                .boardId(boardId)
+                .listCount(listRepository.countByBoardId(boardId))
+                .overdueAsOf(LocalDateTime.now())
+                .build();
+        count(counters, null, 1);
+        return countersRepository.saveAndFlush(counters);
+    }
+
+    private static BoardCountersDTO toDTO(BoardCounters counters) {
+        Map<Priority, Long> byPriority = new EnumMap<>(Priority.class);
+        byPriority.putAll(counters.getCardsByPriority());
+        return BoardCountersDTO.builder()
+                .boardId(counters.getBoardId())
+                .lists(counters.getListCount())
+                .cards(counters.getCardCount())
+                .cardsByPriority(byPriority)
+                .cardsByAssignee(new TreeMap<>(counters.getCardsByAssignee()))
+                .overdueCards(counters.getOverdueCount())
+                .overdueAsOf(counters.getOverdueAsOf())
+                .build();
+    }
+
+    /**
+     * Evict once the current transaction commits, so a concurrent read cannot cache the old
+     * counts again before the change is visible.
+     */
+    private void evictAfterCommit(Long boardId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(boardId);
+                }
+            });
+        } else {
+            cache.invalidate(boardId);
+        }
+    }
+
+    /**
+     * What the counters count of a card.
+     */
+    public record CardFacts(Priority priority, Long assigneeId, LocalDateTime dueDate) {
+
+        public static CardFacts of(Card card) {
+            return new CardFacts(card.getPriority(),
+                    card.getAssignedTo() != null ? card.getAssignedTo().getId() : null,
+                    card.getDueDate());
+        }
+    }
+}
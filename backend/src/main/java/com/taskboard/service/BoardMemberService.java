@@ -0,0 +1,104 @@
+package com.taskboard.service;
+
+import com.taskboard.exception.ResourceNotFoundException;
+import com.taskboard.model.dto.BoardMemberDTO;
+import com.taskboard.model.entity.Board;
+import com.taskboard.model.entity.BoardMember;
+import com.taskboard.model.entity.BoardRole;
+import com.taskboard.repository.BoardMemberRepository;
+import com.taskboard.repository.BoardRepository;
+import com.taskboard.repository.UserRepository;
+import com.taskboard.security.BoardAccessCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Service for the members of a board.
+ * Every change evicts the board access set of the user it touches, and the cached board
+ * listings (which are filtered by membership).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BoardMemberService {
+
+    private final BoardMemberRepository boardMemberRepository;
+    private final BoardRepository boardRepository;
+    private final UserRepository userRepository;
+    private final BoardAccessCache boardAccess;
+
+    /**
+     * Get the members of a board.
+     */
+    @Transactional(readOnly = true)
+    public List<BoardMemberDTO> getMembers(Long boardId) {
+        requireBoard(boardId);
+        return boardMemberRepository.findMembersByBoardId(boardId);
+    }
+
+    /**
+     * Add a member to a board, or change the role of an existing member.
+     * Ownership is changed through the board's owner, not here.
+     */
+    @CacheEvict(value = "boards", allEntries = true)
+    @Transactional
+    public BoardMemberDTO setMember(Long boardId, Long userId, BoardRole role) {
+        log.info("Setting role {} for user {} on board {}", role, userId, boardId);
+        Board board = requireBoard(boardId);
+        if (role == BoardRole.OWNER) {
+            throw new IllegalArgumentException("The owner role is given by transferring the board");
+        }
+        if (board.getOwner() != null && board.getOwner().getId().equals(userId)) {
+            throw new IllegalArgumentException("The role of the board owner cannot be changed");
+        }
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User", "id", userId);
+        }
+
+        grant(boardId, userId, role);
+        return boardMemberRepository.findMembersByBoardId(boardId).stream()
+                .filter(member -> member.getUserId().equals(userId))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    /**
+     * Remove a member from a board.
+     */
+    @CacheEvict(value = "boards", allEntries = true)
+    @Transactional
+    public void removeMember(Long boardId, Long userId) {
+        log.info("Removing user {} from board {}", userId, boardId);
+        Board board = requireBoard(boardId);
+        if (board.getOwner() != null && board.getOwner().getId().equals(userId)) {
+            throw new IllegalArgumentException("The board owner cannot be removed");
+        }
+        BoardMember member = boardMemberRepository.findByBoardIdAndUserId(boardId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Board member", "userId", userId));
+        boardMemberRepository.delete(member);
+        boardAccess.evictUser(userId);
+    }
+
+    /**
+     * Give a user a role on a board, creating the membership if needed.
+     * Also used when a board is created or changes owner.
+     */
+    @Transactional
+    public void grant(Long boardId, Long userId, BoardRole role) {
+        BoardMember member = boardMemberRepository.findByBoardIdAndUserId(boardId, userId)
+                .orElseGet(() -> BoardMember.builder().boardId(boardId).userId(userId).build());
+        member.setRole(role);
+        boardMemberRepository.save(member);
+        boardAccess.evictUser(userId);
+    }
+
+    private Board requireBoard(Long boardId) {
+        return boardRepository.findByIdAndArchivedFalse(boardId)
+                .orElseThrow(() -> new ResourceNotFoundException("Board", "id", boardId));
+    }
+}
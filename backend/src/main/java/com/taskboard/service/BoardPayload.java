@@ -0,0 +1,80 @@
+package com.taskboard.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A board response as it goes over the wire: the serialized JSON, plus its gzip encoding when
+ * the JSON is large enough to be worth compressing. Cached in "boards", so a cache hit is
+ * written out as is, without serializing or compressing again.
+ *
+ * @param json the JSON body
+ * @param gzip the gzip-encoded JSON body, or {@code null} for small bodies
+ */
+public record BoardPayload(byte[] json, byte[] gzip) implements Serializable {
+
+    /**
+     * Bodies below this size are sent uncompressed (the gzip framing alone is about 20 bytes).
+     */
+    public static final int MIN_COMPRESS_SIZE = 1024;
+
+    /**
+     * Wrap a JSON body, compressing it if it is large enough.
+     */
+    public static BoardPayload of(byte[] json) {
+        return new BoardPayload(json, json.length >= MIN_COMPRESS_SIZE ? gzip(json) : null);
+    }
+
+    /**
+     * Whether an {@code Accept-Encoding} header admits gzip: a {@code gzip} or {@code x-gzip}
+     * entry decides by its q-value, otherwise a {@code *} entry does. {@code q=0} refuses.
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzip = null;
+        Double wildcard = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            if (name.equalsIgnoreCase("gzip") || name.equalsIgnoreCase("x-gzip")) {
+                gzip = Math.max(gzip == null ? 0 : gzip, quality(parts));
+            } else if (name.equals("*")) {
+                wildcard = quality(parts);
+            }
+        }
+        Double decisive = gzip != null ? gzip : wildcard;
+        return decisive != null && decisive > 0;
+    }
+
+    /**
+     * The q-value of one coding, 1 when absent or malformed.
+     */
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String param = parts[i].trim();
+            if (param.regionMatches(true, 0, "q=", 0, 2)) {
+                try {
+                    return Double.parseDouble(param.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 1;
+                }
+            }
+        }
+        return 1;
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out, 8192)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,418 @@
+package com.taskboard.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.taskboard.config.ReadReplicaRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Reads through the "boards" cache for {@link BoardPayloadService}, so a burst of requests for a
+ * board the last write evicted does not load it once per request:
+ * <ul>
+ *   <li>Single flight: concurrent misses for a key on this instance wait for one load.</li>
+ *   <li>With {@code taskboard.boards.cache.lock.enabled}, the loading request also takes a Redis
+ *       lock for the key, and other instances wait (up to {@code lock.wait-ms}) for the value to
+ *       appear in the shared cache instead of loading it too.</li>
+ *   <li>With {@code stale-while-revalidate.enabled}, a miss is answered with this instance's last
+ *       copy (if at most {@code stale-max-age-ms} old) while it is loaded again in the background.
+ *       Users still read their own writes: a user whose write request is running, or ended after
+ *       the copy was loaded (see {@link OwnWritesInterceptor}), waits for the load instead.</li>
+ *   <li>With {@code warm.top-n} above zero, the most-read keys are loaded again as soon as the
+ *       cache was cleared, before requests ask for them. Clears are noticed by a marker entry
+ *       that goes with the rest of the cache.</li>
+ * </ul>
+ * A load that sees the cache cleared while it ran does not store its (possibly outdated) result;
+ * clears are noticed by a marker entry of their own, whether or not warming is on.
+ * Loads read from the primary, not from a read replica that may lag behind the clearing write.
+ */
+@Slf4j
+@Component
+public class BoardPayloadCache {
+
+    static final String CACHE_NAME = "boards";
+    static final String MARKER_KEY = "warm-marker";
+    static final String LOAD_MARKER_KEY = "load-marker";
+
+    private static final BoardPayload MARKER = new BoardPayload(new byte[0], null);
+    private static final String LOCK_PREFIX = "taskboard:boards-cache-lock:";
+    private static final RedisScript<Long> RELEASE_LOCK = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final CacheManager cacheManager;
+    private final StringRedisTemplate redis;
+    private final boolean lockEnabled;
+    private final Duration lockTtl;
+    private final long lockWaitMillis;
+    private final long lockPollMillis;
+    private final boolean staleWhileRevalidate;
+    private final long staleMaxAgeNanos;
+    private final int warmTopN;
+    private final int maxTrackedKeys;
+    private final ExecutorService executor;
+
+    private final ConcurrentHashMap<Object, CompletableFuture<BoardPayload>> inFlight = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Object, HotKey> hotKeys = new ConcurrentHashMap<>();
+    private final com.github.benmanes.caffeine.cache.Cache<Object, StaleCopy> staleCopies;
+    private final com.github.benmanes.caffeine.cache.Cache<String, OwnWrite> ownWrites;
+
+    private final Counter hits;
+    private final Counter loads;
+    private final Counter coalesced;
+    private final Counter loadedElsewhere;
+    private final Counter staleServed;
+    private final Counter warmed;
+
+    public BoardPayloadCache(CacheManager cacheManager,
+                             StringRedisTemplate redis,
+                             MeterRegistry meterRegistry,
+                             @Value("${taskboard.boards.cache.lock.enabled:false}") boolean lockEnabled,
+                             @Value("${taskboard.boards.cache.lock.ttl-ms:10000}") long lockTtlMillis,
+                             @Value("${taskboard.boards.cache.lock.wait-ms:3000}") long lockWaitMillis,
+                             @Value("${taskboard.boards.cache.lock.poll-ms:25}") long lockPollMillis,
+                             @Value("${taskboard.boards.cache.stale-while-revalidate.enabled:false}") boolean staleWhileRevalidate,
+                             @Value("${taskboard.boards.cache.stale-while-revalidate.stale-max-age-ms:5000}") long staleMaxAgeMillis,
+                             @Value("${taskboard.boards.cache.stale-while-revalidate.max-size:1000}") long staleMaxSize,
+                             @Value("${taskboard.boards.cache.warm.top-n:20}") int warmTopN,
+                             @Value("${taskboard.boards.cache.warm.max-tracked-keys:10000}") int maxTrackedKeys,
+                             @Value("${taskboard.boards.cache.refresh-threads:2}") int refreshThreads) {
+        this.cacheManager = cacheManager;
+        this.redis = redis;
+        this.lockEnabled = lockEnabled;
+        this.lockTtl = Duration.ofMillis(lockTtlMillis);
+        this.lockWaitMillis = lockWaitMillis;
+        this.lockPollMillis = lockPollMillis;
+        this.staleWhileRevalidate = staleWhileRevalidate;
+        this.staleMaxAgeNanos = Duration.ofMillis(staleMaxAgeMillis).toNanos();
+        this.warmTopN = warmTopN;
+        this.maxTrackedKeys = maxTrackedKeys;
+        this.executor = Executors.newFixedThreadPool(refreshThreads,
+                Thread.ofPlatform().name("boards-cache-refresh-", 0).daemon().factory());
+        this.staleCopies = Caffeine.newBuilder().maximumSize(staleMaxSize).build();
+        // Older writes predate every copy young enough to be served
+        this.ownWrites = Caffeine.newBuilder()
+                .maximumSize(maxTrackedKeys)
+                .expireAfterWrite(Duration.ofMillis(staleMaxAgeMillis))
+                .build();
+
+        this.hits = reads(meterRegistry, "hit");
+        this.loads = reads(meterRegistry, "loaded");
+        this.coalesced = reads(meterRegistry, "coalesced");
+        this.loadedElsewhere = reads(meterRegistry, "loaded_elsewhere");
+        this.staleServed = reads(meterRegistry, "stale");
+        this.warmed = Counter.builder("taskboard.board_cache.warmed")
+                .description("Board cache entries loaded ahead of requests after the cache was cleared")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Get the cached payload of a key, or load it with {@code loader}, once for all concurrent callers.
+     */
+    public BoardPayload get(Object key, Supplier<BoardPayload> loader) {
+        track(key, loader);
+        BoardPayload cached = read(key);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        if (staleWhileRevalidate) {
+            StaleCopy stale = staleCopies.getIfPresent(key);
+            if (stale != null && System.nanoTime() - stale.loadedAt() <= staleMaxAgeNanos
+                    && !predatesOwnWrite(stale)) {
+                staleServed.increment();
+                refreshInBackground(key, loader);
+                return stale.payload();
+            }
+        }
+        return load(key, loader);
+    }
+
+    /**
+     * Note that a user's write request started: until it ends, the user is not answered with
+     * stale copies.
+     */
+    public void writeStarted(String user) {
+        if (staleWhileRevalidate) {
+            ownWrites.put(user, new OwnWrite(System.nanoTime(), true));
+        }
+    }
+
+    /**
+     * Note that a user's write request ended: the user is not answered with copies loaded before.
+     */
+    public void writeFinished(String user) {
+        if (staleWhileRevalidate) {
+            ownWrites.put(user, new OwnWrite(System.nanoTime(), false));
+        }
+    }
+
+    /**
+     * Put a marker into the cache and, if the previous one is gone (the cache was cleared since),
+     * load the most-read keys again in the background.
+     */
+    @Scheduled(fixedDelayString = "${taskboard.boards.cache.warm.check-ms:1000}")
+    public void warmAfterClear() {
+        if (warmTopN <= 0) {
+            return;
+        }
+        try {
+            if (read(MARKER_KEY) != null) {
+                return;
+            }
+            cache().put(MARKER_KEY, MARKER);
+            if (read(MARKER_KEY) == null) {
+                // The cache keeps nothing (caching is switched off)
+                return;
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not check the boards cache for warming: {}", e.getMessage());
+            return;
+        }
+        executor.execute(this::warm);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Load the most-read keys that are not cached, then let older reads count for less.
+     */
+    private void warm() {
+        List<Map.Entry<Object, HotKey>> hottest = hotKeys.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<Object, HotKey> entry) -> entry.getValue().reads.sum())
+                        .reversed())
+                .limit(warmTopN)
+                .toList();
+        decayReads();
+        for (Map.Entry<Object, HotKey> entry : hottest) {
+            try {
+                if (read(entry.getKey()) == null) {
+                    load(entry.getKey(), entry.getValue().loader);
+                    warmed.increment();
+                }
+            } catch (RuntimeException e) {
+                // Typically a deleted board
+                hotKeys.remove(entry.getKey());
+                log.debug("Could not warm boards cache entry {}: {}", entry.getKey(), e.getMessage());
+            }
+        }
+        log.debug("Warmed the boards cache with up to {} entries", hottest.size());
+    }
+
+    private void decayReads() {
+        hotKeys.entrySet().removeIf(entry -> {
+            long reads = entry.getValue().reads.sumThenReset();
+            if (reads > 1) {
+                entry.getValue().reads.add(reads / 2);
+                return false;
+            }
+            return true;
+        });
+    }
+
+    private void track(Object key, Supplier<BoardPayload> loader) {
+        if (warmTopN <= 0) {
+            return;
+        }
+        HotKey hot = hotKeys.get(key);
+        if (hot == null) {
+            if (hotKeys.size() >= maxTrackedKeys) {
+                // Room is made when reads decay at the next warming
+                return;
+            }
+            hot = hotKeys.computeIfAbsent(key, k -> new HotKey(loader));
+        }
+        hot.reads.increment();
+    }
+
+    /**
+     * Whether a stale copy may not show the current user's own latest write.
+     */
+    private boolean predatesOwnWrite(StaleCopy stale) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        OwnWrite write = authentication != null ? ownWrites.getIfPresent(authentication.getName()) : null;
+        return write != null && (write.running() || stale.loadedAt() - write.at() <= 0);
+    }
+
+    private void refreshInBackground(Object key, Supplier<BoardPayload> loader) {
+        if (inFlight.containsKey(key)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    load(key, loader);
+                } catch (RuntimeException e) {
+                    staleCopies.invalidate(key);
+                    log.debug("Could not refresh boards cache entry {}: {}", key, e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.debug("Boards cache refresh of {} not started: {}", key, e.getMessage());
+        }
+    }
+
+    /**
+     * Load a key, or wait for the load of it already running on this instance.
+     */
+    private BoardPayload load(Object key, Supplier<BoardPayload> loader) {
+        CompletableFuture<BoardPayload> flight = new CompletableFuture<>();
+        CompletableFuture<BoardPayload> running = inFlight.putIfAbsent(key, flight);
+        if (running != null) {
+            coalesced.increment();
+            try {
+                return running.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+        try {
+            BoardPayload payload = loadOnce(key, loader);
+            flight.complete(payload);
+            return payload;
+        } catch (RuntimeException e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private BoardPayload loadOnce(Object key, Supplier<BoardPayload> loader) {
+        // Stored by a load that finished just before this one started
+        BoardPayload cached = read(key);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        if (!lockEnabled) {
+            return loadAndStore(key, loader);
+        }
+
+        String lockKey = LOCK_PREFIX + key;
+        String token = UUID.randomUUID().toString();
+        Boolean acquired;
+        try {
+            acquired = redis.opsForValue().setIfAbsent(lockKey, token, lockTtl);
+        } catch (RuntimeException e) {
+            log.warn("Could not take the boards cache lock for {}, loading without it: {}", key, e.getMessage());
+            return loadAndStore(key, loader);
+        }
+        if (Boolean.TRUE.equals(acquired)) {
+            try {
+                return loadAndStore(key, loader);
+            } finally {
+                releaseLock(lockKey, token);
+            }
+        }
+
+        // Another instance is loading it: wait for its result to show up in the shared cache
+        long deadline = System.nanoTime() + Duration.ofMillis(lockWaitMillis).toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(lockPollMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            cached = read(key);
+            if (cached != null) {
+                loadedElsewhere.increment();
+                return cached;
+            }
+        }
+        log.debug("Boards cache entry {} did not show up within {} ms, loading it here", key, lockWaitMillis);
+        return loadAndStore(key, loader);
+    }
+
+    private BoardPayload loadAndStore(Object key, Supplier<BoardPayload> loader) {
+        if (read(LOAD_MARKER_KEY) == null) {
+            // First load since the cache was cleared
+            cache().put(LOAD_MARKER_KEY, MARKER);
+        }
+        BoardPayload payload = ReadReplicaRouter.fromPrimary(loader);
+        loads.increment();
+        if (read(LOAD_MARKER_KEY) == null) {
+            // Cleared while loading: the payload may predate the write that cleared it
+            log.debug("Boards cache was cleared while loading {}, not storing it", key);
+        } else {
+            cache().put(key, payload);
+        }
+        if (staleWhileRevalidate) {
+            staleCopies.put(key, new StaleCopy(payload, System.nanoTime()));
+        }
+        return payload;
+    }
+
+    private void releaseLock(String lockKey, String token) {
+        try {
+            redis.execute(RELEASE_LOCK, List.of(lockKey), token);
+        } catch (RuntimeException e) {
+            // Expires after the lock TTL
+            log.warn("Could not release boards cache lock {}: {}", lockKey, e.getMessage());
+        }
+    }
+
+    private BoardPayload read(Object key) {
+        return cache().get(key, BoardPayload.class);
+    }
+
+    private Cache cache() {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache == null) {
+            throw new IllegalStateException("No cache named " + CACHE_NAME);
+        }
+        return cache;
+    }
+
+    private static Counter reads(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("taskboard.board_cache.reads")
+                .description("Board payload reads by how they were answered")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static final class HotKey {
+
+        private final Supplier<BoardPayload> loader;
+        private final LongAdder reads = new LongAdder();
+
+        private HotKey(Supplier<BoardPayload> loader) {
+            this.loader = loader;
+        }
+    }
+
+    private record StaleCopy(BoardPayload payload, long loadedAt) {
+    }
+
+    private record OwnWrite(long at, boolean running) {
+    }
+}
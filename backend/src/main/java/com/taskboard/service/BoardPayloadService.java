@@ -0,0 +1,57 @@
+package com.taskboard.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Board responses ready to be written: serialized (and compressed) once per cache fill, then
+ * served from the "boards" cache until a board change evicts it. Read through
+ * {@link BoardPayloadCache}, so concurrent misses for a key load it once.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BoardPayloadService {
+
+    private final BoardService boardService;
+    private final JsonMapper jsonMapper;
+    private final BoardPayloadCache payloadCache;
+
+    /**
+     * All non-archived boards with lists and cards.
+     */
+    public BoardPayload getAllBoardsPayload() {
+        return payloadCache.get("all", () -> serialize(boardService.getAllBoards()));
+    }
+
+    /**
+     * The non-archived boards a user owns or is a member of, with lists and cards.
+     */
+    public BoardPayload getBoardsPayloadForUser(Long userId) {
+        return payloadCache.get("all:" + userId, () -> serialize(boardService.getBoardsForUser(userId)));
+    }
+
+    /**
+     * A board with all lists and cards.
+     */
+    public BoardPayload getBoardPayload(Long id) {
+        // Keyed by the bare id, where BoardStreamService looks for it
+        return payloadCache.get(id, () -> serialize(boardService.getBoardById(id)));
+    }
+
+    /**
+     * A board with all lists and cards, in normalized form.
+     */
+    public BoardPayload getNormalizedBoardPayload(Long id) {
+        return payloadCache.get("normalized:" + id, () -> serialize(boardService.getNormalizedBoardById(id)));
+    }
+
+    private BoardPayload serialize(Object body) {
+        BoardPayload payload = BoardPayload.of(jsonMapper.writeValueAsBytes(body));
+        log.debug("Serialized board payload: {} bytes of JSON, {} gzipped", payload.json().length,
+                payload.gzip() != null ? payload.gzip().length : "not");
+        return payload;
+    }
+}
@@ -1,19 +1,22 @@
 package com.taskboard.service;
 
 import com.taskboard.exception.ResourceNotFoundException;
+import com.taskboard.mapper.TaskBoardMapper;
 import com.taskboard.messaging.producer.EventPublisher;
+import com.taskboard.metrics.PhaseTimers;
+import com.taskboard.metrics.ServicePhase;
 import com.taskboard.model.dto.BoardDTO;
-import com.taskboard.model.dto.CardDTO;
 import com.taskboard.model.dto.CreateBoardRequest;
-import com.taskboard.model.dto.ListDTO;
+import com.taskboard.model.dto.NormalizedBoardDTO;
 import com.taskboard.model.entity.*;
 import com.taskboard.model.event.BoardCreatedEvent;
 import com.taskboard.repository.BoardRepository;
 import com.taskboard.repository.UserRepository;
+import com.taskboard.security.ResourceHierarchyCache;
+import com.taskboard.service.actor.BoardActorRouter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,7 +24,7 @@ import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 /**
  * Service for board operations.
@@ -36,19 +39,40 @@ public class BoardService {
     private final UserRepository userRepository;
     private final EventPublisher eventPublisher;
     private final ActivityLogService activityLogService;
+    private final PhaseTimers phaseTimers;
+    private final TaskBoardMapper mapper;
+    private final ResourceHierarchyCache hierarchy;
+    private final BoardMemberService boardMemberService;
+    private final BoardCounterService boardCounters;
+    private final BoardActorRouter boardActors;
 
     /**
      * Get all non-archived boards with lists and cards.
      * Returns full board details so the UI can display list/card counts.
+     * Cached as a serialized response by {@link BoardPayloadService}.
      */
-    @Cacheable(value = "boards", key = "'all'")
     @Transactional(readOnly = true)
     public List<BoardDTO> getAllBoards() {
         log.debug("Fetching all boards with lists and cards from database");
 
         // Fetch all boards with lists in one query
-        List<Board> boards = boardRepository.findAllByArchivedFalseWithLists();
+        return withCards(boardRepository.findAllByArchivedFalseWithLists());
+    }
+
+    /**
+     * Get the non-archived boards a user owns or is a member of, with lists and cards.
+     * Filtered in the query. Cached as a serialized response by {@link BoardPayloadService}.
+     */
+    @Transactional(readOnly = true)
+    public List<BoardDTO> getBoardsForUser(Long userId) {
+        log.debug("Fetching boards of user {} with lists and cards from database", userId);
+        return withCards(boardRepository.findAccessibleByUserIdWithLists(userId));
+    }
 
+    /**
+     * Load the cards of the boards' lists and map the boards with full details.
+     */
+    private List<BoardDTO> withCards(List<Board> boards) {
         // If there are boards with lists, fetch all their cards in one query per board
         if (!boards.isEmpty()) {
             for (Board board : boards) {
@@ -60,19 +84,35 @@ public class BoardService {
         }
 
         // Convert to DTOs with full details
-        return boards.stream()
-                .map(this::convertToDTOWithDetails)
-                .collect(Collectors.toList());
+        return mapper.toBoardDTOsWithDetails(boards);
     }
 
     /**
      * Get a board by ID with all lists and cards.
-     * Uses two queries to avoid MultipleBagFetchException.
+     * Cached as a serialized response by {@link BoardPayloadService}.
      */
-    @Cacheable(value = "boards", key = "#id")
     @Transactional(readOnly = true)
     public BoardDTO getBoardById(Long id) {
         log.debug("Fetching board with id: {}", id);
+        return loadBoard(id, mapper::toBoardDTOWithDetails);
+    }
+
+    /**
+     * Get a board by ID with all lists and cards, in normalized form.
+     * Cached as a serialized response by {@link BoardPayloadService}.
+     */
+    @Transactional(readOnly = true)
+    public NormalizedBoardDTO getNormalizedBoardById(Long id) {
+        log.debug("Fetching normalized board with id: {}", id);
+        return loadBoard(id, mapper::toNormalizedBoardDTO);
+    }
+
+    /**
+     * Load a board with its lists and cards and map it.
+     * Uses two queries to avoid MultipleBagFetchException.
+     */
+    private <T> T loadBoard(Long id, Function<Board, T> mapping) {
+        long start = phaseTimers.start();
 
         // First query: fetch board with lists
         Board board = boardRepository.findByIdWithListsAndCards(id)
@@ -82,8 +122,13 @@ public class BoardService {
         if (!board.getLists().isEmpty()) {
             boardRepository.findListsWithCardsByBoardId(id);
         }
+        long lap = phaseTimers.lap(ServicePhase.BOARD_LOAD_QUERY, start);
+
+        T result = mapping.apply(board);
+        phaseTimers.lap(ServicePhase.BOARD_LOAD_MAPPING, lap);
 
-        return convertToDTOWithDetails(board);
+        phaseTimers.lap(ServicePhase.BOARD_LOAD_TOTAL, start);
+        return result;
     }
 
     /**
@@ -106,6 +151,8 @@ public class BoardService {
                 .build();
 
         board = boardRepository.save(board);
+        boardMemberService.grant(board.getId(), owner.getId(), BoardRole.OWNER);
+        boardCounters.boardCreated(board.getId());
         log.info("Created board with id: {} for user: {}", board.getId(), owner.getUsername());
 
         // Publish event
@@ -114,7 +161,7 @@ public class BoardService {
         // Log activity
         logBoardCreated(board);
 
-        return convertToDTO(board);
+        return mapper.toBoardDTO(board);
     }
 
     /**
@@ -127,6 +174,8 @@ public class BoardService {
 
         Board board = boardRepository.findByIdAndArchivedFalse(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Board", "id", id));
+        // The board's actor reloads the new name with its next move
+        boardActors.fenceForWrite(id);
 
         board.setName(request.getName());
         board.setDescription(request.getDescription());
@@ -135,8 +184,18 @@ public class BoardService {
         }
 
         if (request.getOwnerId() != null) {
+            User previousOwner = board.getOwner();
             User owner = userRepository.findById(request.getOwnerId()).orElse(null);
             board.setOwner(owner);
+            hierarchy.evictBoard(id);
+
+            // The previous owner stays on the board as an editor
+            if (owner != null) {
+                boardMemberService.grant(id, owner.getId(), BoardRole.OWNER);
+            }
+            if (previousOwner != null && (owner == null || !previousOwner.getId().equals(owner.getId()))) {
+                boardMemberService.grant(id, previousOwner.getId(), BoardRole.EDITOR);
+            }
         }
 
         board = boardRepository.save(board);
@@ -148,7 +207,7 @@ public class BoardService {
         activityLogService.logActivity(board, board.getOwner(), ActivityType.BOARD_UPDATED,
                 String.format("Board '%s' was updated", board.getName()), metadata);
 
-        return convertToDTO(board);
+        return mapper.toBoardDTO(board);
     }
 
     /**
@@ -161,9 +220,11 @@ public class BoardService {
 
         Board board = boardRepository.findByIdAndArchivedFalse(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Board", "id", id));
+        boardActors.fenceForWrite(id);
 
         board.setArchived(true);
         boardRepository.save(board);
+        hierarchy.evictBoard(id);
 
         log.info("Archived board: {}", board.getName());
 
@@ -202,76 +263,4 @@ public class BoardService {
         activityLogService.logActivity(board, board.getOwner(), ActivityType.BOARD_CREATED,
                 String.format("Board '%s' was created", board.getName()), metadata);
     }
-
-    /**
-     * Convert Board entity to DTO (basic info only).
-     */
-    private BoardDTO convertToDTO(Board board) {
-        return BoardDTO.builder()
-                .id(board.getId())
-                .name(board.getName())
-                .description(board.getDescription())
-                .color(board.getColor())
-                .ownerId(board.getOwner() != null ? board.getOwner().getId() : null)
-                .ownerUsername(board.getOwner() != null ? board.getOwner().getUsername() : null)
-                .archived(board.getArchived())
-                .createdAt(board.getCreatedAt())
-                .updatedAt(board.getUpdatedAt())
-                .build();
-    }
-
-    /**
-     * Convert Board entity to DTO with lists and cards.
-     */
-    private BoardDTO convertToDTOWithDetails(Board board) {
-        BoardDTO dto = convertToDTO(board);
-
-        List<ListDTO> listDTOs = board.getLists().stream()
-                .map(this::convertListToDTO)
-                .collect(Collectors.toList());
-
-        dto.setLists(listDTOs);
-        return dto;
-    }
-
-    /**
-     * Convert BoardList entity to DTO with cards.
-     */
-    private ListDTO convertListToDTO(BoardList list) {
-        List<CardDTO> cardDTOs = list.getCards().stream()
-                .map(this::convertCardToDTO)
-                .collect(Collectors.toList());
-
-        return ListDTO.builder()
-                .id(list.getId())
-                .name(list.getName())
-                .boardId(list.getBoard().getId())
-                .position(list.getPosition())
-                .cards(cardDTOs)
-                .createdAt(list.getCreatedAt())
-                .updatedAt(list.getUpdatedAt())
-                .build();
-    }
-
-    /**
-     * Convert Card entity to DTO.
-     */
-    private CardDTO convertCardToDTO(Card card) {
-        return CardDTO.builder()
-                .id(card.getId())
-                .title(card.getTitle())
-                .description(card.getDescription())
-                .listId(card.getList().getId())
-                .listName(card.getList().getName())
-                .position(card.getPosition())
-                .assignedToId(card.getAssignedTo() != null ? card.getAssignedTo().getId() : null)
-                .assignedToUsername(card.getAssignedTo() != null ? card.getAssignedTo().getUsername() : null)
-                .assignedToFullName(card.getAssignedTo() != null ? card.getAssignedTo().getFullName() : null)
-                .priority(card.getPriority())
-                .dueDate(card.getDueDate())
-                .createdAt(card.getCreatedAt())
-                .updatedAt(card.getUpdatedAt())
-                .build();
-    }
 }
-
@@ -0,0 +1,255 @@
+package com.taskboard.service;
+
+import com.taskboard.exception.ResourceNotFoundException;
+import com.taskboard.model.dto.BoardDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.StreamWriteFeature;
+import tools.jackson.databind.json.JsonMapper;
+
+import javax.sql.DataSource;
+import java.io.OutputStream;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes a board with its lists and cards as JSON straight to the response, in the same shape
+ * as {@link BoardDTO}.
+ * <p>
+ * A board held in the "boards" cache is written from there. Otherwise its cards are read
+ * with a JDBC cursor ({@code taskboard.boards.stream-fetch-size} rows at a time) and each row
+ * is written as soon as it is read, so no DTO graph and no full response buffer is built: the
+ * memory held per request is one fetch of rows plus the generator's buffer, whatever the size
+ * of the board. The response is sent chunked.
+ */
+@Slf4j
+@Service
+public class BoardStreamService {
+
+    private static final String BOARD_SQL = "SELECT b.id, b.name, b.description, b.color, b.owner_id, u.username, "
+            + "b.archived, b.created_at, b.updated_at "
+            + "FROM boards b LEFT JOIN users u ON u.id = b.owner_id WHERE b.id = ?";
+
+    private static final String LISTS_SQL = "SELECT id, name, position, created_at, updated_at "
+            + "FROM board_lists WHERE board_id = ? ORDER BY position, id";
+
+    // Same list order as LISTS_SQL, so cards arrive grouped by list
+    private static final String CARDS_SQL = "SELECT c.id, c.title, c.description, c.list_id, c.position, "
+            + "c.assigned_to_id, u.username, u.full_name, c.priority, c.due_date, c.created_at, c.updated_at, c.version "
+            + "FROM cards c JOIN board_lists l ON l.id = c.list_id LEFT JOIN users u ON u.id = c.assigned_to_id "
+            + "WHERE l.board_id = ? ORDER BY l.position, l.id, c.position, c.id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheManager cacheManager;
+    private final JsonMapper jsonMapper;
+
+    public BoardStreamService(DataSource dataSource,
+                              PlatformTransactionManager transactionManager,
+                              CacheManager cacheManager,
+                              JsonMapper jsonMapper,
+                              @Value("${taskboard.boards.stream-fetch-size:500}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        // Cursors need a transaction (no auto-commit) on PostgreSQL
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        // Lists and cards are read with separate queries and must agree
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.cacheManager = cacheManager;
+        this.jsonMapper = jsonMapper;
+    }
+
+    /**
+     * Prepare the streamed body of a board. Fails right away if the board does not exist;
+     * the board itself is read while the body is written.
+     */
+    public StreamingResponseBody streamBoard(Long id) {
+        BoardPayload cached = cachedBoard(id);
+        if (cached != null) {
+            log.debug("Streaming board {} from cache", id);
+            return out -> out.write(cached.json());
+        }
+
+        Integer boards = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM boards WHERE id = ?", Integer.class, id);
+        if (boards == null || boards == 0) {
+            throw new ResourceNotFoundException("Board", "id", id);
+        }
+        return out -> {
+            try (JsonGenerator generator = createGenerator(out)) {
+                transactionTemplate.executeWithoutResult(status -> writeBoard(id, generator));
+            }
+        };
+    }
+
+    /**
+     * Write a board from the database.
+     */
+    void writeBoard(Long id, JsonGenerator generator) {
+        long start = System.nanoTime();
+        BoardRow board = jdbcTemplate.queryForObject(BOARD_SQL, (rs, rowNum) -> new BoardRow(
+                rs.getLong("id"), rs.getString("name"), rs.getString("description"), rs.getString("color"),
+                nullableLong(rs, "owner_id"), rs.getString("username"), rs.getObject("archived", Boolean.class),
+                localDateTime(rs, "created_at"), localDateTime(rs, "updated_at")), id);
+        List<ListRow> lists = jdbcTemplate.query(LISTS_SQL, (rs, rowNum) -> new ListRow(
+                rs.getLong("id"), rs.getString("name"), rs.getInt("position"),
+                localDateTime(rs, "created_at"), localDateTime(rs, "updated_at")), id);
+
+        generator.writeStartObject();
+        generator.writeNumberProperty("id", board.id());
+        generator.writeStringProperty("name", board.name());
+        generator.writeStringProperty("description", board.description());
+        generator.writeStringProperty("color", board.color());
+        generator.writePOJOProperty("ownerId", board.ownerId());
+        generator.writeStringProperty("ownerUsername", board.ownerUsername());
+        generator.writePOJOProperty("archived", board.archived());
+        generator.writeName("lists");
+        generator.writeStartArray();
+
+        ListWriter listWriter = new ListWriter(id, lists, generator);
+        jdbcTemplate.query(CARDS_SQL, listWriter::writeCard, id);
+        listWriter.finish();
+
+        generator.writeEndArray();
+        generator.writePOJOProperty("createdAt", board.createdAt());
+        generator.writePOJOProperty("updatedAt", board.updatedAt());
+        generator.writeEndObject();
+
+        log.debug("Streamed board {} ({} lists, {} cards) in {} ms", id, lists.size(), listWriter.cardCount,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private BoardPayload cachedBoard(Long id) {
+        Cache cache = cacheManager.getCache("boards");
+        if (cache == null) {
+            return null;
+        }
+        try {
+            return cache.get(id, BoardPayload.class);
+        } catch (RuntimeException e) {
+            log.warn("Could not read board {} from cache, streaming from the database: {}", id, e.getMessage());
+            return null;
+        }
+    }
+
+    private JsonGenerator createGenerator(OutputStream out) {
+        // The servlet container closes the response stream
+        return jsonMapper.writer().without(StreamWriteFeature.AUTO_CLOSE_TARGET).createGenerator(out);
+    }
+
+    private static LocalDateTime localDateTime(ResultSet rs, String column) throws SQLException {
+        Timestamp timestamp = rs.getTimestamp(column);
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    private static Long nullableLong(ResultSet rs, String column) throws SQLException {
+        long value = rs.getLong(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    private record BoardRow(long id, String name, String description, String color, Long ownerId,
+                            String ownerUsername, Boolean archived, LocalDateTime createdAt, LocalDateTime updatedAt) {
+    }
+
+    private record ListRow(long id, String name, int position, LocalDateTime createdAt, LocalDateTime updatedAt) {
+    }
+
+    /**
+     * Opens and closes the lists around the card rows, which arrive in list order.
+     * Lists without cards are written with an empty card array.
+     */
+    private final class ListWriter {
+
+        private final Long boardId;
+        private final List<ListRow> lists;
+        private final Map<Long, Integer> listIndex;
+        private final JsonGenerator generator;
+        private int next;
+        private ListRow open;
+        private long cardCount;
+
+        ListWriter(Long boardId, List<ListRow> lists, JsonGenerator generator) {
+            this.boardId = boardId;
+            this.lists = lists;
+            this.listIndex = new HashMap<>(lists.size() * 2);
+            for (int i = 0; i < lists.size(); i++) {
+                listIndex.put(lists.get(i).id(), i);
+            }
+            this.generator = generator;
+        }
+
+        void writeCard(ResultSet rs) throws SQLException {
+            long listId = rs.getLong("list_id");
+            Integer index = listIndex.get(listId);
+            if (index == null || index < next - 1 || (index == next - 1 && open == null)) {
+                // Not expected under the snapshot isolation of the read; skip rather than corrupt the output
+                log.warn("Skipping card {} of board {}: list {} is out of order", rs.getLong("id"), boardId, listId);
+                return;
+            }
+            while (open == null || open.id() != listId) {
+                openNext();
+            }
+            generator.writeStartObject();
+            generator.writeNumberProperty("id", rs.getLong("id"));
+            generator.writeStringProperty("title", rs.getString("title"));
+            generator.writeStringProperty("description", rs.getString("description"));
+            generator.writeNumberProperty("listId", listId);
+            generator.writeStringProperty("listName", open.name());
+            generator.writeNumberProperty("position", rs.getInt("position"));
+            generator.writePOJOProperty("assignedToId", nullableLong(rs, "assigned_to_id"));
+            generator.writeStringProperty("assignedToUsername", rs.getString("username"));
+            generator.writeStringProperty("assignedToFullName", rs.getString("full_name"));
+            generator.writeStringProperty("priority", rs.getString("priority"));
+            generator.writePOJOProperty("dueDate", localDateTime(rs, "due_date"));
+            generator.writePOJOProperty("createdAt", localDateTime(rs, "created_at"));
+            generator.writePOJOProperty("updatedAt", localDateTime(rs, "updated_at"));
+            generator.writeNumberProperty("version", rs.getLong("version"));
+            generator.writeEndObject();
+            cardCount++;
+        }
+
+        void finish() {
+            while (open != null || next < lists.size()) {
+                openNext();
+            }
+        }
+
+        /**
+         * Close the open list (if any) and open the next one (if any).
+         */
+        private void openNext() {
+            if (open != null) {
+                generator.writeEndArray();
+                generator.writePOJOProperty("createdAt", open.createdAt());
+                generator.writePOJOProperty("updatedAt", open.updatedAt());
+                generator.writeEndObject();
+                open = null;
+            }
+            if (next == lists.size()) {
+                return;
+            }
+            open = lists.get(next++);
+            generator.writeStartObject();
+            generator.writeNumberProperty("id", open.id());
+            generator.writeStringProperty("name", open.name());
+            generator.writeNumberProperty("boardId", boardId);
+            generator.writeNumberProperty("position", open.position());
+            generator.writeName("cards");
+            generator.writeStartArray();
+        }
+    }
+}
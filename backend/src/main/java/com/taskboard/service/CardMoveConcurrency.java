@@ -0,0 +1,19 @@
+package com.taskboard.service;
+
+/**
+ * How {@link CardMovementService} keeps card positions consistent under concurrent moves.
+ * Selected per deployment with {@code taskboard.cards.move-concurrency}.
+ */
+public enum CardMoveConcurrency {
+
+    /**
+     * Lock the affected list rows with {@code SELECT ... FOR UPDATE}; concurrent moves wait.
+     */
+    PESSIMISTIC,
+
+    /**
+     * Take no row locks; bump the version of the affected lists and retry the move when
+     * another transaction changed one of them first.
+     */
+    OPTIMISTIC
+}
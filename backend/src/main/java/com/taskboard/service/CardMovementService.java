@@ -1,17 +1,26 @@
 package com.taskboard.service;
 
+import com.taskboard.exception.ConflictException;
 import com.taskboard.exception.ResourceNotFoundException;
+import com.taskboard.mapper.TaskBoardMapper;
 import com.taskboard.messaging.producer.EventPublisher;
+import com.taskboard.metrics.PhaseTimers;
+import com.taskboard.metrics.ServicePhase;
 import com.taskboard.model.dto.CardDTO;
 import com.taskboard.model.dto.CardMoveDTO;
+import com.taskboard.model.dto.UserSummary;
 import com.taskboard.model.entity.*;
 import com.taskboard.model.event.CardMovedEvent;
 import com.taskboard.repository.CardRepository;
 import com.taskboard.repository.ListRepository;
-import com.taskboard.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.resilience.annotation.Retryable;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -24,6 +33,8 @@ import java.util.Map;
  * Service for card movement operations.
  * Handles the complex logic of moving cards between lists with proper position management.
  * This service was extracted from CardService following the Single Responsibility Principle.
+ * Concurrent moves are kept consistent either by locking the affected list rows or optimistically
+ * through list versions, depending on {@code taskboard.cards.move-concurrency}.
  */
 @Slf4j
 @Service
@@ -32,10 +43,15 @@ public class CardMovementService {
 
     private final CardRepository cardRepository;
     private final ListRepository listRepository;
-    private final UserRepository userRepository;
+    private final UserLookupService users;
     private final EventPublisher eventPublisher;
     private final ActivityLogService activityLogService;
     private final SimpMessagingTemplate messagingTemplate;
+    private final PhaseTimers phaseTimers;
+    private final TaskBoardMapper mapper;
+
+    @Value("${taskboard.cards.move-concurrency:pessimistic}")
+    private CardMoveConcurrency concurrency;
 
     /**
      * Move a card to a different list or position.
@@ -46,17 +62,27 @@ public class CardMovementService {
      * 4. Publishes events
      * 5. Sends WebSocket updates
      * 6. Logs activity
+     * Each step is timed separately (see {@link ServicePhase}).
+     * If a list lock cannot be acquired within the lock timeout, or (in optimistic mode) another
+     * move changed one of the lists first, the whole transaction is retried a few times with
+     * jittered backoff. A move based on a stale card version is rejected without retrying.
      *
      * @param cardId the card to move
      * @param moveDTO the target list and position
      * @param userId the user performing the move
      * @return the updated card
      */
+    @Retryable(includes = {PessimisticLockingFailureException.class, OptimisticLockingFailureException.class},
+            maxRetriesString = "${taskboard.locks.max-retries:3}",
+            delayString = "${taskboard.locks.retry-delay-ms:50}",
+            jitterString = "${taskboard.locks.retry-jitter-ms:50}",
+            multiplier = 2.0)
     @CacheEvict(value = "boards", allEntries = true)
     @Transactional
     public CardDTO moveCard(Long cardId, CardMoveDTO moveDTO, Long userId) {
         log.info("Moving card {} to list {} at position {} by user: {}",
                 cardId, moveDTO.getNewListId(), moveDTO.getNewPosition(), userId);
+        long start = phaseTimers.start();
 
         Card card = cardRepository.findByIdWithDetails(cardId)
                 .orElseThrow(() -> new ResourceNotFoundException("Card", "id", cardId));
@@ -64,29 +90,28 @@ public class CardMovementService {
         BoardList newList = listRepository.findById(moveDTO.getNewListId())
                 .orElseThrow(() -> new ResourceNotFoundException("List", "id", moveDTO.getNewListId()));
 
-        User mover = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
+        UserSummary mover = users.require(userId);
 
         // Validate the move
         validateMove(card, newList);
+        if (moveDTO.getExpectedVersion() != null && !moveDTO.getExpectedVersion().equals(card.getVersion())) {
+            throw new ConflictException("Card", cardId, moveDTO.getExpectedVersion(), card.getVersion());
+        }
+        long lap = phaseTimers.lap(ServicePhase.CARD_MOVE_LOAD, start);
 
-        // Lock the affected list(s) to serialize concurrent position changes.
-        // Always acquire locks in a consistent order (by ID) to prevent deadlocks.
-        long oldListId2 = card.getList().getId();
-        long newListId2 = newList.getId();
-        if (oldListId2 <= newListId2) {
-            listRepository.findByIdForUpdate(oldListId2)
-                    .orElseThrow(() -> new ResourceNotFoundException("List", "id", oldListId2));
-            if (oldListId2 != newListId2) {
-                listRepository.findByIdForUpdate(newListId2)
-                        .orElseThrow(() -> new ResourceNotFoundException("List", "id", newListId2));
-            }
+        if (concurrency == CardMoveConcurrency.OPTIMISTIC) {
+            guardListVersions(card.getList(), newList);
         } else {
-            listRepository.findByIdForUpdate(newListId2)
-                    .orElseThrow(() -> new ResourceNotFoundException("List", "id", newListId2));
-            listRepository.findByIdForUpdate(oldListId2)
-                    .orElseThrow(() -> new ResourceNotFoundException("List", "id", oldListId2));
+            Long lockedListId = card.getList().getId();
+            lockLists(lockedListId, newList.getId());
+            // Positions read before the lock may have been shifted by the move we waited for
+            cardRepository.refresh(card);
+            if (!card.getList().getId().equals(lockedListId)) {
+                throw new CannotAcquireLockException(
+                        "Card " + cardId + " was moved to another list while waiting for the list lock");
+            }
         }
+        lap = phaseTimers.lap(ServicePhase.CARD_MOVE_LOCK, lap);
 
         // Store old values for event
         Long oldListId = card.getList().getId();
@@ -100,19 +125,26 @@ public class CardMovementService {
             moveToDifferentList(card, newList, moveDTO.getNewPosition());
         }
 
-        card = cardRepository.save(card);
+        // Flush now so the returned card carries its new version
+        card = cardRepository.saveAndFlush(card);
         log.info("Moved card '{}' from '{}' to '{}'", card.getTitle(), oldListName, newList.getName());
+        lap = phaseTimers.lap(ServicePhase.CARD_MOVE_POSITIONS, lap);
 
         // Publish event to RabbitMQ
         publishCardMovedEvent(card, oldListId, oldListName, oldPosition, mover);
+        lap = phaseTimers.lap(ServicePhase.CARD_MOVE_PUBLISH, lap);
 
         // Send WebSocket update
         sendWebSocketUpdate(card, oldListId, newList.getId());
+        lap = phaseTimers.lap(ServicePhase.CARD_MOVE_WEBSOCKET, lap);
 
         // Log activity
         logCardMoved(card, oldListName, mover);
+        phaseTimers.lap(ServicePhase.CARD_MOVE_ACTIVITY_LOG, lap);
 
-        return convertToDTO(card);
+        CardDTO result = mapper.toCardDTO(card);
+        phaseTimers.lap(ServicePhase.CARD_MOVE_TOTAL, start);
+        return result;
     }
 
     /**
@@ -126,6 +158,38 @@ public class CardMovementService {
         }
     }
 
+    /**
+     * Lock the affected list(s) to serialize concurrent position changes.
+     * Always acquire locks in a consistent order (by ID) to prevent deadlocks.
+     */
+    private void lockLists(long oldListId, long newListId) {
+        if (oldListId <= newListId) {
+            listRepository.findByIdForUpdate(oldListId)
+                    .orElseThrow(() -> new ResourceNotFoundException("List", "id", oldListId));
+            if (oldListId != newListId) {
+                listRepository.findByIdForUpdate(newListId)
+                        .orElseThrow(() -> new ResourceNotFoundException("List", "id", newListId));
+            }
+        } else {
+            listRepository.findByIdForUpdate(newListId)
+                    .orElseThrow(() -> new ResourceNotFoundException("List", "id", newListId));
+            listRepository.findByIdForUpdate(oldListId)
+                    .orElseThrow(() -> new ResourceNotFoundException("List", "id", oldListId));
+        }
+    }
+
+    /**
+     * Bump the version of the affected list(s) at commit instead of locking them.
+     * If another move committed a change to one of the lists in the meantime, the commit
+     * fails with an optimistic locking failure and the move is retried on fresh state.
+     */
+    private void guardListVersions(BoardList oldList, BoardList newList) {
+        listRepository.incrementVersion(oldList);
+        if (!oldList.getId().equals(newList.getId())) {
+            listRepository.incrementVersion(newList);
+        }
+    }
+
     /**
      * Move card within the same list (just reorder).
      */
@@ -176,7 +240,7 @@ public class CardMovementService {
      * Publish card moved event to RabbitMQ.
      */
     private void publishCardMovedEvent(Card card, Long fromListId, String fromListName,
-                                      Integer fromPosition, User mover) {
+                                      Integer fromPosition, UserSummary mover) {
         CardMovedEvent event = CardMovedEvent.builder()
                 .cardId(card.getId())
                 .cardTitle(card.getTitle())
@@ -188,8 +252,8 @@ public class CardMovementService {
                 .toListId(card.getList().getId())
                 .toListName(card.getList().getName())
                 .toPosition(card.getPosition())
-                .movedByUserId(mover.getId())
-                .movedByUsername(mover.getUsername())
+                .movedByUserId(mover.id())
+                .movedByUsername(mover.username())
                 .timestamp(LocalDateTime.now())
                 .build();
 
@@ -202,7 +266,7 @@ public class CardMovementService {
     private void sendWebSocketUpdate(Card card, Long fromListId, Long toListId) {
         try {
             Map<String, Object> moveData = new HashMap<>();
-            moveData.put("card", convertToDTO(card));
+            moveData.put("card", mapper.toCardDTO(card));
             moveData.put("fromListId", fromListId);
             moveData.put("toListId", toListId);
 
@@ -222,39 +286,16 @@ public class CardMovementService {
     /**
      * Log card moved activity.
      */
-    private void logCardMoved(Card card, String fromListName, User mover) {
+    private void logCardMoved(Card card, String fromListName, UserSummary mover) {
         Map<String, Object> metadata = new HashMap<>();
         metadata.put("card_title", card.getTitle());
         metadata.put("from_list", fromListName);
         metadata.put("to_list", card.getList().getName());
-        metadata.put("moved_by", mover.getUsername());
+        metadata.put("moved_by", mover.username());
 
-        activityLogService.logActivity(card.getBoard(), mover, ActivityType.CARD_MOVED,
+        activityLogService.logActivity(card.getBoard(), users.reference(mover), ActivityType.CARD_MOVED,
                 String.format("Card '%s' was moved from '%s' to '%s' by %s",
-                        card.getTitle(), fromListName, card.getList().getName(), mover.getUsername()),
+                        card.getTitle(), fromListName, card.getList().getName(), mover.username()),
                 metadata);
     }
-
-    /**
-     * Convert Card entity to DTO.
-     */
-    private CardDTO convertToDTO(Card card) {
-        return CardDTO.builder()
-                .id(card.getId())
-                .title(card.getTitle())
-                .description(card.getDescription())
-                .listId(card.getList().getId())
-                .listName(card.getList().getName())
-                .position(card.getPosition())
-                .assignedToId(card.getAssignedTo() != null ? card.getAssignedTo().getId() : null)
-                .assignedToUsername(card.getAssignedTo() != null ? card.getAssignedTo().getUsername() : null)
-                .assignedToFullName(card.getAssignedTo() != null ? card.getAssignedTo().getFullName() : null)
-                .priority(card.getPriority())
-                .dueDate(card.getDueDate())
-                .createdAt(card.getCreatedAt())
-                .updatedAt(card.getUpdatedAt())
-                .build();
-    }
 }
-
-
@@ -1,19 +1,31 @@
 package com.taskboard.service;
 
 import com.taskboard.exception.ResourceNotFoundException;
+import com.taskboard.mapper.TaskBoardMapper;
 import com.taskboard.messaging.producer.EventPublisher;
+import com.taskboard.metrics.PhaseTimers;
+import com.taskboard.metrics.ServicePhase;
 import com.taskboard.model.dto.CardDTO;
 import com.taskboard.model.dto.CardMoveDTO;
 import com.taskboard.model.dto.CreateCardRequest;
+import com.taskboard.model.dto.UserSummary;
 import com.taskboard.model.entity.*;
 import com.taskboard.model.event.CardCreatedEvent;
 import com.taskboard.model.event.CardMovedEvent;
 import com.taskboard.repository.CardRepository;
 import com.taskboard.repository.ListRepository;
-import com.taskboard.repository.UserRepository;
+import com.taskboard.security.ResourceHierarchyCache;
+import com.taskboard.service.BoardCounterService.CardFacts;
+import com.taskboard.service.actor.BoardActorRouter;
+import com.taskboard.service.due.DueDateEngine;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.resilience.annotation.Retryable;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -22,7 +34,8 @@ import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Objects;
+import java.util.UUID;
 
 /**
  * Service for card operations.
@@ -36,11 +49,20 @@ public class CardService {
 
     private final CardRepository cardRepository;
     private final ListRepository listRepository;
-    private final UserRepository userRepository;
+    private final UserLookupService users;
     private final EventPublisher eventPublisher;
     private final ActivityLogService activityLogService;
     private final SimpMessagingTemplate messagingTemplate;
     private final CardMovementService cardMovementService;
+    private final PhaseTimers phaseTimers;
+    private final BoardActorRouter boardActors;
+    private final TaskBoardMapper mapper;
+    private final ResourceHierarchyCache hierarchy;
+    private final BoardCounterService boardCounters;
+    private final DueDateEngine dueDates;
+
+    @Value("${taskboard.cards.move-concurrency:pessimistic}")
+    private CardMoveConcurrency moveConcurrency;
 
     /**
      * Get all cards in a list.
@@ -48,9 +70,7 @@ public class CardService {
     @Transactional(readOnly = true)
     public List<CardDTO> getCardsByListId(Long listId) {
         log.debug("Fetching cards for list: {}", listId);
-        return cardRepository.findByListIdOrderByPositionAsc(listId).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return mapper.toCardDTOs(cardRepository.findByListIdOrderByPositionAsc(listId));
     }
 
     /**
@@ -61,32 +81,42 @@ public class CardService {
         log.debug("Fetching card with id: {}", id);
         Card card = cardRepository.findByIdWithDetails(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Card", "id", id));
-        return convertToDTO(card);
+        return mapper.toCardDTO(card);
     }
 
     /**
      * Create a new card.
+     * Retried with jittered backoff if the list lock times out, or (with optimistic moves) a
+     * move changed the list first.
      */
+    @Retryable(includes = {PessimisticLockingFailureException.class, OptimisticLockingFailureException.class},
+            maxRetriesString = "${taskboard.locks.max-retries:3}",
+            delayString = "${taskboard.locks.retry-delay-ms:50}",
+            jitterString = "${taskboard.locks.retry-jitter-ms:50}",
+            multiplier = 2.0)
     @CacheEvict(value = "boards", allEntries = true)
     @Transactional
     public CardDTO createCard(CreateCardRequest request, Long userId) {
         log.info("Creating new card: {} in list: {} by user: {}", request.getTitle(), request.getListId(), userId);
+        long start = phaseTimers.start();
 
         BoardList list = listRepository.findById(request.getListId())
                 .orElseThrow(() -> new ResourceNotFoundException("List", "id", request.getListId()));
 
-        User assignedTo = null;
-        if (request.getAssignedToId() != null) {
-            assignedTo = userRepository.findById(request.getAssignedToId()).orElse(null);
-        }
+        UserSummary assignee = request.getAssignedToId() != null
+                ? users.find(request.getAssignedToId()).orElse(null)
+                : null;
 
         // Get the user who is creating the card for activity logging
-        User creator = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
+        UserSummary creator = users.require(userId);
+        boardActors.fenceForWrite(list.getBoard().getId());
+        long lap = phaseTimers.lap(ServicePhase.CARD_CREATE_LOAD, start);
 
         // Lock the list row to serialize concurrent position calculations
         listRepository.findByIdForUpdate(request.getListId())
                 .orElseThrow(() -> new ResourceNotFoundException("List", "id", request.getListId()));
+        guardListVersion(list);
+        lap = phaseTimers.lap(ServicePhase.CARD_CREATE_LOCK, lap);
 
         // Determine position
         Integer position = request.getPosition();
@@ -101,24 +131,34 @@ public class CardService {
                 .description(request.getDescription())
                 .list(list)
                 .position(position)
-                .assignedTo(assignedTo)
+                .assignedTo(assignee != null ? users.reference(assignee) : null)
                 .priority(request.getPriority() != null ? request.getPriority() : Priority.MEDIUM)
                 .dueDate(request.getDueDate())
                 .build();
 
+        boardCounters.cardAdded(list.getBoard().getId(), CardFacts.of(card));
         card = cardRepository.save(card);
-        log.info("Created card with id: {} by user: {}", card.getId(), creator.getUsername());
+        log.info("Created card with id: {} by user: {}", card.getId(), creator.username());
+        if (card.getDueDate() != null) {
+            dueDates.cardChanged(card.getId(), card.getDueDate());
+        }
+        lap = phaseTimers.lap(ServicePhase.CARD_CREATE_POSITIONS, lap);
 
         // Publish event to RabbitMQ
-        publishCardCreatedEvent(card);
+        publishCardCreatedEvent(card, creator);
+        lap = phaseTimers.lap(ServicePhase.CARD_CREATE_PUBLISH, lap);
 
         // Send WebSocket update
-        sendWebSocketUpdate(list.getBoard().getId(), "CARD_CREATED", convertToDTO(card));
+        CardDTO result = mapper.toCardDTO(card, assignee);
+        sendWebSocketUpdate(list.getBoard().getId(), "CARD_CREATED", result);
+        lap = phaseTimers.lap(ServicePhase.CARD_CREATE_WEBSOCKET, lap);
 
         // Log activity with creator
         logCardCreated(card, creator);
+        phaseTimers.lap(ServicePhase.CARD_CREATE_ACTIVITY_LOG, lap);
 
-        return convertToDTO(card);
+        phaseTimers.lap(ServicePhase.CARD_CREATE_TOTAL, start);
+        return result;
     }
 
     /**
@@ -131,26 +171,46 @@ public class CardService {
 
         Card card = cardRepository.findByIdWithDetails(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Card", "id", id));
+        if (boardActors.fenceForWrite(card.getBoard().getId())) {
+            // The board actor's final flush may have moved the card
+            cardRepository.refresh(card);
+        }
+        CardFacts before = CardFacts.of(card);
 
-        card.setTitle(request.getTitle());
-        card.setDescription(request.getDescription());
+        // The assignee loaded with the card, unless the request changes it
+        UserSummary assignee = card.getAssignedTo() != null
+                ? new UserSummary(card.getAssignedTo().getId(), card.getAssignedTo().getUsername(),
+                        card.getAssignedTo().getFullName())
+                : null;
+        if (request.getAssignedToId() != null) {
+            assignee = users.find(request.getAssignedToId()).orElse(null);
+        }
+        Priority priority = request.getPriority() != null ? request.getPriority() : card.getPriority();
+
+        boardCounters.cardChanged(card.getBoard().getId(), before,
+                new CardFacts(priority, assignee != null ? assignee.id() : null, request.getDueDate()));
 
-        if (request.getPriority() != null) {
-            card.setPriority(request.getPriority());
+        boolean dueDateChanged = !Objects.equals(card.getDueDate(), request.getDueDate());
+        if (dueDateChanged) {
+            // A new due date is announced again
+            cardRepository.clearDueNotice(id);
+            dueDates.cardChanged(id, request.getDueDate());
         }
 
+        card.setTitle(request.getTitle());
+        card.setDescription(request.getDescription());
+        card.setPriority(priority);
         card.setDueDate(request.getDueDate());
-
         if (request.getAssignedToId() != null) {
-            User assignedTo = userRepository.findById(request.getAssignedToId()).orElse(null);
-            card.setAssignedTo(assignedTo);
+            card.setAssignedTo(assignee != null ? users.reference(assignee) : null);
         }
 
         card = cardRepository.save(card);
         log.info("Updated card: {}", card.getTitle());
+        CardDTO result = mapper.toCardDTO(card, assignee);
 
         // Send WebSocket update
-        sendWebSocketUpdate(card.getBoard().getId(), "CARD_UPDATED", convertToDTO(card));
+        sendWebSocketUpdate(card.getBoard().getId(), "CARD_UPDATED", result);
 
         // Log activity
         Map<String, Object> metadata = new HashMap<>();
@@ -158,58 +218,112 @@ public class CardService {
         activityLogService.logActivity(card.getBoard(), card.getAssignedTo(), ActivityType.CARD_UPDATED,
                 String.format("Card '%s' was updated", card.getTitle()), metadata);
 
-        return convertToDTO(card);
+        return result;
     }
 
     /**
      * Move a card to a different list or position.
-     * Delegates to CardMovementService which handles the complex movement logic.
+     * Delegates to the board's actor in board actor mode, otherwise to CardMovementService
+     * which handles the complex movement logic.
      */
     public CardDTO moveCard(Long id, CardMoveDTO moveDTO, Long userId) {
-        log.info("Delegating card move operation to CardMovementService");
-        return cardMovementService.moveCard(id, moveDTO, userId);
+        CardDTO moved;
+        if (boardActors.isEnabled()) {
+            // Chosen outside the retried call, so every attempt carries the same ID
+            moved = boardActors.moveCard(id, moveDTO, userId, UUID.randomUUID().toString());
+        } else {
+            log.info("Delegating card move operation to CardMovementService");
+            moved = cardMovementService.moveCard(id, moveDTO, userId);
+        }
+        // Drops the old list of the card; moves stay within the board, so checks were never wrong
+        hierarchy.evictCard(id);
+        return moved;
     }
 
     /**
      * Delete a card.
+     * Locks the card's list first, like card creation, and is retried the same way.
      */
+    @Retryable(includes = {PessimisticLockingFailureException.class, OptimisticLockingFailureException.class},
+            maxRetriesString = "${taskboard.locks.max-retries:3}",
+            delayString = "${taskboard.locks.retry-delay-ms:50}",
+            jitterString = "${taskboard.locks.retry-jitter-ms:50}",
+            multiplier = 2.0)
     @CacheEvict(value = "boards", allEntries = true)
     @Transactional
     public void deleteCard(Long id) {
         log.info("Deleting card with id: {}", id);
+        long start = phaseTimers.start();
 
         Card card = cardRepository.findByIdWithDetails(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Card", "id", id));
+        if (boardActors.fenceForWrite(card.getBoard().getId())) {
+            // The board actor's final flush may have moved the card
+            cardRepository.refresh(card);
+        }
+        long lap = phaseTimers.lap(ServicePhase.CARD_DELETE_LOAD, start);
 
-        String cardTitle = card.getTitle();
+        // Lock the list row before any card row, in the same order as card creation
         Long listId = card.getList().getId();
+        listRepository.findByIdForUpdate(listId)
+                .orElseThrow(() -> new ResourceNotFoundException("List", "id", listId));
+        // The position read before the lock may have been shifted by the write we waited for
+        cardRepository.refresh(card);
+        if (!card.getList().getId().equals(listId)) {
+            throw new CannotAcquireLockException(
+                    "Card " + id + " was moved to another list while waiting for the list lock");
+        }
+        guardListVersion(card.getList());
+        lap = phaseTimers.lap(ServicePhase.CARD_DELETE_LOCK, lap);
+
+        String cardTitle = card.getTitle();
         Integer deletedPosition = card.getPosition();
         Board board = card.getBoard();
 
+        boardCounters.cardRemoved(board.getId(), CardFacts.of(card));
         cardRepository.delete(card);
+        hierarchy.evictCard(id);
+        if (card.getDueDate() != null) {
+            dueDates.cardRemoved(id);
+        }
 
         // Reorder remaining cards
         cardRepository.decrementPositionsAfter(listId, deletedPosition);
 
         log.info("Deleted card: {}", cardTitle);
+        lap = phaseTimers.lap(ServicePhase.CARD_DELETE_POSITIONS, lap);
 
         // Send WebSocket update
         Map<String, Object> deleteData = new HashMap<>();
         deleteData.put("cardId", id);
         deleteData.put("listId", listId);
         sendWebSocketUpdate(board.getId(), "CARD_DELETED", deleteData);
+        lap = phaseTimers.lap(ServicePhase.CARD_DELETE_WEBSOCKET, lap);
 
         // Log activity
         Map<String, Object> metadata = new HashMap<>();
         metadata.put("card_title", cardTitle);
         activityLogService.logActivity(board, null, ActivityType.CARD_DELETED,
                 String.format("Card '%s' was deleted", cardTitle), metadata);
+        phaseTimers.lap(ServicePhase.CARD_DELETE_ACTIVITY_LOG, lap);
+
+        phaseTimers.lap(ServicePhase.CARD_DELETE_TOTAL, start);
+    }
+
+    /**
+     * Bump the list's version when moves are optimistic: they do not take the list lock, so
+     * they only notice a change of the list's positions through its version.
+     */
+    private void guardListVersion(BoardList list) {
+        if (moveConcurrency == CardMoveConcurrency.OPTIMISTIC) {
+            listRepository.incrementVersion(list);
+        }
     }
 
     /**
      * Publish card created event.
      */
-    private void publishCardCreatedEvent(Card card) {
+    private void publishCardCreatedEvent(Card card, UserSummary creator) {
         CardCreatedEvent event = CardCreatedEvent.builder()
                 .cardId(card.getId())
                 .cardTitle(card.getTitle())
@@ -218,8 +332,8 @@ public class CardService {
                 .listId(card.getList().getId())
                 .listName(card.getList().getName())
                 .priority(card.getPriority())
-                .createdByUserId(card.getAssignedTo() != null ? card.getAssignedTo().getId() : null)
-                .createdByUsername(card.getAssignedTo() != null ? card.getAssignedTo().getUsername() : "system")
+                .createdByUserId(creator.id())
+                .createdByUsername(creator.username())
                 .timestamp(LocalDateTime.now())
                 .build();
 
@@ -248,38 +362,15 @@ public class CardService {
     /**
      * Log card created activity.
      */
-    private void logCardCreated(Card card, User creator) {
+    private void logCardCreated(Card card, UserSummary creator) {
         Map<String, Object> metadata = new HashMap<>();
         metadata.put("card_title", card.getTitle());
         metadata.put("list_name", card.getList().getName());
         metadata.put("priority", card.getPriority().name());
-        metadata.put("created_by", creator.getUsername());
+        metadata.put("created_by", creator.username());
 
-        activityLogService.logActivity(card.getBoard(), creator, ActivityType.CARD_CREATED,
+        activityLogService.logActivity(card.getBoard(), users.reference(creator), ActivityType.CARD_CREATED,
                 String.format("Card '%s' was created in '%s' by %s",
-                    card.getTitle(), card.getList().getName(), creator.getUsername()), metadata);
-    }
-
-
-    /**
-     * Convert Card entity to DTO.
-     */
-    private CardDTO convertToDTO(Card card) {
-        return CardDTO.builder()
-                .id(card.getId())
-                .title(card.getTitle())
-                .description(card.getDescription())
-                .listId(card.getList().getId())
-                .listName(card.getList().getName())
-                .position(card.getPosition())
-                .assignedToId(card.getAssignedTo() != null ? card.getAssignedTo().getId() : null)
-                .assignedToUsername(card.getAssignedTo() != null ? card.getAssignedTo().getUsername() : null)
-                .assignedToFullName(card.getAssignedTo() != null ? card.getAssignedTo().getFullName() : null)
-                .priority(card.getPriority())
-                .dueDate(card.getDueDate())
-                .createdAt(card.getCreatedAt())
-                .updatedAt(card.getUpdatedAt())
-                .build();
+                    card.getTitle(), card.getList().getName(), creator.username()), metadata);
     }
 }
-
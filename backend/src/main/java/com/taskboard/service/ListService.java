@@ -1,22 +1,25 @@
 package com.taskboard.service;
 
 import com.taskboard.exception.ResourceNotFoundException;
+import com.taskboard.mapper.TaskBoardMapper;
 import com.taskboard.model.dto.CreateListRequest;
 import com.taskboard.model.dto.ListDTO;
-import com.taskboard.model.dto.CardDTO;
 import com.taskboard.model.entity.*;
 import com.taskboard.repository.BoardRepository;
 import com.taskboard.repository.ListRepository;
+import com.taskboard.security.ResourceHierarchyCache;
+import com.taskboard.service.actor.BoardActorRouter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.resilience.annotation.Retryable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * Service for list operations.
@@ -30,6 +33,10 @@ public class ListService {
     private final ListRepository listRepository;
     private final BoardRepository boardRepository;
     private final ActivityLogService activityLogService;
+    private final BoardActorRouter boardActors;
+    private final TaskBoardMapper mapper;
+    private final ResourceHierarchyCache hierarchy;
+    private final BoardCounterService boardCounters;
 
     /**
      * Get all lists for a board.
@@ -43,9 +50,7 @@ public class ListService {
             throw new ResourceNotFoundException("Board", "id", boardId);
         }
 
-        return listRepository.findByBoardIdOrderByPositionAsc(boardId).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return mapper.toListDTOs(listRepository.findByBoardIdOrderByPositionAsc(boardId));
     }
 
     /**
@@ -56,12 +61,18 @@ public class ListService {
         log.debug("Fetching list with id: {}", id);
         BoardList list = listRepository.findByIdWithCards(id)
                 .orElseThrow(() -> new ResourceNotFoundException("List", "id", id));
-        return convertToDTOWithCards(list);
+        return mapper.toListDTOWithCards(list);
     }
 
     /**
      * Create a new list.
+     * Retried with jittered backoff if the board lock times out.
      */
+    @Retryable(includes = PessimisticLockingFailureException.class,
+            maxRetriesString = "${taskboard.locks.max-retries:3}",
+            delayString = "${taskboard.locks.retry-delay-ms:50}",
+            jitterString = "${taskboard.locks.retry-jitter-ms:50}",
+            multiplier = 2.0)
     @CacheEvict(value = "boards", allEntries = true)
     @Transactional
     public ListDTO createList(CreateListRequest request) {
@@ -69,6 +80,7 @@ public class ListService {
 
         Board board = boardRepository.findByIdAndArchivedFalse(request.getBoardId())
                 .orElseThrow(() -> new ResourceNotFoundException("Board", "id", request.getBoardId()));
+        boardActors.fenceForWrite(board.getId());
 
         // Lock the board row to serialize concurrent list position calculations
         boardRepository.findByIdForUpdate(request.getBoardId())
@@ -90,6 +102,7 @@ public class ListService {
                 .build();
 
         list = listRepository.save(list);
+        boardCounters.listAdded(board.getId());
         log.info("Created list with id: {}", list.getId());
 
         // Log activity
@@ -99,7 +112,7 @@ public class ListService {
         activityLogService.logActivity(board, null, ActivityType.LIST_CREATED,
                 String.format("List '%s' was created", list.getName()), metadata);
 
-        return convertToDTO(list);
+        return mapper.toListDTO(list);
     }
 
     /**
@@ -112,6 +125,7 @@ public class ListService {
 
         BoardList list = listRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("List", "id", id));
+        boardActors.fenceForWrite(list.getBoard().getId());
 
         list.setName(request.getName());
 
@@ -130,7 +144,7 @@ public class ListService {
         activityLogService.logActivity(list.getBoard(), null, ActivityType.LIST_UPDATED,
                 String.format("List '%s' was updated", list.getName()), metadata);
 
-        return convertToDTO(list);
+        return mapper.toListDTO(list);
     }
 
     /**
@@ -147,8 +161,15 @@ public class ListService {
         String listName = list.getName();
         Board board = list.getBoard();
         Integer deletedPosition = list.getPosition();
+        boardActors.fenceForWrite(board.getId());
+
+        // Lock the list so no card is added to it while its cards are uncounted
+        listRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new ResourceNotFoundException("List", "id", id));
+        boardCounters.listRemoved(board.getId(), id);
 
         listRepository.delete(list);
+        hierarchy.evictList(id);
 
         // Reorder remaining lists
         listRepository.decrementPositionsAfter(board.getId(), deletedPosition);
@@ -161,54 +182,4 @@ public class ListService {
         activityLogService.logActivity(board, null, ActivityType.LIST_DELETED,
                 String.format("List '%s' was deleted", listName), metadata);
     }
-
-    /**
-     * Convert BoardList entity to DTO (without cards).
-     */
-    private ListDTO convertToDTO(BoardList list) {
-        return ListDTO.builder()
-                .id(list.getId())
-                .name(list.getName())
-                .boardId(list.getBoard().getId())
-                .position(list.getPosition())
-                .createdAt(list.getCreatedAt())
-                .updatedAt(list.getUpdatedAt())
-                .build();
-    }
-
-    /**
-     * Convert BoardList entity to DTO with cards.
-     */
-    private ListDTO convertToDTOWithCards(BoardList list) {
-        ListDTO dto = convertToDTO(list);
-
-        List<CardDTO> cardDTOs = list.getCards().stream()
-                .map(this::convertCardToDTO)
-                .collect(Collectors.toList());
-
-        dto.setCards(cardDTOs);
-        return dto;
-    }
-
-    /**
-     * Convert Card entity to DTO.
-     */
-    private CardDTO convertCardToDTO(Card card) {
-        return CardDTO.builder()
-                .id(card.getId())
-                .title(card.getTitle())
-                .description(card.getDescription())
-                .listId(card.getList().getId())
-                .listName(card.getList().getName())
-                .position(card.getPosition())
-                .assignedToId(card.getAssignedTo() != null ? card.getAssignedTo().getId() : null)
-                .assignedToUsername(card.getAssignedTo() != null ? card.getAssignedTo().getUsername() : null)
-                .assignedToFullName(card.getAssignedTo() != null ? card.getAssignedTo().getFullName() : null)
-                .priority(card.getPriority())
-                .dueDate(card.getDueDate())
-                .createdAt(card.getCreatedAt())
-                .updatedAt(card.getUpdatedAt())
-                .build();
-    }
 }
-
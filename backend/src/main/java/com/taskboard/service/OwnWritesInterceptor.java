@@ -0,0 +1,53 @@
+package com.taskboard.service;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Tells {@link BoardPayloadCache} when a user's write request starts and ends, so the user's
+ * next reads are not answered with a stale copy of a board loaded before the write.
+ */
+@Component
+@RequiredArgsConstructor
+public class OwnWritesInterceptor implements HandlerInterceptor {
+
+    private final BoardPayloadCache payloadCache;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String user = writer(request);
+        if (user != null) {
+            payloadCache.writeStarted(user);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        String user = writer(request);
+        if (user != null) {
+            payloadCache.writeFinished(user);
+        }
+    }
+
+    /**
+     * The user sending a write request, or null for reads and anonymous requests.
+     */
+    private static String writer(HttpServletRequest request) {
+        String method = request.getMethod();
+        if (request.getDispatcherType() != DispatcherType.REQUEST || HttpMethod.GET.matches(method)
+                || HttpMethod.HEAD.matches(method) || HttpMethod.OPTIONS.matches(method)) {
+            return null;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : null;
+    }
+}
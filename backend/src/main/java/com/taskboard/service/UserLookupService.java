@@ -0,0 +1,92 @@
+package com.taskboard.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.taskboard.exception.ResourceNotFoundException;
+import com.taskboard.model.dto.UserSummary;
+import com.taskboard.model.entity.User;
+import com.taskboard.model.event.UserChangedEvent;
+import com.taskboard.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Read-through cache of the users named on card writes (creator, assignee, mover).
+ * <p>
+ * Users rarely change, and loading the entity also loads its roles, so write paths read a
+ * {@link UserSummary} from here and attach the user to what they save as a reference (no
+ * query). Entries are evicted when a user is updated or deleted through JPA (on a
+ * {@link UserChangedEvent}) and expire after
+ * {@code taskboard.users.lookup-cache.ttl-seconds} in any case.
+ */
+@Slf4j
+@Service
+public class UserLookupService {
+
+    private final UserRepository userRepository;
+    private final Cache<Long, UserSummary> users;
+
+    public UserLookupService(UserRepository userRepository,
+                             @Value("${taskboard.users.lookup-cache.max-size:10000}") long maxSize,
+                             @Value("${taskboard.users.lookup-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    /**
+     * Find a user. Missing users are not cached.
+     */
+    public Optional<UserSummary> find(Long userId) {
+        return Optional.ofNullable(users.get(userId, id -> userRepository.findSummaryById(id).orElse(null)));
+    }
+
+    /**
+     * Get a user that must exist.
+     */
+    public UserSummary require(Long userId) {
+        return find(userId).orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
+    }
+
+    /**
+     * A reference to a user for associations, without loading it.
+     */
+    public User reference(UserSummary user) {
+        return userRepository.getReferenceById(user.id());
+    }
+
+    /**
+     * Forget a changed user now, and again once the change commits, in case a concurrent
+     * lookup read the old row in between.
+     */
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        Long userId = event.userId();
+        evict(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(userId);
+                }
+            });
+        }
+    }
+
+    /**
+     * Forget a user (updated or deleted).
+     */
+    public void evict(Long userId) {
+        log.debug("Evicting user {} from the lookup cache", userId);
+        users.invalidate(userId);
+    }
+}
@@ -0,0 +1,194 @@
+package com.taskboard.service.actor;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.dao.CannotAcquireLockException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+
+/**
+ * Single-threaded owner of one board's card order.
+ * Messages are queued in a mailbox and run one at a time on a shared executor, so the
+ * {@link BoardState} needs no locking and a move is applied without touching the database.
+ * The state is loaded on the first message. Changes are drained in batches by {@link #flush},
+ * which writes them outside the mailbox, so moves keep flowing while a batch is persisted.
+ */
+final class BoardActor {
+
+    private static final int MAX_MESSAGES_PER_RUN = 64;
+
+    private final long boardId;
+    private final Executor executor;
+    private final LongFunction<BoardState> loader;
+    // Results of recent moves by request ID, shared by the actors of this instance
+    private final Cache<String, BoardMoveResult> appliedMoves;
+
+    private final Queue<Runnable> mailbox = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    // Keeps batches of this board in order: a batch is written only after the previous one
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private volatile long lastActiveAt = System.currentTimeMillis();
+
+    // Confined to the mailbox
+    private BoardState state;
+    private List<PendingMove> pendingMoves = new ArrayList<>();
+    private boolean closed;
+
+    BoardActor(long boardId, Executor executor, LongFunction<BoardState> loader,
+               Cache<String, BoardMoveResult> appliedMoves) {
+        this.boardId = boardId;
+        this.executor = executor;
+        this.loader = loader;
+        this.appliedMoves = appliedMoves;
+    }
+
+    long getBoardId() {
+        return boardId;
+    }
+
+    long getLastActiveAt() {
+        return lastActiveAt;
+    }
+
+    /**
+     * Apply a card move and remember it for the activity log and event of the next flush.
+     * A move whose request was applied already (a retry after the caller gave up waiting)
+     * returns the earlier result instead of being applied again.
+     */
+    CompletableFuture<BoardMoveResult> move(String requestId, long cardId, long toListId, int toPosition,
+                                            Long expectedVersion, long userId) {
+        lastActiveAt = System.currentTimeMillis();
+        return ask(() -> {
+            BoardMoveResult applied = requestId != null ? appliedMoves.getIfPresent(requestId) : null;
+            if (applied != null) {
+                return applied;
+            }
+            BoardMoveResult result = state().move(cardId, toListId, toPosition, expectedVersion);
+            pendingMoves.add(new PendingMove(result, userId, LocalDateTime.now()));
+            if (requestId != null) {
+                appliedMoves.put(requestId, result);
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Current card order (for tests and diagnostics).
+     */
+    CompletableFuture<List<BoardState.CardRow>> snapshot() {
+        return ask(() -> state().snapshot());
+    }
+
+    /**
+     * Drain the pending changes and hand them to the writer. If the writer fails, the changes
+     * are put back so the next flush writes them (with any newer state merged in).
+     */
+    void flush(Consumer<FlushBatch> writer) {
+        flushLock.lock();
+        try {
+            FlushBatch batch = ask(this::drainBatch).join();
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                writer.accept(batch);
+            } catch (RuntimeException e) {
+                ask(() -> requeue(batch));
+                throw e;
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Stop accepting moves. Moves sent after this fail with a lock failure, so callers retry
+     * and reach the actor that replaces this one.
+     */
+    CompletableFuture<Void> close() {
+        return ask(() -> {
+            closed = true;
+            return null;
+        });
+    }
+
+    /**
+     * Accept moves again after a close whose final flush failed.
+     */
+    CompletableFuture<Void> reopen() {
+        return ask(() -> {
+            closed = false;
+            return null;
+        });
+    }
+
+    private BoardState state() {
+        if (closed) {
+            throw new CannotAcquireLockException("Board " + boardId + " is being flushed");
+        }
+        if (state == null) {
+            state = loader.apply(boardId);
+        }
+        return state;
+    }
+
+    private FlushBatch drainBatch() {
+        if (state == null) {
+            return new FlushBatch(boardId, List.of(), List.of());
+        }
+        List<PendingMove> moves = pendingMoves;
+        pendingMoves = new ArrayList<>();
+        return new FlushBatch(boardId, state.drainDirty(), moves);
+    }
+
+    private Void requeue(FlushBatch batch) {
+        state.markDirty(batch.rows());
+        pendingMoves.addAll(0, batch.moves());
+        return null;
+    }
+
+    private <T> CompletableFuture<T> ask(Supplier<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        mailbox.add(() -> {
+            try {
+                future.complete(task.get());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        });
+        schedule();
+        return future;
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            executor.execute(this::run);
+        }
+    }
+
+    private void run() {
+        try {
+            Runnable message;
+            int processed = 0;
+            while (processed++ < MAX_MESSAGES_PER_RUN && (message = mailbox.poll()) != null) {
+                message.run();
+            }
+        } finally {
+            scheduled.set(false);
+            // Yield the thread to other boards, but pick up what arrived in the meantime
+            if (!mailbox.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+}
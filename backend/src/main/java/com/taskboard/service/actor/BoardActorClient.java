@@ -0,0 +1,105 @@
+package com.taskboard.service.actor;
+
+import com.taskboard.exception.ConflictException;
+import com.taskboard.exception.ErrorResponse;
+import com.taskboard.exception.ResourceNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+
+/**
+ * HTTP client for the internal board actor endpoints of other instances.
+ * Error responses of the owner are turned back into the exceptions that produced them, so
+ * a forwarded move fails the same way as a local one.
+ */
+@Slf4j
+@Component
+public class BoardActorClient {
+
+    public static final String CLUSTER_TOKEN_HEADER = "X-Cluster-Token";
+
+    private final RestClient restClient;
+    private final String clusterToken;
+
+    public BoardActorClient(@Value("${taskboard.board-actors.cluster-token:}") String clusterToken,
+                            @Value("${taskboard.board-actors.forward-timeout-ms:3000}") long timeoutMs) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(Duration.ofMillis(timeoutMs));
+        requestFactory.setReadTimeout(Duration.ofMillis(timeoutMs));
+        this.restClient = RestClient.builder().requestFactory(requestFactory).build();
+        this.clusterToken = clusterToken;
+    }
+
+    /**
+     * Apply a move on the instance owning the board.
+     */
+    public BoardActorMoveResponse move(String baseUrl, long boardId, BoardActorMoveRequest request) {
+        try {
+            return restClient.post()
+                    .uri(baseUrl + "/internal/board-actors/boards/{boardId}/moves", boardId)
+                    .header(CLUSTER_TOKEN_HEADER, clusterToken)
+                    .body(request)
+                    .exchange((req, response) -> {
+                        if (response.getStatusCode().is2xxSuccessful()) {
+                            return response.bodyTo(BoardActorMoveResponse.class);
+                        }
+                        throw translate(baseUrl, response.getStatusCode(), response.bodyTo(ErrorResponse.class));
+                    });
+        } catch (ResourceAccessException e) {
+            throw unreachable(baseUrl, e);
+        }
+    }
+
+    /**
+     * Fence a board on the instance owning it.
+     */
+    public void fence(String baseUrl, long boardId) {
+        send(baseUrl, boardId, true);
+    }
+
+    /**
+     * Lift the fence of a board on the instance owning it.
+     */
+    public void unfence(String baseUrl, long boardId) {
+        send(baseUrl, boardId, false);
+    }
+
+    private void send(String baseUrl, long boardId, boolean fence) {
+        try {
+            (fence ? restClient.post() : restClient.delete())
+                    .uri(baseUrl + "/internal/board-actors/boards/{boardId}/fence", boardId)
+                    .header(CLUSTER_TOKEN_HEADER, clusterToken)
+                    .exchange((req, response) -> {
+                        if (!response.getStatusCode().is2xxSuccessful()) {
+                            throw translate(baseUrl, response.getStatusCode(), response.bodyTo(ErrorResponse.class));
+                        }
+                        return null;
+                    });
+        } catch (ResourceAccessException e) {
+            throw unreachable(baseUrl, e);
+        }
+    }
+
+    private RuntimeException translate(String baseUrl, HttpStatusCode status, ErrorResponse error) {
+        String message = error != null && error.getMessage() != null ? error.getMessage() : status.toString();
+        return switch (status.value()) {
+            case 400 -> new IllegalArgumentException(message);
+            case 404 -> new ResourceNotFoundException(message);
+            case 409 -> new ConflictException(message);
+            case 503 -> new CannotAcquireLockException(message);
+            default -> new IllegalStateException("Board owner " + baseUrl + " answered " + status + ": " + message);
+        };
+    }
+
+    private RuntimeException unreachable(String baseUrl, ResourceAccessException e) {
+        log.warn("Board owner {} is unreachable: {}", baseUrl, e.getMessage());
+        return new CannotAcquireLockException("Board owner " + baseUrl + " is unreachable", e);
+    }
+}
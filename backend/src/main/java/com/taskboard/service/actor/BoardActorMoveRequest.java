@@ -0,0 +1,8 @@
+package com.taskboard.service.actor;
+
+/**
+ * A card move forwarded to the instance owning the board.
+ * {@code requestId} stays the same when the move is retried, so the owner applies it once.
+ */
+public record BoardActorMoveRequest(String requestId, long cardId, long newListId, int newPosition, Long expectedVersion, long userId) {
+}
@@ -0,0 +1,9 @@
+package com.taskboard.service.actor;
+
+import com.taskboard.model.dto.CardDTO;
+
+/**
+ * Result of a card move applied by the owning instance: the moved card and where it came from.
+ */
+public record BoardActorMoveResponse(long boardId, long fromListId, CardDTO card) {
+}
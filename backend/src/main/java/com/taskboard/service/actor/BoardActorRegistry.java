@@ -0,0 +1,212 @@
+package com.taskboard.service.actor;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * The board actors owned by this instance.
+ * Actors are created on the first move of a board, flushed on a fixed interval and evicted
+ * (after a final flush) when the board has been idle for a while. A board can be fenced for
+ * a structural change (card created, list deleted, ...): its actor is flushed and dropped,
+ * and moves are refused until the change has committed, after which the next move reloads
+ * the board from the database. Moves are idempotent by request ID for
+ * {@code applied-move-ttl-ms}, so a move retried after its caller timed out is applied once.
+ */
+@Slf4j
+@Component
+public class BoardActorRegistry {
+
+    private final BoardStateStore store;
+    private final long moveTimeoutMs;
+    private final long idleEvictionMs;
+    private final long fenceTimeoutMs;
+
+    private final ExecutorService executor;
+    private final ConcurrentHashMap<Long, BoardActor> actors = new ConcurrentHashMap<>();
+    // Fenced boards and when the fence expires if it is never lifted
+    private final ConcurrentHashMap<Long, Long> fences = new ConcurrentHashMap<>();
+    // Kept outside the actors, so a retry still finds its move after the actor was retired
+    private final Cache<String, BoardMoveResult> appliedMoves;
+
+    public BoardActorRegistry(BoardStateStore store,
+                              MeterRegistry meterRegistry,
+                              @Value("${taskboard.board-actors.threads:0}") int threads,
+                              @Value("${taskboard.board-actors.move-timeout-ms:2000}") long moveTimeoutMs,
+                              @Value("${taskboard.board-actors.idle-eviction-ms:300000}") long idleEvictionMs,
+                              @Value("${taskboard.board-actors.fence-timeout-ms:10000}") long fenceTimeoutMs,
+                              @Value("${taskboard.board-actors.applied-move-ttl-ms:60000}") long appliedMoveTtlMs) {
+        this.store = store;
+        this.moveTimeoutMs = moveTimeoutMs;
+        this.idleEvictionMs = idleEvictionMs;
+        this.fenceTimeoutMs = fenceTimeoutMs;
+        this.appliedMoves = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(Duration.ofMillis(appliedMoveTtlMs))
+                .build();
+        this.executor = Executors.newFixedThreadPool(
+                threads > 0 ? threads : Runtime.getRuntime().availableProcessors(),
+                Thread.ofPlatform().name("board-actor-", 0).daemon().factory());
+
+        Gauge.builder("taskboard.board_actors.active", actors, Map::size)
+                .description("Board actors held by this instance")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Apply a move on the actor of a board, creating it if needed. A timeout leaves the move
+     * queued; retrying it with the same {@code requestId} does not apply it twice.
+     */
+    BoardMoveResult move(long boardId, String requestId, long cardId, long toListId, int toPosition, Long expectedVersion, long userId) {
+        // The fence check runs under the map's lock for this board, so no actor can be created
+        // after fence() has looked for the one to retire
+        BoardActor actor = actors.compute(boardId, (id, existing) -> {
+            checkNotFenced(id);
+            return existing != null ? existing : new BoardActor(id, executor, store::load, appliedMoves);
+        });
+        return await(actor.move(requestId, cardId, toListId, toPosition, expectedVersion, userId));
+    }
+
+    /**
+     * Current card order of a board as its actor sees it, or {@code null} if no actor holds it.
+     */
+    List<BoardState.CardRow> snapshot(long boardId) {
+        BoardActor actor = actors.get(boardId);
+        return actor != null ? await(actor.snapshot()) : null;
+    }
+
+    /**
+     * Refuse moves on a board and flush and drop its actor, so a structural change can be
+     * written to the database directly.
+     */
+    public void fence(long boardId) {
+        BoardActor actor = actors.compute(boardId, (id, existing) -> {
+            fences.put(id, System.currentTimeMillis() + fenceTimeoutMs);
+            return existing;
+        });
+        if (actor != null) {
+            retire(actor);
+        }
+    }
+
+    /**
+     * Accept moves on a board again.
+     */
+    public void unfence(long boardId) {
+        fences.remove(boardId);
+    }
+
+    /**
+     * Write the pending changes of all actors.
+     */
+    @Scheduled(fixedDelayString = "${taskboard.board-actors.flush-interval-ms:200}")
+    public void flushAll() {
+        for (BoardActor actor : actors.values()) {
+            try {
+                actor.flush(store::persist);
+            } catch (RuntimeException e) {
+                log.error("Write-behind flush of board {} failed, will retry: {}", actor.getBoardId(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Flush and drop the actors of boards that have not been used for a while.
+     */
+    @Scheduled(fixedDelayString = "${taskboard.board-actors.eviction-check-ms:30000}")
+    public void evictIdle() {
+        long now = System.currentTimeMillis();
+        for (BoardActor actor : actors.values()) {
+            if (now - actor.getLastActiveAt() >= idleEvictionMs) {
+                log.debug("Evicting idle actor of board {}", actor.getBoardId());
+                try {
+                    retire(actor);
+                } catch (RuntimeException e) {
+                    log.error("Could not evict actor of board {}: {}", actor.getBoardId(), e.getMessage());
+                }
+            }
+        }
+        fences.values().removeIf(expiresAt -> expiresAt <= now);
+    }
+
+    /**
+     * Number of actors held by this instance.
+     */
+    public int getActiveCount() {
+        return actors.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (BoardActor actor : actors.values()) {
+            try {
+                retire(actor);
+            } catch (RuntimeException e) {
+                log.error("Final flush of board {} failed: {}", actor.getBoardId(), e.getMessage());
+            }
+        }
+        executor.shutdown();
+    }
+
+    /**
+     * Close an actor, write its remaining changes and drop it. Moves reaching it in the
+     * meantime fail with a lock failure and are retried by the caller. The actor stays in
+     * place until its changes are written, so no replacement can load a stale board.
+     * If the final flush fails, the actor is reopened and keeps its changes.
+     */
+    private void retire(BoardActor actor) {
+        await(actor.close());
+        try {
+            actor.flush(store::persist);
+        } catch (RuntimeException e) {
+            actor.reopen();
+            throw e;
+        }
+        actors.remove(actor.getBoardId(), actor);
+    }
+
+    private void checkNotFenced(long boardId) {
+        Long expiresAt = fences.get(boardId);
+        if (expiresAt != null) {
+            if (expiresAt > System.currentTimeMillis()) {
+                throw new CannotAcquireLockException("Board " + boardId + " is being modified");
+            }
+            fences.remove(boardId, expiresAt);
+        }
+    }
+
+    private <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.get(moveTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException | CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new CannotAcquireLockException("Board actor did not answer within " + moveTimeoutMs + " ms", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the board actor", e);
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package com.taskboard.service.actor;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.taskboard.exception.ResourceNotFoundException;
+import com.taskboard.model.dto.CardDTO;
+import com.taskboard.model.dto.CardMoveDTO;
+import com.taskboard.repository.CardRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.resilience.annotation.Retryable;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Entry point of the board actor mode ({@code taskboard.board-actors.enabled}).
+ * <p>
+ * Every board is owned by one instance, chosen on a {@link BoardShardRing} over the configured
+ * instances. Card moves are applied by the owner's {@link BoardActorRegistry} in memory and
+ * persisted write-behind; moves arriving at another instance are forwarded to the owner.
+ * The instance that received the request broadcasts the move to the board's subscribers as
+ * soon as the owner has applied it. Board reads from the database lag behind by at most one
+ * flush interval.
+ * <p>
+ * Other writes to a board (the board renamed or archived, cards and lists created, updated
+ * or deleted) go to the database directly; they call {@link #fenceForWrite} first, which
+ * flushes and drops the board's actor and holds off moves until the write has committed.
+ */
+@Slf4j
+@Component
+public class BoardActorRouter {
+
+    private final BoardActorRegistry registry;
+    private final BoardActorClient client;
+    private final CardRepository cardRepository;
+    private final SimpMessagingTemplate messagingTemplate;
+
+    private final boolean enabled;
+    private final String instanceId;
+    private final String clusterToken;
+    private final Map<String, String> peers;
+    private final BoardShardRing ring;
+    // Cards never leave their board, so the mapping can be cached for good
+    private final Cache<Long, Long> cardBoards;
+
+    public BoardActorRouter(BoardActorRegistry registry,
+                            BoardActorClient client,
+                            CardRepository cardRepository,
+                            SimpMessagingTemplate messagingTemplate,
+                            @Value("${taskboard.board-actors.enabled:false}") boolean enabled,
+                            @Value("${taskboard.board-actors.instance-id:local}") String instanceId,
+                            @Value("${taskboard.board-actors.instances:}") String instances,
+                            @Value("${taskboard.board-actors.virtual-nodes:128}") int virtualNodes,
+                            @Value("${taskboard.board-actors.cluster-token:}") String clusterToken) {
+        this.registry = registry;
+        this.client = client;
+        this.cardRepository = cardRepository;
+        this.messagingTemplate = messagingTemplate;
+        this.enabled = enabled;
+        this.instanceId = instanceId;
+        this.clusterToken = clusterToken;
+        this.peers = parseInstances(instances);
+        this.ring = new BoardShardRing(peers.keySet(), virtualNodes);
+        this.cardBoards = Caffeine.newBuilder().maximumSize(100_000).build();
+
+        if (enabled && !peers.isEmpty() && !peers.containsKey(instanceId)) {
+            throw new IllegalStateException("Instance '" + instanceId + "' is missing from taskboard.board-actors.instances");
+        }
+        if (enabled) {
+            log.info("Board actor mode enabled on instance '{}' ({} instances)", instanceId, Math.max(1, peers.size()));
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Move a card through the actor of its board, on whichever instance owns it.
+     * Retried with jittered backoff while the board is fenced, its actor is being flushed or
+     * did not answer in time. The caller picks {@code requestId} once for all attempts, so a
+     * move that went through before an attempt timed out is not applied again.
+     */
+    @Retryable(includes = PessimisticLockingFailureException.class,
+            maxRetriesString = "${taskboard.locks.max-retries:3}",
+            delayString = "${taskboard.locks.retry-delay-ms:50}",
+            jitterString = "${taskboard.locks.retry-jitter-ms:50}",
+            multiplier = 2.0)
+    public CardDTO moveCard(Long cardId, CardMoveDTO moveDTO, Long userId, String requestId) {
+        long boardId = boardIdOf(cardId);
+        BoardActorMoveRequest request = new BoardActorMoveRequest(requestId, cardId, moveDTO.getNewListId(),
+                moveDTO.getNewPosition(), moveDTO.getExpectedVersion(), userId);
+
+        String owner = ownerOf(boardId);
+        BoardActorMoveResponse response = isLocal(owner)
+                ? moveLocal(boardId, request)
+                : client.move(peers.get(owner), boardId, request);
+
+        sendWebSocketUpdate(response);
+        return response.card();
+    }
+
+    /**
+     * Apply a move on the local actor of a board this instance owns.
+     */
+    public BoardActorMoveResponse moveLocal(long boardId, BoardActorMoveRequest request) {
+        checkOwned(boardId);
+        BoardMoveResult result = registry.move(boardId, request.requestId(), request.cardId(), request.newListId(),
+                request.newPosition(), request.expectedVersion(), request.userId());
+        return new BoardActorMoveResponse(boardId, result.fromListId(), CardDTO.builder()
+                .id(result.cardId())
+                .title(result.cardTitle())
+                .listId(result.toListId())
+                .listName(result.toListName())
+                .position(result.toPosition())
+                .version(result.cardVersion())
+                .build());
+    }
+
+    /**
+     * Fence a board for a write that bypasses its actor, and lift the fence when the
+     * surrounding transaction completes. Does nothing unless actor mode is enabled.
+     * Must be called inside the transaction, before the write. Cards of the board loaded
+     * before the call may be stale, since the fence writes the actor's pending changes.
+     *
+     * @return whether the board was fenced (actor mode is enabled)
+     */
+    public boolean fenceForWrite(Long boardId) {
+        if (!enabled) {
+            return false;
+        }
+        String owner = ownerOf(boardId);
+        if (isLocal(owner)) {
+            registry.fence(boardId);
+        } else {
+            client.fence(peers.get(owner), boardId);
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                try {
+                    if (isLocal(owner)) {
+                        registry.unfence(boardId);
+                    } else {
+                        client.unfence(peers.get(owner), boardId);
+                    }
+                } catch (RuntimeException e) {
+                    // The fence expires on its own
+                    log.warn("Could not lift the fence of board {}: {}", boardId, e.getMessage());
+                }
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Fence a board this instance owns, on behalf of another instance.
+     */
+    public void fenceLocal(long boardId) {
+        checkOwned(boardId);
+        registry.fence(boardId);
+    }
+
+    /**
+     * Lift the fence of a board this instance owns, on behalf of another instance.
+     */
+    public void unfenceLocal(long boardId) {
+        registry.unfence(boardId);
+    }
+
+    /**
+     * Check the shared token presented by another instance.
+     */
+    public void checkClusterToken(String token) {
+        if (!enabled) {
+            throw new ResourceNotFoundException("Board actor mode is disabled");
+        }
+        if (clusterToken.isEmpty() || token == null
+                || !MessageDigest.isEqual(clusterToken.getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8))) {
+            throw new AccessDeniedException("Invalid cluster token");
+        }
+    }
+
+    /**
+     * The instance owning a board.
+     */
+    public String ownerOf(long boardId) {
+        String owner = ring.ownerOf(boardId);
+        return owner != null ? owner : instanceId;
+    }
+
+    /**
+     * Card order of a board as held by the local actor, or {@code null} if it has none (for tests).
+     */
+    List<BoardState.CardRow> localSnapshot(long boardId) {
+        return registry.snapshot(boardId);
+    }
+
+    private boolean isLocal(String owner) {
+        return instanceId.equals(owner);
+    }
+
+    private void checkOwned(long boardId) {
+        String owner = ownerOf(boardId);
+        if (!isLocal(owner)) {
+            // Instances disagree on the ring, e.g. during a rolling config change
+            throw new CannotAcquireLockException("Board " + boardId + " is owned by instance " + owner);
+        }
+    }
+
+    private long boardIdOf(long cardId) {
+        return cardBoards.get(cardId, id -> cardRepository.findBoardIdById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Card", "id", id)));
+    }
+
+    /**
+     * Send the move to board subscribers, in the same shape as the database-backed move.
+     */
+    private void sendWebSocketUpdate(BoardActorMoveResponse response) {
+        try {
+            Map<String, Object> moveData = new HashMap<>();
+            moveData.put("card", response.card());
+            moveData.put("fromListId", response.fromListId());
+            moveData.put("toListId", response.card().getListId());
+
+            Map<String, Object> message = new HashMap<>();
+            message.put("type", "CARD_MOVED");
+            message.put("data", moveData);
+            message.put("timestamp", LocalDateTime.now());
+
+            messagingTemplate.convertAndSend("/topic/board/" + response.boardId(), (Object) message);
+        } catch (Exception e) {
+            log.error("Failed to send WebSocket update: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Parse {@code id=url,id=url}.
+     */
+    private static Map<String, String> parseInstances(String instances) {
+        Map<String, String> parsed = new LinkedHashMap<>();
+        for (String entry : instances.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int separator = entry.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Expected id=url in taskboard.board-actors.instances, got '" + entry + "'");
+            }
+            parsed.put(entry.substring(0, separator).trim(), entry.substring(separator + 1).trim());
+        }
+        return parsed;
+    }
+}
@@ -0,0 +1,11 @@
+package com.taskboard.service.actor;
+
+/**
+ * Outcome of a card move applied by a {@link BoardActor}, with the names needed for
+ * broadcasts, events and the activity log.
+ */
+record BoardMoveResult(long boardId, String boardName,
+                       long cardId, String cardTitle, long cardVersion,
+                       long fromListId, String fromListName, int fromPosition,
+                       long toListId, String toListName, int toPosition) {
+}
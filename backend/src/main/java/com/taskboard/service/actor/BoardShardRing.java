@@ -0,0 +1,54 @@
+package com.taskboard.service.actor;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Consistent-hash ring that assigns each board to one instance.
+ * Every instance is placed on the ring at a number of virtual nodes, so boards spread evenly
+ * and adding or removing an instance only moves the boards of the neighbouring ring segments.
+ */
+public class BoardShardRing {
+
+    private final NavigableMap<Long, String> ring = new TreeMap<>();
+
+    public BoardShardRing(Collection<String> instanceIds, int virtualNodes) {
+        for (String instanceId : instanceIds) {
+            for (int node = 0; node < virtualNodes; node++) {
+                ring.put(hash(instanceId + "#" + node), instanceId);
+            }
+        }
+    }
+
+    /**
+     * The instance owning a board, or {@code null} if the ring is empty.
+     */
+    public String ownerOf(long boardId) {
+        if (ring.isEmpty()) {
+            return null;
+        }
+        Map.Entry<Long, String> entry = ring.ceilingEntry(hash("board:" + boardId));
+        return (entry != null ? entry : ring.firstEntry()).getValue();
+    }
+
+    /**
+     * First 8 bytes of the MD5 digest; spreads similar keys (board:1, board:2) across the ring.
+     */
+    static long hash(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(key.getBytes(StandardCharsets.UTF_8));
+            long hash = 0;
+            for (int i = 0; i < Long.BYTES; i++) {
+                hash = (hash << 8) | (digest[i] & 0xFF);
+            }
+            return hash;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 not available", e);
+        }
+    }
+}
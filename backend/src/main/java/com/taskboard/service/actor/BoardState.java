@@ -0,0 +1,267 @@
+package com.taskboard.service.actor;
+
+import com.taskboard.exception.ConflictException;
+import com.taskboard.exception.ResourceNotFoundException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Card order of one board, held by its {@link BoardActor}.
+ * Cards live in a table of parallel arrays; each list is an array of card indexes in position
+ * order, so a move is two array shifts. Cards whose list or position changed since the last
+ * flush are marked dirty and handed to the write-behind as {@link CardRow}s.
+ * <p>
+ * Not thread-safe: only the owning actor touches it.
+ */
+final class BoardState {
+
+    private final long boardId;
+    private final String boardName;
+
+    // Lists in board order
+    private final long[] listIds;
+    private final String[] listNames;
+    private final int[][] listCards;
+    private final int[] listSizes;
+
+    // Card table
+    private final long[] cardIds;
+    private final String[] cardTitles;
+    private final long[] cardVersions;
+    private final int[] cardLists;
+    private final boolean[] dirty;
+
+    private final Map<Long, Integer> listIndex;
+    private final Map<Long, Integer> cardIndex;
+
+    private BoardState(Builder builder) {
+        int listCount = builder.listIds.size();
+        int cardCount = builder.cardIds.size();
+        this.boardId = builder.boardId;
+        this.boardName = builder.boardName;
+        this.listIds = builder.listIds.stream().mapToLong(Long::longValue).toArray();
+        this.listNames = builder.listNames.toArray(new String[0]);
+        this.listCards = new int[listCount][];
+        this.listSizes = new int[listCount];
+        this.cardIds = builder.cardIds.stream().mapToLong(Long::longValue).toArray();
+        this.cardTitles = builder.cardTitles.toArray(new String[0]);
+        this.cardVersions = builder.cardVersions.stream().mapToLong(Long::longValue).toArray();
+        this.cardLists = builder.cardLists.stream().mapToInt(Integer::intValue).toArray();
+        this.dirty = new boolean[cardCount];
+        this.listIndex = new HashMap<>(listCount * 2);
+        this.cardIndex = new HashMap<>(cardCount * 2);
+
+        for (int l = 0; l < listCount; l++) {
+            listIndex.put(listIds[l], l);
+            listCards[l] = new int[4];
+        }
+        // Cards were added in position order, so appending keeps each list sorted
+        for (int c = 0; c < cardCount; c++) {
+            cardIndex.put(cardIds[c], c);
+            append(cardLists[c], c);
+        }
+    }
+
+    static Builder builder(long boardId, String boardName) {
+        return new Builder(boardId, boardName);
+    }
+
+    long getBoardId() {
+        return boardId;
+    }
+
+    String getBoardName() {
+        return boardName;
+    }
+
+    int getCardCount() {
+        return cardIds.length;
+    }
+
+    /**
+     * Move a card to a position in a list of this board. Positions past the end of the list
+     * append the card. Positions of the cards shifted by the move are marked dirty.
+     */
+    BoardMoveResult move(long cardId, long toListId, int toPosition, Long expectedVersion) {
+        Integer card = cardIndex.get(cardId);
+        if (card == null) {
+            throw new ResourceNotFoundException("Card", "id", cardId);
+        }
+        Integer toList = listIndex.get(toListId);
+        if (toList == null) {
+            throw new IllegalArgumentException("Cannot move card to a list on a different board");
+        }
+        if (toPosition < 0) {
+            throw new IllegalArgumentException("Position must not be negative");
+        }
+        if (expectedVersion != null && expectedVersion != cardVersions[card]) {
+            throw new ConflictException("Card", cardId, expectedVersion, cardVersions[card]);
+        }
+
+        int fromList = cardLists[card];
+        int fromPosition = remove(fromList, card);
+        int position = Math.min(toPosition, listSizes[toList]);
+        insert(toList, position, card);
+        cardLists[card] = toList;
+        cardVersions[card]++;
+
+        return new BoardMoveResult(boardId, boardName, cardId, cardTitles[card], cardVersions[card],
+                listIds[fromList], listNames[fromList], fromPosition,
+                listIds[toList], listNames[toList], position);
+    }
+
+    /**
+     * Current list and position of every card in list order (for tests and diagnostics).
+     */
+    List<CardRow> snapshot() {
+        List<CardRow> rows = new ArrayList<>(cardIds.length);
+        for (int l = 0; l < listIds.length; l++) {
+            for (int p = 0; p < listSizes[l]; p++) {
+                rows.add(row(listCards[l][p], l, p));
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Rows changed since the last call, with their current list and position. Clears the dirty marks.
+     */
+    List<CardRow> drainDirty() {
+        List<CardRow> rows = new ArrayList<>();
+        for (int l = 0; l < listIds.length; l++) {
+            for (int p = 0; p < listSizes[l]; p++) {
+                int card = listCards[l][p];
+                if (dirty[card]) {
+                    dirty[card] = false;
+                    rows.add(row(card, l, p));
+                }
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Mark rows dirty again after a failed flush, so the next flush writes their latest state.
+     */
+    void markDirty(List<CardRow> rows) {
+        for (CardRow row : rows) {
+            Integer card = cardIndex.get(row.cardId());
+            if (card != null) {
+                dirty[card] = true;
+            }
+        }
+    }
+
+    boolean hasDirty() {
+        for (boolean d : dirty) {
+            if (d) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private CardRow row(int card, int list, int position) {
+        return new CardRow(cardIds[card], listIds[list], position, cardVersions[card]);
+    }
+
+    private void append(int list, int card) {
+        ensureCapacity(list, listSizes[list] + 1);
+        listCards[list][listSizes[list]++] = card;
+    }
+
+    private int remove(int list, int card) {
+        int[] cards = listCards[list];
+        int size = listSizes[list];
+        int position = 0;
+        while (cards[position] != card) {
+            position++;
+        }
+        System.arraycopy(cards, position + 1, cards, position, size - position - 1);
+        listSizes[list] = --size;
+        markDirty(list, position, size);
+        return position;
+    }
+
+    private void insert(int list, int position, int card) {
+        ensureCapacity(list, listSizes[list] + 1);
+        int[] cards = listCards[list];
+        int size = listSizes[list];
+        System.arraycopy(cards, position, cards, position + 1, size - position);
+        cards[position] = card;
+        listSizes[list] = ++size;
+        markDirty(list, position, size);
+    }
+
+    private void markDirty(int list, int from, int to) {
+        for (int p = from; p < to; p++) {
+            dirty[listCards[list][p]] = true;
+        }
+    }
+
+    private void ensureCapacity(int list, int capacity) {
+        if (listCards[list].length < capacity) {
+            listCards[list] = Arrays.copyOf(listCards[list], Math.max(capacity, listCards[list].length * 2));
+        }
+    }
+
+    /**
+     * Persisted state of one card: its list, position and version.
+     */
+    record CardRow(long cardId, long listId, int position, long version) {
+    }
+
+    /**
+     * Collects lists and cards as loaded from the database.
+     */
+    static final class Builder {
+
+        private final long boardId;
+        private final String boardName;
+        private final List<Long> listIds = new ArrayList<>();
+        private final List<String> listNames = new ArrayList<>();
+        private final Map<Long, Integer> listPositions = new HashMap<>();
+        private final List<Long> cardIds = new ArrayList<>();
+        private final List<String> cardTitles = new ArrayList<>();
+        private final List<Long> cardVersions = new ArrayList<>();
+        private final List<Integer> cardLists = new ArrayList<>();
+
+        private Builder(long boardId, String boardName) {
+            this.boardId = boardId;
+            this.boardName = boardName;
+        }
+
+        /**
+         * Add a list. Lists must be added in board order.
+         */
+        Builder list(long listId, String name) {
+            listPositions.put(listId, listIds.size());
+            listIds.add(listId);
+            listNames.add(name);
+            return this;
+        }
+
+        /**
+         * Add a card to a list added before. Cards of a list must be added in position order.
+         */
+        Builder card(long cardId, long listId, String title, long version) {
+            Integer list = listPositions.get(listId);
+            if (list == null) {
+                throw new IllegalArgumentException("Unknown list " + listId + " for card " + cardId);
+            }
+            cardIds.add(cardId);
+            cardTitles.add(title);
+            cardVersions.add(version);
+            cardLists.add(list);
+            return this;
+        }
+
+        BoardState build() {
+            return new BoardState(this);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.taskboard.service.actor;
+
+import com.taskboard.exception.ResourceNotFoundException;
+import com.taskboard.messaging.producer.EventPublisher;
+import com.taskboard.model.dto.UserSummary;
+import com.taskboard.model.entity.ActivityType;
+import com.taskboard.model.entity.Board;
+import com.taskboard.model.event.CardMovedEvent;
+import com.taskboard.repository.BoardRepository;
+import com.taskboard.service.ActivityLogService;
+import com.taskboard.service.UserLookupService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Loads board state for {@link BoardActor}s and writes their changes back (write-behind).
+ * Card rows are written with a JDBC batch; the activity log entries and events of the
+ * moves in a batch are written in the same transaction.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BoardStateStore {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BoardRepository boardRepository;
+    private final UserLookupService users;
+    private final ActivityLogService activityLogService;
+    private final EventPublisher eventPublisher;
+
+    /**
+     * Load the lists and cards of a board in position order.
+     */
+    @Transactional(readOnly = true)
+    public BoardState load(long boardId) {
+        String boardName = boardRepository.findNameById(boardId)
+                .orElseThrow(() -> new ResourceNotFoundException("Board", "id", boardId));
+        BoardState.Builder builder = BoardState.builder(boardId, boardName);
+
+        jdbcTemplate.query("SELECT id, name FROM board_lists WHERE board_id = ? ORDER BY position, id",
+                rs -> {
+                    builder.list(rs.getLong("id"), rs.getString("name"));
+                }, boardId);
+        jdbcTemplate.query("SELECT c.id, c.list_id, c.title, c.version FROM cards c "
+                        + "JOIN board_lists l ON l.id = c.list_id "
+                        + "WHERE l.board_id = ? ORDER BY c.list_id, c.position, c.id",
+                rs -> {
+                    builder.card(rs.getLong("id"), rs.getLong("list_id"), rs.getString("title"), rs.getLong("version"));
+                }, boardId);
+
+        BoardState state = builder.build();
+        log.debug("Loaded board {} with {} cards into its actor", boardId, state.getCardCount());
+        return state;
+    }
+
+    /**
+     * Write a batch of card positions, plus the activity log entries and events of its moves.
+     * Runs in its own transaction, so a fence flush is not rolled back with the caller's change.
+     */
+    @CacheEvict(value = "boards", allEntries = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void persist(FlushBatch batch) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> args = batch.rows().stream()
+                .map(row -> new Object[]{row.listId(), row.position(), row.version(), now, row.cardId()})
+                .toList();
+        jdbcTemplate.batchUpdate("UPDATE cards SET list_id = ?, position = ?, version = ?, updated_at = ? WHERE id = ?",
+                args);
+
+        if (!batch.moves().isEmpty()) {
+            Board board = boardRepository.getReferenceById(batch.boardId());
+            for (PendingMove move : batch.moves()) {
+                UserSummary mover = users.require(move.userId());
+                logCardMoved(board, mover, move.result());
+                publishCardMovedEvent(mover, move);
+            }
+        }
+        log.debug("Flushed {} card rows and {} moves of board {}", batch.rows().size(), batch.moves().size(), batch.boardId());
+    }
+
+    private void logCardMoved(Board board, UserSummary mover, BoardMoveResult move) {
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("card_title", move.cardTitle());
+        metadata.put("from_list", move.fromListName());
+        metadata.put("to_list", move.toListName());
+        metadata.put("moved_by", mover.username());
+
+        activityLogService.logActivity(board, users.reference(mover), ActivityType.CARD_MOVED,
+                String.format("Card '%s' was moved from '%s' to '%s' by %s",
+                        move.cardTitle(), move.fromListName(), move.toListName(), mover.username()),
+                metadata);
+    }
+
+    private void publishCardMovedEvent(UserSummary mover, PendingMove move) {
+        BoardMoveResult result = move.result();
+        eventPublisher.publishCardMoved(CardMovedEvent.builder()
+                .cardId(result.cardId())
+                .cardTitle(result.cardTitle())
+                .boardId(result.boardId())
+                .boardName(result.boardName())
+                .fromListId(result.fromListId())
+                .fromListName(result.fromListName())
+                .fromPosition(result.fromPosition())
+                .toListId(result.toListId())
+                .toListName(result.toListName())
+                .toPosition(result.toPosition())
+                .movedByUserId(mover.id())
+                .movedByUsername(mover.username())
+                .timestamp(move.movedAt())
+                .build());
+    }
+}
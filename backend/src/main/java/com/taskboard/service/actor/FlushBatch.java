@@ -0,0 +1,13 @@
+package com.taskboard.service.actor;
+
+import java.util.List;
+
+/**
+ * Changes of one board drained from its actor for one write-behind flush.
+ */
+record FlushBatch(long boardId, List<BoardState.CardRow> rows, List<PendingMove> moves) {
+
+    boolean isEmpty() {
+        return rows.isEmpty() && moves.isEmpty();
+    }
+}
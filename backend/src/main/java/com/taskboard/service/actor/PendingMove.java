@@ -0,0 +1,9 @@
+package com.taskboard.service.actor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A move applied in memory whose activity log entry and event are not yet written.
+ */
+record PendingMove(BoardMoveResult result, long userId, LocalDateTime movedAt) {
+}
@@ -0,0 +1,93 @@
+package com.taskboard.service.due;
+
+import com.taskboard.messaging.producer.EventPublisher;
+import com.taskboard.model.dto.CardDueState;
+import com.taskboard.model.entity.Card;
+import com.taskboard.model.entity.DueNotice;
+import com.taskboard.model.event.CardDueSoonEvent;
+import com.taskboard.model.event.CardOverdueEvent;
+import com.taskboard.repository.CardRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Sends the due-date notice a card has come up for. The notice is recorded on the card by a
+ * conditional update before its event is published in the same transaction, so of all the
+ * instances whose due-date engine fires for a card, exactly one announces it.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CardDueNotifier {
+
+    private final CardRepository cardRepository;
+    private final EventPublisher eventPublisher;
+
+    /**
+     * Announce a card that is overdue at {@code now}, or due by {@code soonBy}, unless that was
+     * already announced. Returns the card's due state afterwards, or empty if the card is gone.
+     */
+    @Transactional
+    public Optional<CardDueState> notifyDue(Long cardId, LocalDateTime now, LocalDateTime soonBy) {
+        Optional<CardDueState> state = cardRepository.findDueStateById(cardId);
+        if (state.isEmpty() || state.get().dueDate() == null) {
+            return state;
+        }
+        CardDueState current = state.get();
+        if (current.dueNotice() != DueNotice.OVERDUE && !current.dueDate().isAfter(now)) {
+            if (cardRepository.markOverdue(cardId, now) == 1) {
+                publishOverdue(cardId, now);
+                return Optional.of(new CardDueState(cardId, current.dueDate(), DueNotice.OVERDUE));
+            }
+        } else if (current.dueNotice() == null && !current.dueDate().isAfter(soonBy)) {
+            if (cardRepository.markDueSoon(cardId, now, soonBy) == 1) {
+                publishDueSoon(cardId, now);
+                return Optional.of(new CardDueState(cardId, current.dueDate(), DueNotice.DUE_SOON));
+            }
+        }
+        // Announced elsewhere, or changed in between: whatever the card holds now
+        return cardRepository.findDueStateById(cardId);
+    }
+
+    private void publishOverdue(Long cardId, LocalDateTime now) {
+        Card card = load(cardId);
+        log.info("Card {} is overdue (due {})", cardId, card.getDueDate());
+        eventPublisher.publishCardOverdue(CardOverdueEvent.builder()
+                .cardId(card.getId())
+                .cardTitle(card.getTitle())
+                .boardId(card.getBoard().getId())
+                .boardName(card.getBoard().getName())
+                .listId(card.getList().getId())
+                .listName(card.getList().getName())
+                .assignedToUserId(card.getAssignedTo() != null ? card.getAssignedTo().getId() : null)
+                .dueDate(card.getDueDate())
+                .timestamp(now)
+                .build());
+    }
+
+    private void publishDueSoon(Long cardId, LocalDateTime now) {
+        Card card = load(cardId);
+        log.info("Card {} is due soon (due {})", cardId, card.getDueDate());
+        eventPublisher.publishCardDueSoon(CardDueSoonEvent.builder()
+                .cardId(card.getId())
+                .cardTitle(card.getTitle())
+                .boardId(card.getBoard().getId())
+                .boardName(card.getBoard().getName())
+                .listId(card.getList().getId())
+                .listName(card.getList().getName())
+                .assignedToUserId(card.getAssignedTo() != null ? card.getAssignedTo().getId() : null)
+                .dueDate(card.getDueDate())
+                .timestamp(now)
+                .build());
+    }
+
+    private Card load(Long cardId) {
+        // Recorded under the card's row lock, so the card is still there
+        return cardRepository.findByIdWithDetails(cardId).orElseThrow();
+    }
+}
@@ -0,0 +1,230 @@
+package com.taskboard.service.due;
+
+import com.taskboard.model.dto.CardDueState;
+import com.taskboard.model.entity.DueNotice;
+import com.taskboard.repository.CardRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fires CARD_DUE_SOON and CARD_OVERDUE for cards as their due dates come up, from a
+ * {@link HierarchicalTimingWheel} of the cards due within {@code taskboard.due-dates.horizon-days},
+ * instead of scanning the cards for due dates.
+ * <p>
+ * A card has one timer, for its next notice: {@code due-soon-lead-hours} before its due date
+ * until it was announced as due soon, then its due date. The wheel is filled at startup by
+ * paging through idx_cards_due_date, and the window is read again every
+ * {@code reload-interval-ms} to take in cards that came within the horizon or were written on
+ * other instances. Card writes on this instance schedule their card once they commit.
+ * <p>
+ * Timers only say when to look: a firing card's due state is read again and its notice is
+ * recorded by {@link CardDueNotifier}, which announces each notice once across all instances
+ * and hands back the card's state to schedule its next timer. A timer that fires early (a due
+ * date moved later) therefore only reschedules. Scheduling keeps a card's earlier timer, so a
+ * stale read never delays a notice.
+ * <p>
+ * After downtime, cards that fell due in the last {@code catch-up-hours} are still announced;
+ * earlier ones are not.
+ */
+@Slf4j
+@Service
+public class DueDateEngine {
+
+    private static final int PAGE_SIZE = 500;
+
+    private final CardRepository cardRepository;
+    private final CardDueNotifier notifier;
+    private final boolean enabled;
+    private final Duration dueSoonLead;
+    private final Duration horizon;
+    private final Duration catchUp;
+    private final Duration retryDelay;
+    private final HierarchicalTimingWheel<Long> wheel;
+
+    public DueDateEngine(CardRepository cardRepository,
+                         CardDueNotifier notifier,
+                         @Value("${taskboard.due-dates.enabled:true}") boolean enabled,
+                         @Value("${taskboard.due-dates.tick-ms:1000}") long tickMillis,
+                         @Value("${taskboard.due-dates.due-soon-lead-hours:24}") long dueSoonLeadHours,
+                         @Value("${taskboard.due-dates.horizon-days:30}") long horizonDays,
+                         @Value("${taskboard.due-dates.catch-up-hours:24}") long catchUpHours,
+                         @Value("${taskboard.due-dates.retry-delay-ms:30000}") long retryDelayMillis) {
+        this.cardRepository = cardRepository;
+        this.notifier = notifier;
+        this.enabled = enabled;
+        this.dueSoonLead = Duration.ofHours(dueSoonLeadHours);
+        this.horizon = Duration.ofDays(horizonDays);
+        this.catchUp = Duration.ofHours(catchUpHours);
+        this.retryDelay = Duration.ofMillis(retryDelayMillis);
+        // 64 slots on 4 levels: 64^4 ticks, 194 days at one-second ticks
+        this.wheel = new HierarchicalTimingWheel<>(tickMillis, 64, 4, System.currentTimeMillis());
+        if (enabled && horizon.toMillis() >= 64L * 64 * 64 * 64 * tickMillis) {
+            throw new IllegalStateException("taskboard.due-dates.horizon-days is beyond the timing wheel's span");
+        }
+    }
+
+    /**
+     * Fill the wheel with the cards due in the window once the application is up.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (enabled) {
+            reload();
+        }
+    }
+
+    /**
+     * Read the cards due in the window again, one page of idx_cards_due_date at a time.
+     */
+    @Scheduled(initialDelayString = "${taskboard.due-dates.reload-interval-ms:3600000}",
+            fixedDelayString = "${taskboard.due-dates.reload-interval-ms:3600000}")
+    public void reload() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime afterDue = now.minus(catchUp);
+        LocalDateTime until = now.plus(horizon);
+        Long afterId = Long.MAX_VALUE;
+        int loaded = 0;
+        List<CardDueState> page;
+        do {
+            page = cardRepository.findDuePageAfter(afterDue, afterId, until, PageRequest.of(0, PAGE_SIZE));
+            synchronized (wheel) {
+                for (CardDueState card : page) {
+                    schedule(card, false);
+                }
+            }
+            if (!page.isEmpty()) {
+                CardDueState last = page.get(page.size() - 1);
+                afterDue = last.dueDate();
+                afterId = last.cardId();
+                loaded += page.size();
+            }
+        } while (page.size() == PAGE_SIZE);
+        log.info("Loaded {} cards due until {} into the due-date wheel ({} timers)", loaded, until, pending());
+    }
+
+    /**
+     * Advance the wheel and send the notices of the cards that came up.
+     */
+    @Scheduled(fixedDelayString = "${taskboard.due-dates.tick-ms:1000}")
+    public void tick() {
+        if (!enabled) {
+            return;
+        }
+        List<Long> fired = new ArrayList<>();
+        synchronized (wheel) {
+            wheel.advance(System.currentTimeMillis(), fired::add);
+        }
+        for (Long cardId : fired) {
+            fire(cardId);
+        }
+    }
+
+    /**
+     * Schedule a card whose due date was written, once the current transaction commits.
+     */
+    public void cardChanged(Long cardId, LocalDateTime dueDate) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> {
+            synchronized (wheel) {
+                if (dueDate == null) {
+                    wheel.cancel(cardId);
+                } else {
+                    schedule(new CardDueState(cardId, dueDate, null), false);
+                }
+            }
+        });
+    }
+
+    /**
+     * Drop a deleted card, once the current transaction commits.
+     */
+    public void cardRemoved(Long cardId) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> {
+            synchronized (wheel) {
+                wheel.cancel(cardId);
+            }
+        });
+    }
+
+    /**
+     * Number of cards waiting in the wheel.
+     */
+    public int pending() {
+        synchronized (wheel) {
+            return wheel.size();
+        }
+    }
+
+    private void fire(Long cardId) {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            notifier.notifyDue(cardId, now, now.plus(dueSoonLead)).ifPresent(card -> {
+                synchronized (wheel) {
+                    schedule(card, true);
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("Could not send the due notice of card {}, retrying in {}: {}", cardId, retryDelay,
+                    e.getMessage());
+            synchronized (wheel) {
+                wheel.schedule(cardId, System.currentTimeMillis() + retryDelay.toMillis());
+            }
+        }
+    }
+
+    /**
+     * Schedule the next notice of a card. Unless {@code replace}, a card keeps an earlier timer.
+     * Call holding the wheel's lock.
+     */
+    private void schedule(CardDueState card, boolean replace) {
+        if (card.dueDate() == null || card.dueNotice() == DueNotice.OVERDUE) {
+            wheel.cancel(card.cardId());
+            return;
+        }
+        LocalDateTime next = card.dueNotice() == null ? card.dueDate().minus(dueSoonLead) : card.dueDate();
+        long deadline = next.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        Long current = wheel.deadlineOf(card.cardId());
+        if (!replace && current != null && current <= deadline) {
+            return;
+        }
+        if (!wheel.schedule(card.cardId(), deadline)) {
+            // Taken in by a later reload, once it comes within the horizon
+            log.debug("Card {} is due beyond the due-date wheel ({})", card.cardId(), Instant.ofEpochMilli(deadline));
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.taskboard.service.due;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel of keyed timers. Level {@code l} has {@code wheelSize} slots of
+ * {@code wheelSize^l} ticks each; a timer sits in the lowest level whose span covers its distance
+ * from the current tick, and moves down a level each time the wheel reaches the start of its slot.
+ * Scheduling and cancelling are O(1) and a tick only touches the timers due in it, however many
+ * are waiting.
+ * <p>
+ * A key has at most one timer; scheduling it again replaces the timer. Deadlines already past
+ * fire on the next tick. Not thread-safe.
+ */
+public class HierarchicalTimingWheel<K> {
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final long[] spans;
+    private final List<List<Set<K>>> levels;
+    private final Map<K, Timer> timers = new HashMap<>();
+
+    // Last tick fired
+    private long currentTick;
+
+    public HierarchicalTimingWheel(long tickMillis, int wheelSize, int levelCount, long startMillis) {
+        if (tickMillis <= 0 || wheelSize < 2 || levelCount < 1) {
+            throw new IllegalArgumentException("Invalid timing wheel dimensions");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.spans = new long[levelCount + 1];
+        this.levels = new ArrayList<>(levelCount);
+        long span = 1;
+        for (int level = 0; level < levelCount; level++) {
+            spans[level] = span;
+            span = Math.multiplyExact(span, wheelSize);
+            List<Set<K>> slots = new ArrayList<>(wheelSize);
+            for (int slot = 0; slot < wheelSize; slot++) {
+                slots.add(null);
+            }
+            levels.add(slots);
+        }
+        spans[levelCount] = span;
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /**
+     * Schedule (or reschedule) the timer of a key. Returns false, leaving the key unscheduled,
+     * if the deadline is beyond the wheel's horizon.
+     */
+    public boolean schedule(K key, long deadlineMillis) {
+        cancel(key);
+        // Rounded up, so a timer never fires before its deadline
+        long deadline = Math.max(Math.ceilDiv(deadlineMillis, tickMillis), currentTick + 1);
+        if (deadline - currentTick >= spans[levels.size()]) {
+            return false;
+        }
+        Timer timer = new Timer(key, deadline);
+        timers.put(key, timer);
+        place(timer);
+        return true;
+    }
+
+    /**
+     * Cancel the timer of a key, if it has one.
+     */
+    public boolean cancel(K key) {
+        Timer timer = timers.remove(key);
+        if (timer == null) {
+            return false;
+        }
+        levels.get(timer.level).get(timer.slot).remove(key);
+        return true;
+    }
+
+    /**
+     * Deadline of a key's timer (at tick precision), or null if it has none.
+     */
+    public Long deadlineOf(K key) {
+        Timer timer = timers.get(key);
+        return timer != null ? timer.deadline * tickMillis : null;
+    }
+
+    /**
+     * Advance the wheel to {@code nowMillis}, handing the key of every timer that fell due to
+     * {@code expired}, tick by tick.
+     */
+    public void advance(long nowMillis, Consumer<K> expired) {
+        long target = nowMillis / tickMillis;
+        while (currentTick < target) {
+            if (timers.isEmpty()) {
+                // Nothing to cascade or fire on the way
+                currentTick = target;
+                return;
+            }
+            currentTick++;
+            // Higher levels first, so timers cascading into a slot that starts now cascade again
+            for (int level = levels.size() - 1; level > 0; level--) {
+                if (currentTick % spans[level] == 0) {
+                    for (K key : drain(level, slotOf(level, currentTick))) {
+                        place(timers.get(key));
+                    }
+                }
+            }
+            for (K key : drain(0, slotOf(0, currentTick))) {
+                timers.remove(key);
+                expired.accept(key);
+            }
+        }
+    }
+
+    /**
+     * Number of scheduled timers.
+     */
+    public int size() {
+        return timers.size();
+    }
+
+    private void place(Timer timer) {
+        long distance = timer.deadline - currentTick;
+        int level = 0;
+        while (distance >= spans[level + 1]) {
+            level++;
+        }
+        timer.level = level;
+        timer.slot = slotOf(level, timer.deadline);
+        List<Set<K>> slots = levels.get(level);
+        Set<K> keys = slots.get(timer.slot);
+        if (keys == null) {
+            keys = new HashSet<>();
+            slots.set(timer.slot, keys);
+        }
+        keys.add(timer.key);
+    }
+
+    private List<K> drain(int level, int slot) {
+        Set<K> keys = levels.get(level).get(slot);
+        if (keys == null || keys.isEmpty()) {
+            return List.of();
+        }
+        List<K> drained = new ArrayList<>(keys);
+        keys.clear();
+        return drained;
+    }
+
+    private int slotOf(int level, long tick) {
+        return (int) ((tick / spans[level]) % wheelSize);
+    }
+
+    private final class Timer {
+
+        private final K key;
+        private final long deadline;
+        private int level;
+        private int slot;
+
+        private Timer(K key, long deadline) {
+            this.key = key;
+            this.deadline = deadline;
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package com.taskboard.service.presence;
+
+import com.taskboard.model.dto.BoardPresenceDTO;
+import com.taskboard.model.dto.PresenceActivity;
+import com.taskboard.model.dto.UserSummary;
+import com.taskboard.model.dto.ViewerPresenceDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Who is on each board and what they are doing (viewing, dragging or editing a card), for the
+ * STOMP clients of this instance.
+ * <p>
+ * Clients join with /app/board/{id}/subscribe and get a snapshot of the board's presence on
+ * /user/queue/presence. After that, every heartbeat (/app/board/{id}/presence) and drag
+ * (/app/board/{id}/card-move) only updates the user's entry. Users not heard from within
+ * {@code expiry-ms}, or whose session ended, leave.
+ * <p>
+ * Changes are not sent as they happen. Every {@code flush-ms}, each board that changed gets one
+ * PRESENCE_DELTA on its topic, with the latest state of the users who changed and the users who
+ * left. So n viewers dragging at once cost one frame per viewer per flush, not a frame per
+ * viewer per drag event (n^2).
+ */
+@Slf4j
+@Service
+public class PresenceService {
+
+    public static final String SNAPSHOT = "PRESENCE_SNAPSHOT";
+    public static final String DELTA = "PRESENCE_DELTA";
+
+    private static final PresenceActivity[] ACTIVITIES = PresenceActivity.values();
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final long expiryMillis;
+    private final Map<Long, BoardPresence> boards = new ConcurrentHashMap<>();
+    // Boards each STOMP session joined, to leave them when it disconnects
+    private final Map<String, Set<Long>> sessionBoards = new ConcurrentHashMap<>();
+
+    public PresenceService(SimpMessagingTemplate messagingTemplate,
+                           @Value("${taskboard.presence.expiry-ms:30000}") long expiryMillis) {
+        this.messagingTemplate = messagingTemplate;
+        this.expiryMillis = expiryMillis;
+    }
+
+    /**
+     * Add a user to a board, or refresh them, and return everyone on it.
+     */
+    public BoardPresenceDTO join(Long boardId, UserSummary user, String sessionId) {
+        BoardPresence board = update(boardId, user, sessionId, PresenceActivity.VIEWING, null, null, null);
+        synchronized (board) {
+            List<ViewerPresenceDTO> viewers = new ArrayList<>(board.viewers.size());
+            board.viewers.forEach((userId, viewer) -> viewers.add(viewer.toDto(userId)));
+            return BoardPresenceDTO.builder().boardId(boardId).viewers(viewers).left(List.of()).build();
+        }
+    }
+
+    /**
+     * Record a heartbeat with what the user is doing.
+     */
+    public void heartbeat(Long boardId, UserSummary user, String sessionId, PresenceActivity activity, Long cardId) {
+        PresenceActivity current = activity != null ? activity : PresenceActivity.VIEWING;
+        update(boardId, user, sessionId, current, current == PresenceActivity.VIEWING ? null : cardId, null, null);
+    }
+
+    /**
+     * Record where a user is dragging a card.
+     */
+    public void dragging(Long boardId, UserSummary user, String sessionId, Long cardId, Long listId,
+                         Integer position) {
+        update(boardId, user, sessionId, PresenceActivity.DRAGGING, cardId, listId, position);
+    }
+
+    /**
+     * Remove the user of a session that ended from the boards it joined.
+     */
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Set<Long> joined = sessionBoards.remove(event.getSessionId());
+        if (joined == null) {
+            return;
+        }
+        for (Long boardId : joined) {
+            BoardPresence board = boards.get(boardId);
+            if (board != null) {
+                synchronized (board) {
+                    board.removeSession(event.getSessionId());
+                }
+            }
+        }
+    }
+
+    /**
+     * Send each board that changed one delta with its changes.
+     */
+    @Scheduled(fixedRateString = "${taskboard.presence.flush-ms:250}")
+    public void flush() {
+        boards.forEach((boardId, board) -> {
+            BoardPresenceDTO delta;
+            synchronized (board) {
+                if (board.changed.isEmpty() && board.left.isEmpty()) {
+                    return;
+                }
+                List<ViewerPresenceDTO> viewers = new ArrayList<>(board.changed.size());
+                for (Long userId : board.changed) {
+                    Viewer viewer = board.viewers.get(userId);
+                    if (viewer != null) {
+                        viewers.add(viewer.toDto(userId));
+                    }
+                }
+                delta = BoardPresenceDTO.builder().boardId(boardId).viewers(viewers)
+                        .left(new ArrayList<>(board.left)).build();
+                board.changed.clear();
+                board.left.clear();
+            }
+            send(boardId, delta);
+        });
+    }
+
+    /**
+     * Remove the users not heard from within the expiry, and boards nobody is on.
+     */
+    @Scheduled(fixedDelayString = "${taskboard.presence.expiry-check-ms:5000}")
+    public void expireIdle() {
+        expireIdle(System.currentTimeMillis());
+    }
+
+    void expireIdle(long nowMillis) {
+        long seenBefore = nowMillis - expiryMillis;
+        for (Iterator<Map.Entry<Long, BoardPresence>> it = boards.entrySet().iterator(); it.hasNext(); ) {
+            BoardPresence board = it.next().getValue();
+            synchronized (board) {
+                board.viewers.entrySet().removeIf(entry -> {
+                    if (entry.getValue().lastSeenMillis < seenBefore) {
+                        board.leave(entry.getKey());
+                        return true;
+                    }
+                    return false;
+                });
+                if (board.viewers.isEmpty() && board.left.isEmpty()) {
+                    board.removed = true;
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Number of users on a board.
+     */
+    public int viewerCount(Long boardId) {
+        BoardPresence board = boards.get(boardId);
+        if (board == null) {
+            return 0;
+        }
+        synchronized (board) {
+            return board.viewers.size();
+        }
+    }
+
+    private BoardPresence update(Long boardId, UserSummary user, String sessionId, PresenceActivity activity,
+                                 Long cardId, Long listId, Integer position) {
+        long now = System.currentTimeMillis();
+        while (true) {
+            BoardPresence board = boards.computeIfAbsent(boardId, id -> new BoardPresence());
+            synchronized (board) {
+                // Dropped by expireIdle in the meantime
+                if (board.removed) {
+                    continue;
+                }
+                Viewer viewer = board.viewers.get(user.id());
+                if (viewer == null) {
+                    viewer = new Viewer(user.username());
+                    board.viewers.put(user.id(), viewer);
+                    board.left.remove(user.id());
+                    board.changed.add(user.id());
+                } else if (viewer.differs(activity, cardId, listId, position)) {
+                    board.changed.add(user.id());
+                }
+                viewer.set(activity, cardId, listId, position);
+                viewer.sessionId = sessionId;
+                viewer.lastSeenMillis = now;
+            }
+            if (sessionId != null) {
+                sessionBoards.computeIfAbsent(sessionId, id -> ConcurrentHashMap.newKeySet()).add(boardId);
+            }
+            return board;
+        }
+    }
+
+    private void send(Long boardId, BoardPresenceDTO delta) {
+        Map<String, Object> message = new HashMap<>();
+        message.put("type", DELTA);
+        message.put("data", delta);
+        message.put("timestamp", LocalDateTime.now());
+        try {
+            messagingTemplate.convertAndSend("/topic/board/" + boardId, (Object) message);
+        } catch (Exception e) {
+            log.error("Failed to send presence of board {}: {}", boardId, e.getMessage());
+        }
+    }
+
+    /**
+     * The users on one board, with the changes not sent yet. Guarded by its own monitor.
+     */
+    private static final class BoardPresence {
+
+        private final Map<Long, Viewer> viewers = new HashMap<>();
+        private final Set<Long> changed = new HashSet<>();
+        private final Set<Long> left = new HashSet<>();
+        private boolean removed;
+
+        private void leave(Long userId) {
+            changed.remove(userId);
+            left.add(userId);
+        }
+
+        private void removeSession(String sessionId) {
+            // Only if the user has not been seen on another session (another tab) since
+            viewers.entrySet().removeIf(entry -> {
+                if (sessionId.equals(entry.getValue().sessionId)) {
+                    leave(entry.getKey());
+                    return true;
+                }
+                return false;
+            });
+        }
+    }
+
+    /**
+     * One user on a board; IDs of 0 and a position of -1 stand for none.
+     */
+    private static final class Viewer {
+
+        private final String username;
+        private String sessionId;
+        private long lastSeenMillis;
+        private byte activity;
+        private long cardId;
+        private long listId;
+        private int position = -1;
+
+        private Viewer(String username) {
+            this.username = username;
+        }
+
+        private boolean differs(PresenceActivity activity, Long cardId, Long listId, Integer position) {
+            return this.activity != activity.ordinal() || this.cardId != orZero(cardId)
+                    || this.listId != orZero(listId) || this.position != (position != null ? position : -1);
+        }
+
+        private void set(PresenceActivity activity, Long cardId, Long listId, Integer position) {
+            this.activity = (byte) activity.ordinal();
+            this.cardId = orZero(cardId);
+            this.listId = orZero(listId);
+            this.position = position != null ? position : -1;
+        }
+
+        private ViewerPresenceDTO toDto(Long userId) {
+            return ViewerPresenceDTO.builder()
+                    .userId(userId)
+                    .username(username)
+                    .activity(ACTIVITIES[activity])
+                    .cardId(cardId != 0 ? cardId : null)
+                    .listId(listId != 0 ? listId : null)
+                    .position(position >= 0 ? position : null)
+                    .build();
+        }
+
+        private static long orZero(Long id) {
+            return id != null ? id : 0;
+        }
+    }
+}
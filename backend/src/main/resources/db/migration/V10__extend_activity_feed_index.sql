@@ -0,0 +1,7 @@
+-- V10__extend_activity_feed_index.sql
+-- The activity feed pages by (created_at, id), newest first. With id in the index the
+-- order is read straight off the index: a page after a cursor is one range seek of
+-- page size entries, whatever its depth, with no sort of the entries sharing a timestamp.
+
+DROP INDEX IF EXISTS idx_activity_logs_board_created;
+CREATE INDEX idx_activity_logs_board_created ON activity_logs(board_id, created_at DESC, id DESC);
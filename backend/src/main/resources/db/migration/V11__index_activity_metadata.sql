@@ -0,0 +1,8 @@
+-- V11__index_activity_metadata.sql
+-- Activity is searched by metadata fields, e.g. all moves by a user on a board
+-- (moved_by) or the history of a card (card_title). A jsonb_path_ops GIN index answers
+-- the containment tests of those searches (metadata @> '{"moved_by": "alice"}') for every
+-- key at once, and is smaller than one expression index per key. Created on the parent,
+-- so every monthly partition, existing and future, gets its own.
+
+CREATE INDEX IF NOT EXISTS idx_activity_logs_metadata ON activity_logs USING GIN (metadata jsonb_path_ops);
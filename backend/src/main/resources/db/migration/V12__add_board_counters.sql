@@ -0,0 +1,56 @@
+-- V12__add_board_counters.sql
+-- Per-board counts of lists and cards, adjusted by every card and list write (see
+-- BoardCounterService), so counts are read from one row instead of counting the cards.
+-- overdue_count counts the cards due at or before overdue_as_of; a periodic sweep moves
+-- it forward and adds the cards that fell due in between.
+
+CREATE TABLE IF NOT EXISTS board_counters (
+    board_id BIGINT PRIMARY KEY REFERENCES boards(id) ON DELETE CASCADE,
+    list_count BIGINT NOT NULL DEFAULT 0,
+    card_count BIGINT NOT NULL DEFAULT 0,
+    overdue_count BIGINT NOT NULL DEFAULT 0,
+    overdue_as_of TIMESTAMP WITH TIME ZONE NOT NULL,
+    overdue_stale BOOLEAN NOT NULL DEFAULT false
+);
+
+CREATE TABLE IF NOT EXISTS board_priority_counts (
+    board_id BIGINT NOT NULL REFERENCES board_counters(board_id) ON DELETE CASCADE,
+    priority VARCHAR(20) NOT NULL,
+    card_count BIGINT NOT NULL,
+    PRIMARY KEY (board_id, priority)
+);
+
+CREATE TABLE IF NOT EXISTS board_assignee_counts (
+    board_id BIGINT NOT NULL REFERENCES board_counters(board_id) ON DELETE CASCADE,
+    user_id BIGINT NOT NULL,
+    card_count BIGINT NOT NULL,
+    PRIMARY KEY (board_id, user_id)
+);
+
+-- Boards the next sweep has to look at; usually none
+CREATE INDEX IF NOT EXISTS idx_board_counters_overdue_stale ON board_counters(board_id) WHERE overdue_stale;
+
+-- Count the existing boards
+INSERT INTO board_counters (board_id, list_count, card_count, overdue_count, overdue_as_of)
+SELECT b.id,
+       (SELECT COUNT(*) FROM board_lists l WHERE l.board_id = b.id),
+       (SELECT COUNT(*) FROM cards c JOIN board_lists l ON l.id = c.list_id WHERE l.board_id = b.id),
+       (SELECT COUNT(*) FROM cards c JOIN board_lists l ON l.id = c.list_id
+        WHERE l.board_id = b.id AND c.due_date <= CURRENT_TIMESTAMP),
+       CURRENT_TIMESTAMP
+FROM boards b
+ON CONFLICT (board_id) DO NOTHING;
+
+INSERT INTO board_priority_counts (board_id, priority, card_count)
+SELECT l.board_id, c.priority, COUNT(*)
+FROM cards c JOIN board_lists l ON l.id = c.list_id
+WHERE c.priority IS NOT NULL
+GROUP BY l.board_id, c.priority
+ON CONFLICT (board_id, priority) DO NOTHING;
+
+INSERT INTO board_assignee_counts (board_id, user_id, card_count)
+SELECT l.board_id, c.assigned_to_id, COUNT(*)
+FROM cards c JOIN board_lists l ON l.id = c.list_id
+WHERE c.assigned_to_id IS NOT NULL
+GROUP BY l.board_id, c.assigned_to_id
+ON CONFLICT (board_id, user_id) DO NOTHING;
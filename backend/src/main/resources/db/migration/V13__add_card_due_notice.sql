@@ -0,0 +1,8 @@
+-- V13__add_card_due_notice.sql
+-- Last due-date notification (DUE_SOON, OVERDUE) sent for a card's current due date, so the
+-- due-date engine of every instance announces each one once. Reset when the due date changes.
+
+ALTER TABLE cards ADD COLUMN IF NOT EXISTS due_notice VARCHAR(20);
+
+-- Cards already past due are not announced when the engine is introduced
+UPDATE cards SET due_notice = 'OVERDUE' WHERE due_date <= CURRENT_TIMESTAMP;
@@ -0,0 +1,14 @@
+-- V14__number_events_after_commit.sql
+-- Events are written to event_log without a sequence inside the publishing transaction and
+-- numbered per board by the event relay after commit (transactional outbox), so card and
+-- list writes no longer lock the board's board_event_sequences row until they commit.
+
+ALTER TABLE event_log ALTER COLUMN sequence DROP NOT NULL;
+ALTER TABLE event_log ADD COLUMN IF NOT EXISTS published_at TIMESTAMP WITH TIME ZONE;
+
+-- Everything logged so far was sent when it was logged
+UPDATE event_log SET published_at = created_at WHERE published_at IS NULL;
+
+-- The relay's work queues; both are usually empty
+CREATE INDEX IF NOT EXISTS idx_event_log_unsequenced ON event_log(board_id, id) WHERE sequence IS NULL;
+CREATE INDEX IF NOT EXISTS idx_event_log_unpublished ON event_log(id) WHERE published_at IS NULL;
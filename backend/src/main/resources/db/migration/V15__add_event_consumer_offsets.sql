@@ -0,0 +1,20 @@
+-- V15__add_event_consumer_offsets.sql
+-- Last event sequence of each board that each consumer group has handled. A consumer starts a
+-- board from here (instead of from the first event it happens to receive) and replays what
+-- it missed from event_log.
+
+CREATE TABLE IF NOT EXISTS event_consumer_offsets (
+    id BIGSERIAL PRIMARY KEY,
+    consumer_group VARCHAR(50) NOT NULL,
+    board_id BIGINT NOT NULL,
+    last_sequence BIGINT NOT NULL,
+    CONSTRAINT uk_event_consumer_offsets_group_board UNIQUE (consumer_group, board_id)
+);
+
+-- Events sent before this migration count as handled by the existing groups. A group added
+-- later starts every board from its first logged event.
+INSERT INTO event_consumer_offsets (consumer_group, board_id, last_sequence)
+SELECT g.consumer_group, s.board_id, s.last_sequence
+FROM board_event_sequences s
+CROSS JOIN (VALUES ('notifications'), ('analytics')) AS g(consumer_group)
+ON CONFLICT (consumer_group, board_id) DO NOTHING;
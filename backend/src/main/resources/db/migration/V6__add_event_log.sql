@@ -0,0 +1,26 @@
+-- V6__add_event_log.sql
+-- Per-board event sequencing and a replayable event log
+
+-- Last sequence number handed out per board. The row lock taken by the increment
+-- serializes sequence allocation for a board inside the publishing transaction.
+CREATE TABLE IF NOT EXISTS board_event_sequences (
+    board_id BIGINT PRIMARY KEY REFERENCES boards(id) ON DELETE CASCADE,
+    last_sequence BIGINT NOT NULL DEFAULT 0
+);
+
+INSERT INTO board_event_sequences (board_id, last_sequence)
+SELECT id, 0 FROM boards
+ON CONFLICT (board_id) DO NOTHING;
+
+-- Every published event, so consumers can replay a missing sequence range
+CREATE TABLE IF NOT EXISTS event_log (
+    id BIGSERIAL PRIMARY KEY,
+    board_id BIGINT NOT NULL,
+    sequence BIGINT NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_event_log_board_sequence UNIQUE (board_id, sequence)
+);
+
+CREATE INDEX IF NOT EXISTS idx_event_log_created ON event_log(created_at);
@@ -0,0 +1,8 @@
+-- V7__add_optimistic_lock_versions.sql
+-- Version columns for optimistic concurrency on cards and lists
+
+-- Bumped on every update of the card row through JPA (bulk position shifts leave it alone)
+ALTER TABLE cards ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+-- Bumped by card moves in optimistic mode, so concurrent moves within one list conflict
+ALTER TABLE board_lists ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
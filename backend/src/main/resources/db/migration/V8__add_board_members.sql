@@ -0,0 +1,19 @@
+-- V8__add_board_members.sql
+-- Per-board membership with roles
+
+CREATE TABLE IF NOT EXISTS board_members (
+    id BIGSERIAL PRIMARY KEY,
+    board_id BIGINT NOT NULL REFERENCES boards(id) ON DELETE CASCADE,
+    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    role VARCHAR(20) NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_board_members_board_user UNIQUE (board_id, user_id)
+);
+
+-- Boards of a user, for the access set and the board listing; covers the whole lookup
+CREATE INDEX IF NOT EXISTS idx_board_members_user ON board_members(user_id, board_id, role);
+
+-- Existing owners become members
+INSERT INTO board_members (board_id, user_id, role)
+SELECT id, owner_id, 'OWNER' FROM boards WHERE owner_id IS NOT NULL
+ON CONFLICT (board_id, user_id) DO NOTHING;
@@ -0,0 +1,70 @@
+-- V9__partition_activity_logs.sql
+-- Range partition activity_logs by month of created_at, so retention drops whole partitions
+-- and time-bounded queries only visit the partitions they need.
+-- Partitions are named activity_logs_pYYYYMM and bounded by UTC month starts. The ones
+-- after this migration are created ahead of time by ActivityLogPartitionManager.
+
+ALTER TABLE activity_logs RENAME TO activity_logs_unpartitioned;
+ALTER TABLE activity_logs_unpartitioned RENAME CONSTRAINT activity_logs_pkey TO activity_logs_unpartitioned_pkey;
+DROP INDEX IF EXISTS idx_activity_logs_board_created;
+DROP INDEX IF EXISTS idx_activity_logs_user;
+DROP INDEX IF EXISTS idx_activity_logs_type;
+
+-- The partition key has to be part of the primary key; ids stay unique through the sequence
+CREATE TABLE activity_logs (
+    id BIGINT NOT NULL DEFAULT nextval('activity_logs_id_seq'),
+    board_id BIGINT NOT NULL REFERENCES boards(id) ON DELETE CASCADE,
+    user_id BIGINT REFERENCES users(id) ON DELETE SET NULL,
+    activity_type VARCHAR(50) NOT NULL,
+    description TEXT NOT NULL,
+    metadata JSONB,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+ALTER SEQUENCE activity_logs_id_seq OWNED BY activity_logs.id;
+
+-- One partition per month from the oldest entry up to three months ahead.
+-- No default partition: it would have to be scanned whenever a new partition is attached.
+DO $$
+DECLARE
+    month DATE;
+    last_month DATE := (date_trunc('month', now() AT TIME ZONE 'UTC') + INTERVAL '3 months')::date;
+BEGIN
+    SELECT COALESCE(date_trunc('month', MIN(created_at) AT TIME ZONE 'UTC'),
+                    date_trunc('month', now() AT TIME ZONE 'UTC'))::date
+    INTO month
+    FROM activity_logs_unpartitioned;
+
+    WHILE month <= last_month LOOP
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF activity_logs FOR VALUES FROM (%L) TO (%L)',
+                       'activity_logs_p' || to_char(month, 'YYYYMM'),
+                       to_char(month, 'YYYY-MM-DD') || ' 00:00:00+00',
+                       to_char(month + INTERVAL '1 month', 'YYYY-MM-DD') || ' 00:00:00+00');
+        month := (month + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+
+INSERT INTO activity_logs (id, board_id, user_id, activity_type, description, metadata, created_at)
+SELECT id, board_id, user_id, activity_type, description, metadata, COALESCE(created_at, CURRENT_TIMESTAMP)
+FROM activity_logs_unpartitioned;
+
+-- Fail, and roll the whole migration back, rather than drop rows that were not copied
+DO $$
+DECLARE
+    copied BIGINT;
+    existing BIGINT;
+BEGIN
+    SELECT COUNT(*) INTO copied FROM activity_logs;
+    SELECT COUNT(*) INTO existing FROM activity_logs_unpartitioned;
+    IF copied <> existing THEN
+        RAISE EXCEPTION 'Copied % of % activity log rows into the partitioned table', copied, existing;
+    END IF;
+END $$;
+
+DROP TABLE activity_logs_unpartitioned;
+
+-- Created on every partition, present and future
+CREATE INDEX IF NOT EXISTS idx_activity_logs_board_created ON activity_logs(board_id, created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_activity_logs_user ON activity_logs(user_id);
+CREATE INDEX IF NOT EXISTS idx_activity_logs_type ON activity_logs(activity_type);
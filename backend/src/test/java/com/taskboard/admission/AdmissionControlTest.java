@@ -0,0 +1,92 @@
+package com.taskboard.admission;
+
+import com.taskboard.exception.OverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdmissionControlTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService callers = Executors.newFixedThreadPool(4);
+
+    // One move at a time, one more waiting up to 300 ms
+    private final AdmissionControl admissionControl = new AdmissionControl(new MockEnvironment()
+            .withProperty("taskboard.admission.moves.max-concurrent", "1")
+            .withProperty("taskboard.admission.moves.max-queue", "1")
+            .withProperty("taskboard.admission.moves.max-wait-ms", "300"),
+            meterRegistry, true, 2);
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    void waitingRequest_ShouldBeAdmittedOnceASlotIsReleased() throws Exception {
+        AdmissionControl.Permit first = admissionControl.admit(EndpointClass.MOVES);
+
+        Future<AdmissionControl.Permit> second = callers.submit(() -> admissionControl.admit(EndpointClass.MOVES));
+        waitForQueueDepth(1);
+        first.release();
+        // Released twice, still one slot
+        first.release();
+
+        assertThat(second.get(1, TimeUnit.SECONDS)).isNotNull();
+        assertThatThrownBy(() -> admissionControl.admit(EndpointClass.MOVES))
+                .isInstanceOf(OverloadedException.class);
+    }
+
+    @Test
+    void fullQueue_ShouldRejectAtOnceAndTimeoutAfterMaxWait() throws Exception {
+        admissionControl.admit(EndpointClass.MOVES);
+        Future<?> waiting = callers.submit(() -> admissionControl.admit(EndpointClass.MOVES));
+        waitForQueueDepth(1);
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> admissionControl.admit(EndpointClass.MOVES))
+                .isInstanceOf(OverloadedException.class)
+                .satisfies(e -> assertThat(((OverloadedException) e).getRetryAfterSeconds()).isEqualTo(2));
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(200);
+
+        assertThatThrownBy(() -> waiting.get(2, TimeUnit.SECONDS)).hasCauseInstanceOf(OverloadedException.class);
+        assertThat(rejections("queue-full")).isEqualTo(1);
+        assertThat(rejections("timeout")).isEqualTo(1);
+        assertThat(admissionControl.queueDepth(EndpointClass.MOVES)).isZero();
+    }
+
+    @Test
+    void endpointClasses_ShouldHaveTheirOwnSlots() {
+        admissionControl.admit(EndpointClass.MOVES);
+
+        // Defaults: ten reads and ten writes
+        for (int i = 0; i < 10; i++) {
+            admissionControl.admit(EndpointClass.READS);
+            admissionControl.admit(EndpointClass.WRITES);
+        }
+
+        assertThat(meterRegistry.get("taskboard.admission.in_flight").tag("endpoint_class", "reads")
+                .gauge().value()).isEqualTo(10);
+    }
+
+    private double rejections(String reason) {
+        return meterRegistry.get("taskboard.admission.rejections")
+                .tag("endpoint_class", "moves").tag("reason", reason).counter().count();
+    }
+
+    private void waitForQueueDepth(int depth) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 2_000;
+        while (admissionControl.queueDepth(EndpointClass.MOVES) < depth && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+}
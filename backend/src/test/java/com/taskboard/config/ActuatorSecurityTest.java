@@ -0,0 +1,49 @@
+package com.taskboard.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "management.server.port=0")
+@ActiveProfiles("test")
+class ActuatorSecurityTest {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int serverPort;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Test
+    void prometheus_ShouldOnlyBeOpenOnTheManagementPort() throws Exception {
+        assertThat(managementPort).isNotEqualTo(serverPort);
+
+        HttpResponse<String> scrape = get(managementPort, "/actuator/prometheus");
+        assertThat(scrape.statusCode()).isEqualTo(200);
+        assertThat(scrape.body()).contains("application=\"taskboard\"");
+
+        assertThat(get(serverPort, "/actuator/prometheus").statusCode()).isNotEqualTo(200);
+    }
+
+    @Test
+    void otherEndpointsOnTheManagementPort_ShouldStillNeedAnAdmin() throws Exception {
+        assertThat(get(managementPort, "/actuator/metrics").statusCode()).isIn(401, 403);
+    }
+
+    private HttpResponse<String> get(int port, String path) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,197 @@
+package com.taskboard.config;
+
+import com.taskboard.messaging.ordering.ConsumerOffsets;
+import com.taskboard.messaging.ordering.EventLog;
+import com.taskboard.model.entity.Board;
+import com.taskboard.model.entity.BoardList;
+import com.taskboard.repository.BoardRepository;
+import com.taskboard.repository.ListRepository;
+import com.taskboard.security.ResourceHierarchyCache;
+import com.taskboard.security.UserPrincipal;
+import com.taskboard.service.BoardPayload;
+import com.taskboard.service.BoardPayloadCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A second in-memory H2 database stands in for the replica; its lag is read from a table the
+ * tests set.
+ */
+@SpringBootTest(properties = {
+        "taskboard.datasource.read-replicas.enabled=true",
+        "taskboard.datasource.read-replicas.urls=r1=" + ReadReplicaRoutingTest.REPLICA_URL,
+        "taskboard.datasource.read-replicas.lag-query=SELECT lag_ms FROM replica_status",
+        "taskboard.datasource.read-replicas.max-lag-ms=1000",
+        "taskboard.datasource.read-replicas.sticky-ms=300",
+        // Checked explicitly by the tests
+        "taskboard.datasource.read-replicas.check-ms=3600000"
+})
+@ActiveProfiles("test")
+class ReadReplicaRoutingTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:replica1;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ReadReplicaRouter router;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private BoardRepository boardRepository;
+
+    @Autowired
+    private ListRepository listRepository;
+
+    @Autowired
+    private BoardPayloadCache payloadCache;
+
+    @Autowired
+    private ResourceHierarchyCache hierarchy;
+
+    @Autowired
+    private EventLog eventLog;
+
+    @Autowired
+    private ConsumerOffsets consumerOffsets;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        replica("CREATE TABLE IF NOT EXISTS replica_status (lag_ms BIGINT)");
+        replica("DELETE FROM replica_status");
+        replica("INSERT INTO replica_status VALUES (0)");
+        router.checkReplicas();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactions_ShouldReadFromTheReplica() {
+        assertThat(database(true)).isEqualTo("REPLICA1");
+        assertThat(database(false)).isEqualTo("TESTDB");
+        // Outside a transaction as well
+        assertThat(new JdbcTemplate(dataSource).queryForObject("SELECT DATABASE()", String.class))
+                .isEqualTo("TESTDB");
+    }
+
+    @Test
+    void laggingOrUnreachableReplica_ShouldBeSkipped() throws SQLException {
+        replica("UPDATE replica_status SET lag_ms = 5000");
+        router.checkReplicas();
+        assertThat(database(true)).isEqualTo("TESTDB");
+
+        replica("DROP TABLE replica_status");
+        router.checkReplicas();
+        assertThat(database(true)).isEqualTo("TESTDB");
+
+        setUp();
+        assertThat(database(true)).isEqualTo("REPLICA1");
+    }
+
+    @Test
+    void usersWhoJustWrote_ShouldReadFromThePrimary() throws InterruptedException {
+        signIn(7L);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                boardRepository.save(Board.builder().name("Replica Board").archived(false).build()));
+
+        assertThat(database(true)).isEqualTo("TESTDB");
+        signIn(8L);
+        assertThat(database(true)).isEqualTo("REPLICA1");
+
+        signIn(7L);
+        Thread.sleep(400);
+        assertThat(database(true)).isEqualTo("REPLICA1");
+    }
+
+    @Test
+    void rolledBackWrite_ShouldNotMakeTheUserSticky() {
+        signIn(9L);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            boardRepository.save(Board.builder().name("Rolled back").archived(false).build());
+            status.setRollbackOnly();
+        });
+
+        assertThat(database(true)).isEqualTo("REPLICA1");
+    }
+
+    @Test
+    void cacheFills_ShouldReadFromThePrimary() throws Exception {
+        // Off a request thread, like the warming of the boards cache: no user to be sticky for
+        CompletableFuture<BoardPayload> payload = CompletableFuture.supplyAsync(() -> payloadCache.get(
+                "replica-test:" + System.nanoTime(),
+                () -> new BoardPayload(database(true).getBytes(StandardCharsets.UTF_8), null)));
+
+        assertThat(new String(payload.get(5, TimeUnit.SECONDS).json(), StandardCharsets.UTF_8)).isEqualTo("TESTDB");
+        assertThat(database(true)).isEqualTo("REPLICA1");
+    }
+
+    @Test
+    void authorizationLookups_ShouldNotCacheWhatALaggingReplicaMisses() throws SQLException {
+        // Within max-lag-ms, but the new list has not reached the replica yet
+        replica("CREATE TABLE IF NOT EXISTS board_lists (id BIGINT PRIMARY KEY, board_id BIGINT)");
+        Board board = boardRepository.save(Board.builder().name("Replica Board").archived(false).build());
+        BoardList list = listRepository.save(BoardList.builder().name("Todo").board(board).position(0).build());
+
+        assertThat(hierarchy.boardIdOfList(list.getId())).isEqualTo(board.getId());
+    }
+
+    @Test
+    void eventLogAndConsumerOffsets_ShouldBeReadFromThePrimary() {
+        // The replica stand-in has none of these tables
+        assertThat(eventLog.boardsWithUnsequencedEvents(10)).isNotNull();
+        assertThat(eventLog.findUnpublished(LocalDateTime.now(), 10)).isNotNull();
+        assertThat(eventLog.replay(1L, 1, 10)).isNotNull();
+        assertThat(consumerOffsets.lastHandled("replica-test", 1L)).isZero();
+        assertThat(consumerOffsets.boardsBehind("replica-test", Duration.ofHours(1), Duration.ZERO, 10)).isNotNull();
+    }
+
+    private String database(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status ->
+                new JdbcTemplate(dataSource).queryForObject("SELECT DATABASE()", String.class));
+    }
+
+    private static void signIn(Long userId) {
+        UserPrincipal user = new UserPrincipal(userId, "user" + userId, "user" + userId + "@example.com",
+                "password", true, List.of());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    private static void replica(String sql) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(REPLICA_URL, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
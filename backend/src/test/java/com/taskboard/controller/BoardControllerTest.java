@@ -1,12 +1,22 @@
 package com.taskboard.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskboard.model.dto.ActivityFeedPage;
+import com.taskboard.model.dto.ActivityLogDTO;
 import com.taskboard.model.dto.BoardDTO;
+import com.taskboard.model.dto.BoardUserDTO;
 import com.taskboard.model.dto.CreateBoardRequest;
+import com.taskboard.model.dto.NormalizedBoardDTO;
+import com.taskboard.model.dto.NormalizedCardDTO;
+import com.taskboard.model.dto.NormalizedListDTO;
+import com.taskboard.model.entity.ActivityMetadataKey;
+import com.taskboard.model.entity.ActivityType;
 import com.taskboard.security.AuthorizationService;
 import com.taskboard.security.WithMockUserPrincipal;
 import com.taskboard.service.ActivityLogService;
 import com.taskboard.service.BoardService;
+import com.taskboard.service.BoardStreamService;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,13 +25,20 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.when;
@@ -41,9 +58,15 @@ class BoardControllerTest {
 
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @MockitoBean
     private BoardService boardService;
 
+    @MockitoBean
+    private BoardStreamService boardStreamService;
+
     @MockitoBean
     private ActivityLogService activityLogService;
 
@@ -75,6 +98,7 @@ class BoardControllerTest {
         // Mock authorization service to allow all operations in tests
         when(authorizationService.canAccessBoard(anyLong())).thenReturn(true);
         when(authorizationService.canModifyBoard(anyLong())).thenReturn(true);
+        when(authorizationService.canManageBoard(anyLong())).thenReturn(true);
         when(authorizationService.canDeleteBoard(anyLong())).thenReturn(true);
     }
 
@@ -82,7 +106,7 @@ class BoardControllerTest {
     @WithMockUserPrincipal(id = 1L, username = "testuser", roles = {"USER"})
     void getAllBoards_ShouldReturnBoardsList() throws Exception {
         List<BoardDTO> boards = Arrays.asList(testBoard);
-        when(boardService.getAllBoards()).thenReturn(boards);
+        when(boardService.getBoardsForUser(1L)).thenReturn(boards);
 
         mockMvc.perform(get("/api/v1/boards"))
                 .andExpect(status().isOk())
@@ -103,6 +127,108 @@ class BoardControllerTest {
                 .andExpect(jsonPath("$.name").value("Test Board"));
     }
 
+    @Test
+    @WithMockUserPrincipal(id = 1L, username = "testuser", roles = {"USER"})
+    void getBoard_AcceptingGzip_ShouldReturnPrecompressedBoard() throws Exception {
+        testBoard.setDescription("A long description. ".repeat(100));
+        when(boardService.getBoardById(1L)).thenReturn(testBoard);
+
+        MvcResult result = mockMvc.perform(get("/api/v1/boards/1").header("Accept-Encoding", "br, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().stringValues("Vary", hasItem("Accept-Encoding")))
+                .andReturn();
+
+        byte[] body = result.getResponse().getContentAsByteArray();
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            BoardDTO board = objectMapper.readValue(gzip, BoardDTO.class);
+            assertThat(board.getName()).isEqualTo("Test Board");
+        }
+        assertThat(body.length).isLessThan(testBoard.getDescription().length() / 4);
+    }
+
+    @Test
+    @WithMockUserPrincipal(id = 1L, username = "testuser", roles = {"USER"})
+    void getBoard_RefusingGzip_ShouldReturnPlainJson() throws Exception {
+        testBoard.setDescription("A long description. ".repeat(100));
+        when(boardService.getBoardById(1L)).thenReturn(testBoard);
+
+        mockMvc.perform(get("/api/v1/boards/1").header("Accept-Encoding", "gzip;q=0, identity"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(jsonPath("$.name").value("Test Board"));
+    }
+
+    @Test
+    @WithMockUserPrincipal(id = 1L, username = "testuser", roles = {"USER"})
+    void getBoard_AcceptingGzipExplicitlyOverRefusedWildcard_ShouldReturnPrecompressedBoard() throws Exception {
+        testBoard.setDescription("A long description. ".repeat(100));
+        when(boardService.getBoardById(1L)).thenReturn(testBoard);
+
+        mockMvc.perform(get("/api/v1/boards/1").header("Accept-Encoding", "*;q=0, gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"));
+    }
+
+    @Test
+    @WithMockUserPrincipal(id = 1L, username = "testuser", roles = {"USER"})
+    void getBoard_RefusingGzipExplicitlyUnderWildcard_ShouldReturnPlainJson() throws Exception {
+        testBoard.setDescription("A long description. ".repeat(100));
+        when(boardService.getBoardById(1L)).thenReturn(testBoard);
+
+        mockMvc.perform(get("/api/v1/boards/1").header("Accept-Encoding", "*, gzip;q=0"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(jsonPath("$.name").value("Test Board"));
+    }
+
+    @Test
+    @WithMockUserPrincipal(id = 1L, username = "testuser", roles = {"USER"})
+    void getBoard_WithStream_ShouldStreamBoard() throws Exception {
+        when(boardStreamService.streamBoard(1L))
+                .thenReturn(out -> out.write("{\"id\":1,\"name\":\"Test Board\"}".getBytes(StandardCharsets.UTF_8)));
+
+        MvcResult result = mockMvc.perform(get("/api/v1/boards/1").param("stream", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.id").value(1))
+                .andExpect(jsonPath("$.name").value("Test Board"));
+
+        // The stream held its admission slot until it ended
+        assertThat(meterRegistry.get("taskboard.admission.in_flight").tag("endpoint_class", "reads")
+                .gauge().value()).isZero();
+    }
+
+    @Test
+    @WithMockUserPrincipal(id = 1L, username = "testuser", roles = {"USER"})
+    void getBoard_AcceptingNormalized_ShouldReturnNormalizedBoard() throws Exception {
+        when(boardService.getNormalizedBoardById(1L)).thenReturn(normalizedBoard());
+
+        mockMvc.perform(get("/api/v1/boards/1").accept(NormalizedBoardDTO.MEDIA_TYPE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(NormalizedBoardDTO.MEDIA_TYPE))
+                .andExpect(jsonPath("$.lists[0].cardIds[0]").value(10))
+                .andExpect(jsonPath("$.cards['10'].assignedToId").value(1))
+                .andExpect(jsonPath("$.users['1'].username").value("testuser"));
+    }
+
+    @Test
+    @WithMockUserPrincipal(id = 1L, username = "testuser", roles = {"USER"})
+    void getBoard_WithNormalizedFormat_ShouldReturnNormalizedBoard() throws Exception {
+        when(boardService.getNormalizedBoardById(1L)).thenReturn(normalizedBoard());
+
+        mockMvc.perform(get("/api/v1/boards/1").param("format", "normalized"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(NormalizedBoardDTO.MEDIA_TYPE))
+                .andExpect(jsonPath("$.name").value("Test Board"))
+                .andExpect(jsonPath("$.cards['10'].title").value("Card"));
+    }
+
     @Test
     @WithMockUserPrincipal(id = 1L, username = "testuser", roles = {"USER"})
     void createBoard_ShouldReturnCreatedBoard() throws Exception {
@@ -143,5 +269,61 @@ class BoardControllerTest {
                         .with(csrf()))
                 .andExpect(status().isNoContent());
     }
-}
 
+    @Test
+    @WithMockUserPrincipal(id = 1L, username = "testuser", roles = {"USER"})
+    void getActivityFeed_ShouldReturnPageAndNextCursor() throws Exception {
+        ActivityFeedPage page = ActivityFeedPage.builder()
+                .items(List.of(ActivityLogDTO.builder().id(7L).boardId(1L).description("Card moved").build()))
+                .nextCursor("next")
+                .build();
+        when(activityLogService.getActivityFeed(1L, "abc", 50)).thenReturn(page);
+
+        mockMvc.perform(get("/api/v1/boards/1/activity/feed").param("cursor", "abc").param("size", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(7))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
+    @Test
+    @WithMockUserPrincipal(id = 1L, username = "testuser", roles = {"USER"})
+    void getActivityFeed_WithInvalidCursor_ShouldReturnBadRequest() throws Exception {
+        when(activityLogService.getActivityFeed(1L, "bogus", 20))
+                .thenThrow(new IllegalArgumentException("Invalid activity cursor"));
+
+        mockMvc.perform(get("/api/v1/boards/1/activity/feed").param("cursor", "bogus"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUserPrincipal(id = 1L, username = "testuser", roles = {"USER"})
+    void searchActivity_ByMover_ShouldReturnPage() throws Exception {
+        ActivityFeedPage page = ActivityFeedPage.builder()
+                .items(List.of(ActivityLogDTO.builder().id(9L).build()))
+                .build();
+        when(activityLogService.searchActivityByMetadata(1L, ActivityMetadataKey.MOVED_BY, "alice",
+                ActivityType.CARD_MOVED, null, 20)).thenReturn(page);
+
+        mockMvc.perform(get("/api/v1/boards/1/activity/search").param("movedBy", "alice").param("type", "CARD_MOVED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(9));
+    }
+
+    @Test
+    @WithMockUserPrincipal(id = 1L, username = "testuser", roles = {"USER"})
+    void searchActivity_WithBothFields_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/boards/1/activity/search").param("movedBy", "alice").param("cardTitle", "Card"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private NormalizedBoardDTO normalizedBoard() {
+        return NormalizedBoardDTO.builder()
+                .id(1L)
+                .name("Test Board")
+                .ownerId(1L)
+                .lists(List.of(NormalizedListDTO.builder().id(5L).name("Todo").position(0).cardIds(List.of(10L)).build()))
+                .cards(Map.of(10L, NormalizedCardDTO.builder().id(10L).title("Card").assignedToId(1L).build()))
+                .users(Map.of(1L, BoardUserDTO.builder().id(1L).username("testuser").fullName("Test User").build()))
+                .build();
+    }
+}
@@ -0,0 +1,187 @@
+package com.taskboard.controller;
+
+import com.taskboard.model.entity.Board;
+import com.taskboard.model.entity.User;
+import com.taskboard.repository.BoardRepository;
+import com.taskboard.repository.UserRepository;
+import com.taskboard.security.JwtTokenProvider;
+import com.taskboard.security.UserPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.messaging.converter.JacksonJsonMessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sends real STOMP frames over a WebSocket, authenticated the way the frontend does it: a JWT
+ * in the CONNECT frame's Authorization header.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "management.server.port=0")
+@ActiveProfiles("test")
+class WebSocketControllerTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BoardRepository boardRepository;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    private final WebSocketStompClient stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+    private final List<StompSession> sessions = new ArrayList<>();
+
+    private User owner;
+    private Board board;
+
+    @BeforeEach
+    void setUp() {
+        stompClient.setMessageConverter(new JacksonJsonMessageConverter());
+        owner = user("owner");
+        board = boardRepository.save(Board.builder().name("Presence Board").owner(owner).archived(false).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        sessions.forEach(StompSession::disconnect);
+    }
+
+    @Test
+    void subscribeAndDrag_ShouldResolveTheUserOfTheSession() throws Exception {
+        StompSession session = connect(owner);
+        BlockingQueue<Map<String, Object>> presence = subscribe(session, "/user/queue/presence");
+        BlockingQueue<Map<String, Object>> boardTopic = subscribe(session, "/topic/board/" + board.getId());
+
+        session.send("/app/board/" + board.getId() + "/subscribe", Map.of());
+
+        Map<String, Object> snapshot = presence.poll(5, TimeUnit.SECONDS);
+        assertThat(snapshot).isNotNull().containsEntry("type", "PRESENCE_SNAPSHOT");
+        assertThat(viewers(snapshot)).singleElement()
+                .satisfies(viewer -> assertThat(viewer).containsEntry("username", owner.getUsername()));
+
+        session.send("/app/board/" + board.getId() + "/card-move",
+                Map.of("cardId", 7, "newListId", 3, "newPosition", 1));
+
+        Map<String, Object> delta = awaitDelta(boardTopic, "DRAGGING");
+        assertThat(viewers(delta)).singleElement().satisfies(viewer -> assertThat(viewer)
+                .containsEntry("username", owner.getUsername())
+                .containsEntry("cardId", 7));
+    }
+
+    @Test
+    void userWithoutAccess_ShouldGetNoPresence() throws Exception {
+        StompSession session = connect(user("outsider"));
+        BlockingQueue<Map<String, Object>> presence = subscribe(session, "/user/queue/presence");
+
+        session.send("/app/board/" + board.getId() + "/subscribe", Map.of());
+
+        assertThat(presence.poll(1, TimeUnit.SECONDS)).isNull();
+    }
+
+    @Test
+    void dragsOverTheRateLimit_ShouldBeAnsweredWithRateLimited() throws Exception {
+        StompSession session = connect(owner);
+        BlockingQueue<Map<String, Object>> errors = subscribe(session, "/user/queue/errors");
+
+        // Over the per-user burst of ws-card-move
+        for (int i = 0; i < 100; i++) {
+            session.send("/app/board/" + board.getId() + "/card-move",
+                    Map.of("cardId", 7, "newListId", 3, "newPosition", i));
+        }
+
+        Map<String, Object> error = errors.poll(5, TimeUnit.SECONDS);
+        assertThat(error).isNotNull().containsEntry("type", "RATE_LIMITED");
+    }
+
+    private StompSession connect(User user) throws Exception {
+        UserPrincipal principal = UserPrincipal.create(user);
+        String token = jwtTokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+        StompHeaders connectHeaders = new StompHeaders();
+        connectHeaders.add("Authorization", "Bearer " + token);
+
+        StompSession session = stompClient.connectAsync("ws://localhost:" + port + "/ws",
+                        new WebSocketHttpHeaders(), connectHeaders, new StompSessionHandlerAdapter() {
+                        })
+                .get(5, TimeUnit.SECONDS);
+        sessions.add(session);
+        return session;
+    }
+
+    private BlockingQueue<Map<String, Object>> subscribe(StompSession session, String destination)
+            throws InterruptedException {
+        BlockingQueue<Map<String, Object>> messages = new LinkedBlockingQueue<>();
+        session.subscribe(destination, new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return Map.class;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public void handleFrame(StompHeaders headers, Object payload) {
+                messages.add((Map<String, Object>) payload);
+            }
+        });
+        // SUBSCRIBE has no receipt here; give the broker a moment to register it
+        Thread.sleep(200);
+        return messages;
+    }
+
+    /**
+     * Wait for a presence delta in which a viewer has the given activity.
+     */
+    private Map<String, Object> awaitDelta(BlockingQueue<Map<String, Object>> topic, String activity)
+            throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline) {
+            Map<String, Object> message = topic.poll(deadline - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+            if (message != null && "PRESENCE_DELTA".equals(message.get("type"))
+                    && viewers(message).stream().anyMatch(viewer -> activity.equals(viewer.get("activity")))) {
+                return message;
+            }
+        }
+        throw new AssertionError("No presence delta with a viewer " + activity);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> viewers(Map<String, Object> message) {
+        return (List<Map<String, Object>>) ((Map<String, Object>) message.get("data")).get("viewers");
+    }
+
+    private User user(String name) {
+        long suffix = System.nanoTime();
+        return userRepository.save(User.builder()
+                .username(name + suffix)
+                .email(name + suffix + "@example.com")
+                .password("secret")
+                .fullName(name)
+                .build());
+    }
+}
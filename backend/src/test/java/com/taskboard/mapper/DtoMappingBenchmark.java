@@ -0,0 +1,185 @@
+package com.taskboard.mapper;
+
+import com.taskboard.model.dto.BoardDTO;
+import com.taskboard.model.dto.CardDTO;
+import com.taskboard.model.dto.ListDTO;
+import com.taskboard.model.entity.Board;
+import com.taskboard.model.entity.BoardList;
+import com.taskboard.model.entity.Card;
+import com.taskboard.model.entity.Priority;
+import com.taskboard.model.entity.User;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * JMH benchmark of the entity to DTO conversion of a whole board: the builder and stream
+ * based converters the services used before {@link TaskBoardMapper}, against the generated
+ * mapper. Run with {@code -prof gc} to compare allocation rates as well.
+ * <p>
+ * Not part of the regular build (the class name does not match the surefire includes).
+ * Run it explicitly:
+ * <pre>
+ * mvn test -Dtest=DtoMappingBenchmark -Dbenchmark.profiler=gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    @Param({"5000"})
+    public int cards;
+
+    @Param({"10"})
+    public int lists;
+
+    private final TaskBoardMapper mapper = new TaskBoardMapperImpl();
+    private Board board;
+
+    @Setup
+    public void setUp() {
+        board = board(lists, cards);
+    }
+
+    @Benchmark
+    public BoardDTO builders() {
+        return LegacyConversion.toBoardDTOWithDetails(board);
+    }
+
+    @Benchmark
+    public BoardDTO generatedMapper() {
+        return mapper.toBoardDTOWithDetails(board);
+    }
+
+    @Test
+    void run() throws RunnerException {
+        // Both conversions must agree before their timings mean anything
+        Board sample = board(3, 30);
+        assertThat(mapper.toBoardDTOWithDetails(sample)).isEqualTo(LegacyConversion.toBoardDTOWithDetails(sample));
+
+        OptionsBuilder options = new OptionsBuilder();
+        options.include(DtoMappingBenchmark.class.getSimpleName());
+        String profiler = System.getProperty("benchmark.profiler");
+        if (profiler != null && !profiler.isBlank()) {
+            options.addProfiler(profiler);
+        }
+        new Runner(options.build()).run();
+    }
+
+    static Board board(int listCount, int cardCount) {
+        LocalDateTime now = LocalDateTime.now();
+        List<User> users = new ArrayList<>();
+        for (long u = 1; u <= 20; u++) {
+            users.add(User.builder().id(u).username("user" + u).fullName("User " + u).build());
+        }
+        Board board = Board.builder()
+                .id(1L).name("Benchmark Board").description("Board with " + cardCount + " cards")
+                .color("#3498db").owner(users.get(0)).archived(false)
+                .createdAt(now).updatedAt(now)
+                .build();
+
+        long cardId = 1;
+        int cardsPerList = cardCount / listCount;
+        for (int l = 0; l < listCount; l++) {
+            BoardList list = BoardList.builder()
+                    .id((long) l + 1).name("List " + l).board(board).position(l)
+                    .createdAt(now).updatedAt(now)
+                    .build();
+            for (int c = 0; c < cardsPerList; c++) {
+                list.getCards().add(Card.builder()
+                        .id(cardId++).title("Card " + cardId).description("Description of card " + cardId)
+                        .list(list).position(c)
+                        .assignedTo(c % 3 == 0 ? null : users.get(c % users.size()))
+                        .priority(Priority.values()[c % Priority.values().length])
+                        .dueDate(now.plusDays(c % 30)).version(0L)
+                        .createdAt(now).updatedAt(now)
+                        .build());
+            }
+            board.getLists().add(list);
+        }
+        return board;
+    }
+
+    /**
+     * The converters the services used before the generated mapper, kept as the baseline.
+     */
+    static final class LegacyConversion {
+
+        static BoardDTO toBoardDTOWithDetails(Board board) {
+            BoardDTO dto = BoardDTO.builder()
+                    .id(board.getId())
+                    .name(board.getName())
+                    .description(board.getDescription())
+                    .color(board.getColor())
+                    .ownerId(board.getOwner() != null ? board.getOwner().getId() : null)
+                    .ownerUsername(board.getOwner() != null ? board.getOwner().getUsername() : null)
+                    .archived(board.getArchived())
+                    .createdAt(board.getCreatedAt())
+                    .updatedAt(board.getUpdatedAt())
+                    .build();
+            dto.setLists(board.getLists().stream()
+                    .map(LegacyConversion::toListDTO)
+                    .collect(Collectors.toList()));
+            return dto;
+        }
+
+        static ListDTO toListDTO(BoardList list) {
+            List<CardDTO> cardDTOs = list.getCards().stream()
+                    .map(LegacyConversion::toCardDTO)
+                    .collect(Collectors.toList());
+
+            return ListDTO.builder()
+                    .id(list.getId())
+                    .name(list.getName())
+                    .boardId(list.getBoard().getId())
+                    .position(list.getPosition())
+                    .cards(cardDTOs)
+                    .createdAt(list.getCreatedAt())
+                    .updatedAt(list.getUpdatedAt())
+                    .build();
+        }
+
+        static CardDTO toCardDTO(Card card) {
+            return CardDTO.builder()
+                    .id(card.getId())
+                    .title(card.getTitle())
+                    .description(card.getDescription())
+                    .listId(card.getList().getId())
+                    .listName(card.getList().getName())
+                    .position(card.getPosition())
+                    .assignedToId(card.getAssignedTo() != null ? card.getAssignedTo().getId() : null)
+                    .assignedToUsername(card.getAssignedTo() != null ? card.getAssignedTo().getUsername() : null)
+                    .assignedToFullName(card.getAssignedTo() != null ? card.getAssignedTo().getFullName() : null)
+                    .priority(card.getPriority())
+                    .dueDate(card.getDueDate())
+                    .createdAt(card.getCreatedAt())
+                    .updatedAt(card.getUpdatedAt())
+                    .version(card.getVersion())
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.taskboard.mapper;
+
+import com.taskboard.model.entity.Board;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * JMH benchmark of mapping and serializing a whole board in the nested format of
+ * {@code GET /api/v1/boards/{id}} against the normalized format. The sizes of both payloads,
+ * raw and gzipped, are logged before the run.
+ * <p>
+ * Not part of the regular build (the class name does not match the surefire includes).
+ * Run it explicitly:
+ * <pre>
+ * mvn test -Dtest=NormalizedBoardBenchmark -Dbenchmark.profiler=gc
+ * </pre>
+ */
+@Slf4j
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NormalizedBoardBenchmark {
+
+    @Param({"5000"})
+    public int cards;
+
+    @Param({"10"})
+    public int lists;
+
+    private final TaskBoardMapper mapper = new TaskBoardMapperImpl();
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private Board board;
+
+    @Setup
+    public void setUp() {
+        board = DtoMappingBenchmark.board(lists, cards);
+    }
+
+    @Benchmark
+    public byte[] nested() {
+        return jsonMapper.writeValueAsBytes(mapper.toBoardDTOWithDetails(board));
+    }
+
+    @Benchmark
+    public byte[] normalized() {
+        return jsonMapper.writeValueAsBytes(mapper.toNormalizedBoardDTO(board));
+    }
+
+    @Test
+    void run() throws RunnerException, IOException {
+        board = DtoMappingBenchmark.board(10, 5000);
+        byte[] nested = nested();
+        byte[] normalized = normalized();
+        log.info("Board of 5000 cards: nested {} KB ({} KB gzipped), normalized {} KB ({} KB gzipped)",
+                nested.length / 1024, gzip(nested).length / 1024,
+                normalized.length / 1024, gzip(normalized).length / 1024);
+        assertThat(normalized.length).isLessThan(nested.length);
+
+        OptionsBuilder options = new OptionsBuilder();
+        options.include(NormalizedBoardBenchmark.class.getSimpleName());
+        String profiler = System.getProperty("benchmark.profiler");
+        if (profiler != null && !profiler.isBlank()) {
+            options.addProfiler(profiler);
+        }
+        new Runner(options.build()).run();
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,53 @@
+package com.taskboard.mapper;
+
+import com.taskboard.model.dto.BoardDTO;
+import com.taskboard.model.dto.CardDTO;
+import com.taskboard.model.dto.ListDTO;
+import com.taskboard.model.dto.NormalizedBoardDTO;
+import com.taskboard.model.dto.NormalizedListDTO;
+import com.taskboard.model.entity.Board;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskBoardMapperTest {
+
+    private final TaskBoardMapper mapper = new TaskBoardMapperImpl();
+
+    @Test
+    void toNormalizedBoardDTO_ShouldKeepCardOrderAndListEachUserOnce() {
+        Board board = DtoMappingBenchmark.board(3, 30);
+
+        BoardDTO nested = mapper.toBoardDTOWithDetails(board);
+        NormalizedBoardDTO normalized = mapper.toNormalizedBoardDTO(board);
+
+        assertThat(normalized.getName()).isEqualTo(nested.getName());
+        assertThat(normalized.getOwnerId()).isEqualTo(nested.getOwnerId());
+        assertThat(normalized.getLists()).extracting(NormalizedListDTO::getId)
+                .containsExactlyElementsOf(nested.getLists().stream().map(ListDTO::getId).toList());
+        for (int l = 0; l < nested.getLists().size(); l++) {
+            List<CardDTO> cards = nested.getLists().get(l).getCards();
+            assertThat(normalized.getLists().get(l).getCardIds())
+                    .containsExactlyElementsOf(cards.stream().map(CardDTO::getId).toList());
+            for (CardDTO card : cards) {
+                assertThat(normalized.getCards().get(card.getId()).getAssignedToId()).isEqualTo(card.getAssignedToId());
+                if (card.getAssignedToId() != null) {
+                    assertThat(normalized.getUsers().get(card.getAssignedToId()).getUsername())
+                            .isEqualTo(card.getAssignedToUsername());
+                }
+            }
+        }
+        assertThat(normalized.getCards()).hasSize(30);
+        // Owner plus the assignees, each once
+        Set<Long> userIds = new HashSet<>();
+        userIds.add(nested.getOwnerId());
+        nested.getLists().forEach(list -> list.getCards().stream()
+                .map(CardDTO::getAssignedToId).filter(Objects::nonNull).forEach(userIds::add));
+        assertThat(normalized.getUsers().keySet()).isEqualTo(userIds);
+    }
+}
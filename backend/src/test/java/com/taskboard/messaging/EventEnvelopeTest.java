@@ -0,0 +1,36 @@
+package com.taskboard.messaging;
+
+import com.taskboard.model.event.EventType;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.MessageProperties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EventEnvelopeTest {
+
+    @Test
+    void writeAndRead_ShouldRoundTripThroughMessageHeaders() {
+        EventEnvelope envelope = EventEnvelope.builder()
+                .type(EventType.CARD_MOVED)
+                .version(1)
+                .boardId(42L)
+                .sequence(7L)
+                .build();
+
+        MessageProperties properties = new MessageProperties();
+        envelope.writeTo(properties);
+
+        assertThat(properties.getType()).isEqualTo("card.moved");
+        assertThat(EventEnvelope.readFrom(properties)).isEqualTo(envelope);
+    }
+
+    @Test
+    void readFrom_WithUnknownType_ShouldThrow() {
+        MessageProperties properties = new MessageProperties();
+        properties.setType("card.exploded");
+
+        assertThatThrownBy(() -> EventEnvelope.readFrom(properties))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,88 @@
+package com.taskboard.messaging.codec;
+
+import com.taskboard.model.entity.Priority;
+import com.taskboard.model.event.BoardCreatedEvent;
+import com.taskboard.model.event.CardCreatedEvent;
+import com.taskboard.model.event.CardMovedEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.JacksonJsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventMessageConverterTest {
+
+    private static final LocalDateTime TIMESTAMP = LocalDateTime.of(2025, 3, 14, 9, 26, 53, 589_000_000);
+
+    private final MessageConverter json = new JacksonJsonMessageConverter("com.taskboard.model.event", "java.util", "java.time");
+    private final EventMessageConverter compactConverter = new EventMessageConverter(json, EventEncoding.COMPACT);
+    private final EventMessageConverter jsonConverter = new EventMessageConverter(json, EventEncoding.JSON);
+
+    @Test
+    void compactCardMoved_ShouldRoundTripWithoutNames() {
+        Message message = compactConverter.toMessage(cardMovedEvent(), new MessageProperties());
+
+        assertThat(message.getMessageProperties().getContentType()).isEqualTo(CompactEventCodec.CONTENT_TYPE);
+        CardMovedEvent decoded = (CardMovedEvent) compactConverter.fromMessage(message);
+
+        CardMovedEvent expected = cardMovedEvent();
+        expected.setBoardName(null);
+        expected.setFromListName(null);
+        expected.setToListName(null);
+        expected.setMovedByUsername(null);
+        assertThat(decoded).isEqualTo(expected);
+    }
+
+    @Test
+    void compactCardMoved_ShouldBeMuchSmallerThanJson() {
+        int compactSize = compactConverter.toMessage(cardMovedEvent(), new MessageProperties()).getBody().length;
+        int jsonSize = jsonConverter.toMessage(cardMovedEvent(), new MessageProperties()).getBody().length;
+
+        assertThat(compactSize).isLessThan(jsonSize / 3);
+    }
+
+    @Test
+    void compactCardCreatedAndBoardCreated_ShouldRoundTrip() {
+        CardCreatedEvent cardCreated = CardCreatedEvent.builder()
+                .cardId(5L).cardTitle("Write docs").boardId(1L).listId(2L)
+                .priority(Priority.HIGH).createdByUserId(9L).timestamp(TIMESTAMP)
+                .build();
+        BoardCreatedEvent boardCreated = BoardCreatedEvent.builder()
+                .boardId(1L).boardName("Roadmap").color("#3498db").createdByUserId(9L).timestamp(TIMESTAMP)
+                .build();
+
+        assertThat(compactConverter.fromMessage(compactConverter.toMessage(cardCreated, new MessageProperties())))
+                .isEqualTo(cardCreated);
+        assertThat(compactConverter.fromMessage(compactConverter.toMessage(boardCreated, new MessageProperties())))
+                .isEqualTo(boardCreated);
+    }
+
+    @Test
+    void compactConsumer_ShouldStillReadJsonMessages() {
+        Message message = jsonConverter.toMessage(cardMovedEvent(), new MessageProperties());
+
+        assertThat(compactConverter.fromMessage(message)).isEqualTo(cardMovedEvent());
+    }
+
+    private static CardMovedEvent cardMovedEvent() {
+        return CardMovedEvent.builder()
+                .cardId(101L)
+                .cardTitle("Fix login redirect")
+                .boardId(1L)
+                .boardName("Platform Team Sprint Board")
+                .fromListId(10L)
+                .fromListName("In Progress")
+                .fromPosition(3)
+                .toListId(11L)
+                .toListName("Ready for Review")
+                .toPosition(0)
+                .movedByUserId(7L)
+                .movedByUsername("jane.doe")
+                .timestamp(TIMESTAMP)
+                .build();
+    }
+}
@@ -0,0 +1,161 @@
+package com.taskboard.messaging.consumer;
+
+import com.taskboard.messaging.notification.NotificationDigestService;
+import com.taskboard.messaging.notification.NotificationRecipientResolver;
+import com.taskboard.messaging.notification.RecordingNotificationChannel;
+import com.taskboard.messaging.ordering.OrderedEventDispatcher;
+import com.taskboard.model.dto.NotificationDigestDTO;
+import com.taskboard.model.entity.Priority;
+import com.taskboard.model.event.CardCreatedEvent;
+import com.taskboard.model.event.CardMovedEvent;
+import com.taskboard.repository.BoardRepository;
+import com.taskboard.repository.CardRepository;
+import com.taskboard.repository.ListRepository;
+import com.taskboard.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationConsumerTest {
+
+    private static final long BOARD_ID = 1L;
+    private static final long MOVER_ID = 10L;
+    private static final long OWNER_ID = 20L;
+    private static final long ASSIGNEE_ID = 30L;
+
+    @Mock
+    private NotificationRecipientResolver recipientResolver;
+
+    @Mock
+    private BoardRepository boardRepository;
+
+    @Mock
+    private ListRepository listRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private CardRepository cardRepository;
+
+    @Mock
+    private OrderedEventDispatcher orderedEvents;
+
+    private RecordingNotificationChannel channel;
+    private NotificationDigestService digestService;
+    private NotificationConsumer consumer;
+
+    @BeforeEach
+    void setUp() {
+        channel = new RecordingNotificationChannel();
+        digestService = new NotificationDigestService(channel);
+        consumer = new NotificationConsumer(recipientResolver, digestService,
+                new EventNameCache(boardRepository, listRepository, userRepository, 100, 60), orderedEvents);
+    }
+
+    @Test
+    void bulkMoves_ShouldDeliverOneDigestPerRecipient() {
+        when(recipientResolver.resolveForCard(eq(BOARD_ID), anyLong(), eq(MOVER_ID)))
+                .thenReturn(new LinkedHashSet<>(List.of(OWNER_ID, ASSIGNEE_ID)));
+
+        // 50 cards, each dragged 10 times
+        for (int round = 0; round < 10; round++) {
+            for (long cardId = 1; cardId <= 50; cardId++) {
+                consumer.handleCardMovedEvent(movedEvent(cardId, "Todo", "Done"));
+            }
+        }
+        digestService.flush();
+
+        assertThat(channel.totalDeliveries()).isEqualTo(2);
+        NotificationDigestDTO ownerDigest = channel.deliveriesFor(OWNER_ID).get(0);
+        assertThat(ownerDigest.getEventCount()).isEqualTo(500);
+        assertThat(ownerDigest.getItems()).hasSize(50);
+        assertThat(ownerDigest.getItems()).allSatisfy(item -> assertThat(item.getOccurrences()).isEqualTo(10));
+        assertThat(channel.deliveriesFor(ASSIGNEE_ID)).hasSize(1);
+        assertThat(digestService.getPendingRecipientCount()).isZero();
+    }
+
+    @Test
+    void moveByOnlyInterestedUser_ShouldNotDeliverAnything() {
+        when(recipientResolver.resolveForCard(BOARD_ID, 1L, MOVER_ID)).thenReturn(Set.of());
+
+        consumer.handleCardMovedEvent(movedEvent(1L, "Todo", "Done"));
+        digestService.flush();
+
+        assertThat(channel.totalDeliveries()).isZero();
+    }
+
+    @Test
+    void eventsAfterFlush_ShouldStartNewDigest() {
+        when(recipientResolver.resolveForCard(eq(BOARD_ID), anyLong(), eq(MOVER_ID)))
+                .thenReturn(new LinkedHashSet<>(List.of(OWNER_ID)));
+
+        consumer.handleCardMovedEvent(movedEvent(1L, "Todo", "In Progress"));
+        digestService.flush();
+        consumer.handleCardMovedEvent(movedEvent(1L, "In Progress", "Done"));
+        digestService.flush();
+
+        List<NotificationDigestDTO> digests = channel.deliveriesFor(OWNER_ID);
+        assertThat(digests).hasSize(2);
+        assertThat(digests.get(1).getItems().get(0).getMessage()).contains("'In Progress' to 'Done'");
+    }
+
+    @Test
+    void cardCreatedForAnotherUser_ShouldNotifyTheAssigneeOfTheCreator() {
+        // The board owner creates a card assigned to someone else; recipients resolved as in production
+        consumer = new NotificationConsumer(new NotificationRecipientResolver(boardRepository, cardRepository),
+                digestService, new EventNameCache(boardRepository, listRepository, userRepository, 100, 60),
+                orderedEvents);
+        when(boardRepository.findOwnerIdById(BOARD_ID)).thenReturn(Optional.of(MOVER_ID));
+        when(cardRepository.findAssigneeIdById(1L)).thenReturn(Optional.of(ASSIGNEE_ID));
+
+        consumer.handleCardCreatedEvent(CardCreatedEvent.builder()
+                .cardId(1L)
+                .cardTitle("Card 1")
+                .boardId(BOARD_ID)
+                .boardName("Board")
+                .listId(1L)
+                .listName("Todo")
+                .priority(Priority.HIGH)
+                .createdByUserId(MOVER_ID)
+                .createdByUsername("creator")
+                .timestamp(LocalDateTime.now())
+                .build());
+        digestService.flush();
+
+        assertThat(channel.totalDeliveries()).isEqualTo(1);
+        NotificationDigestDTO digest = channel.deliveriesFor(ASSIGNEE_ID).get(0);
+        assertThat(digest.getItems().get(0).getActorUserId()).isEqualTo(MOVER_ID);
+        assertThat(digest.getItems().get(0).getActorUsername()).isEqualTo("creator");
+    }
+
+    private CardMovedEvent movedEvent(long cardId, String from, String to) {
+        return CardMovedEvent.builder()
+                .cardId(cardId)
+                .cardTitle("Card " + cardId)
+                .boardId(BOARD_ID)
+                .boardName("Board")
+                .fromListId(1L)
+                .fromListName(from)
+                .toListId(2L)
+                .toListName(to)
+                .movedByUserId(MOVER_ID)
+                .movedByUsername("mover")
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,30 @@
+package com.taskboard.messaging.notification;
+
+import com.taskboard.model.dto.NotificationDigestDTO;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * In-process notification channel for tests.
+ * Records every delivered digest instead of pushing it over WebSocket.
+ */
+public class RecordingNotificationChannel implements NotificationChannel {
+
+    private final Map<Long, List<NotificationDigestDTO>> deliveries = new ConcurrentHashMap<>();
+
+    @Override
+    public void deliver(Long recipientUserId, NotificationDigestDTO digest) {
+        deliveries.computeIfAbsent(recipientUserId, id -> new CopyOnWriteArrayList<>()).add(digest);
+    }
+
+    public List<NotificationDigestDTO> deliveriesFor(Long recipientUserId) {
+        return deliveries.getOrDefault(recipientUserId, List.of());
+    }
+
+    public int totalDeliveries() {
+        return deliveries.values().stream().mapToInt(List::size).sum();
+    }
+}
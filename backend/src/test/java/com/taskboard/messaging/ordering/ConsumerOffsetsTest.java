@@ -0,0 +1,82 @@
+package com.taskboard.messaging.ordering;
+
+import com.taskboard.model.entity.EventLogEntry;
+import com.taskboard.repository.EventLogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ConsumerOffsetsTest {
+
+    private static final Duration WINDOW = Duration.ofHours(1);
+
+    @Autowired
+    private ConsumerOffsets offsets;
+
+    @Autowired
+    private EventLogRepository eventLogRepository;
+
+    private String group;
+    private long boardId;
+
+    @BeforeEach
+    void setUp() {
+        group = "group-" + System.nanoTime();
+        boardId = ThreadLocalRandom.current().nextLong(1_000_000, Long.MAX_VALUE);
+        for (long sequence = 1; sequence <= 3; sequence++) {
+            eventLogRepository.save(EventLogEntry.builder()
+                    .boardId(boardId)
+                    .sequence(sequence)
+                    .eventType("card.moved")
+                    .payload("{}")
+                    .build());
+        }
+    }
+
+    @Test
+    void handled_ShouldOnlyMoveTheOffsetForward() {
+        assertThat(offsets.lastHandled(group, boardId)).isZero();
+
+        offsets.handled(group, boardId, 2);
+        offsets.handled(group, boardId, 1);
+
+        assertThat(offsets.lastHandled(group, boardId)).isEqualTo(2);
+        assertThat(offsets.lastHandled("other-" + group, boardId)).isZero();
+    }
+
+    @Test
+    void boardsBehind_ShouldListBoardsWithEventsTheGroupHasNotHandled() {
+        assertThat(behind(Duration.ZERO)).containsEntry(boardId, 3L);
+        // Events within the quiet period are left to the live consumers
+        assertThat(behind(Duration.ofMinutes(1))).doesNotContainKey(boardId);
+
+        offsets.handled(group, boardId, 2);
+        assertThat(behind(Duration.ZERO)).containsEntry(boardId, 3L);
+
+        offsets.handled(group, boardId, 3);
+        assertThat(behind(Duration.ZERO)).doesNotContainKey(boardId);
+    }
+
+    @Test
+    void claim_ShouldSucceedOnlyFromTheExpectedOffset() {
+        assertThat(offsets.claim(group, boardId, 0, 2)).isTrue();
+        assertThat(offsets.claim(group, boardId, 0, 3)).isFalse();
+        assertThat(offsets.claim(group, boardId, 2, 3)).isTrue();
+
+        assertThat(offsets.lastHandled(group, boardId)).isEqualTo(3);
+    }
+
+    private Map<Long, Long> behind(Duration quiet) {
+        return offsets.boardsBehind(group, WINDOW, quiet, 10_000);
+    }
+}
@@ -0,0 +1,264 @@
+package com.taskboard.messaging.ordering;
+
+import com.taskboard.messaging.EventEnvelope;
+import com.taskboard.model.event.CardMovedEvent;
+import com.taskboard.model.event.EventType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OrderedEventBufferTest {
+
+    private static final long BOARD_ID = 1L;
+
+    @Mock
+    private EventLog eventLog;
+
+    @Mock
+    private ConsumerOffsets offsets;
+
+    private MutableClock clock;
+    private List<Long> handled;
+    private OrderedEventBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock();
+        handled = new CopyOnWriteArrayList<>();
+        buffer = new OrderedEventBuffer("test", event -> handled.add(event.sequence()), eventLog,
+                offsets, 16, Duration.ofSeconds(2), Duration.ofMinutes(10), clock);
+    }
+
+    @Test
+    void outOfOrderEvents_ShouldBeHandledInSequence() {
+        buffer.accept(event(1));
+        buffer.accept(event(3));
+        buffer.accept(event(4));
+
+        assertThat(handled).containsExactly(1L);
+        assertThat(buffer.getBufferedCount()).isEqualTo(2);
+
+        buffer.accept(event(2));
+
+        assertThat(handled).containsExactly(1L, 2L, 3L, 4L);
+        assertThat(buffer.getBufferedCount()).isZero();
+        verifyNoInteractions(eventLog);
+    }
+
+    @Test
+    void redeliveredEvents_ShouldBeDropped() {
+        buffer.accept(event(1));
+        buffer.accept(event(2));
+        buffer.accept(event(2));
+        buffer.accept(event(1));
+
+        assertThat(handled).containsExactly(1L, 2L);
+        assertThat(buffer.getDuplicatesDropped()).isEqualTo(2);
+    }
+
+    @Test
+    void gapOlderThanTimeout_ShouldBeReplayedFromEventLog() {
+        when(eventLog.replay(BOARD_ID, 2L, 3L)).thenReturn(List.of(event(2), event(3)));
+
+        buffer.accept(event(1));
+        buffer.accept(event(4));
+        buffer.sweep();
+        assertThat(handled).containsExactly(1L);
+
+        clock.advance(Duration.ofSeconds(3));
+        buffer.sweep();
+
+        assertThat(handled).containsExactly(1L, 2L, 3L, 4L);
+        assertThat(buffer.getEventsReplayed()).isEqualTo(2);
+    }
+
+    @Test
+    void sequencesMissingFromEventLog_ShouldBeSkipped() {
+        when(eventLog.replay(BOARD_ID, 2L, 2L)).thenReturn(List.of());
+
+        buffer.accept(event(1));
+        buffer.accept(event(3));
+        clock.advance(Duration.ofSeconds(3));
+        buffer.sweep();
+
+        assertThat(handled).containsExactly(1L, 3L);
+        assertThat(buffer.getSequencesSkipped()).isEqualTo(1);
+    }
+
+    @Test
+    void tooManyHeldBackEvents_ShouldTriggerReplayWithoutWaiting() {
+        when(eventLog.replay(BOARD_ID, 2L, 2L)).thenReturn(List.of(event(2)));
+
+        buffer.accept(event(1));
+        for (long sequence = 3; sequence <= 19; sequence++) {
+            buffer.accept(event(sequence));
+        }
+
+        assertThat(handled).hasSize(19).isSorted();
+    }
+
+    @Test
+    void failingHandler_ShouldRethrowAndKeepSequenceOpenForRedelivery() {
+        List<Long> seen = new ArrayList<>();
+        boolean[] fail = {true};
+        OrderedEventBuffer failing = new OrderedEventBuffer("test", event -> {
+            if (event.sequence() == 2 && fail[0]) {
+                throw new IllegalStateException("boom");
+            }
+            seen.add(event.sequence());
+        }, eventLog, offsets, 16, Duration.ofSeconds(2), Duration.ofMinutes(10), clock);
+
+        failing.accept(event(1));
+        assertThatThrownBy(() -> failing.accept(event(2))).isInstanceOf(IllegalStateException.class);
+        failing.accept(event(3));
+        assertThat(seen).containsExactly(1L);
+
+        fail[0] = false;
+        failing.accept(event(2));
+
+        assertThat(seen).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void concurrentShuffledDelivery_ShouldKeepEachBoardInOrder() throws Exception {
+        Map<Long, List<Long>> perBoard = new ConcurrentHashMap<>();
+        OrderedEventBuffer concurrent = new OrderedEventBuffer("test",
+                event -> perBoard.computeIfAbsent(event.boardId(), id -> new CopyOnWriteArrayList<>()).add(event.sequence()),
+                eventLog, offsets, 10_000, Duration.ofSeconds(2), Duration.ofMinutes(10), clock);
+
+        List<SequencedEvent> events = new ArrayList<>();
+        for (long boardId = 1; boardId <= 8; boardId++) {
+            for (long sequence = 1; sequence <= 500; sequence++) {
+                events.add(event(boardId, sequence));
+            }
+        }
+        Collections.shuffle(events);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        events.forEach(event -> executor.submit(() -> concurrent.accept(event)));
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(perBoard).hasSize(8);
+        perBoard.values().forEach(sequences -> assertThat(sequences).hasSize(500).isSorted());
+    }
+
+    @Test
+    void lowerSequenceArrivingAfterStartup_ShouldBeHandledNotDropped() {
+        // Nothing handled yet; the first events to arrive are not the first of the board
+        buffer.accept(event(3));
+        buffer.accept(event(2));
+        assertThat(handled).isEmpty();
+
+        buffer.accept(event(1));
+
+        assertThat(handled).containsExactly(1L, 2L, 3L);
+        assertThat(buffer.getDuplicatesDropped()).isZero();
+        verify(offsets).handled("test", BOARD_ID, 3L);
+    }
+
+    @Test
+    void persistedOffset_ShouldBeWhereTheBoardStarts() {
+        when(offsets.lastHandled("test", BOARD_ID)).thenReturn(5L);
+
+        buffer.accept(event(4));
+        buffer.accept(event(6));
+
+        assertThat(handled).containsExactly(6L);
+        assertThat(buffer.getDuplicatesDropped()).isEqualTo(1);
+    }
+
+    @Test
+    void gapAfterBoardWasHandledElsewhere_ShouldMoveOnFromThePersistedOffset() {
+        when(offsets.lastHandled("test", BOARD_ID)).thenReturn(0L, 5L);
+        buffer.accept(event(1));
+
+        // Another consumer of the group had the board's queue in between and handled 2..5
+        buffer.accept(event(7));
+        buffer.accept(event(3));
+        buffer.accept(event(6));
+
+        assertThat(handled).containsExactly(1L, 6L, 7L);
+        verifyNoInteractions(eventLog);
+    }
+
+    @Test
+    void catchUp_ShouldReplayWhatTheGroupHasNotHandledOnceClaimed() {
+        when(offsets.lastHandled("test", BOARD_ID)).thenReturn(2L);
+        when(offsets.claim("test", BOARD_ID, 2L, 4L)).thenReturn(true, false);
+        when(eventLog.replay(BOARD_ID, 3L, 4L)).thenReturn(List.of(event(3), event(4)));
+
+        buffer.catchUp(BOARD_ID, 4L);
+
+        assertThat(handled).containsExactly(3L, 4L);
+
+        // Claimed by another instance
+        OrderedEventBuffer other = new OrderedEventBuffer("test", event -> handled.add(event.sequence()), eventLog,
+                offsets, 16, Duration.ofSeconds(2), Duration.ofMinutes(10), clock);
+        other.catchUp(BOARD_ID, 4L);
+
+        assertThat(handled).containsExactly(3L, 4L);
+    }
+
+    private static SequencedEvent event(long sequence) {
+        return event(BOARD_ID, sequence);
+    }
+
+    private static SequencedEvent event(long boardId, long sequence) {
+        EventEnvelope envelope = EventEnvelope.builder()
+                .type(EventType.CARD_MOVED)
+                .version(1)
+                .boardId(boardId)
+                .sequence(sequence)
+                .build();
+        return new SequencedEvent(envelope, CardMovedEvent.builder().boardId(boardId).build());
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.taskboard.messaging.producer;
+
+import com.taskboard.config.RabbitMQConfig;
+import com.taskboard.messaging.EventEnvelope;
+import com.taskboard.model.entity.Board;
+import com.taskboard.model.entity.EventLogEntry;
+import com.taskboard.model.event.CardCreatedEvent;
+import com.taskboard.model.event.CardMovedEvent;
+import com.taskboard.repository.BoardRepository;
+import com.taskboard.repository.EventLogRepository;
+import com.taskboard.support.QueryCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessagePostProcessor;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(properties = {
+        QueryCounter.PROPERTY,
+        "taskboard.events.relay.sweep-ms=3600000",
+        "taskboard.events.relay.resend-after-ms=0"
+})
+@ActiveProfiles("test")
+class EventRelayTest {
+
+    @Autowired
+    private EventPublisher eventPublisher;
+
+    @Autowired
+    private EventRelay eventRelay;
+
+    @Autowired
+    private BoardRepository boardRepository;
+
+    @Autowired
+    private EventLogRepository eventLogRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @MockitoBean
+    private RabbitTemplate rabbitTemplate;
+
+    private Board board;
+
+    @BeforeEach
+    void setUp() {
+        board = boardRepository.save(Board.builder().name("Relay Board").archived(false).build());
+    }
+
+    @Test
+    void committedEvents_ShouldBeNumberedAfterCommitAndSentInOrder() {
+        AtomicReference<List<String>> statements = new AtomicReference<>();
+        transactionTemplate.executeWithoutResult(status -> statements.set(QueryCounter.statementsOf(() -> {
+            eventPublisher.publishCardCreated(CardCreatedEvent.builder().cardId(1L).boardId(board.getId()).build());
+            eventPublisher.publishCardMoved(CardMovedEvent.builder().cardId(1L).boardId(board.getId()).build());
+        })));
+
+        // The writing transaction only inserts its events; the counter row is left to the relay
+        assertThat(statements.get()).noneMatch(sql -> sql.toLowerCase().contains("board_event_sequences"));
+        assertThat(sentSequences(2)).containsExactly(1L, 2L);
+        assertThat(awaitPublished()).extracting(EventLogEntry::getSequence).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    void rolledBackEvents_ShouldNeverBeSent() {
+        transactionTemplate.executeWithoutResult(status -> {
+            eventPublisher.publishCardMoved(CardMovedEvent.builder().cardId(1L).boardId(board.getId()).build());
+            status.setRollbackOnly();
+        });
+        eventRelay.sweep();
+        eventPublisher.publishCardMoved(CardMovedEvent.builder().cardId(2L).boardId(board.getId()).build());
+
+        assertThat(sentSequences(1)).containsExactly(1L);
+        assertThat(awaitPublished()).hasSize(1);
+    }
+
+    @Test
+    void failedSend_ShouldBeSentAgainBySweep() {
+        doThrow(new AmqpException("broker down")).doNothing()
+                .when(rabbitTemplate).convertAndSend(anyString(), anyString(), any(Object.class),
+                        any(MessagePostProcessor.class));
+
+        eventPublisher.publishCardMoved(CardMovedEvent.builder().cardId(1L).boardId(board.getId()).build());
+        verify(rabbitTemplate, timeout(5000)).convertAndSend(anyString(), anyString(), any(Object.class),
+                any(MessagePostProcessor.class));
+        assertThat(logOfBoard().get(0).getPublishedAt()).isNull();
+
+        eventRelay.sweep();
+
+        assertThat(sentSequences(2)).containsExactly(1L, 1L);
+        assertThat(awaitPublished()).hasSize(1);
+    }
+
+    /**
+     * Wait for {@code count} sends of the board's events and return their sequences in the order sent.
+     */
+    private List<Long> sentSequences(int count) {
+        ArgumentCaptor<String> routingKeys = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<MessagePostProcessor> postProcessors = ArgumentCaptor.forClass(MessagePostProcessor.class);
+        verify(rabbitTemplate, timeout(5000).times(count)).convertAndSend(eq("taskboard.events"),
+                routingKeys.capture(), any(Object.class), postProcessors.capture());
+        verify(rabbitTemplate, never()).convertAndSend(anyString(), anyString(), any(Object.class));
+        // Routed to the shard queue of the board
+        assertThat(routingKeys.getAllValues())
+                .allSatisfy(key -> assertThat(key).endsWith("." + RabbitMQConfig.shardOf(board.getId(), 8)));
+        return postProcessors.getAllValues().stream()
+                .map(postProcessor -> {
+                    MessageProperties properties = postProcessor
+                            .postProcessMessage(new Message(new byte[0], new MessageProperties()))
+                            .getMessageProperties();
+                    assertThat(EventEnvelope.readFrom(properties).getBoardId()).isEqualTo(board.getId());
+                    return EventEnvelope.readFrom(properties).getSequence();
+                })
+                .toList();
+    }
+
+    private List<EventLogEntry> logOfBoard() {
+        return eventLogRepository.findAll().stream()
+                .filter(entry -> entry.getBoardId().equals(board.getId()))
+                .toList();
+    }
+
+    /**
+     * Wait for the relay to mark the board's events published (right after sending them) and return them.
+     */
+    private List<EventLogEntry> awaitPublished() {
+        long deadline = System.currentTimeMillis() + 5000;
+        List<EventLogEntry> entries = logOfBoard();
+        while (entries.stream().anyMatch(entry -> entry.getPublishedAt() == null)
+                && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+            entries = logOfBoard();
+        }
+        assertThat(entries).allSatisfy(entry -> assertThat(entry.getPublishedAt()).isNotNull());
+        return entries;
+    }
+}
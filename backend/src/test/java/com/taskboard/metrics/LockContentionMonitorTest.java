@@ -0,0 +1,56 @@
+package com.taskboard.metrics;
+
+import com.taskboard.model.dto.LockContentionDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LockContentionMonitorTest {
+
+    private static final int MAX_TRACKED_ROWS = 100;
+    private static final long HOT_LIST_ID = 0L;
+
+    private final LockContentionMonitor monitor = new LockContentionMonitor(new SimpleMeterRegistry(), MAX_TRACKED_ROWS);
+
+    @Test
+    void manyOneOffRows_ShouldStayBoundedAndKeepTheContendedRow() {
+        for (long id = 1; id <= 5_000; id++) {
+            monitor.record(LockTarget.LIST, id, TimeUnit.MICROSECONDS.toNanos(10), true);
+            if (id % 10 == 0) {
+                monitor.record(LockTarget.LIST, HOT_LIST_ID, TimeUnit.MILLISECONDS.toNanos(5), true);
+            }
+        }
+
+        List<LockContentionDTO> hottest = awaitBounded();
+        assertThat(hottest.get(0).getId()).isEqualTo(HOT_LIST_ID);
+        // It may be evicted while still new, but once recorded often it stays
+        assertThat(hottest.get(0).getAcquisitions()).isGreaterThan(400);
+    }
+
+    @Test
+    void reset_ShouldForgetAllRows() {
+        monitor.record(LockTarget.BOARD, 1L, 1_000, false);
+
+        monitor.reset();
+
+        assertThat(monitor.getHottest(LockTarget.BOARD, 10)).isEmpty();
+    }
+
+    /**
+     * Eviction runs in the background; wait for it to bring the rows back under the bound.
+     */
+    private List<LockContentionDTO> awaitBounded() {
+        long deadline = System.currentTimeMillis() + 5000;
+        List<LockContentionDTO> rows = monitor.getHottest(LockTarget.LIST, Integer.MAX_VALUE);
+        while (rows.size() > MAX_TRACKED_ROWS && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+            rows = monitor.getHottest(LockTarget.LIST, Integer.MAX_VALUE);
+        }
+        assertThat(rows).hasSizeLessThanOrEqualTo(MAX_TRACKED_ROWS);
+        return rows;
+    }
+}
@@ -0,0 +1,41 @@
+package com.taskboard.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PhaseTimersTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final PhaseTimers phaseTimers = new PhaseTimers(registry);
+
+    @Test
+    void constructor_ShouldRegisterOneTimerPerPhase() {
+        assertThat(registry.find(PhaseTimers.METRIC_NAME).timers()).hasSize(ServicePhase.values().length);
+
+        Timer lockTimer = registry.get(PhaseTimers.METRIC_NAME)
+                .tag("operation", "card.move")
+                .tag("phase", "lock")
+                .timer();
+        assertThat(lockTimer).isSameAs(phaseTimers.timer(ServicePhase.CARD_MOVE_LOCK));
+    }
+
+    @Test
+    void lap_ShouldRecordElapsedTimeAndReturnNextPhaseStart() throws InterruptedException {
+        long start = phaseTimers.start();
+        Thread.sleep(5);
+        long lap = phaseTimers.lap(ServicePhase.CARD_MOVE_LOCK, start);
+        phaseTimers.lap(ServicePhase.CARD_MOVE_TOTAL, start);
+
+        Timer lock = phaseTimers.timer(ServicePhase.CARD_MOVE_LOCK);
+        Timer total = phaseTimers.timer(ServicePhase.CARD_MOVE_TOTAL);
+        assertThat(lap).isGreaterThan(start);
+        assertThat(lock.count()).isEqualTo(1);
+        assertThat(lock.totalTime(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(5);
+        assertThat(total.totalTime(TimeUnit.NANOSECONDS)).isGreaterThanOrEqualTo(lock.totalTime(TimeUnit.NANOSECONDS));
+    }
+}
@@ -0,0 +1,145 @@
+package com.taskboard.ratelimit;
+
+import com.taskboard.exception.RateLimitedException;
+import com.taskboard.security.ResourceHierarchyCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RateLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ResourceHierarchyCache hierarchy = mock(ResourceHierarchyCache.class);
+    private final StringRedisTemplate redis = mock(StringRedisTemplate.class);
+
+    // Per user: 2 moves at once; per board: 3 at once; refilled slowly
+    private final MockEnvironment environment = new MockEnvironment()
+            .withProperty("taskboard.rate-limits.card-move.per-user.rate-per-second", "0.01")
+            .withProperty("taskboard.rate-limits.card-move.per-user.burst", "2")
+            .withProperty("taskboard.rate-limits.card-move.per-board.rate-per-second", "0.01")
+            .withProperty("taskboard.rate-limits.card-move.per-board.burst", "3");
+
+    @Test
+    void userOverTheirLimit_ShouldBeRejectedWithoutDrainingTheBoard() {
+        RateLimiter rateLimiter = rateLimiter(false);
+        rateLimiter.check(RateLimitedEndpoint.CARD_MOVE, 1L, 10L);
+        rateLimiter.check(RateLimitedEndpoint.CARD_MOVE, 1L, 10L);
+
+        assertThatThrownBy(() -> rateLimiter.check(RateLimitedEndpoint.CARD_MOVE, 1L, 10L))
+                .isInstanceOf(RateLimitedException.class)
+                .satisfies(e -> assertThat(((RateLimitedException) e).getRetryAfterSeconds()).isEqualTo(100));
+
+        // The board still has a token for someone else, then none
+        rateLimiter.check(RateLimitedEndpoint.CARD_MOVE, 2L, 10L);
+        assertThatThrownBy(() -> rateLimiter.check(RateLimitedEndpoint.CARD_MOVE, 3L, 10L))
+                .isInstanceOf(RateLimitedException.class);
+        // Other boards are not affected
+        rateLimiter.check(RateLimitedEndpoint.CARD_MOVE, 3L, 11L);
+
+        assertThat(requests("allowed")).isEqualTo(4);
+        assertThat(requests("user-limited")).isEqualTo(1);
+        assertThat(requests("board-limited")).isEqualTo(1);
+    }
+
+    @Test
+    void requestRejectedByTheBoard_ShouldNotCostTheUserAToken() {
+        RateLimiter rateLimiter = rateLimiter(false);
+        for (long user = 2; user <= 4; user++) {
+            rateLimiter.check(RateLimitedEndpoint.CARD_MOVE, user, 10L);
+        }
+
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> rateLimiter.check(RateLimitedEndpoint.CARD_MOVE, 1L, 10L))
+                    .isInstanceOf(RateLimitedException.class)
+                    .hasMessageContaining("board");
+        }
+
+        // Both of the user's tokens are left for another board
+        rateLimiter.check(RateLimitedEndpoint.CARD_MOVE, 1L, 11L);
+        rateLimiter.check(RateLimitedEndpoint.CARD_MOVE, 1L, 11L);
+        assertThatThrownBy(() -> rateLimiter.check(RateLimitedEndpoint.CARD_MOVE, 1L, 11L))
+                .isInstanceOf(RateLimitedException.class)
+                .hasMessageContaining("too fast");
+    }
+
+    @Test
+    void endpointWithoutLimits_ShouldAllowEverything() {
+        RateLimiter rateLimiter = rateLimiter(false);
+
+        for (int i = 0; i < 100; i++) {
+            rateLimiter.check(RateLimitedEndpoint.WS_CARD_MOVE, 1L, 10L);
+        }
+    }
+
+    @Test
+    void cardMove_ShouldBeLimitedOnTheCardsBoard() {
+        RateLimiter rateLimiter = rateLimiter(false);
+        when(hierarchy.boardIdOfCard(100L)).thenReturn(10L);
+        for (long user = 1; user <= 3; user++) {
+            rateLimiter.checkCard(RateLimitedEndpoint.CARD_MOVE, user, 100L);
+        }
+
+        assertThatThrownBy(() -> rateLimiter.check(RateLimitedEndpoint.CARD_MOVE, 4L, 10L))
+                .isInstanceOf(RateLimitedException.class);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void sharedMode_ShouldTakeTokensInRedisAndFallBackWhenItIsDown() {
+        RateLimiter rateLimiter = rateLimiter(true);
+        when(redis.execute(any(RedisScript.class), eq(List.of("taskboard:rate:card-move:user:1")), any(), any()))
+                .thenReturn(0L, 2_000_000L);
+        when(redis.execute(any(RedisScript.class), eq(List.of("taskboard:rate:card-move:board:10")), any(), any()))
+                .thenReturn(0L);
+
+        rateLimiter.check(RateLimitedEndpoint.CARD_MOVE, 1L, 10L);
+        // Interval and bucket size in microseconds: 100 s per token, 2 tokens
+        verify(redis).execute(any(RedisScript.class), eq(List.of("taskboard:rate:card-move:user:1")),
+                eq("100000000"), eq("200000000"));
+        verify(redis).execute(any(RedisScript.class), eq(List.of("taskboard:rate:card-move:board:10")),
+                eq("100000000"), eq("300000000"));
+        assertThatThrownBy(() -> rateLimiter.check(RateLimitedEndpoint.CARD_MOVE, 1L, 10L))
+                .isInstanceOf(RateLimitedException.class)
+                .satisfies(e -> assertThat(((RateLimitedException) e).getRetryAfterSeconds()).isEqualTo(2));
+
+        // Refused by the board: the user's token is given back
+        when(redis.execute(any(RedisScript.class), eq(List.of("taskboard:rate:card-move:user:3")), any(), any()))
+                .thenReturn(0L);
+        when(redis.execute(any(RedisScript.class), eq(List.of("taskboard:rate:card-move:board:10")), any(), any()))
+                .thenReturn(5_000_000L);
+        assertThatThrownBy(() -> rateLimiter.check(RateLimitedEndpoint.CARD_MOVE, 3L, 10L))
+                .isInstanceOf(RateLimitedException.class);
+        verify(redis).execute(any(RedisScript.class), eq(List.of("taskboard:rate:card-move:user:3")),
+                eq("100000000"));
+
+        when(redis.execute(any(RedisScript.class), anyList(), any(), any()))
+                .thenThrow(new RedisConnectionFailureException("down"));
+        rateLimiter.check(RateLimitedEndpoint.CARD_MOVE, 2L, 10L);
+        rateLimiter.check(RateLimitedEndpoint.CARD_MOVE, 2L, 10L);
+        assertThatThrownBy(() -> rateLimiter.check(RateLimitedEndpoint.CARD_MOVE, 2L, 10L))
+                .isInstanceOf(RateLimitedException.class);
+    }
+
+    private RateLimiter rateLimiter(boolean shared) {
+        return new RateLimiter(hierarchy, redis, environment, meterRegistry, shared, 1000, 300);
+    }
+
+    private double requests(String outcome) {
+        return meterRegistry.get("taskboard.rate_limit.requests")
+                .tag("endpoint", "card-move").tag("outcome", outcome).counter().count();
+    }
+}
@@ -0,0 +1,72 @@
+package com.taskboard.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void burst_ShouldBeTakenAtOnceThenRefillAtTheRate() {
+        // 10 per second, 3 at once
+        TokenBucket bucket = new TokenBucket(10, 3);
+        long now = 5 * SECOND;
+
+        assertThat(bucket.tryAcquire(now)).isZero();
+        assertThat(bucket.tryAcquire(now)).isZero();
+        assertThat(bucket.tryAcquire(now)).isZero();
+        assertThat(bucket.tryAcquire(now)).isEqualTo(SECOND / 10);
+
+        // One token back after 100 ms, not two
+        assertThat(bucket.tryAcquire(now + SECOND / 10)).isZero();
+        assertThat(bucket.tryAcquire(now + SECOND / 10)).isPositive();
+        // Full again, but never above the burst
+        for (int i = 0; i < 3; i++) {
+            assertThat(bucket.tryAcquire(now + 10 * SECOND)).isZero();
+        }
+        assertThat(bucket.tryAcquire(now + 10 * SECOND)).isPositive();
+    }
+
+    @Test
+    void concurrentCallers_ShouldTakeExactlyTheBurst() throws Exception {
+        // No refill within the test
+        TokenBucket bucket = new TokenBucket(0.001, 1000);
+        long now = System.nanoTime();
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> taken = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                taken.add(callers.submit(() -> {
+                    start.await();
+                    int count = 0;
+                    for (int i = 0; i < 500; i++) {
+                        if (bucket.tryAcquire(now) == 0) {
+                            count++;
+                        }
+                    }
+                    return count;
+                }));
+            }
+            start.countDown();
+
+            int total = 0;
+            for (Future<Integer> result : taken) {
+                total += result.get(5, TimeUnit.SECONDS);
+            }
+            assertThat(total).isEqualTo(1000);
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+}
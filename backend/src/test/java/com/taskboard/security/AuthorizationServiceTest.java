@@ -0,0 +1,172 @@
+package com.taskboard.security;
+
+import com.taskboard.exception.ResourceNotFoundException;
+import com.taskboard.messaging.producer.EventPublisher;
+import com.taskboard.model.dto.CreateBoardRequest;
+import com.taskboard.model.entity.Board;
+import com.taskboard.model.entity.BoardList;
+import com.taskboard.model.entity.BoardRole;
+import com.taskboard.model.entity.Card;
+import com.taskboard.model.entity.User;
+import com.taskboard.repository.BoardRepository;
+import com.taskboard.repository.CardRepository;
+import com.taskboard.repository.ListRepository;
+import com.taskboard.repository.UserRepository;
+import com.taskboard.service.BoardMemberService;
+import com.taskboard.service.BoardService;
+import com.taskboard.service.CardService;
+import com.taskboard.support.QueryCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = QueryCounter.PROPERTY)
+@ActiveProfiles("test")
+class AuthorizationServiceTest {
+
+    @Autowired
+    private AuthorizationService authorizationService;
+
+    @Autowired
+    private BoardService boardService;
+
+    @Autowired
+    private CardService cardService;
+
+    @Autowired
+    private BoardMemberService boardMemberService;
+
+    @Autowired
+    private BoardRepository boardRepository;
+
+    @Autowired
+    private ListRepository listRepository;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @MockitoBean
+    private EventPublisher eventPublisher;
+
+    private User owner;
+    private User other;
+    private Board board;
+    private BoardList list;
+    private Card card;
+
+    @BeforeEach
+    void setUp() {
+        owner = saveUser("owner");
+        other = saveUser("other");
+        board = boardRepository.save(Board.builder().name("Authz Board").owner(owner).archived(false).build());
+        list = listRepository.save(BoardList.builder().name("Todo").board(board).position(0).build());
+        card = cardRepository.save(Card.builder().title("Card").list(list).position(0).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void canModifyCard_ShouldLoadHierarchyOnceThenDecideWithoutQueries() {
+        signIn(owner);
+
+        assertThat(queries(() -> authorizationService.canModifyCard(card.getId())))
+                .as("card -> list, list -> board, board -> owner").isEqualTo(3);
+        assertThat(queries(() -> authorizationService.canModifyCard(card.getId()))).isZero();
+        assertThat(queries(() -> authorizationService.canAccessList(list.getId()))).isZero();
+
+        signIn(other);
+        assertThat(authorizationService.canAccessCard(card.getId())).isFalse();
+    }
+
+    @Test
+    void canAccessBoard_ForMember_ShouldLoadMembershipsOnceThenDecideWithoutQueries() {
+        boardMemberService.grant(board.getId(), other.getId(), BoardRole.VIEWER);
+        signIn(other);
+
+        assertThat(queries(() -> authorizationService.canAccessBoard(board.getId())))
+                .as("board -> owner, user -> boards").isEqualTo(2);
+        assertThat(queries(() -> authorizationService.canAccessCard(card.getId()))).isEqualTo(2);
+        assertThat(queries(() -> authorizationService.canAccessCard(card.getId()))).isZero();
+        assertThat(authorizationService.canModifyCard(card.getId())).isFalse();
+    }
+
+    @Test
+    void canModifyBoard_AfterMembershipChanges_ShouldFollowRole() {
+        signIn(other);
+        assertThat(authorizationService.canModifyBoard(board.getId())).isFalse();
+
+        boardMemberService.setMember(board.getId(), other.getId(), BoardRole.EDITOR);
+        assertThat(authorizationService.canModifyBoard(board.getId())).isTrue();
+        assertThat(authorizationService.canManageBoard(board.getId())).isFalse();
+
+        boardMemberService.removeMember(board.getId(), other.getId());
+        assertThat(authorizationService.canAccessBoard(board.getId())).isFalse();
+    }
+
+    @Test
+    void canManageBoard_AfterOwnerChange_ShouldUseNewOwner() {
+        signIn(owner);
+        assertThat(authorizationService.canManageBoard(board.getId())).isTrue();
+
+        boardService.updateBoard(board.getId(), CreateBoardRequest.builder()
+                .name(board.getName())
+                .ownerId(other.getId())
+                .build());
+
+        // The previous owner stays as an editor
+        assertThat(authorizationService.canManageBoard(board.getId())).isFalse();
+        assertThat(authorizationService.canModifyCard(card.getId())).isTrue();
+        signIn(other);
+        assertThat(authorizationService.canManageBoard(board.getId())).isTrue();
+    }
+
+    @Test
+    void canAccessCard_AfterDelete_ShouldReportMissingCard() {
+        signIn(owner);
+        assertThat(authorizationService.canAccessCard(card.getId())).isTrue();
+
+        cardService.deleteCard(card.getId());
+
+        assertThatThrownBy(() -> authorizationService.canAccessCard(card.getId()))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private User saveUser(String name) {
+        long suffix = System.nanoTime();
+        return userRepository.save(User.builder()
+                .username(name + suffix)
+                .email(name + suffix + "@example.com")
+                .password("secret")
+                .build());
+    }
+
+    private static void signIn(User user) {
+        UserPrincipal principal = new UserPrincipal(user.getId(), user.getUsername(), user.getEmail(),
+                user.getPassword(), true, List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    private static int queries(BooleanSupplier check) {
+        return QueryCounter.statementsOf(check::getAsBoolean).size();
+    }
+}
@@ -0,0 +1,159 @@
+package com.taskboard.service;
+
+import com.taskboard.messaging.producer.EventPublisher;
+import com.taskboard.model.dto.ActivityFeedPage;
+import com.taskboard.model.dto.ActivityLogDTO;
+import com.taskboard.model.entity.Board;
+import com.taskboard.repository.BoardRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Page 1 against page 10,000 of a board's activity, read with OFFSET pagination and with the
+ * keyset feed, through the service and as plain page queries, and the median latency of each
+ * logged. Each measurement alternates between two neighbouring pages, as H2 would otherwise
+ * hand back the result of the previous, identical query.
+ * <p>
+ * Not part of the regular build (the class name does not match the surefire includes).
+ * Run it explicitly:
+ * <pre>
+ * mvn test -Dtest=ActivityFeedBenchmark -Dbenchmark.page-size=20 -Dbenchmark.deep-page=10000
+ * </pre>
+ * It runs on the H2 test database; the numbers are only comparable with each other.
+ */
+@Slf4j
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.com.taskboard=WARN",
+        "logging.level.org.hibernate=WARN"
+})
+@ActiveProfiles("test")
+class ActivityFeedBenchmark {
+
+    private static final int PAGE_SIZE = Integer.getInteger("benchmark.page-size", 20);
+    private static final int DEEP_PAGE = Integer.getInteger("benchmark.deep-page", 10_000);
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 30);
+
+    private static final String OFFSET_SQL = "SELECT a.id FROM activity_logs a LEFT JOIN users u ON u.id = a.user_id "
+            + "WHERE a.board_id = ? ORDER BY a.created_at DESC OFFSET ? ROWS FETCH NEXT ? ROWS ONLY";
+
+    private static final String KEYSET_SQL = "SELECT a.id FROM activity_logs a LEFT JOIN users u ON u.id = a.user_id "
+            + "WHERE a.board_id = ? AND a.created_at <= ? AND (a.created_at < ? OR a.id < ?) "
+            + "ORDER BY a.board_id, a.created_at DESC, a.id DESC FETCH FIRST ? ROWS ONLY";
+
+    @Autowired
+    private ActivityLogService activityLogService;
+
+    @Autowired
+    private BoardRepository boardRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private EventPublisher eventPublisher;
+
+    private Long boardId;
+
+    @Test
+    void compareOffsetAndKeysetPages() {
+        boardId = boardRepository.save(Board.builder().name("Activity Benchmark").archived(false).build()).getId();
+        int entries = (DEEP_PAGE + 1) * PAGE_SIZE;
+        LocalDateTime start = LocalDateTime.now().minusDays(365);
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < entries; i++) {
+            rows.add(new Object[]{boardId, "Entry " + i, Timestamp.valueOf(start.plusSeconds(i))});
+            if (rows.size() == 5_000) {
+                insert(rows);
+                rows.clear();
+            }
+        }
+        insert(rows);
+
+        // The positions a client scrolling there would hold, for the two pages of each measurement
+        ActivityFeedCursor[] shallow = {cursorBefore(1), cursorBefore(2)};
+        ActivityFeedCursor[] deep = {cursorBefore(DEEP_PAGE), cursorBefore(DEEP_PAGE - 1)};
+        String[] shallowTokens = {null, shallow[1].encode()};
+        String[] deepTokens = {deep[0].encode(), deep[1].encode()};
+
+        // Same entries either way
+        List<ActivityLogDTO> offsetPage = activityLogService.getActivityByBoardId(boardId, DEEP_PAGE - 1, PAGE_SIZE);
+        ActivityFeedPage keysetPage = activityLogService.getActivityFeed(boardId, deepTokens[0], PAGE_SIZE);
+        assertThat(keysetPage.getItems()).extracting(ActivityLogDTO::getId)
+                .containsExactlyElementsOf(offsetPage.stream().map(ActivityLogDTO::getId).toList());
+
+        List<String> results = List.of(
+                measure("offset page 1", i -> activityLogService.getActivityByBoardId(boardId, i, PAGE_SIZE)),
+                measure("offset page " + DEEP_PAGE,
+                        i -> activityLogService.getActivityByBoardId(boardId, DEEP_PAGE - 1 - i, PAGE_SIZE)),
+                measure("keyset page 1", i -> activityLogService.getActivityFeed(boardId, shallowTokens[i], PAGE_SIZE)),
+                measure("keyset page " + DEEP_PAGE,
+                        i -> activityLogService.getActivityFeed(boardId, deepTokens[i], PAGE_SIZE)),
+                // The page queries alone, without the per-call overhead of the JPA stack
+                measure("offset SQL page 1", i -> jdbcTemplate.queryForList(OFFSET_SQL, boardId, i * PAGE_SIZE, PAGE_SIZE)),
+                measure("offset SQL page " + DEEP_PAGE, i -> jdbcTemplate.queryForList(OFFSET_SQL, boardId,
+                        (DEEP_PAGE - 1 - i) * PAGE_SIZE, PAGE_SIZE)),
+                measure("keyset SQL page 1", i -> keysetQuery(shallow[i])),
+                measure("keyset SQL page " + DEEP_PAGE, i -> keysetQuery(deep[i])));
+
+        log.warn("Activity pages of {} on a board of {} entries", PAGE_SIZE, entries);
+        results.forEach(result -> log.warn("{}", result));
+    }
+
+    /**
+     * Cursor of the entry just before a page (1-based).
+     */
+    private ActivityFeedCursor cursorBefore(int page) {
+        if (page == 1) {
+            return ActivityFeedCursor.START;
+        }
+        return jdbcTemplate.queryForObject(
+                "SELECT created_at, id FROM activity_logs WHERE board_id = ? ORDER BY created_at DESC, id DESC "
+                        + "OFFSET ? ROWS FETCH NEXT 1 ROWS ONLY",
+                (rs, rowNum) -> new ActivityFeedCursor(rs.getTimestamp(1).toLocalDateTime(), rs.getLong(2)),
+                boardId, (page - 1) * PAGE_SIZE - 1);
+    }
+
+    private List<?> keysetQuery(ActivityFeedCursor after) {
+        return jdbcTemplate.queryForList(KEYSET_SQL, boardId, after.createdAt(), after.createdAt(), after.id(),
+                PAGE_SIZE + 1);
+    }
+
+    private void insert(List<Object[]> rows) {
+        jdbcTemplate.batchUpdate("INSERT INTO activity_logs (board_id, activity_type, description, created_at) "
+                + "VALUES (?, 'CARD_MOVED', ?, ?)", rows);
+    }
+
+    /**
+     * Median and max latency of a page read, alternating between its two variants (0 and 1).
+     */
+    private static String measure(String name, IntFunction<?> page) {
+        // Warm up before measuring
+        for (int i = 0; i < ITERATIONS / 3 + 1; i++) {
+            page.apply(i % 2);
+        }
+        long[] nanos = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            page.apply(i % 2);
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return String.format("%-22s median %8.3f ms  max %8.3f ms", name, nanos[ITERATIONS / 2] / 1e6,
+                nanos[ITERATIONS - 1] / 1e6);
+    }
+}
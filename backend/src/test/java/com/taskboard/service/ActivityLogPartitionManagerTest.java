@@ -0,0 +1,44 @@
+package com.taskboard.service;
+
+import com.taskboard.service.ActivityLogPartitionManager.PartitionPlan;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ActivityLogPartitionManagerTest {
+
+    @Test
+    void plan_ShouldCreateMissingUpcomingMonths() {
+        List<YearMonth> existing = List.of(YearMonth.of(2026, 9), YearMonth.of(2026, 10), YearMonth.of(2026, 11));
+
+        PartitionPlan plan = ActivityLogPartitionManager.plan(existing, LocalDate.of(2026, 10, 19), 3, 12);
+
+        assertThat(plan.create()).containsExactly(YearMonth.of(2026, 12), YearMonth.of(2027, 1));
+        assertThat(plan.drop()).isEmpty();
+    }
+
+    @Test
+    void plan_ShouldDropOnlyPartitionsEntirelyPastRetention() {
+        List<YearMonth> existing = List.of(YearMonth.of(2025, 10), YearMonth.of(2025, 8),
+                YearMonth.of(2025, 9), YearMonth.of(2026, 10));
+
+        PartitionPlan plan = ActivityLogPartitionManager.plan(existing, LocalDate.of(2026, 10, 19), 0, 12);
+
+        // September 2025 ends on 2025-10-01, before the cutoff of 2025-10-19; October 2025 does not
+        assertThat(plan.drop()).containsExactly(YearMonth.of(2025, 8), YearMonth.of(2025, 9));
+        assertThat(plan.create()).isEmpty();
+    }
+
+    @Test
+    void partitionNames_ShouldRoundTrip() {
+        YearMonth month = YearMonth.of(2027, 1);
+
+        assertThat(ActivityLogPartitionManager.partitionName(month)).isEqualTo("activity_logs_p202701");
+        assertThat(ActivityLogPartitionManager.monthOf("activity_logs_p202701")).isEqualTo(month);
+        assertThat(ActivityLogPartitionManager.monthOf("activity_logs_default")).isNull();
+    }
+}
@@ -0,0 +1,137 @@
+package com.taskboard.service;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the V9 partitioning migration and the partition maintenance DDL against PostgreSQL,
+ * which the H2 tests cannot. Set {@code TASKBOARD_TEST_POSTGRES_URL} to the JDBC URL (with
+ * user and password) of a PostgreSQL 15 database; each test migrates a throwaway schema.
+ */
+@EnabledIfEnvironmentVariable(named = "TASKBOARD_TEST_POSTGRES_URL", matches = ".+")
+class ActivityLogPartitionPostgresTest {
+
+    private static final String URL = System.getenv("TASKBOARD_TEST_POSTGRES_URL");
+
+    private final YearMonth thisMonth = YearMonth.now(ZoneOffset.UTC);
+
+    private String schema;
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        schema = "partition_test_" + System.nanoTime();
+        dataSource = new DriverManagerDataSource(URL + (URL.contains("?") ? "&" : "?") + "currentSchema=" + schema);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP SCHEMA IF EXISTS " + schema + " CASCADE");
+    }
+
+    @Test
+    void migration_ShouldMoveExistingRowsIntoMonthlyPartitions() {
+        migrate("8");
+        Map<Long, YearMonth> logged = new HashMap<>();
+        for (YearMonth month : List.of(thisMonth.minusMonths(14), thisMonth.minusMonths(2), thisMonth)) {
+            logged.put(log(month), month);
+        }
+        long rows = countRows();
+
+        migrate("latest");
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass('activity_logs'))",
+                Boolean.class)).isTrue();
+        assertThat(countRows()).isEqualTo(rows);
+        logged.forEach((id, month) -> assertThat(jdbcTemplate.queryForObject(
+                "SELECT tableoid::regclass::text FROM activity_logs WHERE id = ?", String.class, id))
+                .isEqualTo(ActivityLogPartitionManager.partitionName(month)));
+        // From the oldest entry to three months ahead
+        assertThat(partitions()).containsExactlyElementsOf(IntStream.rangeClosed(-14, 3)
+                .mapToObj(i -> ActivityLogPartitionManager.partitionName(thisMonth.plusMonths(i)))
+                .toList());
+        // The sequence carries on after the copied ids
+        long maxId = logged.keySet().stream().mapToLong(Long::longValue).max().orElseThrow();
+        assertThat(log(thisMonth)).isGreaterThan(maxId);
+        // Every index of the table, including those of later migrations, is on each partition
+        assertThat(indexes(ActivityLogPartitionManager.partitionName(thisMonth)))
+                .hasSameSizeAs(indexes("activity_logs"));
+    }
+
+    @Test
+    void maintain_ShouldCreateUpcomingAndDropExpiredPartitions() {
+        migrate("8");
+        long expired = log(thisMonth.minusMonths(14));
+        long kept = log(thisMonth.minusMonths(2));
+        migrate("latest");
+
+        new ActivityLogPartitionManager(dataSource, 5, 12).maintain();
+
+        List<String> partitions = partitions();
+        assertThat(partitions).containsExactlyElementsOf(IntStream.rangeClosed(-12, 5)
+                .mapToObj(i -> ActivityLogPartitionManager.partitionName(thisMonth.plusMonths(i)))
+                .toList());
+        // Ended more than the 12 retained months ago
+        assertThat(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NULL", Boolean.class,
+                ActivityLogPartitionManager.partitionName(thisMonth.minusMonths(14)))).isTrue();
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM activity_logs ORDER BY id", Long.class))
+                .contains(kept)
+                .doesNotContain(expired);
+        // Rows go into a partition the manager created
+        log(thisMonth.plusMonths(5));
+
+        new ActivityLogPartitionManager(dataSource, 5, 12).maintain();
+
+        assertThat(partitions()).isEqualTo(partitions);
+    }
+
+    private void migrate(String target) {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .schemas(schema)
+                .locations("classpath:db/migration")
+                .target(target)
+                .load()
+                .migrate();
+    }
+
+    /**
+     * Log an activity in the middle of a month, and return its ID.
+     */
+    private long log(YearMonth month) {
+        OffsetDateTime createdAt = month.atDay(15).atTime(12, 0).atOffset(ZoneOffset.UTC);
+        return jdbcTemplate.queryForObject("INSERT INTO activity_logs (board_id, activity_type, description, created_at) "
+                + "SELECT MIN(id), 'CARD_CREATED', 'Logged', ? FROM boards RETURNING id", Long.class, createdAt);
+    }
+
+    private long countRows() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM activity_logs", Long.class);
+    }
+
+    private List<String> indexes(String table) {
+        return jdbcTemplate.queryForList("SELECT indexname FROM pg_indexes WHERE tablename = ?", String.class, table);
+    }
+
+    private List<String> partitions() {
+        return jdbcTemplate.queryForList("SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+                + "WHERE i.inhparent = to_regclass('activity_logs') ORDER BY c.relname", String.class);
+    }
+}
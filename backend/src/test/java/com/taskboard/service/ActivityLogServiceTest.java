@@ -0,0 +1,181 @@
+package com.taskboard.service;
+
+import com.taskboard.messaging.producer.EventPublisher;
+import com.taskboard.model.dto.ActivityFeedPage;
+import com.taskboard.model.dto.ActivityLogDTO;
+import com.taskboard.model.entity.ActivityMetadataKey;
+import com.taskboard.model.entity.ActivityType;
+import com.taskboard.model.entity.Board;
+import com.taskboard.repository.BoardRepository;
+import com.taskboard.support.QueryCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = QueryCounter.PROPERTY)
+@ActiveProfiles("test")
+class ActivityLogServiceTest {
+
+    @Autowired
+    private ActivityLogService activityLogService;
+
+    @Autowired
+    private BoardRepository boardRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private EventPublisher eventPublisher;
+
+    private Board board;
+
+    @BeforeEach
+    void setUp() {
+        board = boardRepository.save(Board.builder().name("Activity Board").archived(false).build());
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            rows.add(new Object[]{board.getId(), "Recent " + i, Timestamp.valueOf(now.minusDays(i))});
+            rows.add(new Object[]{board.getId(), "Old " + i, Timestamp.valueOf(now.minusDays(90 + i))});
+        }
+        insert(rows);
+    }
+
+    @Test
+    void getRecentActivity_ShouldReadOnlyRecentWindowWhenItFillsThePage() {
+        AtomicReference<List<ActivityLogDTO>> activity = new AtomicReference<>();
+        List<String> statements = QueryCounter.statementsOf(() ->
+                activity.set(activityLogService.getRecentActivity(board.getId(), 2)));
+
+        assertThat(activity.get()).extracting(ActivityLogDTO::getDescription).containsExactly("Recent 1", "Recent 2");
+        List<String> activityReads = statements.stream().filter(sql -> sql.contains("from activity_logs")).toList();
+        assertThat(activityReads).hasSize(1);
+        assertThat(activityReads.get(0)).contains("created_at>=");
+    }
+
+    @Test
+    void getRecentActivity_ShouldContinueIntoOlderEntries() {
+        List<ActivityLogDTO> activity = activityLogService.getRecentActivity(board.getId(), 5);
+
+        assertThat(activity).extracting(ActivityLogDTO::getDescription)
+                .containsExactly("Recent 1", "Recent 2", "Recent 3", "Old 1", "Old 2");
+    }
+
+    @Test
+    void getActivityFeed_ShouldWalkAllEntriesOnceInOrder() {
+        // Entries sharing a timestamp are ordered by id
+        Timestamp tied = Timestamp.valueOf(LocalDateTime.now().minusHours(60));
+        insert(List.of(new Object[]{board.getId(), "Tied a", tied}, new Object[]{board.getId(), "Tied b", tied},
+                new Object[]{board.getId(), "Tied c", tied}));
+
+        List<String> descriptions = new ArrayList<>();
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            ActivityFeedPage page = activityLogService.getActivityFeed(board.getId(), cursor, 2);
+            page.getItems().forEach(item -> {
+                descriptions.add(item.getDescription());
+                ids.add(item.getId());
+            });
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(5);
+        assertThat(descriptions).containsExactly("Recent 1", "Recent 2", "Tied c", "Tied b", "Tied a",
+                "Recent 3", "Old 1", "Old 2", "Old 3");
+        assertThat(ids).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void getActivityFeed_ShouldCapPageSize() {
+        Object target = AopTestUtils.getUltimateTargetObject(activityLogService);
+        ReflectionTestUtils.setField(target, "maxPageSize", 4);
+        try {
+            ActivityFeedPage page = activityLogService.getActivityFeed(board.getId(), null, 1000);
+
+            assertThat(page.getItems()).hasSize(4);
+            assertThat(page.getNextCursor()).isNotNull();
+        } finally {
+            ReflectionTestUtils.setField(target, "maxPageSize", 100);
+        }
+    }
+
+    @Test
+    void getActivityFeed_WithForeignCursor_ShouldReject() {
+        assertThatThrownBy(() -> activityLogService.getActivityFeed(board.getId(), "not-a-cursor", 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void searchActivityByMetadata_ShouldReturnOnlyMatchingEntriesOfTheBoard() {
+        Board other = boardRepository.save(Board.builder().name("Other Board").archived(false).build());
+        logMove(board, "Card 1", "Todo", "alice");
+        logMove(board, "Card 2", "alice", "bob");
+        logMove(board, "Card 3", "Todo", "alice");
+        logMove(other, "Card 4", "Todo", "alice");
+        activityLogService.logActivity(board, null, ActivityType.CARD_CREATED, "Card 5 created",
+                Map.of("card_title", "Card 5", "moved_by", "alice"));
+
+        List<String> moves = new ArrayList<>();
+        String cursor = null;
+        do {
+            ActivityFeedPage page = activityLogService.searchActivityByMetadata(board.getId(),
+                    ActivityMetadataKey.MOVED_BY, "alice", ActivityType.CARD_MOVED, cursor, 1);
+            page.getItems().forEach(item -> moves.add(item.getDescription()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(moves).containsExactly("Card 3 moved", "Card 1 moved");
+        assertThat(activityLogService.searchActivityByMetadata(board.getId(), ActivityMetadataKey.MOVED_BY, "alice",
+                null, null, 10).getItems()).hasSize(3);
+    }
+
+    @Test
+    void searchActivityByMetadata_ShouldMatchWholeValues() {
+        logMove(board, "Fix \"login\" page", "Todo", "alice");
+        logMove(board, "Fix", "Todo", "alice");
+
+        assertThat(activityLogService.searchActivityByMetadata(board.getId(), ActivityMetadataKey.CARD_TITLE,
+                "Fix \"login\" page", null, null, 10).getItems())
+                .extracting(ActivityLogDTO::getDescription).containsExactly("Fix \"login\" page moved");
+        assertThat(activityLogService.searchActivityByMetadata(board.getId(), ActivityMetadataKey.CARD_TITLE,
+                "Fix", null, null, 10).getItems())
+                .extracting(ActivityLogDTO::getDescription).containsExactly("Fix moved");
+    }
+
+    @Test
+    void searchActivityByMetadata_WithoutValue_ShouldReject() {
+        assertThatThrownBy(() -> activityLogService.searchActivityByMetadata(board.getId(),
+                ActivityMetadataKey.MOVED_BY, " ", null, null, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void logMove(Board target, String cardTitle, String fromList, String movedBy) {
+        activityLogService.logActivity(target, null, ActivityType.CARD_MOVED, cardTitle + " moved",
+                Map.of("card_title", cardTitle, "from_list", fromList, "to_list", "Done", "moved_by", movedBy));
+    }
+
+    private void insert(List<Object[]> rows) {
+        jdbcTemplate.batchUpdate("INSERT INTO activity_logs (board_id, activity_type, description, created_at) "
+                + "VALUES (?, 'CARD_MOVED', ?, ?)", rows);
+    }
+}
@@ -0,0 +1,161 @@
+package com.taskboard.service;
+
+import com.taskboard.messaging.producer.EventPublisher;
+import com.taskboard.model.dto.BoardCountersDTO;
+import com.taskboard.model.dto.CardDTO;
+import com.taskboard.model.dto.CreateBoardRequest;
+import com.taskboard.model.dto.CreateCardRequest;
+import com.taskboard.model.dto.CreateListRequest;
+import com.taskboard.model.dto.ListDTO;
+import com.taskboard.model.entity.Board;
+import com.taskboard.model.entity.BoardList;
+import com.taskboard.model.entity.Card;
+import com.taskboard.model.entity.Priority;
+import com.taskboard.model.entity.User;
+import com.taskboard.repository.BoardRepository;
+import com.taskboard.repository.CardRepository;
+import com.taskboard.repository.ListRepository;
+import com.taskboard.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The scheduled sweep is kept out of the way; the tests run it themselves
+@SpringBootTest(properties = "taskboard.board-counters.overdue-sweep-ms=3600000")
+@ActiveProfiles("test")
+class BoardCounterServiceTest {
+
+    @Autowired
+    private BoardCounterService boardCounterService;
+
+    @Autowired
+    private BoardService boardService;
+
+    @Autowired
+    private ListService listService;
+
+    @Autowired
+    private CardService cardService;
+
+    @Autowired
+    private BoardRepository boardRepository;
+
+    @Autowired
+    private ListRepository listRepository;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @MockitoBean
+    private EventPublisher eventPublisher;
+
+    private User alice;
+    private User bob;
+    private Long boardId;
+
+    @BeforeEach
+    void setUp() {
+        alice = user("alice");
+        bob = user("bob");
+        boardId = boardService.createBoard(CreateBoardRequest.builder().name("Counted Board").build(),
+                alice.getId()).getId();
+    }
+
+    @Test
+    void writes_ShouldAdjustCounters() {
+        ListDTO todo = list("Todo");
+        ListDTO done = list("Done");
+        CardDTO urgent = card(todo, Priority.HIGH, alice, LocalDateTime.now().minusDays(2));
+        CardDTO chore = card(todo, Priority.LOW, bob, null);
+        card(done, Priority.MEDIUM, null, LocalDateTime.now().minusDays(1));
+        card(done, Priority.LOW, bob, LocalDateTime.now().plusDays(3));
+
+        BoardCountersDTO counters = boardCounterService.getCounters(boardId);
+        assertThat(counters.getLists()).isEqualTo(2);
+        assertThat(counters.getCards()).isEqualTo(4);
+        assertThat(counters.getCardsByPriority())
+                .isEqualTo(Map.of(Priority.HIGH, 1L, Priority.MEDIUM, 1L, Priority.LOW, 2L));
+        assertThat(counters.getCardsByAssignee()).isEqualTo(Map.of(alice.getId(), 1L, bob.getId(), 2L));
+        assertThat(counters.getOverdueCards()).isEqualTo(2);
+
+        cardService.updateCard(chore.getId(), CreateCardRequest.builder().title("Chore").listId(todo.getId())
+                .priority(Priority.HIGH).assignedToId(alice.getId()).dueDate(LocalDateTime.now().minusDays(3)).build());
+        cardService.deleteCard(urgent.getId());
+        listService.deleteList(done.getId());
+
+        counters = boardCounterService.getCounters(boardId);
+        assertThat(counters.getLists()).isEqualTo(1);
+        assertThat(counters.getCards()).isEqualTo(1);
+        assertThat(counters.getCardsByPriority()).isEqualTo(Map.of(Priority.HIGH, 1L));
+        assertThat(counters.getCardsByAssignee()).isEqualTo(Map.of(alice.getId(), 1L));
+        assertThat(counters.getOverdueCards()).isEqualTo(1);
+    }
+
+    @Test
+    void sweepOverdue_ShouldCountCardsThatFellDueSinceLastSweep() throws InterruptedException {
+        ListDTO todo = list("Todo");
+        LocalDateTime asOf = boardCounterService.getCounters(boardId).getOverdueAsOf();
+        Thread.sleep(20);
+        // Already past due, but after the board's overdue count was taken
+        card(todo, Priority.MEDIUM, null, asOf.plusNanos(1_000_000));
+        card(todo, Priority.MEDIUM, null, LocalDateTime.now().plusDays(1));
+
+        assertThat(boardCounterService.getCounters(boardId).getOverdueCards()).isZero();
+
+        boardCounterService.sweepOverdue();
+
+        BoardCountersDTO counters = boardCounterService.getCounters(boardId);
+        assertThat(counters.getOverdueCards()).isEqualTo(1);
+        assertThat(counters.getOverdueAsOf()).isAfter(asOf);
+    }
+
+    @Test
+    void getCounters_ForBoardWithoutCounters_ShouldCountItOnce() {
+        Board board = boardRepository.save(Board.builder().name("Old Board").archived(false).build());
+        BoardList list = listRepository.save(BoardList.builder().name("Todo").board(board).position(0).build());
+        cardRepository.save(Card.builder().title("Old card").list(list).priority(Priority.CRITICAL)
+                .assignedTo(bob).dueDate(LocalDateTime.now().minusHours(1)).build());
+
+        BoardCountersDTO counters = boardCounterService.getCounters(board.getId());
+
+        assertThat(counters.getLists()).isEqualTo(1);
+        assertThat(counters.getCards()).isEqualTo(1);
+        assertThat(counters.getCardsByPriority()).isEqualTo(Map.of(Priority.CRITICAL, 1L));
+        assertThat(counters.getCardsByAssignee()).isEqualTo(Map.of(bob.getId(), 1L));
+        assertThat(counters.getOverdueCards()).isEqualTo(1);
+    }
+
+    private User user(String name) {
+        long suffix = System.nanoTime();
+        return userRepository.save(User.builder()
+                .username(name + suffix)
+                .email(name + suffix + "@example.com")
+                .password("secret")
+                .build());
+    }
+
+    private ListDTO list(String name) {
+        return listService.createList(CreateListRequest.builder().name(name).boardId(boardId).build());
+    }
+
+    private CardDTO card(ListDTO list, Priority priority, User assignee, LocalDateTime dueDate) {
+        return cardService.createCard(CreateCardRequest.builder()
+                .title("Card")
+                .listId(list.getId())
+                .priority(priority)
+                .assignedToId(assignee != null ? assignee.getId() : null)
+                .dueDate(dueDate)
+                .build(), alice.getId());
+    }
+}
@@ -0,0 +1,96 @@
+package com.taskboard.service;
+
+import com.taskboard.messaging.producer.EventPublisher;
+import com.taskboard.model.dto.BoardDTO;
+import com.taskboard.model.dto.BoardMemberDTO;
+import com.taskboard.model.dto.CreateBoardRequest;
+import com.taskboard.model.entity.BoardRole;
+import com.taskboard.model.entity.User;
+import com.taskboard.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class BoardMemberServiceTest {
+
+    @Autowired
+    private BoardMemberService boardMemberService;
+
+    @Autowired
+    private BoardService boardService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @MockitoBean
+    private EventPublisher eventPublisher;
+
+    private User alice;
+    private User bob;
+
+    @BeforeEach
+    void setUp() {
+        alice = saveUser("alice");
+        bob = saveUser("bob");
+    }
+
+    @Test
+    void getBoardsForUser_ShouldReturnOwnedAndMemberBoardsOnly() {
+        BoardDTO owned = createBoard("Owned", alice);
+        BoardDTO shared = createBoard("Shared", bob);
+        BoardDTO hidden = createBoard("Hidden", bob);
+        boardMemberService.setMember(shared.getId(), alice.getId(), BoardRole.VIEWER);
+
+        assertThat(boardService.getBoardsForUser(alice.getId()))
+                .extracting(BoardDTO::getId)
+                .containsExactly(shared.getId(), owned.getId())
+                .doesNotContain(hidden.getId());
+    }
+
+    @Test
+    void createBoard_ShouldMakeCreatorOwnerMember() {
+        BoardDTO board = createBoard("Mine", alice);
+
+        boardMemberService.setMember(board.getId(), bob.getId(), BoardRole.EDITOR);
+
+        assertThat(boardMemberService.getMembers(board.getId()))
+                .extracting(BoardMemberDTO::getUserId, BoardMemberDTO::getRole)
+                .containsExactly(
+                        tuple(alice.getId(), BoardRole.OWNER),
+                        tuple(bob.getId(), BoardRole.EDITOR));
+    }
+
+    @Test
+    void setMember_ForOwnerOrOwnerRole_ShouldReject() {
+        BoardDTO board = createBoard("Mine", alice);
+
+        assertThatThrownBy(() -> boardMemberService.setMember(board.getId(), alice.getId(), BoardRole.VIEWER))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> boardMemberService.setMember(board.getId(), bob.getId(), BoardRole.OWNER))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> boardMemberService.removeMember(board.getId(), alice.getId()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private BoardDTO createBoard(String name, User owner) {
+        return boardService.createBoard(CreateBoardRequest.builder().name(name).build(), owner.getId());
+    }
+
+    private User saveUser(String name) {
+        long suffix = System.nanoTime();
+        return userRepository.save(User.builder()
+                .username(name + suffix)
+                .email(name + suffix + "@example.com")
+                .password("secret")
+                .build());
+    }
+}
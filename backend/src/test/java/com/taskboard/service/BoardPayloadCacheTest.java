@@ -0,0 +1,203 @@
+package com.taskboard.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BoardPayloadCacheTest {
+
+    private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(BoardPayloadCache.CACHE_NAME);
+    private final Cache boards = cacheManager.getCache(BoardPayloadCache.CACHE_NAME);
+    private final StringRedisTemplate redis = mock(StringRedisTemplate.class);
+    private final ExecutorService callers = Executors.newFixedThreadPool(8);
+    private BoardPayloadCache payloadCache;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        callers.shutdownNow();
+        if (payloadCache != null) {
+            payloadCache.shutdown();
+        }
+    }
+
+    @Test
+    void concurrentMisses_ShouldLoadOnce() throws Exception {
+        payloadCache = payloadCache(false, false, 0);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<BoardPayload> loader = () -> {
+            loads.incrementAndGet();
+            await(release);
+            return payload("board 1");
+        };
+
+        List<Future<BoardPayload>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(callers.submit(() -> payloadCache.get(1L, loader)));
+        }
+        Thread.sleep(200);
+        release.countDown();
+
+        for (Future<BoardPayload> result : results) {
+            assertThat(json(result.get(5, TimeUnit.SECONDS))).isEqualTo("board 1");
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(json(boards.get(1L, BoardPayload.class))).isEqualTo("board 1");
+    }
+
+    @Test
+    void failedLoad_ShouldFailEveryWaiterAndNotBeCached() {
+        payloadCache = payloadCache(false, false, 0);
+
+        Supplier<BoardPayload> failing = () -> {
+            throw new IllegalStateException("gone");
+        };
+
+        assertThatThrownBy(() -> payloadCache.get(1L, failing))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(boards.get(1L)).isNull();
+    }
+
+    @Test
+    void miss_WhileAnotherInstanceHoldsTheLock_ShouldWaitForItsResult() throws Exception {
+        payloadCache = payloadCache(true, false, 0);
+        @SuppressWarnings("unchecked")
+        ValueOperations<String, String> values = mock(ValueOperations.class);
+        when(redis.opsForValue()).thenReturn(values);
+        when(values.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(false);
+        AtomicInteger loads = new AtomicInteger();
+
+        Future<BoardPayload> result = callers.submit(() -> payloadCache.get(1L, () -> {
+            loads.incrementAndGet();
+            return payload("loaded here");
+        }));
+        Thread.sleep(100);
+        // The other instance stores its result
+        boards.put(1L, payload("loaded elsewhere"));
+
+        assertThat(json(result.get(5, TimeUnit.SECONDS))).isEqualTo("loaded elsewhere");
+        assertThat(loads).hasValue(0);
+    }
+
+    @Test
+    void staleWhileRevalidate_ShouldAnswerMissWithLastCopyAndRefresh() throws Exception {
+        payloadCache = payloadCache(false, true, 0);
+        payloadCache.get(1L, () -> payload("v1"));
+        boards.clear();
+
+        BoardPayload answered = payloadCache.get(1L, () -> payload("v2"));
+
+        assertThat(json(answered)).isEqualTo("v1");
+        assertThat(json(waitForEntry(1L))).isEqualTo("v2");
+    }
+
+    @Test
+    void clear_ShouldWarmTheMostReadKeys() throws Exception {
+        payloadCache = payloadCache(false, false, 1);
+        payloadCache.warmAfterClear();
+        for (int i = 0; i < 3; i++) {
+            payloadCache.get(1L, () -> payload("hot"));
+        }
+        payloadCache.get(2L, () -> payload("cold"));
+
+        boards.clear();
+        payloadCache.warmAfterClear();
+
+        assertThat(json(waitForEntry(1L))).isEqualTo("hot");
+        assertThat(boards.get(BoardPayloadCache.MARKER_KEY)).isNotNull();
+        assertThat(boards.get(2L)).isNull();
+    }
+
+    @Test
+    void staleWhileRevalidate_ShouldNotAnswerTheWriterWithACopyFromBeforeTheWrite() {
+        payloadCache = payloadCache(false, true, 0);
+        payloadCache.get(1L, () -> payload("v1"));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("writer", null, List.of()));
+
+        payloadCache.writeStarted("writer");
+        boards.clear();
+        assertThat(json(payloadCache.get(1L, () -> payload("v2")))).isEqualTo("v2");
+
+        payloadCache.writeFinished("writer");
+        boards.clear();
+        assertThat(json(payloadCache.get(1L, () -> payload("v3")))).isEqualTo("v3");
+
+        // Others may still be answered with the last copy
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("reader", null, List.of()));
+        boards.clear();
+        assertThat(json(payloadCache.get(1L, () -> payload("v4")))).isEqualTo("v3");
+    }
+
+    @Test
+    void load_ClearedMeanwhile_ShouldNotStoreItsResult() {
+        // Noticed without warming too
+        payloadCache = payloadCache(false, false, 0);
+
+        BoardPayload loaded = payloadCache.get(1L, () -> {
+            // A write clears the cache while the board is read
+            boards.clear();
+            return payload("outdated");
+        });
+
+        assertThat(json(loaded)).isEqualTo("outdated");
+        assertThat(boards.get(1L)).isNull();
+    }
+
+    private BoardPayloadCache payloadCache(boolean lock, boolean staleWhileRevalidate, int warmTopN) {
+        return new BoardPayloadCache(cacheManager, redis, new SimpleMeterRegistry(), lock, 10_000, 3_000, 10,
+                staleWhileRevalidate, 5_000, 100, warmTopN, 100, 2);
+    }
+
+    private BoardPayload waitForEntry(Object key) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        BoardPayload payload;
+        while ((payload = boards.get(key, BoardPayload.class)) == null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        return payload;
+    }
+
+    private static BoardPayload payload(String json) {
+        return BoardPayload.of(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String json(BoardPayload payload) {
+        return payload != null ? new String(payload.json(), StandardCharsets.UTF_8) : null;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
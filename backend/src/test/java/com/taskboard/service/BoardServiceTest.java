@@ -1,18 +1,25 @@
 package com.taskboard.service;
 
 import com.taskboard.exception.ResourceNotFoundException;
+import com.taskboard.mapper.TaskBoardMapper;
+import com.taskboard.mapper.TaskBoardMapperImpl;
 import com.taskboard.messaging.producer.EventPublisher;
+import com.taskboard.metrics.PhaseTimers;
 import com.taskboard.model.dto.BoardDTO;
 import com.taskboard.model.dto.CreateBoardRequest;
 import com.taskboard.model.entity.Board;
 import com.taskboard.model.entity.User;
 import com.taskboard.repository.BoardRepository;
 import com.taskboard.repository.UserRepository;
+import com.taskboard.security.ResourceHierarchyCache;
+import com.taskboard.service.actor.BoardActorRouter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
@@ -40,6 +47,24 @@ class BoardServiceTest {
     @Mock
     private ActivityLogService activityLogService;
 
+    @Spy
+    private PhaseTimers phaseTimers = new PhaseTimers(new SimpleMeterRegistry());
+
+    @Spy
+    private TaskBoardMapper mapper = new TaskBoardMapperImpl();
+
+    @Mock
+    private ResourceHierarchyCache hierarchy;
+
+    @Mock
+    private BoardMemberService boardMemberService;
+
+    @Mock
+    private BoardCounterService boardCounters;
+
+    @Mock
+    private BoardActorRouter boardActors;
+
     @InjectMocks
     private BoardService boardService;
 
@@ -71,13 +96,13 @@ class BoardServiceTest {
     @Test
     void getAllBoards_ShouldReturnAllNonArchivedBoards() {
         List<Board> boards = Arrays.asList(testBoard);
-        when(boardRepository.findAllByArchivedFalse()).thenReturn(boards);
+        when(boardRepository.findAllByArchivedFalseWithLists()).thenReturn(boards);
 
         List<BoardDTO> result = boardService.getAllBoards();
 
         assertThat(result).hasSize(1);
         assertThat(result.get(0).getName()).isEqualTo("Test Board");
-        verify(boardRepository).findAllByArchivedFalse();
+        verify(boardRepository).findAllByArchivedFalseWithLists();
     }
 
     @Test
@@ -116,6 +141,7 @@ class BoardServiceTest {
         verify(userRepository).findById(1L);
         verify(boardRepository).save(any(Board.class));
         verify(eventPublisher).publishBoardCreated(any());
+        verify(boardCounters).boardCreated(testBoard.getId());
     }
 
     @Test
@@ -0,0 +1,185 @@
+package com.taskboard.service;
+
+import com.taskboard.messaging.producer.EventPublisher;
+import com.taskboard.model.dto.BoardDTO;
+import com.taskboard.model.entity.Board;
+import com.taskboard.model.entity.BoardList;
+import com.taskboard.model.entity.User;
+import com.taskboard.repository.BoardRepository;
+import com.taskboard.repository.ListRepository;
+import com.taskboard.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+@SpringBootTest(properties = {
+        // Lazy execution makes H2 hand out rows as they are read, like a PostgreSQL cursor
+        "spring.datasource.url=jdbc:h2:mem:streaming;LAZY_QUERY_EXECUTION=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "logging.level.com.taskboard=INFO"
+})
+@ActiveProfiles("test")
+class BoardStreamServiceTest {
+
+    private static final int LISTS = 20;
+    private static final int CARDS = 10_000;
+
+    @Autowired
+    private BoardStreamService boardStreamService;
+
+    @Autowired
+    private BoardService boardService;
+
+    @Autowired
+    private BoardRepository boardRepository;
+
+    @Autowired
+    private ListRepository listRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @MockitoBean
+    private EventPublisher eventPublisher;
+
+    private Board board;
+
+    @BeforeEach
+    void setUp() {
+        long suffix = System.nanoTime();
+        User user = userRepository.save(User.builder()
+                .username("streamer" + suffix)
+                .email("streamer" + suffix + "@example.com")
+                .password("secret")
+                .fullName("Stream User")
+                .build());
+        board = boardRepository.save(Board.builder().name("Large Board").owner(user).archived(false).build());
+        List<BoardList> lists = new ArrayList<>();
+        for (int l = 0; l < LISTS; l++) {
+            lists.add(listRepository.save(BoardList.builder().name("List " + l).board(board).position(l).build()));
+        }
+
+        // The last list stays empty
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>();
+        for (int c = 0; c < CARDS; c++) {
+            BoardList list = lists.get(c % (LISTS - 1));
+            rows.add(new Object[]{"Card " + c, "Description of card " + c, list.getId(), c / (LISTS - 1),
+                    c % 2 == 0 ? user.getId() : null, "MEDIUM", now, now, 0L});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO cards (title, description, list_id, position, assigned_to_id, priority, "
+                + "created_at, updated_at, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    @Test
+    void streamBoard_ShouldWriteSameJsonAsBoardDTO() throws Exception {
+        ByteArrayOutputStream streamed = new ByteArrayOutputStream();
+        boardStreamService.streamBoard(board.getId()).writeTo(streamed);
+
+        String materialized = jsonMapper.writeValueAsString(boardService.getBoardById(board.getId()));
+
+        assertThat(jsonMapper.readTree(streamed.toByteArray())).isEqualTo(jsonMapper.readTree(materialized));
+    }
+
+    @Test
+    void streamBoard_ShouldKeepPeakHeapBoundedForLargeBoard() throws Exception {
+        // Warm up both paths, so class loading and lazily built metadata do not count
+        boardStreamService.streamBoard(board.getId()).writeTo(OutputStream.nullOutputStream());
+        jsonMapper.writeValueAsBytes(boardService.getBoardById(board.getId()));
+
+        long baseline = settledUsedHeap();
+        HeapSamplingOutputStream out = new HeapSamplingOutputStream();
+        boardStreamService.streamBoard(board.getId()).writeTo(out);
+        long streamedPeak = out.peakUsedHeap - baseline;
+
+        baseline = settledUsedHeap();
+        BoardDTO dto = boardService.getBoardById(board.getId());
+        byte[] json = jsonMapper.writeValueAsBytes(dto);
+        long materializedPeak = usedHeapAfterGc() - baseline;
+
+        log.info("Board of {} cards ({} KB of JSON): streamed peak {} KB, materialized {} KB",
+                CARDS, out.written / 1024, streamedPeak / 1024, materializedPeak / 1024);
+        assertThat(out.written).isGreaterThan(json.length / 2);
+        assertThat(dto.getLists()).hasSize(LISTS);
+        // Rows in flight and the generator's buffer only
+        assertThat(streamedPeak).isLessThan(2L * 1024 * 1024);
+        assertThat(streamedPeak).isLessThan(materializedPeak / 4);
+    }
+
+    private static long usedHeapAfterGc() {
+        System.gc();
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * Live heap once it has stopped shrinking: some garbage of the previous run is only
+     * released a little later (reference processing), which would skew the baseline.
+     */
+    private static long settledUsedHeap() {
+        long used = usedHeapAfterGc();
+        for (int i = 0; i < 20; i++) {
+            LockSupport.parkNanos(100_000_000);
+            long next = usedHeapAfterGc();
+            if (Math.abs(next - used) < 256 * 1024) {
+                return next;
+            }
+            used = next;
+        }
+        return used;
+    }
+
+    /**
+     * Discards what is written, and samples the live heap every 64 KB.
+     */
+    private static final class HeapSamplingOutputStream extends OutputStream {
+
+        private static final int SAMPLE_EVERY = 64 * 1024;
+
+        private long written;
+        private long nextSample = SAMPLE_EVERY;
+        private long peakUsedHeap;
+
+        @Override
+        public void write(int b) {
+            count(1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count(len);
+        }
+
+        private void count(int len) {
+            written += len;
+            if (written >= nextSample) {
+                nextSample += SAMPLE_EVERY;
+                peakUsedHeap = Math.max(peakUsedHeap, usedHeapAfterGc());
+            }
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.taskboard.service;
+
+import com.taskboard.exception.ConflictException;
+import com.taskboard.messaging.producer.EventPublisher;
+import com.taskboard.model.dto.CardDTO;
+import com.taskboard.model.dto.CardMoveDTO;
+import com.taskboard.model.dto.CreateCardRequest;
+import com.taskboard.model.entity.Board;
+import com.taskboard.model.entity.BoardList;
+import com.taskboard.model.entity.Card;
+import com.taskboard.model.entity.User;
+import com.taskboard.repository.BoardRepository;
+import com.taskboard.repository.CardRepository;
+import com.taskboard.repository.ListRepository;
+import com.taskboard.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "taskboard.cards.move-concurrency=optimistic",
+        "taskboard.locks.max-retries=20",
+        "taskboard.locks.retry-delay-ms=5",
+        "taskboard.locks.retry-jitter-ms=5"
+})
+@ActiveProfiles("test")
+class CardMoveConcurrencyTest {
+
+    private static final int CARD_COUNT = 8;
+
+    @Autowired
+    private CardMovementService cardMovementService;
+
+    @Autowired
+    private CardService cardService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private BoardRepository boardRepository;
+
+    @Autowired
+    private ListRepository listRepository;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @MockitoBean
+    private EventPublisher eventPublisher;
+
+    private User user;
+    private BoardList list;
+    private List<Card> cards;
+
+    @BeforeEach
+    void setUp() {
+        long suffix = System.nanoTime();
+        user = userRepository.save(User.builder()
+                .username("mover" + suffix)
+                .email("mover" + suffix + "@example.com")
+                .password("secret")
+                .build());
+        Board board = boardRepository.save(Board.builder().name("Optimistic Board").archived(false).build());
+        list = listRepository.save(BoardList.builder().name("Todo").board(board).position(0).build());
+        cards = new ArrayList<>();
+        for (int i = 0; i < CARD_COUNT; i++) {
+            cards.add(cardRepository.save(Card.builder().title("Card " + i).list(list).position(i).build()));
+        }
+    }
+
+    @Test
+    void moveCard_WithCurrentExpectedVersion_ShouldMoveAndBumpVersion() {
+        Card card = cards.get(0);
+
+        CardDTO moved = cardMovementService.moveCard(card.getId(),
+                new CardMoveDTO(list.getId(), 3, card.getVersion()), user.getId());
+
+        assertThat(moved.getPosition()).isEqualTo(3);
+        assertThat(moved.getVersion()).isGreaterThan(card.getVersion());
+        assertThat(listRepository.findById(list.getId()).orElseThrow().getVersion())
+                .isGreaterThan(list.getVersion());
+    }
+
+    @Test
+    void moveCard_WithStaleExpectedVersion_ShouldReject() {
+        Card card = cards.get(0);
+        cardMovementService.moveCard(card.getId(), new CardMoveDTO(list.getId(), 2, null), user.getId());
+
+        assertThatThrownBy(() -> cardMovementService.moveCard(card.getId(),
+                new CardMoveDTO(list.getId(), 5, card.getVersion()), user.getId()))
+                .isInstanceOf(ConflictException.class);
+    }
+
+    @Test
+    void moveCard_WhenCardCreatedInTheListBeforeCommit_ShouldConflict() {
+        Card card = cards.get(0);
+
+        // The move runs inside an outer transaction, so the create commits before it does
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> {
+            cardMovementService.moveCard(card.getId(), new CardMoveDTO(list.getId(), 3, null), user.getId());
+            CompletableFuture.runAsync(() -> cardService.createCard(CreateCardRequest.builder()
+                    .title("Created meanwhile")
+                    .listId(list.getId())
+                    .build(), user.getId())).join();
+        })).isInstanceOf(OptimisticLockingFailureException.class);
+
+        List<Integer> positions = cardRepository.findByListIdOrderByPositionAsc(list.getId()).stream()
+                .map(Card::getPosition)
+                .toList();
+        assertThat(positions).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8);
+    }
+
+    @Test
+    void moveCard_ConcurrentMovesInOneList_ShouldKeepPositionsDense() throws Exception {
+        int threads = 4;
+        int movesPerThread = 10;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch startGate = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    startGate.await();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < movesPerThread; i++) {
+                        Card card = cards.get(random.nextInt(CARD_COUNT));
+                        cardMovementService.moveCard(card.getId(),
+                                new CardMoveDTO(list.getId(), random.nextInt(CARD_COUNT), null), user.getId());
+                    }
+                    return null;
+                }));
+            }
+            startGate.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<Integer> positions = cardRepository.findAll().stream()
+                .filter(card -> card.getList().getId().equals(list.getId()))
+                .map(Card::getPosition)
+                .sorted()
+                .toList();
+        assertThat(positions).containsExactly(0, 1, 2, 3, 4, 5, 6, 7);
+    }
+}
@@ -0,0 +1,186 @@
+package com.taskboard.service;
+
+import com.taskboard.model.dto.CardMoveDTO;
+import com.taskboard.model.entity.Board;
+import com.taskboard.model.entity.BoardList;
+import com.taskboard.model.entity.Card;
+import com.taskboard.model.entity.User;
+import com.taskboard.repository.BoardRepository;
+import com.taskboard.repository.CardRepository;
+import com.taskboard.repository.ListRepository;
+import com.taskboard.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.MessagePostProcessor;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Contention benchmark for card moves: N threads keep moving random cards within one list,
+ * once with list row locks and once with optimistic list versions, and the throughput and
+ * latency percentiles of both modes are logged.
+ * <p>
+ * Not part of the regular build (the class name does not match the surefire includes).
+ * Run it explicitly:
+ * <pre>
+ * mvn test -Dtest=CardMoveContentionBenchmark -Dbenchmark.threads=8 -Dbenchmark.moves-per-thread=200
+ * </pre>
+ * It runs on the H2 test database with the real event publishing path (event log and relay),
+ * only the broker stubbed; the numbers are only comparable with each other.
+ */
+@Slf4j
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.com.taskboard=WARN",
+        "taskboard.locks.max-retries=50",
+        "taskboard.locks.retry-delay-ms=2",
+        "taskboard.locks.retry-jitter-ms=5"
+})
+@ActiveProfiles("test")
+class CardMoveContentionBenchmark {
+
+    private static final int THREADS = Integer.getInteger("benchmark.threads", 8);
+    private static final int MOVES_PER_THREAD = Integer.getInteger("benchmark.moves-per-thread", 100);
+    private static final int CARD_COUNT = Integer.getInteger("benchmark.cards", 20);
+
+    @Autowired
+    private CardMovementService cardMovementService;
+
+    @Autowired
+    private BoardRepository boardRepository;
+
+    @Autowired
+    private ListRepository listRepository;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    // Only the broker is stubbed: each move still logs its event and the relay numbers and sends it
+    @MockitoBean
+    private RabbitTemplate rabbitTemplate;
+
+    @Test
+    void compareConcurrencyModes() throws Exception {
+        User user = userRepository.save(User.builder()
+                .username("benchmark")
+                .email("benchmark@example.com")
+                .password("secret")
+                .build());
+
+        List<Result> results = new ArrayList<>();
+        for (CardMoveConcurrency mode : CardMoveConcurrency.values()) {
+            // Warm up the code paths before measuring
+            run(mode, user, Math.max(1, MOVES_PER_THREAD / 10));
+            results.add(run(mode, user, MOVES_PER_THREAD));
+        }
+
+        // The moves' events went through the event log and the relay to the (stubbed) broker
+        verify(rabbitTemplate, timeout(10_000).atLeastOnce()).convertAndSend(anyString(), anyString(),
+                any(Object.class), any(MessagePostProcessor.class));
+
+        log.warn("Card move contention: {} threads x {} moves on one list of {} cards",
+                THREADS, MOVES_PER_THREAD, CARD_COUNT);
+        for (Result result : results) {
+            log.warn("{}", result);
+        }
+    }
+
+    private Result run(CardMoveConcurrency mode, User user, int movesPerThread) throws Exception {
+        CardMovementService target = AopTestUtils.getUltimateTargetObject(cardMovementService);
+        ReflectionTestUtils.setField(target, "concurrency", mode);
+
+        Board board = boardRepository.save(Board.builder().name("Benchmark " + mode).archived(false).build());
+        BoardList list = listRepository.save(BoardList.builder().name("Todo").board(board).position(0).build());
+        List<Long> cardIds = new ArrayList<>();
+        for (int i = 0; i < CARD_COUNT; i++) {
+            cardIds.add(cardRepository.save(Card.builder().title("Card " + i).list(list).position(i).build()).getId());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch startGate = new CountDownLatch(1);
+        AtomicInteger failures = new AtomicInteger();
+        List<Future<long[]>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                long[] latencies = new long[movesPerThread];
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                startGate.await();
+                for (int i = 0; i < movesPerThread; i++) {
+                    long start = System.nanoTime();
+                    try {
+                        cardMovementService.moveCard(cardIds.get(random.nextInt(CARD_COUNT)),
+                                new CardMoveDTO(list.getId(), random.nextInt(CARD_COUNT), null), user.getId());
+                    } catch (RuntimeException e) {
+                        failures.incrementAndGet();
+                    }
+                    latencies[i] = System.nanoTime() - start;
+                }
+                return latencies;
+            }));
+        }
+
+        long start = System.nanoTime();
+        startGate.countDown();
+        long[] all = new long[0];
+        for (Future<long[]> future : futures) {
+            long[] latencies = future.get(10, TimeUnit.MINUTES);
+            int offset = all.length;
+            all = Arrays.copyOf(all, offset + latencies.length);
+            System.arraycopy(latencies, 0, all, offset, latencies.length);
+        }
+        long elapsed = System.nanoTime() - start;
+        executor.shutdown();
+
+        List<Integer> positions = cardRepository.findAll().stream()
+                .filter(card -> card.getList().getId().equals(list.getId()))
+                .map(Card::getPosition)
+                .sorted()
+                .toList();
+        assertThat(positions).as("positions after %s run", mode)
+                .containsExactlyElementsOf(IntStream.range(0, CARD_COUNT).boxed().toList());
+
+        Arrays.sort(all);
+        return new Result(mode, all.length, failures.get(), elapsed, percentile(all, 50), percentile(all, 99));
+    }
+
+    private static long percentile(long[] sorted, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, index)];
+    }
+
+    private record Result(CardMoveConcurrency mode, int moves, int failures, long elapsedNanos,
+                          long p50Nanos, long p99Nanos) {
+
+        @Override
+        public String toString() {
+            return String.format("%-11s %6.1f moves/s  p50 %7.2f ms  p99 %7.2f ms  failed %d/%d",
+                    mode, moves / (elapsedNanos / 1e9), p50Nanos / 1e6, p99Nanos / 1e6, failures, moves);
+        }
+    }
+}
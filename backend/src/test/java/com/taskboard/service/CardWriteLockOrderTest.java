@@ -0,0 +1,128 @@
+package com.taskboard.service;
+
+import com.taskboard.messaging.producer.EventPublisher;
+import com.taskboard.model.dto.CardDTO;
+import com.taskboard.model.dto.CreateBoardRequest;
+import com.taskboard.model.dto.CreateCardRequest;
+import com.taskboard.model.dto.CreateListRequest;
+import com.taskboard.model.entity.Card;
+import com.taskboard.model.entity.User;
+import com.taskboard.repository.CardRepository;
+import com.taskboard.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Card writes to one list lock their rows in the same order, so they wait for each other
+ * instead of deadlocking. Retries are off: a deadlock or lock timeout fails the test.
+ */
+@SpringBootTest(properties = "taskboard.locks.max-retries=0")
+@ActiveProfiles("test")
+class CardWriteLockOrderTest {
+
+    private static final int WRITES_PER_THREAD = 15;
+
+    @Autowired
+    private CardService cardService;
+
+    @Autowired
+    private ListService listService;
+
+    @Autowired
+    private BoardService boardService;
+
+    @Autowired
+    private BoardCounterService boardCounterService;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @MockitoBean
+    private EventPublisher eventPublisher;
+
+    private User user;
+    private Long boardId;
+    private Long listId;
+
+    @BeforeEach
+    void setUp() {
+        long suffix = System.nanoTime();
+        user = userRepository.save(User.builder()
+                .username("writer" + suffix)
+                .email("writer" + suffix + "@example.com")
+                .password("secret")
+                .build());
+        boardId = boardService.createBoard(CreateBoardRequest.builder().name("Busy Board").build(),
+                user.getId()).getId();
+        listId = listService.createList(CreateListRequest.builder().name("Todo").boardId(boardId).build()).getId();
+    }
+
+    @Test
+    void concurrentCreatesAndDeletesInOneList_ShouldNotDeadlock() throws Exception {
+        List<Long> deletable = new ArrayList<>();
+        for (int i = 0; i < 2 * WRITES_PER_THREAD; i++) {
+            deletable.add(create(null).getId());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        CountDownLatch startGate = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 2; t++) {
+                // At the top of the list, so every create shifts all card rows
+                futures.add(executor.submit(() -> {
+                    startGate.await();
+                    for (int i = 0; i < WRITES_PER_THREAD; i++) {
+                        create(0);
+                    }
+                    return null;
+                }));
+                List<Long> mine = deletable.subList(t * WRITES_PER_THREAD, (t + 1) * WRITES_PER_THREAD);
+                futures.add(executor.submit(() -> {
+                    startGate.await();
+                    mine.forEach(cardService::deleteCard);
+                    return null;
+                }));
+            }
+            startGate.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        int cards = 2 * WRITES_PER_THREAD;
+        List<Integer> positions = cardRepository.findByListIdOrderByPositionAsc(listId).stream()
+                .map(Card::getPosition)
+                .toList();
+        assertThat(positions).containsExactlyElementsOf(IntStream.range(0, cards).boxed().toList());
+        assertThat(boardCounterService.getCounters(boardId).getCards()).isEqualTo(cards);
+    }
+
+    private CardDTO create(Integer position) {
+        return cardService.createCard(CreateCardRequest.builder()
+                .title("Card")
+                .listId(listId)
+                .position(position)
+                .build(), user.getId());
+    }
+}
@@ -0,0 +1,110 @@
+package com.taskboard.service;
+
+import com.taskboard.metrics.LockContentionMonitor;
+import com.taskboard.metrics.LockTarget;
+import com.taskboard.model.dto.CreateListRequest;
+import com.taskboard.model.dto.ListDTO;
+import com.taskboard.model.dto.LockContentionDTO;
+import com.taskboard.model.entity.Board;
+import com.taskboard.repository.BoardRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        // H2 takes the timeout as FOR UPDATE WAIT <seconds>, so one second is the shortest it honours
+        "taskboard.locks.timeout-ms=1000",
+        "taskboard.locks.max-retries=1",
+        "taskboard.locks.retry-delay-ms=100",
+        "taskboard.locks.retry-jitter-ms=10"
+})
+@ActiveProfiles("test")
+class RowLockRetryTest {
+
+    @Autowired
+    private ListService listService;
+
+    @Autowired
+    private BoardRepository boardRepository;
+
+    @Autowired
+    private LockContentionMonitor lockContentionMonitor;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Board board;
+
+    @BeforeEach
+    void setUp() {
+        lockContentionMonitor.reset();
+        board = boardRepository.save(Board.builder().name("Locked Board").archived(false).build());
+    }
+
+    @Test
+    void createList_WhenBoardLockFreedDuringRetries_ShouldSucceed() throws Exception {
+        CompletableFuture<Void> holder = holdBoardLock(1500);
+
+        ListDTO list = listService.createList(listRequest("Todo"));
+        holder.get(10, TimeUnit.SECONDS);
+
+        assertThat(list.getId()).isNotNull();
+        LockContentionDTO stats = boardStats();
+        assertThat(stats.getTimeouts()).isGreaterThanOrEqualTo(1);
+        assertThat(stats.getAcquisitions()).isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    void createList_WhenBoardLockHeldThroughAllRetries_ShouldFail() throws Exception {
+        CompletableFuture<Void> holder = holdBoardLock(4000);
+
+        assertThatThrownBy(() -> listService.createList(listRequest("Doing")))
+                .isInstanceOf(PessimisticLockingFailureException.class);
+        holder.get(10, TimeUnit.SECONDS);
+
+        // First attempt plus one retry
+        assertThat(boardStats().getTimeouts()).isEqualTo(2);
+    }
+
+    /**
+     * Lock the board row in another thread and keep the transaction open for a while.
+     */
+    private CompletableFuture<Void> holdBoardLock(long holdMillis) throws InterruptedException {
+        CountDownLatch locked = new CountDownLatch(1);
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            boardRepository.findByIdForUpdate(board.getId()).orElseThrow();
+            locked.countDown();
+            try {
+                Thread.sleep(holdMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertThat(locked.await(5, TimeUnit.SECONDS)).isTrue();
+        return holder;
+    }
+
+    private LockContentionDTO boardStats() {
+        List<LockContentionDTO> hottest = lockContentionMonitor.getHottest(LockTarget.BOARD, 10);
+        return hottest.stream().filter(dto -> dto.getId().equals(board.getId())).findFirst().orElseThrow();
+    }
+
+    private CreateListRequest listRequest(String name) {
+        CreateListRequest request = new CreateListRequest();
+        request.setName(name);
+        request.setBoardId(board.getId());
+        return request;
+    }
+}
@@ -0,0 +1,125 @@
+package com.taskboard.service;
+
+import com.taskboard.messaging.producer.EventPublisher;
+import com.taskboard.model.dto.CardDTO;
+import com.taskboard.model.dto.CardMoveDTO;
+import com.taskboard.model.dto.CreateCardRequest;
+import com.taskboard.model.entity.Board;
+import com.taskboard.model.entity.BoardList;
+import com.taskboard.model.entity.User;
+import com.taskboard.model.event.CardCreatedEvent;
+import com.taskboard.repository.BoardRepository;
+import com.taskboard.repository.ListRepository;
+import com.taskboard.repository.UserRepository;
+import com.taskboard.support.QueryCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(properties = QueryCounter.PROPERTY)
+@ActiveProfiles("test")
+class UserLookupServiceTest {
+
+    @Autowired
+    private CardService cardService;
+
+    @Autowired
+    private UserLookupService userLookupService;
+
+    @Autowired
+    private BoardRepository boardRepository;
+
+    @Autowired
+    private ListRepository listRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @MockitoBean
+    private EventPublisher eventPublisher;
+
+    private User creator;
+    private User assignee;
+    private BoardList todo;
+    private BoardList done;
+
+    @BeforeEach
+    void setUp() {
+        creator = saveUser("creator");
+        assignee = saveUser("assignee");
+        Board board = boardRepository.save(Board.builder().name("Users Board").owner(creator).archived(false).build());
+        todo = listRepository.save(BoardList.builder().name("Todo").board(board).position(0).build());
+        done = listRepository.save(BoardList.builder().name("Done").board(board).position(1).build());
+    }
+
+    @Test
+    void cardWrites_ShouldReadUsersOnceThenFromCache() {
+        CardDTO first = createCard("First");
+        assertThat(first.getAssignedToUsername()).isEqualTo(assignee.getUsername());
+
+        AtomicReference<CardDTO> second = new AtomicReference<>();
+        List<String> createStatements = QueryCounter.statementsOf(() -> second.set(createCard("Second")));
+        List<String> moveStatements = QueryCounter.statementsOf(() ->
+                cardService.moveCard(second.get().getId(), new CardMoveDTO(done.getId(), 0, null), creator.getId()));
+
+        assertThat(second.get().getAssignedToId()).isEqualTo(assignee.getId());
+        assertThat(second.get().getAssignedToFullName()).isEqualTo("Full " + assignee.getUsername());
+        assertThat(userQueries(createStatements)).isEmpty();
+        assertThat(userQueries(moveStatements)).isEmpty();
+    }
+
+    @Test
+    void createCard_ShouldPublishTheCreatorNotTheAssignee() {
+        createCard("Assigned");
+
+        ArgumentCaptor<CardCreatedEvent> event = ArgumentCaptor.forClass(CardCreatedEvent.class);
+        verify(eventPublisher).publishCardCreated(event.capture());
+        assertThat(event.getValue().getCreatedByUserId()).isEqualTo(creator.getId());
+        assertThat(event.getValue().getCreatedByUsername()).isEqualTo(creator.getUsername());
+    }
+
+    @Test
+    void find_AfterUserUpdate_ShouldReturnNewName() {
+        assertThat(userLookupService.require(creator.getId()).fullName()).isEqualTo("Full " + creator.getUsername());
+
+        User user = userRepository.findById(creator.getId()).orElseThrow();
+        user.setFullName("Renamed");
+        userRepository.save(user);
+
+        assertThat(userLookupService.require(creator.getId()).fullName()).isEqualTo("Renamed");
+    }
+
+    private CardDTO createCard(String title) {
+        return cardService.createCard(CreateCardRequest.builder()
+                .title(title)
+                .listId(todo.getId())
+                .assignedToId(assignee.getId())
+                .build(), creator.getId());
+    }
+
+    private static List<String> userQueries(List<String> statements) {
+        return statements.stream()
+                .filter(sql -> sql.toLowerCase().matches("select .* from users\\b.*"))
+                .toList();
+    }
+
+    private User saveUser(String name) {
+        long suffix = System.nanoTime();
+        return userRepository.save(User.builder()
+                .username(name + suffix)
+                .email(name + suffix + "@example.com")
+                .password("secret")
+                .fullName("Full " + name + suffix)
+                .build());
+    }
+}
@@ -0,0 +1,182 @@
+package com.taskboard.service.actor;
+
+import com.taskboard.TaskBoardApplication;
+import com.taskboard.model.dto.CardDTO;
+import com.taskboard.model.dto.CardMoveDTO;
+import com.taskboard.model.entity.Board;
+import com.taskboard.model.entity.BoardList;
+import com.taskboard.model.entity.Card;
+import com.taskboard.model.entity.User;
+import com.taskboard.repository.BoardRepository;
+import com.taskboard.repository.CardRepository;
+import com.taskboard.repository.ListRepository;
+import com.taskboard.repository.UserRepository;
+import com.taskboard.service.CardService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Two instances sharing one database, each owning part of the boards. Moves and fences for
+ * boards of the other instance travel over the internal HTTP endpoints.
+ */
+class BoardActorClusterTest {
+
+    private static final String CLUSTER_TOKEN = "cluster-secret";
+
+    private static ConfigurableApplicationContext instanceA;
+    private static ConfigurableApplicationContext instanceB;
+    private static String urlOfB;
+
+    private User user;
+    private Board board;
+    private BoardList todo;
+    private BoardList done;
+    private List<Card> cards;
+
+    @BeforeAll
+    static void startInstances() throws IOException {
+        int portA = freePort();
+        int portB = freePort();
+        urlOfB = "http://localhost:" + portB;
+        String instances = "a=http://localhost:" + portA + ",b=" + urlOfB;
+        String database = "jdbc:h2:mem:actor-cluster-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE";
+
+        instanceA = start("a", portA, instances, database, "create-drop");
+        // The schema is created once, by the first instance
+        instanceB = start("b", portB, instances, database, "none");
+    }
+
+    @AfterAll
+    static void stopInstances() {
+        if (instanceB != null) {
+            instanceB.close();
+        }
+        if (instanceA != null) {
+            instanceA.close();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        long suffix = System.nanoTime();
+        user = instanceA.getBean(UserRepository.class).save(User.builder()
+                .username("cluster" + suffix)
+                .email("cluster" + suffix + "@example.com")
+                .password("secret")
+                .build());
+
+        // A board owned by the other instance
+        BoardRepository boardRepository = instanceA.getBean(BoardRepository.class);
+        BoardActorRouter routerA = instanceA.getBean(BoardActorRouter.class);
+        do {
+            board = boardRepository.save(Board.builder().name("Cluster Board").archived(false).build());
+        } while (!"b".equals(routerA.ownerOf(board.getId())));
+
+        ListRepository listRepository = instanceA.getBean(ListRepository.class);
+        todo = listRepository.save(BoardList.builder().name("Todo").board(board).position(0).build());
+        done = listRepository.save(BoardList.builder().name("Done").board(board).position(1).build());
+        cards = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            cards.add(instanceA.getBean(CardRepository.class)
+                    .save(Card.builder().title("Card " + i).list(todo).position(i).build()));
+        }
+    }
+
+    @Test
+    void moveOnBoardOfOtherInstance_ShouldBeAppliedByTheOwner() {
+        Card card = cards.get(0);
+
+        CardDTO moved = instanceA.getBean(CardService.class)
+                .moveCard(card.getId(), new CardMoveDTO(done.getId(), 0, null), user.getId());
+
+        assertThat(moved.getListId()).isEqualTo(done.getId());
+        assertThat(moved.getVersion()).isEqualTo(card.getVersion() + 1);
+        // Held by the owner only
+        assertThat(instanceA.getBean(BoardActorRouter.class).localSnapshot(board.getId())).isNull();
+        assertThat(instanceB.getBean(BoardActorRouter.class).localSnapshot(board.getId()))
+                .filteredOn(row -> row.cardId() == card.getId())
+                .singleElement()
+                .satisfies(row -> assertThat(row.listId()).isEqualTo(done.getId()));
+
+        instanceB.getBean(BoardActorRegistry.class).flushAll();
+
+        Card written = instanceA.getBean(CardRepository.class).findById(card.getId()).orElseThrow();
+        assertThat(written.getList().getId()).isEqualTo(done.getId());
+        assertThat(written.getVersion()).isEqualTo(moved.getVersion());
+    }
+
+    @Test
+    void writeOnBoardOfOtherInstance_ShouldFenceTheOwnerUntilCommit() {
+        CardService cardServiceA = instanceA.getBean(CardService.class);
+        BoardActorRouter routerB = instanceB.getBean(BoardActorRouter.class);
+        BoardActorRegistry registryB = instanceB.getBean(BoardActorRegistry.class);
+        cardServiceA.moveCard(cards.get(2).getId(), new CardMoveDTO(todo.getId(), 0, null), user.getId());
+
+        instanceA.getBean(TransactionTemplate.class).executeWithoutResult(status -> {
+            assertThat(instanceA.getBean(BoardActorRouter.class).fenceForWrite(board.getId())).isTrue();
+
+            // The owner wrote its pending move, dropped its actor and refuses moves
+            assertThat(routerB.localSnapshot(board.getId())).isNull();
+            assertThat(instanceA.getBean(CardRepository.class).findById(cards.get(2).getId()).orElseThrow()
+                    .getPosition()).isZero();
+            assertThatThrownBy(() -> registryB.move(board.getId(), null, cards.get(0).getId(), done.getId(), 0,
+                    null, user.getId()))
+                    .isInstanceOf(CannotAcquireLockException.class);
+        });
+
+        // Lifted on commit
+        CardDTO moved = cardServiceA.moveCard(cards.get(0).getId(), new CardMoveDTO(done.getId(), 0, null), user.getId());
+        assertThat(moved.getListId()).isEqualTo(done.getId());
+        assertThat(routerB.localSnapshot(board.getId())).isNotNull();
+    }
+
+    @Test
+    void callWithoutTheClusterToken_ShouldBeRefused() {
+        BoardActorClient client = new BoardActorClient("wrong-token", 3000);
+
+        assertThatThrownBy(() -> client.fence(urlOfB, board.getId()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("403");
+        assertThat(instanceB.getBean(BoardActorRegistry.class)
+                .move(board.getId(), null, cards.get(0).getId(), done.getId(), 0, null, user.getId())
+                .toListId()).isEqualTo(done.getId());
+    }
+
+    private static ConfigurableApplicationContext start(String instanceId, int port, String instances,
+                                                        String database, String ddlAuto) {
+        return new SpringApplicationBuilder(TaskBoardApplication.class)
+                .profiles("test")
+                // Arguments, since builder properties would lose to application.yml
+                .run("--server.port=" + port,
+                        "--management.server.port=0",
+                        "--spring.datasource.url=" + database,
+                        "--spring.jpa.hibernate.ddl-auto=" + ddlAuto,
+                        "--spring.jpa.show-sql=false",
+                        "--taskboard.board-actors.enabled=true",
+                        "--taskboard.board-actors.instance-id=" + instanceId,
+                        "--taskboard.board-actors.instances=" + instances,
+                        "--taskboard.board-actors.cluster-token=" + CLUSTER_TOKEN,
+                        // Flushed explicitly by the tests
+                        "--taskboard.board-actors.flush-interval-ms=3600000");
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.taskboard.service.actor;
+
+import com.taskboard.exception.ConflictException;
+import com.taskboard.messaging.producer.EventPublisher;
+import com.taskboard.model.dto.CardDTO;
+import com.taskboard.model.dto.CardMoveDTO;
+import com.taskboard.model.dto.CreateBoardRequest;
+import com.taskboard.model.dto.CreateCardRequest;
+import com.taskboard.model.entity.Board;
+import com.taskboard.model.entity.BoardList;
+import com.taskboard.model.entity.Card;
+import com.taskboard.model.entity.User;
+import com.taskboard.repository.BoardRepository;
+import com.taskboard.repository.CardRepository;
+import com.taskboard.repository.ListRepository;
+import com.taskboard.repository.UserRepository;
+import com.taskboard.service.BoardService;
+import com.taskboard.service.CardService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(properties = {
+        "taskboard.board-actors.enabled=true",
+        "taskboard.board-actors.instance-id=a",
+        // Flushed explicitly by the tests
+        "taskboard.board-actors.flush-interval-ms=3600000"
+})
+@ActiveProfiles("test")
+class BoardActorModeTest {
+
+    @Autowired
+    private CardService cardService;
+
+    @Autowired
+    private BoardService boardService;
+
+    @Autowired
+    private BoardActorRouter router;
+
+    @Autowired
+    private BoardActorRegistry registry;
+
+    @Autowired
+    private BoardRepository boardRepository;
+
+    @Autowired
+    private ListRepository listRepository;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @MockitoBean
+    private EventPublisher eventPublisher;
+
+    @MockitoSpyBean
+    private BoardStateStore store;
+
+    @Value("${taskboard.board-actors.move-timeout-ms}")
+    private long moveTimeoutMs;
+
+    private User user;
+    private Board board;
+    private BoardList todo;
+    private BoardList done;
+    private List<Card> cards;
+
+    @BeforeEach
+    void setUp() {
+        long suffix = System.nanoTime();
+        user = userRepository.save(User.builder()
+                .username("actor" + suffix)
+                .email("actor" + suffix + "@example.com")
+                .password("secret")
+                .build());
+        board = boardRepository.save(Board.builder().name("Actor Board").archived(false).build());
+        todo = listRepository.save(BoardList.builder().name("Todo").board(board).position(0).build());
+        done = listRepository.save(BoardList.builder().name("Done").board(board).position(1).build());
+        cards = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            cards.add(cardRepository.save(Card.builder().title("Card " + i).list(todo).position(i).build()));
+        }
+    }
+
+    @Test
+    void moveCard_ShouldApplyInMemoryAndWriteBehindOnFlush() {
+        Card card = cards.get(0);
+
+        CardDTO moved = cardService.moveCard(card.getId(), new CardMoveDTO(done.getId(), 0, null), user.getId());
+
+        assertThat(moved.getListId()).isEqualTo(done.getId());
+        assertThat(moved.getPosition()).isZero();
+        assertThat(moved.getVersion()).isEqualTo(card.getVersion() + 1);
+        // Not written yet
+        assertThat(cardRepository.findById(card.getId()).orElseThrow().getList().getId()).isEqualTo(todo.getId());
+
+        registry.flushAll();
+
+        assertThat(positionsByCard()).containsExactlyInAnyOrderEntriesOf(Map.of(
+                card.getId(), done.getId() + ":0",
+                cards.get(1).getId(), todo.getId() + ":0",
+                cards.get(2).getId(), todo.getId() + ":1",
+                cards.get(3).getId(), todo.getId() + ":2"));
+        assertThat(cardRepository.findById(card.getId()).orElseThrow().getVersion()).isEqualTo(moved.getVersion());
+        verify(eventPublisher).publishCardMoved(argThat(event -> event.getCardId().equals(card.getId())));
+    }
+
+    @Test
+    void moveCard_WithStaleExpectedVersion_ShouldReject() {
+        Card card = cards.get(1);
+        cardService.moveCard(card.getId(), new CardMoveDTO(todo.getId(), 3, null), user.getId());
+
+        assertThatThrownBy(() -> cardService.moveCard(card.getId(),
+                new CardMoveDTO(done.getId(), 0, card.getVersion()), user.getId()))
+                .isInstanceOf(ConflictException.class);
+    }
+
+    @Test
+    void moveCard_PositionPastTheEnd_ShouldAppend() {
+        CardDTO moved = cardService.moveCard(cards.get(0).getId(),
+                new CardMoveDTO(todo.getId(), 99, null), user.getId());
+
+        assertThat(moved.getPosition()).isEqualTo(3);
+        assertThat(router.localSnapshot(board.getId()))
+                .extracting(BoardState.CardRow::cardId)
+                .containsExactly(cards.get(1).getId(), cards.get(2).getId(), cards.get(3).getId(), cards.get(0).getId());
+    }
+
+    @Test
+    void createCard_ShouldFlushActorBeforeWritingAndReloadAfterwards() {
+        cardService.moveCard(cards.get(3).getId(), new CardMoveDTO(todo.getId(), 0, null), user.getId());
+
+        CardDTO created = cardService.createCard(CreateCardRequest.builder()
+                .title("New")
+                .listId(todo.getId())
+                .position(1)
+                .build(), user.getId());
+
+        // The fence wrote the move before the new card shifted positions, and dropped the actor
+        assertThat(router.localSnapshot(board.getId())).isNull();
+        assertThat(positionsByCard()).containsAllEntriesOf(Map.of(
+                cards.get(3).getId(), todo.getId() + ":0",
+                created.getId(), todo.getId() + ":1",
+                cards.get(0).getId(), todo.getId() + ":2"));
+
+        // The next move loads the board again, new card included
+        CardDTO moved = cardService.moveCard(created.getId(), new CardMoveDTO(done.getId(), 0, null), user.getId());
+        assertThat(moved.getListId()).isEqualTo(done.getId());
+        verify(eventPublisher, atLeast(1)).publishCardMoved(any());
+    }
+
+    @Test
+    void updateBoard_ShouldFlushActorAndBroadcastTheNewName() {
+        cardService.moveCard(cards.get(0).getId(), new CardMoveDTO(done.getId(), 0, null), user.getId());
+
+        boardService.updateBoard(board.getId(), CreateBoardRequest.builder().name("Renamed Board").build());
+
+        // The fence wrote the pending move and dropped the actor holding the old name
+        assertThat(router.localSnapshot(board.getId())).isNull();
+        assertThat(cardRepository.findById(cards.get(0).getId()).orElseThrow().getList().getId())
+                .isEqualTo(done.getId());
+
+        cardService.moveCard(cards.get(1).getId(), new CardMoveDTO(done.getId(), 0, null), user.getId());
+        registry.flushAll();
+
+        verify(eventPublisher).publishCardMoved(argThat(event -> event.getCardId().equals(cards.get(1).getId())
+                && event.getBoardName().equals("Renamed Board")));
+    }
+
+    @Test
+    void moveRetriedAfterActorTimeout_ShouldBeAppliedOnce() {
+        Card card = cards.get(0);
+        // The actor answers only after the first attempt gave up waiting for it
+        CountDownLatch loadReleased = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            loadReleased.await();
+            return invocation.callRealMethod();
+        }).when(store).load(board.getId());
+        Thread.ofVirtual().start(() -> {
+            try {
+                Thread.sleep(moveTimeoutMs + 500);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            loadReleased.countDown();
+        });
+
+        CardDTO moved = cardService.moveCard(card.getId(), new CardMoveDTO(done.getId(), 0, null), user.getId());
+        registry.flushAll();
+
+        assertThat(moved.getVersion()).isEqualTo(card.getVersion() + 1);
+        assertThat(cardRepository.findById(card.getId()).orElseThrow().getVersion()).isEqualTo(moved.getVersion());
+        verify(eventPublisher, times(1)).publishCardMoved(argThat(event -> event.getCardId().equals(card.getId())));
+    }
+
+    @Test
+    void shardRing_ShouldAssignEveryBoardToOneStableOwner() {
+        BoardShardRing ring = new BoardShardRing(List.of("a", "b", "c"), 128);
+        BoardShardRing sameRing = new BoardShardRing(List.of("c", "b", "a"), 128);
+        Map<String, Integer> boardsPerInstance = new HashMap<>();
+
+        for (long boardId = 1; boardId <= 3000; boardId++) {
+            String owner = ring.ownerOf(boardId);
+            assertThat(sameRing.ownerOf(boardId)).isEqualTo(owner);
+            boardsPerInstance.merge(owner, 1, Integer::sum);
+        }
+
+        assertThat(boardsPerInstance.keySet()).isEqualTo(Set.of("a", "b", "c"));
+        assertThat(boardsPerInstance.values()).allSatisfy(count -> assertThat(count).isBetween(700, 1300));
+    }
+
+    private Map<Long, String> positionsByCard() {
+        Map<Long, String> positions = new HashMap<>();
+        Set<Long> listIds = Set.of(todo.getId(), done.getId());
+        for (Card card : cardRepository.findAll()) {
+            if (listIds.contains(card.getList().getId())) {
+                positions.put(card.getId(), card.getList().getId() + ":" + card.getPosition());
+            }
+        }
+        return positions;
+    }
+}
@@ -0,0 +1,178 @@
+package com.taskboard.service.due;
+
+import com.taskboard.messaging.producer.EventPublisher;
+import com.taskboard.model.dto.CreateCardRequest;
+import com.taskboard.model.entity.Board;
+import com.taskboard.model.entity.BoardList;
+import com.taskboard.model.entity.Card;
+import com.taskboard.model.event.CardDueSoonEvent;
+import com.taskboard.model.event.CardOverdueEvent;
+import com.taskboard.repository.BoardRepository;
+import com.taskboard.repository.CardRepository;
+import com.taskboard.repository.ListRepository;
+import com.taskboard.service.CardService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Two engines on the same database, as two instances would run them; the application's own
+ * engine is switched off so the test drives the ticks.
+ */
+@SpringBootTest(properties = "taskboard.due-dates.enabled=false")
+@ActiveProfiles("test")
+class DueDateEngineTest {
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private CardDueNotifier notifier;
+
+    @Autowired
+    private CardService cardService;
+
+    @Autowired
+    private BoardRepository boardRepository;
+
+    @Autowired
+    private ListRepository listRepository;
+
+    @MockitoBean
+    private EventPublisher eventPublisher;
+
+    private BoardList list;
+    private DueDateEngine first;
+    private DueDateEngine second;
+
+    @BeforeEach
+    void setUp() {
+        Board board = boardRepository.save(Board.builder().name("Due Board").archived(false).build());
+        list = listRepository.save(BoardList.builder().name("Todo").board(board).position(0).build());
+        first = engine();
+        second = engine();
+        clearInvocations(eventPublisher);
+    }
+
+    @Test
+    void cardsInTheWindow_ShouldBeAnnouncedOnceAcrossEngines() {
+        LocalDateTime now = LocalDateTime.now();
+        Card overdue = card(now.minusHours(1));
+        Card dueShortly = card(now.plusSeconds(1));
+        Card later = card(now.plusHours(12));
+        Card longOverdue = card(now.minusDays(2));
+
+        first.reload();
+        second.reload();
+        tickUntil(() -> overdueCardIds().contains(dueShortly.getId()));
+        // Both engines have looked again by now
+        tickFor(100);
+
+        assertThat(overdueCardIds()).containsExactlyInAnyOrder(overdue.getId(), dueShortly.getId());
+        assertThat(dueSoonCardIds()).containsExactly(dueShortly.getId());
+        assertThat(dueSoonCardIds()).doesNotContain(later.getId());
+        assertThat(overdueCardIds()).doesNotContain(later.getId(), longOverdue.getId());
+    }
+
+    @Test
+    void changedDueDate_ShouldBeAnnouncedAgain() {
+        Card card = card(LocalDateTime.now().minusMinutes(5));
+        first.reload();
+        tickUntil(() -> overdueCardIds().contains(card.getId()));
+
+        LocalDateTime moved = LocalDateTime.now().minusMinutes(1);
+        cardService.updateCard(card.getId(), CreateCardRequest.builder()
+                .title(card.getTitle()).listId(list.getId()).dueDate(moved).build());
+        // What the update hands the engine of the instance that served it
+        first.cardChanged(card.getId(), moved);
+        second.cardChanged(card.getId(), moved);
+        tickUntil(() -> overdueCardIds().size() == 2);
+        tickFor(100);
+
+        assertThat(overdueCardIds()).containsExactly(card.getId(), card.getId());
+    }
+
+    @Test
+    void deletedCard_ShouldNotBeAnnounced() {
+        Card card = card(LocalDateTime.now().plusSeconds(1));
+        first.reload();
+        tickUntil(() -> dueSoonCardIds().contains(card.getId()));
+
+        cardService.deleteCard(card.getId());
+        first.cardRemoved(card.getId());
+        tickFor(1_500);
+
+        assertThat(overdueCardIds()).isEmpty();
+    }
+
+    private DueDateEngine engine() {
+        // 10 ms ticks (a wheel span of 46 hours), due soon an hour ahead, a one-day horizon
+        return new DueDateEngine(cardRepository, notifier, true, 10, 1, 1, 24, 50);
+    }
+
+    private Card card(LocalDateTime dueDate) {
+        return cardRepository.save(Card.builder().title("Due card").list(list).dueDate(dueDate).build());
+    }
+
+    private List<Long> overdueCardIds() {
+        if (mockingDetails(eventPublisher).getInvocations().stream()
+                .noneMatch(invocation -> invocation.getMethod().getName().equals("publishCardOverdue"))) {
+            return List.of();
+        }
+        ArgumentCaptor<CardOverdueEvent> events = ArgumentCaptor.forClass(CardOverdueEvent.class);
+        verify(eventPublisher, atLeast(1)).publishCardOverdue(events.capture());
+        // Only this test's cards; cards left by other tests are announced too
+        return events.getAllValues().stream().filter(event -> event.getListId().equals(list.getId()))
+                .map(CardOverdueEvent::getCardId).toList();
+    }
+
+    private List<Long> dueSoonCardIds() {
+        if (mockingDetails(eventPublisher).getInvocations().stream()
+                .noneMatch(invocation -> invocation.getMethod().getName().equals("publishCardDueSoon"))) {
+            return List.of();
+        }
+        ArgumentCaptor<CardDueSoonEvent> events = ArgumentCaptor.forClass(CardDueSoonEvent.class);
+        verify(eventPublisher, atLeast(1)).publishCardDueSoon(events.capture());
+        return events.getAllValues().stream().filter(event -> event.getListId().equals(list.getId()))
+                .map(CardDueSoonEvent::getCardId).toList();
+    }
+
+    private void tickUntil(BooleanSupplier done) {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!done.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("due notice sent in time").isLessThan(deadline);
+            tickFor(10);
+        }
+    }
+
+    private void tickFor(long millis) {
+        long end = System.currentTimeMillis() + millis;
+        do {
+            first.tick();
+            second.tick();
+            sleep(5);
+        } while (System.currentTimeMillis() < end);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
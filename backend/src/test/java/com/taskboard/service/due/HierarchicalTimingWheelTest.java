@@ -0,0 +1,83 @@
+package com.taskboard.service.due;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HierarchicalTimingWheelTest {
+
+    // 8 slots on 3 levels: 512 ticks of 10 ms
+    private final HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 8, 3, 0);
+
+    @Test
+    void timers_ShouldFireAtTheirTickAcrossLevels() {
+        wheel.schedule("soon", 30);
+        wheel.schedule("level-1", 255);
+        wheel.schedule("level-2", 3_000);
+        wheel.schedule("last", 5_110);
+
+        assertThat(firedUntil(20)).isEmpty();
+        assertThat(firedUntil(30)).containsExactly("soon");
+        // Rounded up to the next tick, never early
+        assertThat(firedUntil(259)).isEmpty();
+        assertThat(firedUntil(260)).containsExactly("level-1");
+        assertThat(firedUntil(2_990)).isEmpty();
+        assertThat(firedUntil(3_000)).containsExactly("level-2");
+        assertThat(firedUntil(5_100)).isEmpty();
+        assertThat(firedUntil(5_110)).containsExactly("last");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void rescheduleAndCancel_ShouldReplaceTheTimer() {
+        wheel.schedule("moved", 1_000);
+        wheel.schedule("moved", 400);
+        wheel.schedule("cancelled", 500);
+        assertThat(wheel.cancel("cancelled")).isTrue();
+
+        assertThat(wheel.deadlineOf("moved")).isEqualTo(400);
+        assertThat(firedUntil(2_000)).containsExactly("moved");
+        assertThat(wheel.deadlineOf("moved")).isNull();
+    }
+
+    @Test
+    void schedule_ShouldFirePastDeadlinesOnNextTickAndRefuseBeyondHorizon() {
+        firedUntil(1_000);
+
+        assertThat(wheel.schedule("late", 200)).isTrue();
+        assertThat(wheel.schedule("far", 1_000 + 5_120)).isFalse();
+
+        assertThat(firedUntil(1_010)).containsExactly("late");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void advance_ShouldFireEveryTimerOnceInOrder() {
+        for (int i = 0; i < 500; i++) {
+            wheel.schedule("t" + i, i * 10L + 7);
+        }
+
+        List<String> fired = new ArrayList<>();
+        for (long now = 0; now <= 5_200; now += 37) {
+            int before = fired.size();
+            wheel.advance(now, fired::add);
+            // Everything fired is due, and nothing due is left
+            for (String key : fired.subList(before, fired.size())) {
+                assertThat(Long.parseLong(key.substring(1)) * 10 + 7).isLessThanOrEqualTo(now);
+            }
+        }
+
+        assertThat(fired).hasSize(500).doesNotHaveDuplicates();
+        assertThat(fired).isSortedAccordingTo((a, b) ->
+                Integer.compare(Integer.parseInt(a.substring(1)), Integer.parseInt(b.substring(1))));
+    }
+
+    private List<String> firedUntil(long nowMillis) {
+        List<String> fired = new ArrayList<>();
+        wheel.advance(nowMillis, fired::add);
+        return fired;
+    }
+}
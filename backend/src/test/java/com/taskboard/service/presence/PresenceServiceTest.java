@@ -0,0 +1,123 @@
+package com.taskboard.service.presence;
+
+import com.taskboard.model.dto.BoardPresenceDTO;
+import com.taskboard.model.dto.PresenceActivity;
+import com.taskboard.model.dto.UserSummary;
+import com.taskboard.model.dto.ViewerPresenceDTO;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class PresenceServiceTest {
+
+    private final SimpMessagingTemplate messagingTemplate = mock(SimpMessagingTemplate.class);
+    private final PresenceService presence = new PresenceService(messagingTemplate, 30_000);
+
+    private final UserSummary alice = user(1L, "alice");
+    private final UserSummary bob = user(2L, "bob");
+
+    @Test
+    void join_ShouldReturnEveryoneOnTheBoard() {
+        presence.join(10L, alice, "s1");
+
+        BoardPresenceDTO snapshot = presence.join(10L, bob, "s2");
+
+        assertThat(snapshot.getViewers()).extracting(ViewerPresenceDTO::getUsername)
+                .containsExactlyInAnyOrder("alice", "bob");
+        assertThat(presence.viewerCount(11L)).isZero();
+    }
+
+    @Test
+    void changesBetweenFlushes_ShouldBeSentAsOneDeltaPerBoard() {
+        presence.join(10L, alice, "s1");
+        presence.join(10L, bob, "s2");
+        for (int position = 0; position < 50; position++) {
+            presence.dragging(10L, alice, "s1", 100L, 5L, position);
+        }
+        presence.join(20L, bob, "s2");
+
+        presence.flush();
+
+        BoardPresenceDTO delta = delta(10L);
+        assertThat(delta.getViewers()).hasSize(2);
+        ViewerPresenceDTO dragging = delta.getViewers().stream()
+                .filter(viewer -> viewer.getUserId().equals(1L)).findFirst().orElseThrow();
+        assertThat(dragging.getActivity()).isEqualTo(PresenceActivity.DRAGGING);
+        assertThat(dragging.getCardId()).isEqualTo(100L);
+        assertThat(dragging.getPosition()).isEqualTo(49);
+        verify(messagingTemplate).convertAndSend(eq("/topic/board/20"), any(Object.class));
+
+        // Nothing changed since
+        clearInvocations(messagingTemplate);
+        presence.heartbeat(10L, bob, "s2", null, null);
+        presence.flush();
+        verify(messagingTemplate, never()).convertAndSend(any(String.class), any(Object.class));
+    }
+
+    @Test
+    void idleUsers_ShouldLeaveAfterTheExpiry() {
+        presence.join(10L, alice, "s1");
+        presence.join(10L, bob, "s2");
+        presence.flush();
+        clearInvocations(messagingTemplate);
+
+        presence.expireIdle(System.currentTimeMillis() + 60_000);
+        presence.flush();
+
+        assertThat(delta(10L).getLeft()).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(presence.viewerCount(10L)).isZero();
+        presence.expireIdle(System.currentTimeMillis() + 60_000);
+        // The board is dropped once nobody is on it; joining again starts it over
+        assertThat(presence.join(10L, alice, "s3").getViewers()).hasSize(1);
+    }
+
+    @Test
+    void disconnect_ShouldRemoveOnlyTheUsersLastSeenOnThatSession() {
+        presence.join(10L, alice, "s1");
+        presence.join(10L, bob, "s2");
+        // Alice opened the board in a second tab
+        presence.heartbeat(10L, alice, "s3", PresenceActivity.EDITING, 100L);
+        presence.flush();
+        clearInvocations(messagingTemplate);
+
+        presence.onDisconnect(disconnect("s1"));
+        presence.onDisconnect(disconnect("s2"));
+        presence.flush();
+
+        assertThat(delta(10L).getLeft()).containsExactly(2L);
+        assertThat(presence.viewerCount(10L)).isEqualTo(1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private BoardPresenceDTO delta(Long boardId) {
+        ArgumentCaptor<Object> message = ArgumentCaptor.forClass(Object.class);
+        verify(messagingTemplate, times(1)).convertAndSend(eq("/topic/board/" + boardId), message.capture());
+        Map<String, Object> frame = (Map<String, Object>) message.getValue();
+        assertThat(frame.get("type")).isEqualTo(PresenceService.DELTA);
+        return (BoardPresenceDTO) frame.get("data");
+    }
+
+    private SessionDisconnectEvent disconnect(String sessionId) {
+        Message<byte[]> message = MessageBuilder.withPayload(new byte[0]).build();
+        return new SessionDisconnectEvent(this, message, sessionId, CloseStatus.NORMAL);
+    }
+
+    private static UserSummary user(Long id, String username) {
+        return new UserSummary(id, username, username);
+    }
+}
@@ -0,0 +1,35 @@
+package com.taskboard.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records the SQL statements Hibernate runs on the calling thread. Enable it in a test with
+ * {@link #PROPERTY}.
+ */
+public class QueryCounter implements StatementInspector {
+
+    public static final String PROPERTY = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+            + "com.taskboard.support.QueryCounter";
+
+    private static final ThreadLocal<List<String>> STATEMENTS = ThreadLocal.withInitial(ArrayList::new);
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.get().add(sql);
+        return sql;
+    }
+
+    /**
+     * Run an action and return the statements it ran on this thread.
+     */
+    public static List<String> statementsOf(Runnable action) {
+        STATEMENTS.get().clear();
+        action.run();
+        List<String> statements = List.copyOf(STATEMENTS.get());
+        STATEMENTS.get().clear();
+        return statements;
+    }
+}
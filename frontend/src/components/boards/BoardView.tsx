@@ -84,7 +84,6 @@ export const BoardView: React.FC = () => {
 
       switch (message.type) {
         case 'CARD_MOVED':
-        case 'CARD_MOVE_BROADCAST':
           if (message.data?.card) {
             const { card, fromListId, toListId } = message.data;
             // Only update if it's from another user
@@ -106,8 +105,10 @@ export const BoardView: React.FC = () => {
           }
           break;
 
-        case 'SUBSCRIPTION_ACK':
-          console.log('✅ Subscription confirmed:', message);
+        case 'PRESENCE_SNAPSHOT':
+        case 'PRESENCE_DELTA':
+          // Who is on the board and what they are dragging or editing
+          console.log('👥 Presence:', message.data);
           break;
 
         default:
@@ -118,7 +119,6 @@ export const BoardView: React.FC = () => {
     function getActionText(type: string): string {
       switch (type) {
         case 'CARD_MOVED':
-        case 'CARD_MOVE_BROADCAST':
           return 'moved a card';
         case 'CARD_CREATED':
           return 'created a card';
@@ -12,11 +12,18 @@ export interface WebSocketMessage {
 
 type MessageCallback = (message: WebSocketMessage) => void;
 
+export type PresenceActivity = 'VIEWING' | 'DRAGGING' | 'EDITING';
+
+// Presence on a board expires on the server after 30s without a heartbeat
+const PRESENCE_HEARTBEAT_MS = 10000;
+
 class WebSocketService {
   private client: Client | null = null;
   private connected: boolean = false;
   private subscriptions: Map<string, any> = new Map();
   private messageCallbacks: Map<number, MessageCallback[]> = new Map();
+  private presenceTimers: Map<number, ReturnType<typeof setInterval>> = new Map();
+  private presence: Map<number, { activity: PresenceActivity; cardId?: number }> = new Map();
 
   /**
    * Connect to WebSocket server with JWT authentication
@@ -110,8 +117,46 @@ class WebSocketService {
     this.subscriptions.set(subscriptionKey, subscription);
     console.log('✅ Subscribed to board updates:', boardId);
 
-    // Send subscription acknowledgment
+    // Join the board's presence; the server answers with everyone on it
+    this.subscribeToPresence();
     this.sendMessage(`/app/board/${boardId}/subscribe`, {});
+    // The heartbeat repeats what the user is doing now, so it does not reset a drag or an edit
+    this.presence.set(boardId, { activity: 'VIEWING' });
+    this.presenceTimers.set(boardId, setInterval(() => {
+      const current = this.presence.get(boardId);
+      if (current) {
+        this.sendPresence(boardId, current.activity, current.cardId);
+      }
+    }, PRESENCE_HEARTBEAT_MS));
+  }
+
+  /**
+   * Receive presence snapshots, sent to this user only, on the callbacks of their board
+   */
+  private subscribeToPresence(): void {
+    if (!this.client || this.subscriptions.has('user-presence')) {
+      return;
+    }
+    const subscription = this.client.subscribe('/user/queue/presence', (message: IMessage) => {
+      try {
+        const data: WebSocketMessage = JSON.parse(message.body);
+        const callbacks = this.messageCallbacks.get(data.data?.boardId) || [];
+        callbacks.forEach((cb) => cb(data));
+      } catch (error) {
+        console.error('❌ Failed to parse presence message:', error);
+      }
+    });
+    this.subscriptions.set('user-presence', subscription);
+  }
+
+  /**
+   * Tell the others on a board what this user is doing
+   */
+  sendPresence(boardId: number, activity: PresenceActivity, cardId?: number): void {
+    if (this.presence.has(boardId)) {
+      this.presence.set(boardId, { activity, cardId });
+    }
+    this.sendMessage(`/app/board/${boardId}/presence`, { activity, cardId });
   }
 
   /**
@@ -127,6 +172,13 @@ class WebSocketService {
       this.messageCallbacks.delete(boardId);
       console.log('🔕 Unsubscribed from board:', boardId);
     }
+
+    const presenceTimer = this.presenceTimers.get(boardId);
+    if (presenceTimer) {
+      clearInterval(presenceTimer);
+      this.presenceTimers.delete(boardId);
+    }
+    this.presence.delete(boardId);
   }
 
   /**
@@ -145,7 +197,7 @@ class WebSocketService {
   }
 
   /**
-   * Send card move event
+   * Send where a card is being dragged; the others see it in the board's next presence delta
    */
   sendCardMove(boardId: number, cardId: number, newListId: number, newPosition: number): void {
     this.sendMessage(`/app/board/${boardId}/card-move`, {
@@ -164,6 +216,9 @@ class WebSocketService {
       this.subscriptions.forEach((subscription) => subscription.unsubscribe());
       this.subscriptions.clear();
       this.messageCallbacks.clear();
+      this.presenceTimers.forEach((timer) => clearInterval(timer));
+      this.presenceTimers.clear();
+      this.presence.clear();
 
       // Deactivate client
       this.client.deactivate();
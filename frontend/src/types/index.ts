@@ -74,6 +74,7 @@ export interface Card {
   dueDate?: string;
   createdAt: string;
   updatedAt: string;
+  version?: number;
 }
 
 export interface CreateCardRequest {
@@ -89,6 +90,7 @@ export interface CreateCardRequest {
 export interface CardMoveRequest {
   newListId: number;
   newPosition: number;
+  expectedVersion?: number;
 }
 
 // User types